@@ -0,0 +1,142 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Synthetic fixtures used by the benchmarks. All the documents and texts are generated with fixed seeds,
+ * so that every run measures exactly the same input and no network or external files are needed.
+ * Font programs are shipped as resources of this module.
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * TrueType font program resource.
+     */
+    public static final String TRUE_TYPE_FONT = "com/itextpdf/benchmarks/fonts/NotoSans-Regular.ttf";
+
+    /**
+     * OpenType font program resource with CFF outlines.
+     */
+    public static final String CFF_FONT = "com/itextpdf/benchmarks/fonts/Puritan2.otf";
+
+    private static final long SEED = 20240101L;
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua",
+            "enim", "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi",
+            "aliquip", "ex", "ea", "commodo", "consequat"};
+
+    private BenchmarkFixtures() {
+        // Empty constructor
+    }
+
+    /**
+     * Creates a pseudo-random text of the specified number of words.
+     *
+     * @param words the number of words
+     * @param seed the seed of the text, texts with the same seed are equal
+     * @return the generated text
+     */
+    public static String createText(int words, long seed) {
+        Random random = new Random(SEED + seed);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Creates a content stream with text showing and path construction operators which are typical for
+     * real documents.
+     *
+     * @param blocks the number of text and path blocks in the content stream
+     * @return the content stream bytes
+     */
+    public static byte[] createContentStream(int blocks) {
+        Random random = new Random(SEED);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < blocks; i++) {
+            content.append("q 0.5 0 0 RG 1.25 w\n")
+                    .append(random.nextInt(500)).append(' ').append(random.nextInt(700)).append(" m ")
+                    .append(random.nextInt(500)).append(".5 ").append(random.nextInt(700)).append(".25 l ")
+                    .append(random.nextInt(500)).append(' ').append(random.nextInt(700)).append(" 120.5 40.75 re S Q\n")
+                    .append("BT /F1 12 Tf 14.4 TL ").append(random.nextInt(500)).append(' ')
+                    .append(random.nextInt(700)).append(" Td (").append(createText(8, i)).append(") Tj ")
+                    .append("[(").append(createText(3, i + 1)).append(") -250 (").append(createText(2, i + 2))
+                    .append(")] TJ ET\n");
+        }
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates a text document laid out with the layout module.
+     *
+     * @param pages the approximate number of pages
+     * @param fullCompression whether the document shall be written with object and cross-reference streams
+     * @return the document bytes
+     */
+    public static byte[] createTextDocument(int pages, boolean fullCompression) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties().setFullCompressionMode(fullCompression);
+        try (Document document = new Document(new PdfDocument(new PdfWriter(baos, properties)))) {
+            // roughly 12 paragraphs of 60 words fit on an A4 page
+            for (int i = 0; i < pages * 12; i++) {
+                document.add(new Paragraph(createText(60, i)));
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Reads a resource of this module.
+     *
+     * @param name the resource name
+     * @return the resource bytes
+     * @throws IOException if the resource can't be read
+     */
+    public static byte[] readResource(String name) throws IOException {
+        try (InputStream stream = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(name)) {
+            if (stream == null) {
+                throw new IOException("Benchmark resource " + name + " is not found");
+            }
+            return StreamUtil.inputStreamToArray(stream);
+        }
+    }
+}
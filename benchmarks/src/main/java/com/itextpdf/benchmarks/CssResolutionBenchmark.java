@@ -0,0 +1,144 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.styledxmlparser.css.CssDeclaration;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.css.parse.CssStyleSheetParser;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the parsing of style sheets and the resolution of CSS declarations for elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CssResolutionBenchmark {
+
+    private static final String[] TAGS = {"div", "p", "span", "td", "li"};
+
+    @Param({"500"})
+    public int rules;
+
+    @Param({"2000"})
+    public int elements;
+
+    private String css;
+
+    private CssStyleSheet styleSheet;
+
+    private List<IElementNode> nodes;
+
+    private MediaDeviceDescription deviceDescription;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder cssBuilder = new StringBuilder();
+        for (int i = 0; i < rules; i++) {
+            String tag = TAGS[i % TAGS.length];
+            switch (i % 4) {
+                case 0:
+                    cssBuilder.append('.').append("c").append(i % 100);
+                    break;
+                case 1:
+                    cssBuilder.append(tag).append(".c").append(i % 100);
+                    break;
+                case 2:
+                    cssBuilder.append("div > ").append(tag).append(":first-child");
+                    break;
+                default:
+                    cssBuilder.append('#').append("id").append(i % elements);
+                    break;
+            }
+            cssBuilder.append(" { color: #").append(Integer.toHexString(0x100000 + i))
+                    .append("; margin: ").append(i % 10).append("px; font-size: ").append(8 + i % 8)
+                    .append("pt }\n");
+        }
+        css = cssBuilder.toString();
+        styleSheet = CssStyleSheetParser.parse(css);
+
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < elements; i++) {
+            String tag = TAGS[i % TAGS.length];
+            if (i % 10 == 0) {
+                html.append("<div class='c").append(i % 100).append("'>");
+            }
+            html.append('<').append(tag).append(" id='id").append(i).append("' class='c").append(i % 100)
+                    .append(" c").append((i + 7) % 100).append("'>").append(BenchmarkFixtures.createText(3, i))
+                    .append("</").append(tag).append('>');
+            if (i % 10 == 9) {
+                html.append("</div>");
+            }
+        }
+        html.append("</body></html>");
+        nodes = new ArrayList<>();
+        collectElements(new JsoupHtmlParser().parse(html.toString()), nodes);
+        deviceDescription = MediaDeviceDescription.createDefault();
+    }
+
+    @Benchmark
+    public CssStyleSheet parseStyleSheet() {
+        return CssStyleSheetParser.parse(css);
+    }
+
+    @Benchmark
+    public int resolveDeclarations() {
+        int declarations = 0;
+        for (IElementNode node : nodes) {
+            List<CssDeclaration> nodeDeclarations = styleSheet.getCssDeclarations(node, deviceDescription);
+            declarations += nodeDeclarations.size();
+        }
+        return declarations;
+    }
+
+    private static void collectElements(INode node, List<IElementNode> elements) {
+        if (node instanceof IElementNode) {
+            elements.add((IElementNode) node);
+        }
+        for (INode child : node.childNodes()) {
+            collectElements(child, elements);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the decoding of flate compressed streams with and without predictor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FlateDecodeFilterBenchmark {
+
+    private static final int COLUMNS = 1000;
+
+    @Param({"2000"})
+    public int blocks;
+
+    private byte[] compressed;
+
+    private byte[] compressedWithPredictor;
+
+    private PdfDictionary predictorParams;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] content = BenchmarkFixtures.createContentStream(blocks);
+        compressed = deflate(content);
+
+        // PNG predictor with None filter type for every row, i.e. each row is prefixed with zero byte
+        int rows = content.length / COLUMNS;
+        ByteArrayOutputStream predicted = new ByteArrayOutputStream();
+        for (int row = 0; row < rows; row++) {
+            predicted.write(0);
+            predicted.write(content, row * COLUMNS, COLUMNS);
+        }
+        compressedWithPredictor = deflate(predicted.toByteArray());
+        predictorParams = new PdfDictionary();
+        predictorParams.put(PdfName.Predictor, new PdfNumber(12));
+        predictorParams.put(PdfName.Columns, new PdfNumber(COLUMNS));
+    }
+
+    @Benchmark
+    public byte[] flateDecode() {
+        return FlateDecodeFilter.flateDecode(compressed, true);
+    }
+
+    @Benchmark
+    public byte[] flateDecodeWithPredictor() {
+        return FlateDecodeFilter.decodePredictor(FlateDecodeFilter.flateDecode(compressedWithPredictor, true),
+                predictorParams);
+    }
+
+    @Benchmark
+    public byte[] streamingFlateDecodeWithPredictor() throws IOException {
+        InputStream decoded = new FlateDecodeFilter().decode(new ByteArrayInputStream(compressedWithPredictor),
+                PdfName.FlateDecode, predictorParams, new PdfDictionary());
+        return StreamUtil.inputStreamToArray(decoded);
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
+            deflater.write(data);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.CFFFontSubset;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.otf.Glyph;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the subsetting of TrueType and CFF font programs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FontSubsetBenchmark {
+
+    @Param({"2000"})
+    public int words;
+
+    private TrueTypeFont trueTypeFont;
+
+    private Set<Integer> trueTypeGlyphs;
+
+    private byte[] cffFontProgram;
+
+    private Set<Integer> cffGlyphs;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        String text = BenchmarkFixtures.createText(words, 0).toUpperCase() + BenchmarkFixtures.createText(words, 1)
+                + "0123456789.,;:!?()[]";
+
+        trueTypeFont = (TrueTypeFont) FontProgramFactory.createFont(
+                BenchmarkFixtures.readResource(BenchmarkFixtures.TRUE_TYPE_FONT), false);
+        trueTypeGlyphs = collectGlyphs(trueTypeFont, text);
+
+        TrueTypeFont cffFont = (TrueTypeFont) FontProgramFactory.createFont(
+                BenchmarkFixtures.readResource(BenchmarkFixtures.CFF_FONT), false);
+        cffFontProgram = cffFont.getFontStreamBytes();
+        cffGlyphs = cffFont.mapGlyphsCidsToGids(collectGlyphs(cffFont, text));
+    }
+
+    @Benchmark
+    public byte[] trueTypeSubset() {
+        return trueTypeFont.getSubset(trueTypeGlyphs, true);
+    }
+
+    @Benchmark
+    public byte[] cffSubset() {
+        return new CFFFontSubset(cffFontProgram, cffGlyphs).Process();
+    }
+
+    private static Set<Integer> collectGlyphs(TrueTypeFont font, String text) {
+        Set<Integer> glyphs = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            Glyph glyph = font.getGlyph(text.charAt(i));
+            if (glyph != null) {
+                glyphs.add(glyph.getCode());
+            }
+        }
+        return glyphs;
+    }
+}
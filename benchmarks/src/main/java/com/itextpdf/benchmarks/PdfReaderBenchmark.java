@@ -0,0 +1,101 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of opening documents, i.e. reading of the cross-reference structure, the trailer and the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PdfReaderBenchmark {
+
+    @Param({"500"})
+    public int pages;
+
+    @Param({"false", "true"})
+    public boolean fullCompression;
+
+    @Param({"false", "true"})
+    public boolean lazyXrefLoading;
+
+    private byte[] document;
+
+    @Setup
+    public void setup() {
+        document = BenchmarkFixtures.createTextDocument(pages, fullCompression);
+    }
+
+    @Benchmark
+    public int openDocument() throws IOException {
+        try (PdfDocument pdfDocument = openPdfDocument()) {
+            return pdfDocument.getNumberOfPages();
+        }
+    }
+
+    @Benchmark
+    public Rectangle readFirstPage() throws IOException {
+        try (PdfDocument pdfDocument = openPdfDocument()) {
+            return pdfDocument.getFirstPage().getPageSize();
+        }
+    }
+
+    @Benchmark
+    public int readAllPages() throws IOException {
+        try (PdfDocument pdfDocument = openPdfDocument()) {
+            int contentLength = 0;
+            for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+                contentLength += pdfDocument.getPage(i).getContentBytes().length;
+            }
+            return contentLength;
+        }
+    }
+
+    private PdfDocument openPdfDocument() throws IOException {
+        ReaderProperties properties = new ReaderProperties().setLazyXrefLoading(lazyXrefLoading);
+        return new PdfDocument(new PdfReader(new ByteArrayInputStream(document), properties));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperation;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the low-level tokenizing and parsing of content streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PdfTokenizerBenchmark {
+
+    @Param({"1000"})
+    public int blocks;
+
+    private byte[] content;
+
+    @Setup
+    public void setup() {
+        content = BenchmarkFixtures.createContentStream(blocks);
+    }
+
+    @Benchmark
+    public int tokenize() throws IOException {
+        PdfTokenizer tokenizer = createTokenizer();
+        int tokens = 0;
+        while (tokenizer.nextToken()) {
+            tokens++;
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public void parseOperands(Blackhole blackhole) throws IOException {
+        PdfCanvasParser parser = new PdfCanvasParser(createTokenizer(), new PdfResources());
+        List<PdfObject> operands = new ArrayList<>();
+        while (parser.parse(operands).size() > 0) {
+            blackhole.consume(operands);
+        }
+    }
+
+    @Benchmark
+    public void parseOperations(Blackhole blackhole) throws IOException {
+        PdfCanvasParser parser = new PdfCanvasParser(createTokenizer(), new PdfResources());
+        ContentOperation operation = new ContentOperation();
+        while (parser.parseOperation(operation)) {
+            blackhole.consume(operation.getOpcode());
+            if (operation.hasOnlyNumericOperands()) {
+                blackhole.consume(operation.getNumericOperands());
+            } else {
+                blackhole.consume(operation.getOperands());
+            }
+        }
+    }
+
+    private PdfTokenizer createTokenizer() {
+        return new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(content)));
+    }
+}
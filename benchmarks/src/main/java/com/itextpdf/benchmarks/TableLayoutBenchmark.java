@@ -0,0 +1,113 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the layout of large tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TableLayoutBenchmark {
+
+    private static final int COLUMNS = 5;
+
+    private static final int FLUSH_ROWS = 50;
+
+    @Param({"1000", "5000"})
+    public int rows;
+
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        texts = new String[rows * COLUMNS];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = BenchmarkFixtures.createText(1 + i % 6, i);
+        }
+    }
+
+    @Benchmark
+    public int layoutTable() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Document document = new Document(new PdfDocument(new PdfWriter(baos)))) {
+            Table table = createTable(false);
+            for (String text : texts) {
+                table.addCell(new Cell().add(new Paragraph(text)));
+            }
+            document.add(table);
+        }
+        return baos.size();
+    }
+
+    @Benchmark
+    public int layoutLargeTable() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Document document = new Document(new PdfDocument(new PdfWriter(baos)))) {
+            Table table = createTable(true);
+            document.add(table);
+            for (int i = 0; i < texts.length; i++) {
+                table.addCell(new Cell().add(new Paragraph(texts[i])));
+                if ((i + 1) % (FLUSH_ROWS * COLUMNS) == 0) {
+                    table.flush();
+                }
+            }
+            table.complete();
+        }
+        return baos.size();
+    }
+
+    private static Table createTable(boolean largeTable) {
+        Table table = new Table(UnitValue.createPercentArray(COLUMNS), largeTable).useAllAvailableWidth();
+        for (int i = 0; i < COLUMNS; i++) {
+            table.addHeaderCell("Column " + (i + 1));
+        }
+        return table;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the layout of paragraphs, which exercises text and line renderers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TextLayoutBenchmark {
+
+    @Param({"500"})
+    public int paragraphs;
+
+    private String[] texts;
+
+    private byte[] fontProgram;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        texts = new String[paragraphs];
+        for (int i = 0; i < paragraphs; i++) {
+            texts[i] = BenchmarkFixtures.createText(80, i);
+        }
+        fontProgram = BenchmarkFixtures.readResource(BenchmarkFixtures.TRUE_TYPE_FONT);
+    }
+
+    @Benchmark
+    public int layoutParagraphs() {
+        return layout(null, TextAlignment.LEFT);
+    }
+
+    @Benchmark
+    public int layoutJustifiedParagraphs() {
+        return layout(null, TextAlignment.JUSTIFIED);
+    }
+
+    @Benchmark
+    public int layoutParagraphsWithEmbeddedFont() throws IOException {
+        return layout(PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H), TextAlignment.LEFT);
+    }
+
+    private int layout(PdfFont font, TextAlignment alignment) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Document document = new Document(new PdfDocument(new PdfWriter(baos)))) {
+            if (font != null) {
+                document.setFont(font);
+            }
+            for (String text : texts) {
+                document.add(new Paragraph(text).setTextAlignment(alignment));
+            }
+        }
+        return baos.size();
+    }
+}
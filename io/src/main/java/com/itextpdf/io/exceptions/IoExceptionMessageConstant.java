@@ -90,7 +90,9 @@ public final class IoExceptionMessageConstant {
     public static final String EXTRA_SAMPLES_ARE_NOT_SUPPORTED = "Extra samples are not supported.";
     public static final String FDF_STARTXREF_NOT_FOUND = "FDF startxref not found.";
     public static final String FIRST_SCANLINE_MUST_BE_1D_ENCODED = "First scanline must be 1D encoded.";
+    public static final String FONT_CACHE_LIMITS_SHALL_BE_POSITIVE = "The limits of the font cache shall be positive.";
     public static final String FONT_FILE_NOT_FOUND = "Font file {0} not found.";
+    public static final String FONT_PROGRAM_CACHE_SHALL_NOT_BE_NULL = "Font program cache shall not be null.";
     public static final String GHOSTSCRIPT_FAILED = "GhostScript failed for <filename>";
     public static final String GIF_IMAGE_EXCEPTION = "GIF image exception.";
     public static final String GIF_SIGNATURE_NOT_FOUND = "GIF signature not found.";
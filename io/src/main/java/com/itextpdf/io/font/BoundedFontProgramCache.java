@@ -0,0 +1,187 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An {@link IFontProgramCache} with bounded number of entries and bounded estimated size.
+ *
+ * <p>
+ * When a limit is exceeded, the least recently used font programs are evicted, so the fonts which
+ * are used all the time, e.g. standard and system fonts, stay in the cache. Font programs whose estimated
+ * size is not less than the soft reference threshold are kept via {@link SoftReference}, so they can be
+ * collected by the garbage collector under memory pressure.
+ */
+public class BoundedFontProgramCache implements IFontProgramCache {
+
+    private static final long FONT_PROGRAM_ESTIMATED_SIZE = 4096;
+    private static final long GLYPH_ESTIMATED_SIZE = 128;
+
+    private final int maxEntries;
+    private final long maxEstimatedSize;
+    private final long softReferenceThreshold;
+
+    private final LinkedHashMap<FontCacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long estimatedSize = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Creates a new {@link BoundedFontProgramCache} instance which keeps all the font programs
+     * via strong references.
+     *
+     * @param maxEntries       the maximum number of font programs in the cache
+     * @param maxEstimatedSize the maximum estimated size of all the font programs in the cache, in bytes
+     */
+    public BoundedFontProgramCache(int maxEntries, long maxEstimatedSize) {
+        this(maxEntries, maxEstimatedSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new {@link BoundedFontProgramCache} instance.
+     *
+     * @param maxEntries             the maximum number of font programs in the cache
+     * @param maxEstimatedSize       the maximum estimated size of all the font programs in the cache, in bytes
+     * @param softReferenceThreshold the estimated size in bytes starting from which the font programs are kept
+     *                               via soft references
+     */
+    public BoundedFontProgramCache(int maxEntries, long maxEstimatedSize, long softReferenceThreshold) {
+        if (maxEntries <= 0 || maxEstimatedSize <= 0) {
+            throw new IllegalArgumentException(IoExceptionMessageConstant.FONT_CACHE_LIMITS_SHALL_BE_POSITIVE);
+        }
+        this.maxEntries = maxEntries;
+        this.maxEstimatedSize = maxEstimatedSize;
+        this.softReferenceThreshold = softReferenceThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized FontProgram get(FontCacheKey key) {
+        FontProgram fontProgram = getFontProgram(key);
+        if (fontProgram == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return fontProgram;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * A font program whose estimated size exceeds the maximum size of the cache is not saved.
+     */
+    @Override
+    public synchronized FontProgram putIfAbsent(FontCacheKey key, FontProgram fontProgram) {
+        FontProgram fontFound = getFontProgram(key);
+        if (fontFound != null) {
+            return fontFound;
+        }
+        long size = estimateSize(fontProgram);
+        if (size > maxEstimatedSize) {
+            return fontProgram;
+        }
+        entries.put(key, new CacheEntry(fontProgram, size, size >= softReferenceThreshold));
+        estimatedSize += size;
+        evictExcessEntries();
+        return fontProgram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        estimatedSize = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized FontCacheStatistics getStatistics() {
+        return new FontCacheStatistics(hitCount, missCount, evictionCount, entries.size(), estimatedSize);
+    }
+
+    /**
+     * Estimates the number of bytes occupied by the font program.
+     *
+     * @param fontProgram the font program
+     * @return the estimated size in bytes
+     */
+    protected long estimateSize(FontProgram fontProgram) {
+        return FONT_PROGRAM_ESTIMATED_SIZE + GLYPH_ESTIMATED_SIZE * fontProgram.countOfGlyphs();
+    }
+
+    private FontProgram getFontProgram(FontCacheKey key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        FontProgram fontProgram = entry.getFontProgram();
+        if (fontProgram == null) {
+            // The font program has been collected by the garbage collector
+            entries.remove(key);
+            estimatedSize -= entry.size;
+            evictionCount++;
+        }
+        return fontProgram;
+    }
+
+    private void evictExcessEntries() {
+        Iterator<Map.Entry<FontCacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && (entries.size() > maxEntries || estimatedSize > maxEstimatedSize)) {
+            CacheEntry entry = iterator.next().getValue();
+            iterator.remove();
+            estimatedSize -= entry.size;
+            evictionCount++;
+        }
+    }
+
+    private static class CacheEntry {
+        private final FontProgram strongReference;
+        private final SoftReference<FontProgram> softReference;
+        private final long size;
+
+        CacheEntry(FontProgram fontProgram, long size, boolean soft) {
+            this.strongReference = soft ? null : fontProgram;
+            this.softReference = soft ? new SoftReference<>(fontProgram) : null;
+            this.size = size;
+        }
+
+        FontProgram getFontProgram() {
+            return strongReference != null ? strongReference : softReference.get();
+        }
+    }
+}
@@ -43,14 +43,20 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is responsible for loading and handling CJK fonts and CMaps from font-asian package.
+ *
+ * <p>
+ * Parsed CMaps are cached process-wide, so each CMap is parsed only once for each of its forms. The returned
+ * CMap instances are shared between all the callers and must not be modified.
  */
 public final class CjkResourceLoader {
 
     private static final Map<String, Map<String, Object>> allCidFonts = new LinkedHashMap<>();
     private static final Map<String, Set<String>> registryNames = new HashMap<>();
+    private static final Map<String, AbstractCMap> parsedCmaps = new ConcurrentHashMap<>();
 
     private static final String CJK_REGISTRY_FILENAME = "cjk_registry.properties";
     private static final String FONTS_PROP = "fonts";
@@ -145,8 +151,7 @@ public final class CjkResourceLoader {
      * an exception is thrown.
      */
     public static CMapCidUni getCid2UniCmap(String uniMap) {
-        CMapCidUni cidUni = new CMapCidUni();
-        return parseCmap(uniMap, cidUni);
+        return getCachedCmap(uniMap, CMapCidUni.class);
     }
 
     /**
@@ -157,7 +162,7 @@ public final class CjkResourceLoader {
      * an exception is thrown.
      */
     public static CMapUniCid getUni2CidCmap(String uniMap) {
-        return parseCmap(uniMap, new CMapUniCid());
+        return getCachedCmap(uniMap, CMapUniCid.class);
     }
 
     /**
@@ -168,8 +173,7 @@ public final class CjkResourceLoader {
      * an exception is thrown.
      */
     public static CMapByteCid getByte2CidCmap(String cmap) {
-        CMapByteCid uniCid = new CMapByteCid();
-        return parseCmap(cmap, uniCid);
+        return getCachedCmap(cmap, CMapByteCid.class);
     }
 
     /**
@@ -180,8 +184,7 @@ public final class CjkResourceLoader {
      * an exception is thrown.
      */
     public static CMapCidToCodepoint getCidToCodepointCmap(String cmap) {
-        CMapCidToCodepoint cidByte = new CMapCidToCodepoint();
-        return parseCmap(cmap, cidByte);
+        return getCachedCmap(cmap, CMapCidToCodepoint.class);
     }
 
     /**
@@ -192,11 +195,12 @@ public final class CjkResourceLoader {
      * an exception is thrown.
      */
     public static CMapCodepointToCid getCodepointToCidCmap(String uniMap) {
-        return parseCmap(uniMap, new CMapCodepointToCid());
+        return getCachedCmap(uniMap, CMapCodepointToCid.class);
     }
 
     static void setCmapLocation(CMapLocationResource cmapLocation) {
         CjkResourceLoader.cmapLocation = cmapLocation;
+        parsedCmaps.clear();
         try {
             loadRegistry();
         } catch (Exception ignored) {
@@ -270,6 +274,33 @@ public final class CjkResourceLoader {
         return h;
     }
 
+    private static <T extends AbstractCMap> T getCachedCmap(String name, Class<T> cmapClass) {
+        String key = cmapClass.getName() + "/" + name;
+        AbstractCMap cmap = parsedCmaps.get(key);
+        if (cmap == null) {
+            cmap = parseCmap(name, createCmap(cmapClass));
+            AbstractCMap existing = parsedCmaps.putIfAbsent(key, cmap);
+            if (existing != null) {
+                cmap = existing;
+            }
+        }
+        return cmapClass.cast(cmap);
+    }
+
+    private static AbstractCMap createCmap(Class<? extends AbstractCMap> cmapClass) {
+        if (cmapClass == CMapCidUni.class) {
+            return new CMapCidUni();
+        } else if (cmapClass == CMapUniCid.class) {
+            return new CMapUniCid();
+        } else if (cmapClass == CMapByteCid.class) {
+            return new CMapByteCid();
+        } else if (cmapClass == CMapCidToCodepoint.class) {
+            return new CMapCidToCodepoint();
+        } else {
+            return new CMapCodepointToCid();
+        }
+    }
+
     private static <T extends AbstractCMap> T parseCmap(String name, T cmap) {
         try {
             CMapParser.parseCid(name, cmap, cmapLocation);
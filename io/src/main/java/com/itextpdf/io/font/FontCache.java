@@ -22,19 +22,42 @@
  */
 package com.itextpdf.io.font;
 
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.font.cmap.CMapByteCid;
 import com.itextpdf.io.font.cmap.CMapCidToCodepoint;
 import com.itextpdf.io.font.cmap.CMapCidUni;
 import com.itextpdf.io.font.cmap.CMapCodepointToCid;
 import com.itextpdf.io.font.cmap.CMapUniCid;
 
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FontCache {
 
-    private static final Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static volatile IFontProgramCache fontCache = new UnboundedFontProgramCache();
+
+    /**
+     * Sets the storage of the saved font programs, e.g. {@link BoundedFontProgramCache} to keep the memory
+     * occupied by the cached fonts bounded. By default {@link UnboundedFontProgramCache} is used.
+     * <p>
+     * The font programs saved to the previously used storage are not transferred to the new one.
+     *
+     * @param fontProgramCache the {@link IFontProgramCache} instance to use
+     */
+    public static void setFontProgramCache(IFontProgramCache fontProgramCache) {
+        if (fontProgramCache == null) {
+            throw new IllegalArgumentException(IoExceptionMessageConstant.FONT_PROGRAM_CACHE_SHALL_NOT_BE_NULL);
+        }
+        fontCache = fontProgramCache;
+    }
+
+    /**
+     * Gets the storage of the saved font programs.
+     *
+     * @return the {@link IFontProgramCache} instance in use
+     */
+    public static IFontProgramCache getFontProgramCache() {
+        return fontCache;
+    }
 
     /**
      * Clears the cache by removing fonts that were added via {@link #saveFont(FontProgram, String)}.
@@ -59,11 +82,6 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
-        }
-        fontCache.put(key, font);
-        return font;
+        return fontCache.putIfAbsent(key, font);
     }
 }
@@ -0,0 +1,99 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+/**
+ * An immutable snapshot of the usage statistics of an {@link IFontProgramCache}.
+ */
+public final class FontCacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final long estimatedSize;
+
+    /**
+     * Creates a new {@link FontCacheStatistics} instance.
+     *
+     * @param hitCount      the number of lookups which found a font program
+     * @param missCount     the number of lookups which didn't find a font program
+     * @param evictionCount the number of font programs evicted from the cache
+     * @param size          the number of font programs in the cache
+     * @param estimatedSize the estimated number of bytes occupied by the font programs in the cache,
+     *                      or -1 if the cache doesn't estimate it
+     */
+    public FontCacheStatistics(long hitCount, long missCount, long evictionCount, int size, long estimatedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.estimatedSize = estimatedSize;
+    }
+
+    /**
+     * Gets the number of lookups which found a font program.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups which didn't find a font program.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of font programs evicted from the cache, including the ones
+     * which were collected by the garbage collector.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of font programs in the cache.
+     *
+     * @return the number of font programs
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the estimated number of bytes occupied by the font programs in the cache.
+     *
+     * @return the estimated size in bytes, or -1 if the cache doesn't estimate it
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+/**
+ * A storage of {@link FontProgram} instances used by {@link FontCache}.
+ *
+ * <p>
+ * Implementations are shared by all the threads which create fonts and thus must be thread-safe.
+ *
+ * @see FontCache#setFontProgramCache(IFontProgramCache)
+ */
+public interface IFontProgramCache {
+
+    /**
+     * Gets the font program saved for the key.
+     *
+     * @param key the key of the font program
+     * @return the cached font program or {@code null} if there is no font program for the key
+     */
+    FontProgram get(FontCacheKey key);
+
+    /**
+     * Saves the font program for the key unless there is already a font program saved for it.
+     *
+     * @param key         the key of the font program
+     * @param fontProgram the font program to save
+     * @return the font program which was already saved for the key, or the passed font program otherwise
+     */
+    FontProgram putIfAbsent(FontCacheKey key, FontProgram fontProgram);
+
+    /**
+     * Removes all the font programs from the cache.
+     */
+    void clear();
+
+    /**
+     * Gets the snapshot of the cache usage statistics.
+     *
+     * @return the {@link FontCacheStatistics} instance
+     */
+    FontCacheStatistics getStatistics();
+}
@@ -0,0 +1,376 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map from primitive int keys (character codes, glyph indices or unicode values) to {@link Glyph} instances.
+ * <p>
+ * Keys from the Basic Multilingual Plane, i.e. from {@code 0} to {@code 0xFFFF}, are stored in dense arrays
+ * which are allocated lazily in blocks of 256 entries. All the other keys are stored in an open-addressing
+ * hash table. The primitive {@link #get(int)}, {@link #put(int, Glyph)}, {@link #containsKey(int)} and
+ * {@link #remove(int)} methods neither box keys nor allocate entries, while the {@link Map} methods
+ * are available for the compatibility with the code which treats glyph maps as generic maps.
+ * <p>
+ * {@code null} values are allowed, as in {@link java.util.HashMap}. Entries are iterated in the ascending order
+ * of the BMP keys, followed by the other keys in no particular order. Iterators do not support removal.
+ * <p>
+ * The fields declared as {@code Map<Integer, Glyph>} can be read without boxing by {@link #getGlyph(Map, int)},
+ * which takes the primitive path if the map is an {@link IntGlyphMap}.
+ */
+public class IntGlyphMap extends AbstractMap<Integer, Glyph> {
+
+    private static final int BLOCK_BITS = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int DENSE_KEYS_LIMIT = 0x10000;
+    private static final int MIN_SPARSE_CAPACITY = 16;
+
+    /**
+     * Is stored instead of {@code null} values, since {@code null} marks the absent keys in the arrays.
+     */
+    private static final Glyph NULL_GLYPH = new Glyph(-1, 0, -1);
+
+    private final Glyph[][] denseBlocks = new Glyph[DENSE_KEYS_LIMIT >> BLOCK_BITS][];
+
+    private int[] sparseKeys;
+    private Glyph[] sparseValues;
+    private int sparseCount;
+
+    private int size;
+
+    private Set<Map.Entry<Integer, Glyph>> entrySet;
+
+    /**
+     * Creates an empty {@link IntGlyphMap}.
+     */
+    public IntGlyphMap() {
+        // Empty constructor
+    }
+
+    /**
+     * Gets the glyph mapped to the specified key of the glyph map. The key isn't boxed if the map
+     * is an {@link IntGlyphMap}.
+     *
+     * @param glyphs the glyph map
+     * @param key the key whose glyph is to be returned
+     * @return the glyph mapped to the key, or {@code null} if there is no mapping for the key
+     */
+    public static Glyph getGlyph(Map<Integer, Glyph> glyphs, int key) {
+        if (glyphs instanceof IntGlyphMap) {
+            return ((IntGlyphMap) glyphs).get(key);
+        }
+        return glyphs.get(key);
+    }
+
+    /**
+     * Gets the glyph mapped to the specified key.
+     *
+     * @param key the key whose glyph is to be returned
+     * @return the glyph mapped to the key, or {@code null} if there is no mapping for the key
+     */
+    public Glyph get(int key) {
+        return unmaskNull(getStored(key));
+    }
+
+    /**
+     * Checks whether there is a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if there is a mapping for the key, {@code false} otherwise
+     */
+    public boolean containsKey(int key) {
+        return getStored(key) != null;
+    }
+
+    /**
+     * Maps the specified glyph to the specified key.
+     *
+     * @param key the key to map the glyph to
+     * @param glyph the glyph to map, may be {@code null}
+     * @return the glyph previously mapped to the key, or {@code null} if there was no mapping for the key
+     */
+    public Glyph put(int key, Glyph glyph) {
+        Glyph stored = glyph == null ? NULL_GLYPH : glyph;
+        Glyph previous;
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            Glyph[] block = denseBlocks[key >> BLOCK_BITS];
+            if (block == null) {
+                block = new Glyph[BLOCK_SIZE];
+                denseBlocks[key >> BLOCK_BITS] = block;
+            }
+            previous = block[key & BLOCK_MASK];
+            block[key & BLOCK_MASK] = stored;
+        } else {
+            previous = putSparse(key, stored);
+        }
+        if (previous == null) {
+            ++size;
+        }
+        return unmaskNull(previous);
+    }
+
+    /**
+     * Removes the glyph mapped to the specified key.
+     *
+     * @param key the key whose mapping is to be removed
+     * @return the removed glyph, or {@code null} if there was no mapping for the key
+     */
+    public Glyph remove(int key) {
+        Glyph previous;
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            Glyph[] block = denseBlocks[key >> BLOCK_BITS];
+            if (block == null) {
+                return null;
+            }
+            previous = block[key & BLOCK_MASK];
+            block[key & BLOCK_MASK] = null;
+        } else {
+            previous = removeSparse(key);
+        }
+        if (previous != null) {
+            --size;
+        }
+        return unmaskNull(previous);
+    }
+
+    @Override
+    public Glyph get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Glyph put(Integer key, Glyph glyph) {
+        return put((int) key, glyph);
+    }
+
+    @Override
+    public Glyph remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < denseBlocks.length; i++) {
+            denseBlocks[i] = null;
+        }
+        sparseKeys = null;
+        sparseValues = null;
+        sparseCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Glyph>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private Glyph getStored(int key) {
+        if (key >= 0 && key < DENSE_KEYS_LIMIT) {
+            Glyph[] block = denseBlocks[key >> BLOCK_BITS];
+            return block == null ? null : block[key & BLOCK_MASK];
+        }
+        if (sparseCount == 0) {
+            return null;
+        }
+        int slot = findSparseSlot(key);
+        return slot < 0 ? null : sparseValues[slot];
+    }
+
+    private static Glyph unmaskNull(Glyph stored) {
+        return stored == NULL_GLYPH ? null : stored;
+    }
+
+    private int findSparseSlot(int key) {
+        int mask = sparseKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (sparseValues[slot] != null) {
+            if (sparseKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private Glyph putSparse(int key, Glyph glyph) {
+        if (sparseKeys == null) {
+            sparseKeys = new int[MIN_SPARSE_CAPACITY];
+            sparseValues = new Glyph[MIN_SPARSE_CAPACITY];
+        } else if ((sparseCount + 1) * 4 > sparseKeys.length * 3) {
+            resizeSparse(sparseKeys.length * 2);
+        }
+        int mask = sparseKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (sparseValues[slot] != null) {
+            if (sparseKeys[slot] == key) {
+                Glyph previous = sparseValues[slot];
+                sparseValues[slot] = glyph;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        sparseKeys[slot] = key;
+        sparseValues[slot] = glyph;
+        ++sparseCount;
+        return null;
+    }
+
+    private Glyph removeSparse(int key) {
+        if (sparseCount == 0) {
+            return null;
+        }
+        int slot = findSparseSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        Glyph previous = sparseValues[slot];
+        // Backward shift deletion keeps the probe sequences of the remaining keys unbroken.
+        int mask = sparseKeys.length - 1;
+        int next = (slot + 1) & mask;
+        while (sparseValues[next] != null) {
+            int home = mix(sparseKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                sparseKeys[slot] = sparseKeys[next];
+                sparseValues[slot] = sparseValues[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        sparseValues[slot] = null;
+        --sparseCount;
+        return previous;
+    }
+
+    private void resizeSparse(int capacity) {
+        int[] oldKeys = sparseKeys;
+        Glyph[] oldValues = sparseValues;
+        sparseKeys = new int[capacity];
+        sparseValues = new Glyph[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (sparseValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                sparseKeys[slot] = oldKeys[i];
+                sparseValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Glyph>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Glyph>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Glyph>> {
+        // Positions from 0 to DENSE_KEYS_LIMIT - 1 address the dense blocks, the following ones the sparse slots.
+        private int position;
+        private final int[] iteratedSparseKeys = sparseKeys;
+        private final Glyph[] iteratedSparseValues = sparseValues;
+
+        EntryIterator() {
+            position = findNext(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position >= 0;
+        }
+
+        @Override
+        public Map.Entry<Integer, Glyph> next() {
+            if (position < 0) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Integer, Glyph> entry;
+            if (position < DENSE_KEYS_LIMIT) {
+                entry = new SimpleImmutableEntry<Integer, Glyph>(position,
+                        unmaskNull(denseBlocks[position >> BLOCK_BITS][position & BLOCK_MASK]));
+            } else {
+                int slot = position - DENSE_KEYS_LIMIT;
+                entry = new SimpleImmutableEntry<Integer, Glyph>(iteratedSparseKeys[slot],
+                        unmaskNull(iteratedSparseValues[slot]));
+            }
+            position = findNext(position + 1);
+            return entry;
+        }
+
+        private int findNext(int from) {
+            int current = from;
+            while (current < DENSE_KEYS_LIMIT) {
+                Glyph[] block = denseBlocks[current >> BLOCK_BITS];
+                if (block == null) {
+                    current = (current | BLOCK_MASK) + 1;
+                } else if (block[current & BLOCK_MASK] != null) {
+                    return current;
+                } else {
+                    ++current;
+                }
+            }
+            if (iteratedSparseValues != null) {
+                for (int slot = current - DENSE_KEYS_LIMIT; slot < iteratedSparseValues.length; slot++) {
+                    if (iteratedSparseValues[slot] != null) {
+                        return DENSE_KEYS_LIMIT + slot;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
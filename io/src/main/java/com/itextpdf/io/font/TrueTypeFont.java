@@ -34,7 +34,6 @@ import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -300,8 +299,8 @@ public class TrueTypeFont extends FontProgram {
         Map<Integer, int[]> cmap = getActiveCmap();
         int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
         int numOfGlyphs = fontMetrics.getNumberOfGlyphs();
-        unicodeToGlyph = new LinkedHashMap<>(cmap.size());
-        codeToGlyph = new LinkedHashMap<>(numOfGlyphs);
+        unicodeToGlyph = new IntGlyphMap();
+        codeToGlyph = new IntGlyphMap();
         avgWidth = 0;
         CFFFontSubset cffFontSubset = null;
         if (isCff()) {
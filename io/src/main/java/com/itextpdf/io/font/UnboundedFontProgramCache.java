@@ -0,0 +1,75 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The default {@link IFontProgramCache} which keeps all the saved font programs until it is cleared.
+ */
+public class UnboundedFontProgramCache implements IFontProgramCache {
+
+    private final ConcurrentHashMap<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FontProgram get(FontCacheKey key) {
+        FontProgram fontProgram = fontCache.get(key);
+        if (fontProgram == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return fontProgram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FontProgram putIfAbsent(FontCacheKey key, FontProgram fontProgram) {
+        FontProgram fontFound = fontCache.putIfAbsent(key, fontProgram);
+        return fontFound != null ? fontFound : fontProgram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        fontCache.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FontCacheStatistics getStatistics() {
+        return new FontCacheStatistics(hitCount.get(), missCount.get(), 0, fontCache.size(), -1);
+    }
+}
@@ -183,6 +183,16 @@ public class PdfTokenizer implements Closeable {
         return outBuf.toByteArray();
     }
 
+    /**
+     * Appends the content of the current token to the passed buffer. Unlike {@link #getByteContent()}
+     * no intermediate array is created.
+     *
+     * @param buffer the buffer to append the token content to
+     */
+    public void appendByteContent(ByteBuffer buffer) {
+        buffer.append(outBuf.getInternalBuffer(), 0, outBuf.size());
+    }
+
     public String getStringValue() {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
@@ -95,4 +95,25 @@ public class CjkResourceLoaderTest extends ExtendedITextTest {
         byte[] expected = {(byte) ((byteCode & 0xFF00) >> 8), (byte) (byteCode & 0xFF)};
         Assertions.assertArrayEquals(expected, actual);
     }
+
+    @Test
+    public void parsedCmapsAreCached() {
+        Assertions.assertSame(CjkResourceLoader.getCid2UniCmap("UniJIS-UTF16-H"),
+                CjkResourceLoader.getCid2UniCmap("UniJIS-UTF16-H"));
+        Assertions.assertSame(CjkResourceLoader.getUni2CidCmap("UniJIS-UTF16-H"),
+                CjkResourceLoader.getUni2CidCmap("UniJIS-UTF16-H"));
+        Assertions.assertSame(CjkResourceLoader.getByte2CidCmap("78ms-RKSJ-H"),
+                CjkResourceLoader.getByte2CidCmap("78ms-RKSJ-H"));
+        Assertions.assertSame(CjkResourceLoader.getCidToCodepointCmap("78ms-RKSJ-H"),
+                CjkResourceLoader.getCidToCodepointCmap("78ms-RKSJ-H"));
+    }
+
+    @Test
+    public void differentCmapFormsAreCachedSeparately() {
+        CMapCidToCodepoint cid2Byte = CjkResourceLoader.getCidToCodepointCmap("78ms-RKSJ-H");
+        CMapCodepointToCid byte2Cid = CjkResourceLoader.getCodepointToCidCmap("78ms-RKSJ-H");
+
+        Assertions.assertEquals(7779, byte2Cid.lookup(0x94e0));
+        Assertions.assertEquals(2, cid2Byte.lookup(7779).length);
+    }
 }
@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.font;
 
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.test.ExtendedITextTest;
 
@@ -93,8 +94,103 @@ public class FontCacheTest extends ExtendedITextTest {
         Assertions.assertEquals(normalMockFontProgram, FontCache.getFont(normal));
     }
 
+    @Test
+    public void boundedCacheEvictsLeastRecentlyUsedTest() {
+        IFontProgramCache defaultCache = FontCache.getFontProgramCache();
+        BoundedFontProgramCache boundedCache = new BoundedFontProgramCache(2, Long.MAX_VALUE);
+        FontCache.setFontProgramCache(boundedCache);
+        try {
+            FontProgram first = new FontProgramMock();
+            FontProgram second = new FontProgramMock();
+            FontProgram third = new FontProgramMock();
+            FontCache.saveFont(first, "first");
+            FontCache.saveFont(second, "second");
+            // make the first font recently used
+            Assertions.assertEquals(first, FontCache.getFont("first"));
+            FontCache.saveFont(third, "third");
+
+            Assertions.assertEquals(first, FontCache.getFont("first"));
+            Assertions.assertNull(FontCache.getFont("second"));
+            Assertions.assertEquals(third, FontCache.getFont("third"));
+
+            FontCacheStatistics statistics = boundedCache.getStatistics();
+            Assertions.assertEquals(3, statistics.getHitCount());
+            Assertions.assertEquals(1, statistics.getMissCount());
+            Assertions.assertEquals(1, statistics.getEvictionCount());
+            Assertions.assertEquals(2, statistics.getSize());
+        } finally {
+            FontCache.setFontProgramCache(defaultCache);
+        }
+    }
+
+    @Test
+    public void boundedCacheEstimatedSizeLimitTest() {
+        BoundedFontProgramCache boundedCache = new BoundedFontProgramCache(100, 7000);
+        FontProgram first = new FontProgramMock();
+        FontProgram second = new FontProgramMock();
+        FontProgram large = new FontProgramMock(1000);
+
+        boundedCache.putIfAbsent(FontCacheKey.create("first"), first);
+        boundedCache.putIfAbsent(FontCacheKey.create("second"), second);
+        Assertions.assertEquals(1, boundedCache.getStatistics().getSize());
+        Assertions.assertEquals(second, boundedCache.get(FontCacheKey.create("second")));
+
+        // a font which doesn't fit into the cache at all is not saved
+        Assertions.assertEquals(large, boundedCache.putIfAbsent(FontCacheKey.create("large"), large));
+        Assertions.assertNull(boundedCache.get(FontCacheKey.create("large")));
+        Assertions.assertEquals(second, boundedCache.get(FontCacheKey.create("second")));
+    }
+
+    @Test
+    public void putIfAbsentReturnsSavedFontTest() {
+        BoundedFontProgramCache boundedCache = new BoundedFontProgramCache(10, Long.MAX_VALUE, 0);
+        FontProgram first = new FontProgramMock();
+        FontProgram second = new FontProgramMock();
+
+        Assertions.assertEquals(first, boundedCache.putIfAbsent(FontCacheKey.create("font"), first));
+        Assertions.assertEquals(first, boundedCache.putIfAbsent(FontCacheKey.create("font"), second));
+        Assertions.assertEquals(first, boundedCache.get(FontCacheKey.create("font")));
+
+        boundedCache.clear();
+        Assertions.assertNull(boundedCache.get(FontCacheKey.create("font")));
+        Assertions.assertEquals(0, boundedCache.getStatistics().getEstimatedSize());
+    }
+
+    @Test
+    public void defaultCacheStatisticsTest() {
+        UnboundedFontProgramCache cache = new UnboundedFontProgramCache();
+        FontProgram fontProgram = new FontProgramMock();
+        cache.putIfAbsent(FontCacheKey.create("font"), fontProgram);
+
+        Assertions.assertEquals(fontProgram, cache.get(FontCacheKey.create("font")));
+        Assertions.assertNull(cache.get(FontCacheKey.create("other")));
+
+        FontCacheStatistics statistics = cache.getStatistics();
+        Assertions.assertEquals(1, statistics.getHitCount());
+        Assertions.assertEquals(1, statistics.getMissCount());
+        Assertions.assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    public void invalidFontProgramCacheTest() {
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new BoundedFontProgramCache(0, 1024));
+        Assertions.assertEquals(IoExceptionMessageConstant.FONT_CACHE_LIMITS_SHALL_BE_POSITIVE, e.getMessage());
+        e = Assertions.assertThrows(IllegalArgumentException.class, () -> FontCache.setFontProgramCache(null));
+        Assertions.assertEquals(IoExceptionMessageConstant.FONT_PROGRAM_CACHE_SHALL_NOT_BE_NULL, e.getMessage());
+    }
+
     private static class FontProgramMock extends FontProgram {
 
+        FontProgramMock() {
+        }
+
+        FontProgramMock(int glyphsCount) {
+            for (int i = 0; i < glyphsCount; i++) {
+                codeToGlyph.put(i, new Glyph(i, 0, i));
+            }
+        }
+
         @Override
         public int getPdfFontFlags() {
             return 0;
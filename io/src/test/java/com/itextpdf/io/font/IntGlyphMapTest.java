@@ -0,0 +1,141 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class IntGlyphMapTest extends ExtendedITextTest {
+
+    @Test
+    public void denseKeysTest() {
+        IntGlyphMap map = new IntGlyphMap();
+        Glyph a = new Glyph(1, 500, 'a');
+        Glyph cjk = new Glyph(2, 1000, 0x4E00);
+        Assertions.assertNull(map.put('a', a));
+        Assertions.assertNull(map.put(0x4E00, cjk));
+        Assertions.assertEquals(2, map.size());
+        Assertions.assertSame(a, map.get('a'));
+        Assertions.assertSame(cjk, map.get(0x4E00));
+        Assertions.assertSame(cjk, map.get((Object) Integer.valueOf(0x4E00)));
+        Assertions.assertTrue(map.containsKey(0x4E00));
+        Assertions.assertFalse(map.containsKey('b'));
+        Assertions.assertNull(map.get('b'));
+
+        Assertions.assertSame(a, map.put('a', cjk));
+        Assertions.assertEquals(2, map.size());
+        Assertions.assertSame(cjk, map.remove('a'));
+        Assertions.assertNull(map.remove('a'));
+        Assertions.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void sparseKeysTest() {
+        IntGlyphMap map = new IntGlyphMap();
+        Map<Integer, Glyph> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            int key = i % 2 == 0 ? 0x10000 + i * 37 : -i;
+            Glyph glyph = new Glyph(i, i, key);
+            map.put(key, glyph);
+            expected.put(key, glyph);
+        }
+        Assertions.assertEquals(expected, map);
+        for (int i = 0; i < 1000; i += 3) {
+            int key = i % 2 == 0 ? 0x10000 + i * 37 : -i;
+            Assertions.assertSame(expected.remove(key), map.remove(key));
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Glyph> entry : expected.entrySet()) {
+            Assertions.assertSame(entry.getValue(), map.get((int) entry.getKey()));
+        }
+        Assertions.assertEquals(expected, map);
+    }
+
+    @Test
+    public void nullValueTest() {
+        IntGlyphMap map = new IntGlyphMap();
+        Glyph glyph = new Glyph(10, 0, 10);
+        map.put(10, glyph);
+        map.put(0x20000, new Glyph(11, 0, 0x20000));
+        Assertions.assertSame(glyph, map.put(10, null));
+        map.put(0x20000, null);
+        map.put(20, null);
+        Assertions.assertEquals(3, map.size());
+        Assertions.assertTrue(map.containsKey(10));
+        Assertions.assertTrue(map.containsKey(0x20000));
+        Assertions.assertTrue(map.containsKey(20));
+        Assertions.assertTrue(map.containsValue(null));
+        Assertions.assertNull(map.get(10));
+        Assertions.assertNull(map.get(0x20000));
+
+        Map<Integer, Glyph> expected = new HashMap<>();
+        expected.put(10, null);
+        expected.put(20, null);
+        expected.put(0x20000, null);
+        Assertions.assertEquals(expected, map);
+
+        Assertions.assertNull(map.remove(10));
+        Assertions.assertFalse(map.containsKey(10));
+        Assertions.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void getGlyphFromGenericMapTest() {
+        Glyph glyph = new Glyph(1, 500, 'a');
+        Map<Integer, Glyph> intGlyphMap = new IntGlyphMap();
+        intGlyphMap.put((int) 'a', glyph);
+        Map<Integer, Glyph> hashMap = new HashMap<>(intGlyphMap);
+        Assertions.assertSame(glyph, IntGlyphMap.getGlyph(intGlyphMap, 'a'));
+        Assertions.assertSame(glyph, IntGlyphMap.getGlyph(hashMap, 'a'));
+        Assertions.assertNull(IntGlyphMap.getGlyph(intGlyphMap, 'b'));
+        Assertions.assertNull(IntGlyphMap.getGlyph(hashMap, 'b'));
+    }
+
+    @Test
+    public void iterationOrderTest() {
+        IntGlyphMap map = new IntGlyphMap();
+        map.put(0x1F600, new Glyph(1, 0, 0x1F600));
+        map.put(0x4E00, new Glyph(2, 0, 0x4E00));
+        map.put(32, new Glyph(3, 0, 32));
+        map.put(300, new Glyph(4, 0, 300));
+        List<Integer> keys = new ArrayList<>(map.keySet());
+        List<Integer> expected = new ArrayList<>();
+        expected.add(32);
+        expected.add(300);
+        expected.add(0x4E00);
+        expected.add(0x1F600);
+        Assertions.assertEquals(expected, keys);
+        map.clear();
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertFalse(map.entrySet().iterator().hasNext());
+    }
+}
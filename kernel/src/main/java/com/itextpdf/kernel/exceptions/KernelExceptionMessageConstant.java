@@ -349,6 +349,7 @@ public final class KernelExceptionMessageConstant {
     public static final String SIG_OBJ_REF_NOT_SPECIFIED =
             "AuthCode dictionary doesn't contain SigObjRef entry, which is required in signature mode.";
     public static final String STDCF_NOT_FOUND_ENCRYPTION = "/StdCF not found (encryption)";
+    public static final String STREAM_COMPRESSION_WAS_INTERRUPTED = "Stream compression was interrupted.";
     public static final String STREAM_SHALL_END_WITH_ENDSTREAM = "Stream shall end with endstream keyword.";
     public static final String STRUCT_PARENT_INDEX_NOT_FOUND_IN_TAGGED_OBJECT = "StructParent index not found in "
             + "tagged object.";
@@ -372,6 +373,7 @@ public final class KernelExceptionMessageConstant {
             + "TagTreePointer is in invalid state: it points at removed element use TagTreePointer#moveToRoot.";
     public static final String THERE_IS_NO_ASSOCIATE_PDF_WRITER_FOR_MAKING_INDIRECTS = "There is no associate "
             + "PdfWriter for making indirects.";
+    public static final String TEXT_EXTRACTION_WAS_INTERRUPTED = "Text extraction was interrupted.";
     public static final String THE_NAME_OF_THE_DIGEST_ALGORITHM_IS_NULL = "The name of the digest algorithm is null.";
     public static final String THIS_DECODE_PARAMETER_TYPE_IS_NOT_SUPPORTED = "Decode parameter type {0} is not "
             + "supported.";
@@ -403,6 +405,8 @@ public final class KernelExceptionMessageConstant {
             "When adding object reference to the tag tree, it must be connected to not flushed object.";
     public static final String WHITE_POINT_IS_INCORRECTLY_SPECIFIED = "White point is incorrectly specified.";
     public static final String WMF_IMAGE_EXCEPTION = "WMF image exception.";
+    public static final String WORKER_COUNT_SHALL_BE_POSITIVE = "Worker count shall be positive.";
+    public static final String WORKER_COUNT_SHALL_NOT_BE_NEGATIVE = "Worker count shall not be negative.";
     public static final String WRAP_ALGORITHM_NOT_SUPPORTED = "This wrapping algorithm is not supported.";
     public static final String WRONG_MEDIA_BOX_SIZE_TOO_FEW_ARGUMENTS = "Wrong media box size: {0}. Need at least 4 "
             + "arguments";
@@ -30,6 +30,7 @@ import com.itextpdf.io.font.CidFont;
 import com.itextpdf.io.font.CidFontProperties;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.IntGlyphMap;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.font.cmap.CMapCharsetEncoder;
@@ -261,7 +262,7 @@ public class PdfType0Font extends PdfFont {
     public Glyph getGlyph(int unicode) {
         // TODO DEVSIX-7568 handle unicode value with cmap and use only glyphByCode
         Glyph glyph = getFontProgram().getGlyph(unicode);
-        if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
+        if (glyph == null && (glyph = IntGlyphMap.getGlyph(notdefGlyphs, unicode)) == null) {
             // Handle special layout characters like softhyphen (00AD).
             // This glyphs will be skipped while converting to bytes
             Glyph notdef = getFontProgram().getGlyphByCode(0);
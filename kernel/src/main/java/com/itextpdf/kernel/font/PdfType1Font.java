@@ -23,6 +23,7 @@
 package com.itextpdf.kernel.font;
 
 import com.itextpdf.io.font.FontEncoding;
+import com.itextpdf.io.font.IntGlyphMap;
 import com.itextpdf.io.font.Type1Font;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.kernel.pdf.PdfDictionary;
@@ -91,7 +92,7 @@ public class PdfType1Font extends PdfSimpleFont<Type1Font> {
                 glyph = getFontProgram().getGlyphByCode(unicode);
             } else {
                 glyph = getFontProgram().getGlyph(fontEncoding.getUnicodeDifference(unicode));
-                if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
+                if (glyph == null && (glyph = IntGlyphMap.getGlyph(notdefGlyphs, unicode)) == null) {
                     // Handle special layout characters like sfthyphen (00AD).
                     // This glyphs will be skipped while converting to bytes
                     glyph = new Glyph(-1, 0, unicode);
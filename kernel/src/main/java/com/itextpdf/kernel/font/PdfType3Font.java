@@ -28,6 +28,7 @@ import com.itextpdf.io.font.FontEncoding;
 import com.itextpdf.io.font.FontMetrics;
 import com.itextpdf.io.font.FontNames;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.IntGlyphMap;
 import com.itextpdf.io.font.constants.FontDescriptorFlags;
 import com.itextpdf.io.font.constants.FontStretches;
 import com.itextpdf.io.font.constants.FontWeights;
@@ -318,7 +319,7 @@ public class PdfType3Font extends PdfSimpleFont<Type3Font> {
     public Glyph getGlyph(int unicode) {
         if (fontEncoding.canEncode(unicode) || unicode < 33) {
             Glyph glyph = getFontProgram().getGlyph(fontEncoding.getUnicodeDifference(unicode));
-            if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
+            if (glyph == null && (glyph = IntGlyphMap.getGlyph(notdefGlyphs, unicode)) == null) {
                 // Handle special layout characters like sfthyphen (00AD).
                 // This glyphs will be skipped while converting to bytes
                 glyph = new Glyph(-1, 0, unicode);
@@ -0,0 +1,135 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This class implements an input stream which can be used for memory limits aware decompression of pdf streams
+ * which are decoded lazily.
+ */
+class MemoryLimitsAwareInputStream extends FilterInputStream {
+
+    private final MemoryLimitsAwareHandler memoryLimitsAwareHandler;
+    private final boolean considerDecompressedBytesSum;
+
+    private long decompressedBytesCount = 0;
+    private boolean finished = false;
+
+    /**
+     * Creates a new {@link MemoryLimitsAwareInputStream} instance.
+     *
+     * @param in                           the stream of decompressed data
+     * @param memoryLimitsAwareHandler     the handler which defines the limits
+     * @param considerDecompressedBytesSum {@code true} if the number of bytes read from this stream should be
+     *                                     added to the sum of decompressed bytes of the document once the stream
+     *                                     is read or closed, {@code false} if only the limit for a single
+     *                                     stream should be checked
+     */
+    MemoryLimitsAwareInputStream(InputStream in, MemoryLimitsAwareHandler memoryLimitsAwareHandler,
+            boolean considerDecompressedBytesSum) {
+        super(in);
+        this.memoryLimitsAwareHandler = memoryLimitsAwareHandler;
+        this.considerDecompressedBytesSum = considerDecompressedBytesSum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b < 0) {
+            finish();
+        } else {
+            considerBytes(1);
+        }
+        return b;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n < 0) {
+            finish();
+        } else {
+            considerBytes(n);
+        }
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        considerBytes(skipped);
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+        super.close();
+    }
+
+    private void considerBytes(long numOfBytes) {
+        decompressedBytesCount += numOfBytes;
+        if (decompressedBytesCount > memoryLimitsAwareHandler.getMaxSizeOfSingleDecompressedPdfStream()) {
+            throw new MemoryLimitsAwareException(
+                    KernelExceptionMessageConstant.DURING_DECOMPRESSION_SINGLE_STREAM_OCCUPIED_MORE_MEMORY_THAN_ALLOWED);
+        }
+    }
+
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (considerDecompressedBytesSum) {
+            memoryLimitsAwareHandler.beginDecompressedPdfStreamProcessing()
+                    .considerBytesOccupiedByDecompressedPdfStream(decompressedBytesCount)
+                    .endDecompressedPdfStreamProcessing();
+        }
+    }
+}
@@ -162,6 +162,10 @@ public class PdfDocument implements Closeable {
      * Cache of already serialized objects from this document for smart mode.
      */
     Map<PdfIndirectReference, byte[]> serializedObjectsCache = new HashMap<>();
+    /**
+     * Cache of the fingerprints of already serialized objects from this document for fingerprint smart mode.
+     */
+    Map<PdfIndirectReference, byte[]> serializedObjectsFingerprints = new HashMap<>();
     /**
      * Handler which will be used for decompression of pdf streams.
      */
@@ -1024,7 +1028,7 @@ public class PdfDocument implements Closeable {
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                        PdfIndirectReference indirectReference = xref.getMaterializedReference(i);
                         if (indirectReference != null && !indirectReference.isFree() && indirectReference.checkState(
                                 PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -1069,6 +1073,9 @@ public class PdfDocument implements Closeable {
 
                     writer.flushWaitingObjects(forbiddenToFlush);
                     for (int i = 0; i < xref.size(); i++) {
+                        if (xref.isReleasedFlushedEntry(i)) {
+                            continue;
+                        }
                         PdfIndirectReference indirectReference = xref.get(i);
                         if (indirectReference != null && !indirectReference.isFree() && !indirectReference.checkState(
                                 PdfObject.FLUSHED) && !forbiddenToFlush.contains(indirectReference)) {
@@ -1084,6 +1091,9 @@ public class PdfDocument implements Closeable {
                     }
                 }
 
+                // The postponed objects shall be written while the crypto is still available
+                writer.completeStreamCompression();
+
                 // To avoid encryption of XrefStream and Encryption dictionary remove crypto.
                 // NOTE. No need in reverting, because it is the last operation with the document.
                 writer.crypto = null;
@@ -2121,6 +2131,9 @@ public class PdfDocument implements Closeable {
             }
             xref.initFreeReferencesList(this);
             if (writer != null) {
+                if (writer.properties.compactXrefTable) {
+                    xref.enableLazyEntries(this);
+                }
                 enableByteArrayWritingMode();
                 if (reader != null && reader.hasXrefStm() && writer.properties.isFullCompression == null) {
                     writer.properties.isFullCompression = Boolean.TRUE;
@@ -193,7 +193,7 @@ public class PdfOutputStream extends HighPrecisionOutputStream<PdfOutputStream>
         if (indirectReference.isFree()) {
             LOGGER.error(IoLogMessageConstant.FLUSHED_OBJECT_CONTAINS_FREE_REFERENCE);
             write(PdfNull.PDF_NULL);
-        } else if (indirectReference.refersTo == null
+        } else if (indirectReference.refersTo == null && !indirectReference.checkState(PdfObject.FLUSHED)
                 && (indirectReference.checkState(PdfObject.MODIFIED) || indirectReference.getReader() == null
                     || !(indirectReference.getOffset() > 0 || indirectReference.getIndex() >= 0))) {
             LOGGER.error(IoLogMessageConstant.FLUSHED_OBJECT_CONTAINS_REFERENCE_WHICH_NOT_REFER_TO_ANY_OBJECT);
@@ -255,19 +255,24 @@ public class PdfOutputStream extends HighPrecisionOutputStream<PdfOutputStream>
         return PdfName.XRef.equals(pdfStream.getAsName(PdfName.Type));
     }
 
+    private boolean initCompressionLevel(PdfStream pdfStream) {
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        if (!userDefinedCompression) {
+            int defaultCompressionLevel = document != null ?
+                    document.getWriter().getCompressionLevel() :
+                    CompressionConstants.DEFAULT_COMPRESSION;
+            pdfStream.setCompressionLevel(defaultCompressionLevel);
+        }
+        return userDefinedCompression;
+    }
+
     private void write(PdfStream pdfStream) {
         try {
-            boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
-            if (!userDefinedCompression) {
-                int defaultCompressionLevel = document != null ?
-                        document.getWriter().getCompressionLevel() :
-                        CompressionConstants.DEFAULT_COMPRESSION;
-                pdfStream.setCompressionLevel(defaultCompressionLevel);
-            }
-            boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
-            boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
-
             if (pdfStream.getInputStream() != null) {
+                boolean userDefinedCompression = initCompressionLevel(pdfStream);
+                boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
+                boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+
                 java.io.OutputStream fout = this;
                 DeflaterOutputStream def = null;
                 OutputStreamEncryption ose = null;
@@ -300,70 +305,119 @@ public class PdfOutputStream extends HighPrecisionOutputStream<PdfOutputStream>
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
             } else {
-                //When document is opened in stamping mode the output stream can be uninitialized.
-                //We have to initialize it and write all data from streams input to streams output.
-                if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
-                    // If new specific compression is set for stream,
-                    // then compressed stream should be decoded and written with new compression settings
-                    byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
-                    if (userDefinedCompression) {
-                        bytes = decodeFlateBytes(pdfStream, bytes);
-                    }
-                    pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
-                    pdfStream.getOutputStream().write(bytes);
-                }
-                assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
-                ByteArrayOutputStream byteArrayStream;
-                try {
-                    if (toCompress && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
-                            && (allowCompression || userDefinedCompression)) {
-                        // compress
-                        updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        }
-                        zip.finish();
-                    } else {
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            byteArrayStream = new ByteArrayOutputStream();
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            byteArrayStream = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
-                        }
-                    }
-                    if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
-                        OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
-                        byteArrayStream.writeTo(ose);
-                        ose.finish();
-                        byteArrayStream = encodedStream;
-                    }
-                } catch (IOException ioe) {
-                    throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
-                }
-                pdfStream.put(PdfName.Length, new PdfNumber(byteArrayStream.size()));
-                pdfStream.updateLength((int) byteArrayStream.size());
-                this.write((PdfDictionary) pdfStream);
-                writeBytes(PdfOutputStream.stream);
-                byteArrayStream.writeTo(this);
-                byteArrayStream.close();
-                writeBytes(PdfOutputStream.endstream);
+                boolean compress = prepareStreamBytes(pdfStream);
+                writeStreamBytes(pdfStream, encodeStreamBytes(pdfStream, compress));
             }
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfStream);
         }
     }
 
+    /**
+     * Prepares the stream, which content is kept in its output stream, for writing: initializes the content of
+     * the streams read in stamping mode and updates the filters if the content is going to be compressed.
+     * Shall be called before {@link #encodeStreamBytes(PdfStream, boolean)}.
+     *
+     * @param pdfStream the stream to prepare
+     * @return true if the content of the stream shall be compressed, false otherwise
+     * @throws IOException if the content of the stream cannot be read
+     */
+    boolean prepareStreamBytes(PdfStream pdfStream) throws IOException {
+        boolean userDefinedCompression = initCompressionLevel(pdfStream);
+        boolean toCompress = pdfStream.getCompressionLevel() != CompressionConstants.NO_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+
+        //When document is opened in stamping mode the output stream can be uninitialized.
+        //We have to initialize it and write all data from streams input to streams output.
+        if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
+            // If new specific compression is set for stream,
+            // then compressed stream should be decoded and written with new compression settings
+            byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
+            if (userDefinedCompression) {
+                bytes = decodeFlateBytes(pdfStream, bytes);
+            }
+            pdfStream.initOutputStream(new ByteArrayOutputStream(bytes.length));
+            pdfStream.getOutputStream().write(bytes);
+        }
+        assert pdfStream.getOutputStream() != null : "PdfStream lost OutputStream";
+        boolean compress = toCompress && !containsFlateFilter(pdfStream) && decodeParamsArrayNotFlushed(pdfStream)
+                && (allowCompression || userDefinedCompression);
+        if (compress) {
+            updateCompressionFilter(pdfStream);
+        }
+        return compress;
+    }
+
+    /**
+     * Encodes the content of the stream prepared by {@link #prepareStreamBytes(PdfStream)}. The method only
+     * reads the content of the passed stream, so it can be called from any thread as long as the stream is
+     * not modified in the meantime.
+     *
+     * @param pdfStream the stream which content shall be encoded
+     * @param compress  true if the content shall be compressed, false otherwise
+     * @return the encoded content of the stream
+     */
+    static ByteArrayOutputStream encodeStreamBytes(PdfStream pdfStream, boolean compress) {
+        ByteArrayOutputStream byteArrayStream;
+        try {
+            if (compress) {
+                byteArrayStream = new ByteArrayOutputStream();
+                DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
+                if (pdfStream instanceof PdfObjectStream) {
+                    PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                    ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+                    ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                } else {
+                    assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                    ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                }
+                zip.finish();
+            } else {
+                if (pdfStream instanceof PdfObjectStream) {
+                    PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                    byteArrayStream = new ByteArrayOutputStream();
+                    ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
+                    ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
+                } else {
+                    assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                    byteArrayStream = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
+                }
+            }
+        } catch (IOException ioe) {
+            throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
+        }
+        return byteArrayStream;
+    }
+
+    /**
+     * Writes the stream dictionary followed by the content encoded by
+     * {@link #encodeStreamBytes(PdfStream, boolean)}. The content is encrypted if needed.
+     *
+     * @param pdfStream       the stream to write
+     * @param byteArrayStream the encoded content of the stream
+     * @throws IOException if an I/O error occurs
+     */
+    void writeStreamBytes(PdfStream pdfStream, ByteArrayOutputStream byteArrayStream) throws IOException {
+        if (checkEncryption(pdfStream)) {
+            try {
+                ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
+                OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
+                byteArrayStream.writeTo(ose);
+                ose.finish();
+                byteArrayStream = encodedStream;
+            } catch (IOException ioe) {
+                throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, ioe);
+            }
+        }
+        pdfStream.put(PdfName.Length, new PdfNumber(byteArrayStream.size()));
+        pdfStream.updateLength((int) byteArrayStream.size());
+        this.write((PdfDictionary) pdfStream);
+        writeBytes(PdfOutputStream.stream);
+        byteArrayStream.writeTo(this);
+        byteArrayStream.close();
+        writeBytes(PdfOutputStream.endstream);
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || (crypto.isEmbeddedFilesOnly() && !document.doesStreamBelongToEmbeddedFile(pdfStream))) {
             return false;
@@ -32,6 +32,7 @@ import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.exceptions.InvalidXRefPrevException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
@@ -40,6 +41,7 @@ import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.XrefCycledReferencesException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
+import com.itextpdf.kernel.pdf.filters.IStreamingFilterHandler;
 import com.itextpdf.kernel.xmp.XMPException;
 import com.itextpdf.kernel.xmp.XMPMeta;
 
@@ -440,17 +442,25 @@ public class PdfReader implements Closeable {
     }
 
     /**
-     * Reads, decrypts and optionally decodes stream bytes into {@link ByteArrayInputStream}.
+     * Reads, decrypts and optionally decodes stream bytes into {@link InputStream}.
      * User is responsible for closing returned stream.
      *
+     * <p>
+     * Only the encoded stream bytes are read into memory. The decoding is performed lazily while the returned
+     * stream is read, see {@link #decodeStream(InputStream, PdfDictionary, Map)}.
+     *
      * @param stream a {@link PdfStream} stream instance to be read
      * @param decode true if to get decoded stream, false if to leave it originally encoded.
      * @return InputStream or {@code null} if reading was failed.
      * @throws IOException on error.
      */
     public InputStream readStream(PdfStream stream, boolean decode) throws IOException {
-        byte[] bytes = readStreamBytes(stream, decode);
-        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        byte[] bytes = readStreamBytesRaw(stream);
+        if (bytes == null) {
+            return null;
+        }
+        InputStream rawStream = new ByteArrayInputStream(bytes);
+        return decode ? decodeStream(rawStream, stream) : rawStream;
     }
 
     /**
@@ -478,15 +488,7 @@ public class PdfReader implements Closeable {
         if (b == null) {
             return null;
         }
-        PdfObject filter = streamDictionary.get(PdfName.Filter);
-        PdfArray filters = new PdfArray();
-        if (filter != null) {
-            if (filter.getType() == PdfObject.NAME) {
-                filters.add(filter);
-            } else if (filter.getType() == PdfObject.ARRAY) {
-                filters = ((PdfArray) filter);
-            }
-        }
+        PdfArray filters = getFilters(streamDictionary);
 
         MemoryLimitsAwareHandler memoryLimitsAwareHandler = null;
         if (null != streamDictionary.getIndirectReference()) {
@@ -500,42 +502,11 @@ public class PdfReader implements Closeable {
             memoryLimitsAwareHandler.beginDecompressedPdfStreamProcessing();
         }
 
-        PdfArray dp = new PdfArray();
-        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
-        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
-            if (dpo != null) dpo.release();
-            dpo = streamDictionary.get(PdfName.DP);
-        }
-        if (dpo != null) {
-            if (dpo.getType() == PdfObject.DICTIONARY) {
-                dp.add(dpo);
-            } else if (dpo.getType() == PdfObject.ARRAY) {
-                dp = ((PdfArray) dpo);
-            }
-            dpo.release();
-        }
+        PdfArray dp = getDecodeParamsArray(streamDictionary);
         for (int j = 0; j < filters.size(); ++j) {
             PdfName filterName = (PdfName) filters.get(j);
-            IFilterHandler filterHandler = filterHandlers.get(filterName);
-            if (filterHandler == null)
-                throw new PdfException(KernelExceptionMessageConstant.THIS_FILTER_IS_NOT_SUPPORTED)
-                        .setMessageParams(filterName);
-
-            PdfDictionary decodeParams;
-            if (j < dp.size()) {
-                PdfObject dpEntry = dp.get(j, true);
-                if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
-                    decodeParams = null;
-                } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
-                    decodeParams = (PdfDictionary) dpEntry;
-                } else {
-                    throw new PdfException(KernelExceptionMessageConstant.THIS_DECODE_PARAMETER_TYPE_IS_NOT_SUPPORTED)
-                            .setMessageParams(dpEntry.getClass().toString());
-                }
-            } else {
-                decodeParams = null;
-            }
-            b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
+            IFilterHandler filterHandler = getFilterHandler(filterName, filterHandlers);
+            b = filterHandler.decode(b, filterName, getDecodeParams(dp, j), streamDictionary);
             if (memoryLimitsAwarenessRequired) {
                 memoryLimitsAwareHandler.considerBytesOccupiedByDecompressedPdfStream(b.length);
             }
@@ -546,6 +517,74 @@ public class PdfReader implements Closeable {
         return b;
     }
 
+    /**
+     * Decode the stream applying the filters specified in the provided dictionary using default filter handlers.
+     *
+     * @param in               the stream of the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @return the stream of the decoded bytes
+     * @throws PdfException if there are any problems decoding the bytes
+     * @see #decodeStream(InputStream, PdfDictionary, Map)
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary) {
+        return decodeStream(in, streamDictionary, FilterHandlers.getDefaultFilterHandlers());
+    }
+
+    /**
+     * Decode the stream applying the filters specified in the provided dictionary using the provided filter
+     * handlers.
+     *
+     * <p>
+     * The filters implementing {@link IStreamingFilterHandler} are chained so that the data is decoded lazily,
+     * while the returned stream is being read, and the intermediate results of each filter are never
+     * kept in memory as a whole. The data passed through other filters is read into a byte array and
+     * decoded with {@link IFilterHandler#decode(byte[], PdfName, PdfObject, PdfDictionary)}.
+     * Memory limits of the document are checked as the decoded bytes are read.
+     *
+     * @param in               the stream of the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @param filterHandlers   the map used to look up a handler for each type of filter
+     * @return the stream of the decoded bytes. Closing it closes the passed stream too
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary,
+            Map<PdfName, IFilterHandler> filterHandlers) {
+        if (in == null) {
+            return null;
+        }
+        PdfArray filters = getFilters(streamDictionary);
+
+        MemoryLimitsAwareHandler memoryLimitsAwareHandler = null;
+        if (null != streamDictionary.getIndirectReference()) {
+            memoryLimitsAwareHandler = streamDictionary.getIndirectReference().getDocument().memoryLimitsAwareHandler;
+        }
+        final boolean memoryLimitsAwarenessRequired = null != memoryLimitsAwareHandler &&
+                memoryLimitsAwareHandler.isMemoryLimitsAwarenessRequiredOnDecompression(filters);
+
+        PdfArray dp = getDecodeParamsArray(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = getFilterHandler(filterName, filterHandlers);
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
+            if (filterHandler instanceof IStreamingFilterHandler) {
+                in = ((IStreamingFilterHandler) filterHandler).decode(in, filterName, decodeParams, streamDictionary);
+            } else {
+                try {
+                    byte[] b = StreamUtil.inputStreamToArray(in);
+                    in.close();
+                    in = new ByteArrayInputStream(filterHandler.decode(b, filterName, decodeParams,
+                            streamDictionary));
+                } catch (IOException e) {
+                    throw new PdfException(KernelExceptionMessageConstant.CANNOT_READ_PDF_OBJECT, e);
+                }
+            }
+            if (memoryLimitsAwarenessRequired) {
+                in = new MemoryLimitsAwareInputStream(in, memoryLimitsAwareHandler, j == filters.size() - 1);
+            }
+        }
+        return in;
+    }
+
     /**
      * Gets a new file instance of the original PDF
      * document.
@@ -744,6 +783,9 @@ public class PdfReader implements Closeable {
         } catch (IllegalArgumentException exc) {
             throw new PdfException(KernelExceptionMessageConstant.PDF_VERSION_IS_NOT_VALID, version);
         }
+        if (properties.lazyXrefLoading) {
+            pdfDocument.getXref().enableLazyEntries(pdfDocument);
+        }
         try {
             readXref();
         } catch (XrefCycledReferencesException | MemoryLimitsAwareException | InvalidXRefPrevException ex) {
@@ -1107,37 +1149,42 @@ public class PdfReader implements Closeable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
+                PdfIndirectReference reference = xref.getMaterializedReference(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 // for references that are added by xref table itself (like 0 entry)
-                boolean refFirstEncountered = reference == null
-                        || !refReadingState && reference.getDocument() == null;
+                boolean refFirstEncountered = reference == null ? !xref.hasLazyEntry(num)
+                        : !refReadingState && reference.getDocument() == null;
 
-                if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (refReadingState) {
+                if (refReadingState) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
-                } else {
+                } else if (!refFirstEncountered) {
                     continue;
                 }
 
+                boolean free = false;
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
                     if (pos == 0) {
                         tokens.throwError(
                                 KernelExceptionMessageConstant.FILE_POSITION_0_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
+                    free = true;
                 } else {
                     tokens.throwError(
                             KernelExceptionMessageConstant.INVALID_CROSS_REFERENCE_ENTRY_IN_THIS_XREF_SUBSECTION);
                 }
 
                 if (refFirstEncountered) {
-                    xref.add(reference);
+                    if (reference == null && xref.isLazyEntriesEnabled()) {
+                        xref.addLazyEntry(num, free ? PdfXrefTable.FREE_ENTRY : PdfXrefTable.IN_USE_ENTRY, pos, gen);
+                    } else {
+                        reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
+                        if (free) {
+                            reference.setState(PdfObject.FREE);
+                        }
+                        xref.add(reference);
+                    }
                 }
             }
         }
@@ -1238,6 +1285,14 @@ public class PdfReader implements Closeable {
                         field3 = (field3 << 8) + (b[bptr++] & 0xff);
                     }
                     int base = start;
+                    if (xref.isLazyEntriesEnabled() && xref.getMaterializedReference(base) == null) {
+                        // the first encountered entry wins, the same way as for materialized references
+                        if (!xref.hasLazyEntry(base)) {
+                            xref.addLazyEntry(base, toLazyEntryType(type), field2, field3);
+                        }
+                        ++start;
+                        continue;
+                    }
                     PdfIndirectReference newReference;
                     switch (type) {
                         case 0:
@@ -1623,6 +1678,73 @@ public class PdfReader implements Closeable {
         }
     }
 
+    private static byte toLazyEntryType(int xrefStreamEntryType) {
+        switch (xrefStreamEntryType) {
+            case 0:
+                return PdfXrefTable.FREE_ENTRY;
+            case 1:
+                return PdfXrefTable.IN_USE_ENTRY;
+            case 2:
+                return PdfXrefTable.COMPRESSED_ENTRY;
+            default:
+                throw new PdfException(KernelExceptionMessageConstant.INVALID_XREF_STREAM);
+        }
+    }
+
+    private static PdfArray getFilters(PdfDictionary streamDictionary) {
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        PdfArray filters = new PdfArray();
+        if (filter != null) {
+            if (filter.getType() == PdfObject.NAME) {
+                filters.add(filter);
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                filters = ((PdfArray) filter);
+            }
+        }
+        return filters;
+    }
+
+    private static PdfArray getDecodeParamsArray(PdfDictionary streamDictionary) {
+        PdfArray dp = new PdfArray();
+        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
+        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
+            if (dpo != null) dpo.release();
+            dpo = streamDictionary.get(PdfName.DP);
+        }
+        if (dpo != null) {
+            if (dpo.getType() == PdfObject.DICTIONARY) {
+                dp.add(dpo);
+            } else if (dpo.getType() == PdfObject.ARRAY) {
+                dp = ((PdfArray) dpo);
+            }
+            dpo.release();
+        }
+        return dp;
+    }
+
+    private static PdfDictionary getDecodeParams(PdfArray dp, int filterIndex) {
+        if (filterIndex >= dp.size()) {
+            return null;
+        }
+        PdfObject dpEntry = dp.get(filterIndex, true);
+        if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
+            return null;
+        } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
+            return (PdfDictionary) dpEntry;
+        } else {
+            throw new PdfException(KernelExceptionMessageConstant.THIS_DECODE_PARAMETER_TYPE_IS_NOT_SUPPORTED)
+                    .setMessageParams(dpEntry.getClass().toString());
+        }
+    }
+
+    private static IFilterHandler getFilterHandler(PdfName filterName, Map<PdfName, IFilterHandler> filterHandlers) {
+        IFilterHandler filterHandler = filterHandlers.get(filterName);
+        if (filterHandler == null)
+            throw new PdfException(KernelExceptionMessageConstant.THIS_FILTER_IS_NOT_SUPPORTED)
+                    .setMessageParams(filterName);
+        return filterHandler;
+    }
+
     protected static class ReusableRandomAccessSource implements IRandomAccessSource {
         private ByteBuffer buffer;
 
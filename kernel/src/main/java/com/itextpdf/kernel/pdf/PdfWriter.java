@@ -26,6 +26,7 @@ import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.mac.AbstractMacIntegrityProtector;
 import com.itextpdf.kernel.mac.IMacContainerLocator;
@@ -66,7 +67,21 @@ public class PdfWriter extends PdfOutputStream {
      * Is used in smart mode to serialize and store serialized objects content.
      */
     private final SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
+    private static final PdfName TYPE_1C = new PdfName("Type1C");
+    private static final PdfName CID_FONT_TYPE_0C = new PdfName("CIDFontType0C");
+    private static final PdfName OPEN_TYPE = new PdfName("OpenType");
+    private long smartModeReusedObjectsCount;
+    private long smartModeSavedBytes;
+    /**
+     * Indicates whether the copied resources are deduplicated. It is initialized from {@link WriterProperties}
+     * and kept by the writer, so that changing it doesn't affect the other writers which share the properties.
+     */
+    private boolean resourceDeduplication;
     private OutputStream originalOutputStream;
+    /**
+     * Writes the flushed objects if the streams are compressed in pipelined mode, null otherwise.
+     */
+    private StreamCompressionPipeline streamCompressionPipeline;
 
     /**
      * Create a PdfWriter writing to the passed File and with default writer properties.
@@ -100,6 +115,11 @@ public class PdfWriter extends PdfOutputStream {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(new CountOutputStream(FileUtil.wrapWithBufferedOutputStream(os)));
         this.properties = properties;
+        this.resourceDeduplication = properties.resourceDeduplication;
+        if (properties.streamCompressionWorkerCount > 0) {
+            this.streamCompressionPipeline = new StreamCompressionPipeline(this,
+                    properties.streamCompressionWorkerCount, properties.streamCompressionExecutor);
+        }
     }
 
     /**
@@ -188,6 +208,51 @@ public class PdfWriter extends PdfOutputStream {
         return this;
     }
 
+    /**
+     * Enables or disables the deduplication of the resources copied from other documents for this writer,
+     * see {@link WriterProperties#useResourceDeduplication()}. The {@link WriterProperties} of the writer
+     * are not modified.
+     *
+     * @param resourceDeduplication true to deduplicate the copied resources, false otherwise
+     *
+     * @return this {@link PdfWriter} instance
+     */
+    public PdfWriter setResourceDeduplication(boolean resourceDeduplication) {
+        this.resourceDeduplication = resourceDeduplication;
+        return this;
+    }
+
+    /**
+     * Checks if the resources copied from other documents are deduplicated,
+     * see {@link #setResourceDeduplication(boolean)}.
+     *
+     * @return true if the copied resources are deduplicated, false otherwise
+     */
+    public boolean isResourceDeduplication() {
+        return resourceDeduplication;
+    }
+
+    /**
+     * Gets the number of copied objects which were replaced in smart mode or by resource deduplication
+     * by the already copied objects with the same content.
+     *
+     * @return the number of reused objects
+     */
+    public long getSmartModeReusedObjectsCount() {
+        return smartModeReusedObjectsCount;
+    }
+
+    /**
+     * Gets the number of bytes which were not written in smart mode or thanks to resource deduplication,
+     * since the already copied objects were reused. Only the data of the streams, such as images and fonts,
+     * is taken into account.
+     *
+     * @return the number of saved bytes of stream data
+     */
+    public long getSmartModeSavedBytes() {
+        return smartModeSavedBytes;
+    }
+
     /**
      * Initializes {@link PdfEncryption} object if any encryption is specified in {@link WriterProperties}.
      *
@@ -236,33 +301,20 @@ public class PdfWriter extends PdfOutputStream {
         if (isFullCompression() && canBeInObjStm) {
             PdfObjectStream objectStream = getObjectStream();
             objectStream.addObject(pdfObject);
+        } else if (streamCompressionPipeline != null) {
+            // The object is written and released by the pipeline after all the previously flushed objects
+            streamCompressionPipeline.add(pdfObject);
+            indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+            markContentToFlush(pdfObject);
+            streamCompressionPipeline.writeCompletedObjects();
+            return;
         } else {
             indirectReference.setOffset(getCurrentPos());
             writeToBody(pdfObject);
         }
         indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
-        switch (pdfObject.getType()) {
-            case PdfObject.BOOLEAN:
-            case PdfObject.NAME:
-            case PdfObject.NULL:
-            case PdfObject.NUMBER:
-            case PdfObject.STRING:
-                ((PdfPrimitiveObject) pdfObject).content = null;
-                break;
-            case PdfObject.ARRAY:
-                PdfArray array = ((PdfArray) pdfObject);
-                markArrayContentToFlush(array);
-                array.releaseContent();
-                break;
-            case PdfObject.STREAM:
-            case PdfObject.DICTIONARY:
-                PdfDictionary dictionary = ((PdfDictionary) pdfObject);
-                markDictionaryContentToFlush(dictionary);
-                dictionary.releaseContent();
-                break;
-            case PdfObject.INDIRECT_REFERENCE:
-                markObjectToFlush(((PdfIndirectReference) pdfObject).getRefersTo(false));
-        }
+        markContentToFlush(pdfObject);
+        releaseFlushedObject(pdfObject);
     }
 
     /**
@@ -314,11 +366,20 @@ public class PdfWriter extends PdfOutputStream {
         }
 
         SerializedObjectContent serializedContent = null;
-        if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page) &&
-                !checkTypeOfPdfDictionary(obj, PdfName.OCG) && !checkTypeOfPdfDictionary(obj, PdfName.OCMD)) {
-            serializedContent = smartModeSerializer.serializeObject(obj);
+        if (tryToFindDuplicate && isSmartModeCandidate(obj)) {
+            // resources are always deduplicated by fingerprints outside of smart mode
+            serializedContent = smartModeSerializer.serializeObject(obj,
+                    properties.smartModeFingerprints || !properties.smartMode);
             PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
+            if (objectRef != null && properties.verifySmartModeMatches
+                    && !smartModeSerializer.isSameAsSavedObjectSource(obj, objectRef)) {
+                // Fingerprints collide, the object is copied and the saved one is kept for the fingerprint
+                objectRef = null;
+                serializedContent = null;
+            }
             if (objectRef != null) {
+                smartModeReusedObjectsCount++;
+                smartModeSavedBytes += SmartModePdfObjectsSerializer.calculateStreamDataLength(obj);
                 copiedObjects.put(indirectReference, objectRef);
                 return objectRef.refersTo;
             }
@@ -328,7 +389,11 @@ public class PdfWriter extends PdfOutputStream {
         if (indirectReference != null) {
             PdfIndirectReference indRef = newObject.makeIndirect(documentTo).getIndirectReference();
             if (serializedContent != null) {
-                smartModeSerializer.saveSerializedObject(serializedContent, indRef);
+                if (properties.verifySmartModeMatches) {
+                    smartModeSerializer.saveSerializedObject(serializedContent, indRef, obj);
+                } else {
+                    smartModeSerializer.saveSerializedObject(serializedContent, indRef);
+                }
             }
             copiedObjects.put(indirectReference, indRef);
         }
@@ -343,13 +408,7 @@ public class PdfWriter extends PdfOutputStream {
      * @param pdfObj object to write.
      */
     protected void writeToBody(PdfObject pdfObj) {
-        if (crypto != null) {
-            crypto.setHashKeyForNextObject(pdfObj.getIndirectReference().getObjNumber(),
-                    pdfObj.getIndirectReference().getGenNumber());
-        }
-        writeInteger(pdfObj.getIndirectReference().getObjNumber()).
-                writeSpace().
-                writeInteger(pdfObj.getIndirectReference().getGenNumber()).writeBytes(OBJ);
+        writeObjectHeader(pdfObj.getIndirectReference());
         write(pdfObj);
         writeBytes(ENDOBJ);
     }
@@ -375,7 +434,7 @@ public class PdfWriter extends PdfOutputStream {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getMaterializedReference(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
                         && !forbiddenToFlush.contains(indirectReference)) {
@@ -402,7 +461,7 @@ public class PdfWriter extends PdfOutputStream {
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getMaterializedReference(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(
                     indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
@@ -422,7 +481,52 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    /**
+     * Writes the flushed object, which was postponed by the stream compression pipeline, and releases its content.
+     *
+     * @param pdfObject          the flushed object
+     * @param encodedStreamBytes the encoded content if the object is a stream, which content was encoded
+     *                           by the pipeline, null otherwise
+     */
+    void writeFlushedObject(PdfObject pdfObject, ByteArrayOutputStream encodedStreamBytes) {
+        PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
+        indirectReference.setOffset(getCurrentPos());
+        if (encodedStreamBytes == null) {
+            writeToBody(pdfObject);
+        } else {
+            writeObjectHeader(indirectReference);
+            try {
+                writeStreamBytes((PdfStream) pdfObject, encodedStreamBytes);
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfObject);
+            }
+            writeBytes(ENDOBJ);
+        }
+        releaseFlushedObject(pdfObject);
+    }
+
+    /**
+     * Writes all the objects postponed by the stream compression pipeline and stops it, so that the objects
+     * flushed afterwards are written immediately. Shall be called before writing anything which depends on
+     * the offsets of the flushed objects, e.g. the cross-reference table.
+     */
+    void completeStreamCompression() {
+        if (streamCompressionPipeline != null) {
+            try {
+                streamCompressionPipeline.writeAll();
+            } finally {
+                streamCompressionPipeline.shutdown();
+                streamCompressionPipeline = null;
+            }
+        }
+    }
+
     void finish() throws IOException {
+        if (streamCompressionPipeline != null) {
+            // The document wasn't closed properly, the postponed objects can't be written anymore
+            streamCompressionPipeline.shutdown();
+            streamCompressionPipeline = null;
+        }
         if (document != null && !document.isClosed()) {
             // Writer is always closed as part of document closing
             document.dispatchEvent(new PdfDocumentEvent(PdfDocumentEvent.START_WRITER_CLOSING));
@@ -448,7 +552,9 @@ public class PdfWriter extends PdfOutputStream {
             objectStream = new PdfObjectStream(document);
         } else if (objectStream.getSize() == PdfObjectStream.MAX_OBJ_STREAM_SIZE) {
             objectStream.flush();
-            objectStream = new PdfObjectStream(objectStream);
+            // The content of the flushed object stream can't be reused while it awaits writing in the pipeline
+            objectStream = streamCompressionPipeline == null
+                    ? new PdfObjectStream(objectStream) : new PdfObjectStream(document);
         }
         return objectStream;
     }
@@ -493,6 +599,51 @@ public class PdfWriter extends PdfOutputStream {
         return originalOutputStream != null;
     }
 
+    private void writeObjectHeader(PdfIndirectReference indirectReference) {
+        if (crypto != null) {
+            crypto.setHashKeyForNextObject(indirectReference.getObjNumber(), indirectReference.getGenNumber());
+        }
+        writeInteger(indirectReference.getObjNumber()).
+                writeSpace().
+                writeInteger(indirectReference.getGenNumber()).writeBytes(OBJ);
+    }
+
+    private void markContentToFlush(PdfObject pdfObject) {
+        switch (pdfObject.getType()) {
+            case PdfObject.ARRAY:
+                markArrayContentToFlush((PdfArray) pdfObject);
+                break;
+            case PdfObject.STREAM:
+            case PdfObject.DICTIONARY:
+                markDictionaryContentToFlush((PdfDictionary) pdfObject);
+                break;
+            case PdfObject.INDIRECT_REFERENCE:
+                markObjectToFlush(((PdfIndirectReference) pdfObject).getRefersTo(false));
+        }
+    }
+
+    private void releaseFlushedObject(PdfObject pdfObject) {
+        if (properties.compactXrefTable) {
+            document.getXref().releaseFlushedReference(pdfObject.getIndirectReference());
+        }
+        switch (pdfObject.getType()) {
+            case PdfObject.BOOLEAN:
+            case PdfObject.NAME:
+            case PdfObject.NULL:
+            case PdfObject.NUMBER:
+            case PdfObject.STRING:
+                ((PdfPrimitiveObject) pdfObject).content = null;
+                break;
+            case PdfObject.ARRAY:
+                ((PdfArray) pdfObject).releaseContent();
+                break;
+            case PdfObject.STREAM:
+            case PdfObject.DICTIONARY:
+                ((PdfDictionary) pdfObject).releaseContent();
+                break;
+        }
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
@@ -526,6 +677,40 @@ public class PdfWriter extends PdfOutputStream {
         }
     }
 
+    private boolean isSmartModeCandidate(PdfObject obj) {
+        if (properties.smartMode) {
+            return !checkTypeOfPdfDictionary(obj, PdfName.Page) && !checkTypeOfPdfDictionary(obj, PdfName.OCG)
+                    && !checkTypeOfPdfDictionary(obj, PdfName.OCMD);
+        }
+        return resourceDeduplication && (isResourceStream(obj)
+                || checkTypeOfPdfDictionary(obj, PdfName.Font)
+                || checkTypeOfPdfDictionary(obj, PdfName.FontDescriptor)
+                || checkTypeOfPdfDictionary(obj, PdfName.ExtGState)
+                || checkTypeOfPdfDictionary(obj, PdfName.Pattern));
+    }
+
+    /**
+     * Checks if the stream is a resource which is worth deduplicating: an image or form XObject, an embedded
+     * font program, an ICC profile, a tiling pattern or a shading. Page content streams, embedded files and
+     * other streams which are specific to the copied document are never deduplicated.
+     */
+    private static boolean isResourceStream(PdfObject obj) {
+        if (!obj.isStream()) {
+            return false;
+        }
+        PdfStream stream = (PdfStream) obj;
+        PdfName subtype = stream.getAsName(PdfName.Subtype);
+        return PdfName.XObject.equals(stream.getAsName(PdfName.Type))
+                || PdfName.Image.equals(subtype) || PdfName.Form.equals(subtype)
+                // FontFile and FontFile2 streams
+                || stream.containsKey(PdfName.Length1)
+                // FontFile3 streams
+                || TYPE_1C.equals(subtype) || CID_FONT_TYPE_0C.equals(subtype) || OPEN_TYPE.equals(subtype)
+                // ICC profiles
+                || stream.containsKey(PdfName.N) && subtype == null
+                || stream.containsKey(PdfName.PatternType) || stream.containsKey(PdfName.ShadingType);
+    }
+
     private static boolean checkTypeOfPdfDictionary(PdfObject dictionary, PdfName expectedType) {
         return dictionary.isDictionary() && expectedType.equals(((PdfDictionary) dictionary).getAsName(PdfName.Type));
     }
@@ -45,7 +45,32 @@ import org.slf4j.LoggerFactory;
  */
 public class PdfXrefTable {
 
+    /**
+     * Type of a lazily loaded entry which denotes a free object.
+     */
+    static final byte FREE_ENTRY = 1;
+
+    /**
+     * Type of a lazily loaded entry which denotes an object stored at the specified offset in the file.
+     */
+    static final byte IN_USE_ENTRY = 2;
+
+    /**
+     * Type of a lazily loaded entry which denotes an object stored in an object stream.
+     */
+    static final byte COMPRESSED_ENTRY = 3;
+
+    /**
+     * Type of an entry of an already flushed object which was written at the specified offset.
+     */
+    static final byte FLUSHED_ENTRY = 4;
+
+    /**
+     * Type of an entry of an already flushed object which was written to an object stream.
+     */
+    static final byte FLUSHED_COMPRESSED_ENTRY = 5;
 
+    private static final byte NO_LAZY_ENTRY = 0;
     private static final int INITIAL_CAPACITY = 32;
     private static final int MAX_GENERATION = 65535;
 
@@ -66,6 +91,19 @@ public class PdfXrefTable {
     private boolean readingCompleted;
     private MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    /**
+     * Cross-reference entries which were read or flushed, but not materialized into {@link PdfIndirectReference}
+     * instances. These arrays are only allocated when lazy entries are enabled and have the same length as
+     * {@link #xref}. Their values follow the fields of a cross-reference stream entry: for free entries the second
+     * field is the next free object number and the third one is the generation, for in-use and flushed entries these
+     * are the offset and the generation, for compressed entries these are the object stream number and the index
+     * in it.
+     */
+    private byte[] lazyEntryTypes;
+    private long[] lazyEntrySecondFields;
+    private int[] lazyEntryThirdFields;
+    private PdfDocument lazyEntriesDocument;
+
     /**
      * Free references linked list is stored in a form of a map, where:
      * key - free reference obj number;
@@ -142,6 +180,9 @@ public class PdfXrefTable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (lazyEntryTypes != null) {
+            lazyEntryTypes[objNr] = NO_LAZY_ENTRY;
+        }
         return reference;
     }
 
@@ -167,6 +208,13 @@ public class PdfXrefTable {
                 countOfIndirectObjects++;
             }
         }
+        if (lazyEntryTypes != null) {
+            for (final byte type : lazyEntryTypes) {
+                if (type != NO_LAZY_ENTRY && type != FREE_ENTRY) {
+                    countOfIndirectObjects++;
+                }
+            }
+        }
 
         return countOfIndirectObjects;
     }
@@ -181,7 +229,11 @@ public class PdfXrefTable {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && hasLazyEntry(index)) {
+            reference = materializeLazyEntry(index);
+        }
+        return reference;
     }
 
     /**
@@ -259,7 +311,7 @@ public class PdfXrefTable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = peek(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -280,6 +332,7 @@ public class PdfXrefTable {
         if (document.properties.appendMode && noModifiedObjects) {
             // No modifications in document
             xref = null;
+            releaseLazyEntries();
             return;
         }
 
@@ -310,12 +363,11 @@ public class PdfXrefTable {
             }
             xrefStream.put(PdfName.Index, index);
             xrefStream.getIndirectReference().setOffset(startxref);
-            PdfXrefTable xrefTable = document.getXref();
             for (int k = 0; k < sections.size(); k += 2) {
                 int first = (int) sections.get(k);
                 int len = (int) sections.get(k + 1);
                 for (int i = first; i < first + len; i++) {
-                    PdfIndirectReference reference = xrefTable.get(i);
+                    PdfIndirectReference reference = peek(i);
                     if (reference.isFree()) {
                         xrefStream.getOutputStream().write(0);
                         xrefStream.getOutputStream().write(reference.getOffset(), offsetSize);
@@ -343,7 +395,6 @@ public class PdfXrefTable {
         if (needsRegularXref) {
             startxref = writer.getCurrentPos();
             writer.writeString("xref\n");
-            PdfXrefTable xrefTable = document.getXref();
             if (xRefStmPos != -1) {
                 // Get rid of all objects from object stream. This is done for hybrid documents
                 sections = createSections(document, true);
@@ -353,7 +404,7 @@ public class PdfXrefTable {
                 int len = (int) sections.get(k + 1);
                 writer.writeInteger(first).writeSpace().writeInteger(len).writeByte((byte) '\n');
                 for (int i = first; i < first + len; i++) {
-                    PdfIndirectReference reference = xrefTable.get(i);
+                    PdfIndirectReference reference = peek(i);
                     if (reference.getOffset() > MAX_OFFSET_IN_CROSS_REFERENCE_STREAM) {
                         throw new PdfException(KernelExceptionMessageConstant.XREF_HAS_AN_ENTRY_WITH_TOO_BIG_OFFSET);
                     }
@@ -396,6 +447,7 @@ public class PdfXrefTable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
+        releaseLazyEntries();
         freeReferencesLinkedList.clear();
     }
 
@@ -424,6 +476,104 @@ public class PdfXrefTable {
         return readingCompleted;
     }
 
+    /**
+     * Enables lazy entries, i.e. entries which are stored in a compact form and materialized into
+     * {@link PdfIndirectReference} instances only on the first request.
+     *
+     * @param document is the current {@link PdfDocument document} which materialized references will belong to
+     */
+    void enableLazyEntries(PdfDocument document) {
+        if (lazyEntryTypes != null) {
+            return;
+        }
+        lazyEntriesDocument = document;
+        lazyEntryTypes = new byte[xref.length];
+        lazyEntrySecondFields = new long[xref.length];
+        lazyEntryThirdFields = new int[xref.length];
+    }
+
+    /**
+     * Checks if lazy entries are enabled for this cross-reference table.
+     *
+     * @return true if lazy entries are enabled and false otherwise
+     */
+    boolean isLazyEntriesEnabled() {
+        return lazyEntryTypes != null;
+    }
+
+    /**
+     * Checks if there is an entry for the object number which is not materialized yet.
+     *
+     * @param objNr the object number
+     * @return true if a not yet materialized entry is stored for the object number and false otherwise
+     */
+    boolean hasLazyEntry(int objNr) {
+        return lazyEntryTypes != null && objNr >= 0 && objNr < lazyEntryTypes.length
+                && lazyEntryTypes[objNr] != NO_LAZY_ENTRY;
+    }
+
+    /**
+     * Stores an entry which will be materialized into {@link PdfIndirectReference} on the first request.
+     * Lazy entries shall be enabled beforehand.
+     *
+     * @param objNr the object number
+     * @param type the type of the entry, one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY} and {@link #COMPRESSED_ENTRY}
+     * @param secondField the offset, the next free object number or the object stream number depending on the type
+     * @param thirdField the generation number or the index in the object stream depending on the type
+     */
+    void addLazyEntry(int objNr, byte type, long secondField, int thirdField) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        lazyEntryTypes[objNr] = type;
+        lazyEntrySecondFields[objNr] = secondField;
+        lazyEntryThirdFields[objNr] = thirdField;
+    }
+
+    /**
+     * Releases the reference to the flushed object, so that the entry is kept only in a compact form and the
+     * reference can be garbage collected once it's not used anymore. Does nothing if lazy entries are not enabled.
+     *
+     * @param reference the reference to the flushed object
+     */
+    void releaseFlushedReference(PdfIndirectReference reference) {
+        int objNr = reference.getObjNumber();
+        if (lazyEntryTypes == null || objNr > count || xref[objNr] != reference
+                || !reference.checkState(PdfObject.FLUSHED) || reference.isFree()) {
+            return;
+        }
+        if (reference.getObjStreamNumber() == 0) {
+            addLazyEntry(objNr, FLUSHED_ENTRY, reference.getOffset(), reference.getGenNumber());
+        } else {
+            addLazyEntry(objNr, FLUSHED_COMPRESSED_ENTRY, reference.getObjStreamNumber(), reference.getIndex());
+        }
+        xref[objNr] = null;
+    }
+
+    /**
+     * Checks if there is a released entry of the flushed object for the object number.
+     *
+     * @param objNr the object number
+     * @return true if the reference to the flushed object was released and false otherwise
+     */
+    boolean isReleasedFlushedEntry(int objNr) {
+        return hasLazyEntry(objNr)
+                && (lazyEntryTypes[objNr] == FLUSHED_ENTRY || lazyEntryTypes[objNr] == FLUSHED_COMPRESSED_ENTRY);
+    }
+
+    /**
+     * Gets reference to indirect object only if it is already materialized, i.e. it never creates
+     * {@link PdfIndirectReference} instances for lazy entries.
+     *
+     * @param index is the index of required object
+     * @return reference to object with the provided index or {@code null} if it is absent or not materialized yet
+     */
+    PdfIndirectReference getMaterializedReference(int index) {
+        if (index > count) {
+            return null;
+        }
+        return xref[index];
+    }
+
     /**
      * Set up appropriate state for the free references list.
      *
@@ -436,8 +586,12 @@ public class PdfXrefTable {
         xref[0].setState(PdfObject.FREE);
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size() && i < xref.length; ++i) {
+            if (lazyEntryTypes != null && lazyEntryTypes[i] == FREE_ENTRY) {
+                // free references take part in the linked list, so they are needed anyway
+                materializeLazyEntry(i);
+            }
             PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (ref == null ? !hasLazyEntry(i) : ref.isFree()) {
                 freeReferences.add(i);
             }
         }
@@ -497,6 +651,9 @@ public class PdfXrefTable {
      */
     void clear() {
         for (int i = 1; i <= count; i++) {
+            if (lazyEntryTypes != null && lazyEntryTypes[i] != FREE_ENTRY) {
+                lazyEntryTypes[i] = NO_LAZY_ENTRY;
+            }
             if (xref[i] != null && xref[i].isFree()) {
                 continue;
             }
@@ -511,6 +668,9 @@ public class PdfXrefTable {
     void clearAllReferences() {
         for (int i = 1; i <= count; i++) {
             xref[i] = null;
+            if (lazyEntryTypes != null) {
+                lazyEntryTypes[i] = NO_LAZY_ENTRY;
+            }
         }
         count = 1;
     }
@@ -520,7 +680,7 @@ public class PdfXrefTable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            PdfIndirectReference reference = peek(i);
             if (document.properties.appendMode && reference != null &&
                     (!reference.checkState(PdfObject.MODIFIED) || (dropObjectsFromObjectStream && reference.getObjStreamNumber() != 0))) {
                 reference = null;
@@ -639,5 +799,62 @@ public class PdfXrefTable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(this.xref, 0, newXref, 0, this.xref.length);
         this.xref = newXref;
+        if (lazyEntryTypes != null) {
+            lazyEntryTypes = Arrays.copyOf(lazyEntryTypes, capacity);
+            lazyEntrySecondFields = Arrays.copyOf(lazyEntrySecondFields, capacity);
+            lazyEntryThirdFields = Arrays.copyOf(lazyEntryThirdFields, capacity);
+        }
+    }
+
+    /**
+     * Gets the reference for the object number without materializing the lazy entry, i.e. the reference
+     * created for the lazy entry is not stored in the table. It allows to iterate over huge tables
+     * without keeping all the references in memory at the same time.
+     */
+    private PdfIndirectReference peek(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && hasLazyEntry(index)) {
+            reference = createLazyEntryReference(index);
+        }
+        return reference;
+    }
+
+    private PdfIndirectReference materializeLazyEntry(int objNr) {
+        PdfIndirectReference reference = createLazyEntryReference(objNr);
+        lazyEntryTypes[objNr] = NO_LAZY_ENTRY;
+        xref[objNr] = reference;
+        return reference;
+    }
+
+    private PdfIndirectReference createLazyEntryReference(int objNr) {
+        long secondField = lazyEntrySecondFields[objNr];
+        int thirdField = lazyEntryThirdFields[objNr];
+        PdfIndirectReference reference;
+        switch (lazyEntryTypes[objNr]) {
+            case FREE_ENTRY:
+                reference = (PdfIndirectReference) new PdfIndirectReference(lazyEntriesDocument, objNr, thirdField,
+                        secondField).setState(PdfObject.FREE);
+                break;
+            case COMPRESSED_ENTRY:
+            case FLUSHED_COMPRESSED_ENTRY:
+                reference = new PdfIndirectReference(lazyEntriesDocument, objNr, 0, thirdField);
+                reference.setObjStreamNumber((int) secondField);
+                break;
+            default:
+                reference = new PdfIndirectReference(lazyEntriesDocument, objNr, thirdField, secondField);
+                break;
+        }
+        if (lazyEntryTypes[objNr] == FLUSHED_ENTRY || lazyEntryTypes[objNr] == FLUSHED_COMPRESSED_ENTRY) {
+            // flushed objects are always either new or modified ones
+            reference.setState(PdfObject.FLUSHED).setState(PdfObject.MODIFIED);
+        }
+        return reference;
+    }
+
+    private void releaseLazyEntries() {
+        lazyEntryTypes = null;
+        lazyEntrySecondFields = null;
+        lazyEntryThirdFields = null;
+        lazyEntriesDocument = null;
     }
 }
@@ -43,6 +43,8 @@ public class ReaderProperties {
 
     protected MemoryLimitsAwareHandler memoryLimitsAwareHandler;
 
+    protected boolean lazyXrefLoading;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -114,4 +116,19 @@ public class ReaderProperties {
         return this;
     }
 
+    /**
+     * Defines whether cross-reference entries shall be loaded lazily. In this mode the entries of the
+     * cross-reference sections and streams are kept in compact primitive arrays and the corresponding
+     * {@link PdfIndirectReference} instances are only created when they are requested for the first time.
+     * This reduces the time and memory needed to open documents with a huge number of objects when only a
+     * small part of them is processed. Lazy loading is disabled by default.
+     *
+     * @param lazyXrefLoading {@code true} to load cross-reference entries lazily, {@code false} otherwise
+     * @return this {@link ReaderProperties} instance
+     */
+    public ReaderProperties setLazyXrefLoading(boolean lazyXrefLoading) {
+        this.lazyXrefLoading = lazyXrefLoading;
+        return this;
+    }
+
 }
@@ -25,17 +25,29 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.kernel.exceptions.PdfException;
 
+import java.lang.ref.WeakReference;
 import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 class SmartModePdfObjectsSerializer {
+    private static final int MAX_SERIALIZATION_LEVEL = 100;
+
     private MessageDigest sha512;
+    private MessageDigest sha256;
     private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
+    /**
+     * Weak references to the source objects of the saved objects, used to verify the matches of fingerprints.
+     */
+    private HashMap<PdfIndirectReference, WeakReference<PdfObject>> savedObjectSources = new HashMap<>();
 
     SmartModePdfObjectsSerializer() {
         try {
             sha512 = MessageDigest.getInstance("SHA-512");
+            sha256 = MessageDigest.getInstance("SHA-256");
         } catch (Exception e) {
             throw new PdfException(e);
         }
@@ -45,6 +57,21 @@ class SmartModePdfObjectsSerializer {
         serializedContentToObj.put(serializedContent, objectReference);
     }
 
+    /**
+     * Saves the serialized object and remembers its source, so that the later matches of the serialized
+     * content can be verified with {@link #isSameAsSavedObjectSource(PdfObject, PdfIndirectReference)}.
+     * The source is referenced weakly and doesn't prevent its document from being garbage collected.
+     *
+     * @param serializedContent the serialized content of the source object
+     * @param objectReference   the reference to the copy of the source object
+     * @param source            the source object
+     */
+    public void saveSerializedObject(SerializedObjectContent serializedContent, PdfIndirectReference objectReference,
+            PdfObject source) {
+        saveSerializedObject(serializedContent, objectReference);
+        savedObjectSources.put(objectReference, new WeakReference<>(source));
+    }
+
     public PdfIndirectReference getSavedSerializedObject(SerializedObjectContent serializedContent) {
         if (serializedContent != null) {
             return serializedContentToObj.get(serializedContent);
@@ -53,28 +80,83 @@ class SmartModePdfObjectsSerializer {
     }
 
     public SerializedObjectContent serializeObject(PdfObject obj) {
+        return serializeObject(obj, false);
+    }
+
+    /**
+     * Serializes the object for smart mode. If fingerprints are requested, the content of every indirect
+     * object is replaced by its SHA-256 digest, so that neither the result nor the cache of the source
+     * document retain the full serialized content.
+     *
+     * @param obj         the object to serialize
+     * @param fingerprint true to serialize the object to its fingerprint, false to serialize it fully
+     * @return the serialized content, or null if the object can't be serialized
+     */
+    public SerializedObjectContent serializeObject(PdfObject obj, boolean fingerprint) {
         if (!obj.isStream() && !obj.isDictionary()) {
             return null;
         }
         PdfIndirectReference indRef = obj.getIndirectReference();
         assert indRef != null;
-        Map<PdfIndirectReference, byte[]> serializedCache = indRef.getDocument().serializedObjectsCache;
+        Map<PdfIndirectReference, byte[]> serializedCache = fingerprint
+                ? indRef.getDocument().serializedObjectsFingerprints
+                : indRef.getDocument().serializedObjectsCache;
 
         byte[] content = serializedCache.get(indRef);
         if (content == null) {
             ByteBuffer bb = new ByteBuffer();
-            int level = 100;
             try {
-                serObject(obj, bb, level, serializedCache);
+                serObject(obj, bb, MAX_SERIALIZATION_LEVEL, serializedCache, fingerprint);
             } catch (SelfReferenceException e) {
                 return null;
             }
-            content = bb.toByteArray();
+            content = fingerprint ? sha256.digest(bb.toByteArray()) : bb.toByteArray();
         }
         return new SerializedObjectContent(content);
     }
 
-    private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
+    /**
+     * Verifies that the object has the same content as the source of the saved object, which fingerprint
+     * matches the fingerprint of the object. The objects are compared by their full serialized content.
+     * If the source isn't available anymore, e.g. if its document is closed, the match can't be verified
+     * and the strength of the digest is relied on.
+     *
+     * @param obj            the object which fingerprint matches the fingerprint of the saved object
+     * @param savedReference the reference to the saved object
+     * @return false if the objects are proven to differ, true otherwise
+     */
+    public boolean isSameAsSavedObjectSource(PdfObject obj, PdfIndirectReference savedReference) {
+        WeakReference<PdfObject> sourceReference = savedObjectSources.get(savedReference);
+        PdfObject source = sourceReference == null ? null : sourceReference.get();
+        if (source == null || source == obj || source.getIndirectReference() == null
+                || source.getIndirectReference().getDocument().isClosed()) {
+            return true;
+        }
+        try {
+            ByteBuffer objContent = new ByteBuffer();
+            serObject(obj, objContent, MAX_SERIALIZATION_LEVEL, new HashMap<PdfIndirectReference, byte[]>(), false);
+            ByteBuffer sourceContent = new ByteBuffer();
+            serObject(source, sourceContent, MAX_SERIALIZATION_LEVEL, new HashMap<PdfIndirectReference, byte[]>(),
+                    false);
+            return Arrays.equals(objContent.toByteArray(), sourceContent.toByteArray());
+        } catch (SelfReferenceException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calculates the length of the stream data of the object and of all the objects it refers to,
+     * which is the main part of the bytes saved by reusing an already copied object.
+     *
+     * @param obj the object to calculate the length of the stream data for
+     * @return the length of the stream data in bytes
+     */
+    static long calculateStreamDataLength(PdfObject obj) {
+        return calculateStreamDataLength(obj, new HashSet<PdfIndirectReference>(), MAX_SERIALIZATION_LEVEL);
+    }
+
+    private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache,
+            boolean fingerprint) throws SelfReferenceException {
         if (level <= 0) {
             return;
         }
@@ -106,15 +188,15 @@ class SmartModePdfObjectsSerializer {
         }
 
         if (obj.isStream()) {
-            serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
+            serDic((PdfDictionary) obj, bb, level - 1, serializedCache, fingerprint);
             bb.append("$B");
             if (level > 0) {
                 bb.append(sha512.digest(((PdfStream) obj).getBytes(false)));
             }
         } else if (obj.isDictionary()) {
-            serDic((PdfDictionary) obj, bb, level - 1, serializedCache);
+            serDic((PdfDictionary) obj, bb, level - 1, serializedCache, fingerprint);
         } else if (obj.isArray()) {
-            serArray((PdfArray) obj, bb, level - 1, serializedCache);
+            serArray((PdfArray) obj, bb, level - 1, serializedCache, fingerprint);
         } else if (obj.isString()) {
             bb.append("$S").append(obj.toString());
         } else if (obj.isName()) {
@@ -125,13 +207,20 @@ class SmartModePdfObjectsSerializer {
         }
 
         if (savedBb != null) {
-            serializedCache.put(reference, bb.toByteArray());
-            savedBb.append(bb.getInternalBuffer(), 0, bb.size());
+            if (fingerprint) {
+                byte[] digest = sha256.digest(bb.toByteArray());
+                serializedCache.put(reference, digest);
+                savedBb.append(digest);
+            } else {
+                serializedCache.put(reference, bb.toByteArray());
+                savedBb.append(bb.getInternalBuffer(), 0, bb.size());
+            }
         }
     }
 
     private void serDic(PdfDictionary dic, ByteBuffer bb, int level,
-                        Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
+                        Map<PdfIndirectReference, byte[]> serializedCache, boolean fingerprint)
+            throws SelfReferenceException {
         bb.append("$D");
         if (level <= 0)
             return;
@@ -139,25 +228,61 @@ class SmartModePdfObjectsSerializer {
             if (isKeyRefersBack(dic, key)) {
                 continue;
             }
-            serObject(key, bb, level, serializedCache);
-            serObject(dic.get(key, false), bb, level, serializedCache);
+            serObject(key, bb, level, serializedCache, fingerprint);
+            serObject(dic.get(key, false), bb, level, serializedCache, fingerprint);
 
         }
         bb.append("$\\D");
     }
 
     private void serArray(PdfArray array, ByteBuffer bb, int level,
-                          Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
+                          Map<PdfIndirectReference, byte[]> serializedCache, boolean fingerprint)
+            throws SelfReferenceException {
         bb.append("$A");
         if (level <= 0)
             return;
         for (int k = 0; k < array.size(); ++k) {
-            serObject(array.get(k, false), bb, level, serializedCache);
+            serObject(array.get(k, false), bb, level, serializedCache, fingerprint);
         }
         bb.append("$\\A");
     }
 
-    private boolean isKeyRefersBack(PdfDictionary dic, PdfName key) {
+    private static long calculateStreamDataLength(PdfObject obj, Set<PdfIndirectReference> visited, int level) {
+        if (obj == null || level <= 0) {
+            return 0;
+        }
+        if (obj.isIndirectReference()) {
+            if (!visited.add((PdfIndirectReference) obj)) {
+                return 0;
+            }
+            obj = ((PdfIndirectReference) obj).getRefersTo();
+        } else if (obj.getIndirectReference() != null) {
+            visited.add(obj.getIndirectReference());
+        }
+        long length = 0;
+        if (obj == null) {
+            return length;
+        }
+        if (obj.isStream()) {
+            length += Math.max(0, ((PdfStream) obj).getLength());
+        }
+        if (obj.isDictionary() || obj.isStream()) {
+            PdfDictionary dic = (PdfDictionary) obj;
+            for (PdfName key : dic.keySet()) {
+                if (!isKeyRefersBack(dic, key)) {
+                    length += calculateStreamDataLength(dic.get(key, false), visited, level - 1);
+                }
+            }
+        } else if (obj.isArray()) {
+            PdfArray array = (PdfArray) obj;
+            for (int k = 0; k < array.size(); ++k) {
+                length += calculateStreamDataLength(array.get(k, false), visited, level - 1);
+            }
+        }
+        return length;
+    }
+
+    private static boolean isKeyRefersBack(PdfDictionary dic, PdfName key) {
         // ignore recursive call
         return key.equals(PdfName.P) && (dic.get(key).isIndirectReference() || dic.get(key).isDictionary())
                 || key.equals(PdfName.Parent);
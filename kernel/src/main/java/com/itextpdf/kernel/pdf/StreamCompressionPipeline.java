@@ -0,0 +1,236 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes flushed objects of the {@link PdfWriter} in pipelined mode, see
+ * {@link WriterProperties#setStreamCompressionWorkerCount(int)}.
+ * <p>
+ * The content of the flushed streams is encoded on a pool of worker threads, while the objects themselves
+ * are written by the thread which flushes them, strictly in the flushing order. The offsets of the objects
+ * are defined at the moment of writing, so the resultant document doesn't depend on the number of workers.
+ * <p>
+ * The worker threads are either provided by the caller, see {@link WriterProperties#setStreamCompressionExecutor},
+ * or taken from the pool shared by all the pipelines. The pipeline never shuts its executor down.
+ */
+class StreamCompressionPipeline {
+
+    /**
+     * The maximum number of the flushed objects per worker which can await writing.
+     */
+    private static final int MAX_PENDING_OBJECTS_PER_WORKER = 16;
+
+    /**
+     * The minimum size of stream content which is compressed on a worker thread. Smaller streams are
+     * compressed immediately, since passing them to a worker costs more than the compression itself.
+     */
+    private static final int MIN_PARALLEL_COMPRESSION_SIZE = 4096;
+
+    /**
+     * The number of seconds after which an idle thread of the shared pool is terminated.
+     */
+    private static final long SHARED_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final PdfWriter writer;
+
+    private final ExecutorService executor;
+
+    private final int workerCount;
+
+    private final int maxPendingObjects;
+
+    private final Deque<PendingObject> pendingObjects = new ArrayDeque<>();
+
+    /**
+     * The number of streams of this pipeline which are being compressed on the executor.
+     */
+    private final AtomicInteger activeWorkerCount = new AtomicInteger();
+
+    StreamCompressionPipeline(PdfWriter writer, int workerCount, ExecutorService executor) {
+        this.writer = writer;
+        this.workerCount = workerCount;
+        this.maxPendingObjects = workerCount * MAX_PENDING_OBJECTS_PER_WORKER;
+        this.executor = executor == null ? SharedExecutorHolder.EXECUTOR : executor;
+    }
+
+    /**
+     * Adds the flushed object to the end of the queue. The encoding of the stream content is started
+     * immediately. The object is written by one of the subsequent calls of {@link #writeCompletedObjects()}
+     * or {@link #writeAll()}.
+     *
+     * @param pdfObject the flushed object
+     */
+    void add(PdfObject pdfObject) {
+        FutureTask<ByteArrayOutputStream> encodedStreamBytes = null;
+        if (pdfObject.getType() == PdfObject.STREAM) {
+            PdfStream pdfStream = (PdfStream) pdfObject;
+            if (pdfStream.getInputStream() != null) {
+                // the stream shall be read during flushing, since its source can be closed right after it
+                writeAll();
+            } else {
+                encodedStreamBytes = startEncoding(pdfStream);
+            }
+        }
+        pendingObjects.addLast(new PendingObject(pdfObject, encodedStreamBytes));
+    }
+
+    /**
+     * Writes the objects from the head of the queue, which content is already encoded. If the queue is still
+     * too long after that, waits for the encoding of the head objects.
+     */
+    void writeCompletedObjects() {
+        while (!pendingObjects.isEmpty() && pendingObjects.getFirst().isReady()) {
+            writeNext();
+        }
+        while (pendingObjects.size() > maxPendingObjects) {
+            writeNext();
+        }
+    }
+
+    /**
+     * Writes all the objects of the queue, waiting for the encoding of the stream contents if needed.
+     */
+    void writeAll() {
+        while (!pendingObjects.isEmpty()) {
+            writeNext();
+        }
+    }
+
+    /**
+     * Cancels the compression of the streams remaining in the queue, which are not written then.
+     */
+    void shutdown() {
+        for (PendingObject pendingObject : pendingObjects) {
+            if (pendingObject.encodedStreamBytes != null) {
+                pendingObject.encodedStreamBytes.cancel(false);
+            }
+        }
+        pendingObjects.clear();
+    }
+
+    private FutureTask<ByteArrayOutputStream> startEncoding(PdfStream pdfStream) {
+        boolean compress;
+        try {
+            compress = writer.prepareStreamBytes(pdfStream);
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, e, pdfStream);
+        }
+        FutureTask<ByteArrayOutputStream> task = new FutureTask<>(new Callable<ByteArrayOutputStream>() {
+            @Override
+            public ByteArrayOutputStream call() {
+                return PdfOutputStream.encodeStreamBytes(pdfStream, compress);
+            }
+        });
+        if (compress && ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).size()
+                >= MIN_PARALLEL_COMPRESSION_SIZE && activeWorkerCount.get() < workerCount) {
+            activeWorkerCount.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        activeWorkerCount.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the executor is saturated or shut down, so the writing thread does the work itself
+                activeWorkerCount.decrementAndGet();
+                task.run();
+            }
+        } else {
+            // all the workers of this pipeline are busy, so the writing thread does the work itself
+            task.run();
+        }
+        return task;
+    }
+
+    private void writeNext() {
+        PendingObject pendingObject = pendingObjects.removeFirst();
+        ByteArrayOutputStream encodedStreamBytes = null;
+        if (pendingObject.encodedStreamBytes != null) {
+            encodedStreamBytes = waitForEncoding(pendingObject);
+        }
+        writer.writeFlushedObject(pendingObject.pdfObject, encodedStreamBytes);
+    }
+
+    private static ByteArrayOutputStream waitForEncoding(PendingObject pendingObject) {
+        try {
+            return pendingObject.encodedStreamBytes.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.STREAM_COMPRESSION_WAS_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_WRITE_TO_PDF_STREAM, cause,
+                    pendingObject.pdfObject);
+        }
+    }
+
+    private static final class PendingObject {
+        final PdfObject pdfObject;
+        final FutureTask<ByteArrayOutputStream> encodedStreamBytes;
+
+        PendingObject(PdfObject pdfObject, FutureTask<ByteArrayOutputStream> encodedStreamBytes) {
+            this.pdfObject = pdfObject;
+            this.encodedStreamBytes = encodedStreamBytes;
+        }
+
+        boolean isReady() {
+            return encodedStreamBytes == null || encodedStreamBytes.isDone();
+        }
+    }
+
+    /**
+     * Holds the pool shared by all the pipelines without an executor provided by the caller. The pool is created
+     * on first use. Its threads are daemons and are terminated once idle, so the pool never prevents the
+     * application from exiting and never leaks threads, even if the writer is not closed.
+     */
+    private static final class SharedExecutorHolder {
+        static final ExecutorService EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                SHARED_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "iText stream compression");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -23,9 +23,11 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.mac.MacProperties;
 
 import java.security.cert.Certificate;
+import java.util.concurrent.ExecutorService;
 
 public class WriterProperties {
 
@@ -41,6 +43,22 @@ public class WriterProperties {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+
+    /**
+     * Indicates if smart mode identifies the objects by the fingerprints of their content instead of the full
+     * serialized content.
+     */
+    protected boolean smartModeFingerprints;
+
+    /**
+     * Indicates if the matches of fingerprints in smart mode are verified by comparing the full content.
+     */
+    protected boolean verifySmartModeMatches;
+
+    /**
+     * Indicates if the resources, such as fonts and images, copied from other documents are deduplicated.
+     */
+    protected boolean resourceDeduplication;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
     protected PdfVersion pdfVersion;
@@ -55,6 +73,22 @@ public class WriterProperties {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * Indicates if the cross-reference table keeps flushed objects in a compact form.
+     */
+    protected boolean compactXrefTable;
+
+    /**
+     * The number of threads which compress the content of flushed streams, 0 if the streams are
+     * compressed on the thread which writes the document.
+     */
+    protected int streamCompressionWorkerCount;
+
+    /**
+     * The executor which compresses the content of flushed streams, null if the shared pool of iText is used.
+     */
+    protected ExecutorService streamCompressionExecutor;
+
     public WriterProperties() {
         smartMode = false;
         addUAXmpMetadata = false;
@@ -90,6 +124,49 @@ public class WriterProperties {
         return this;
     }
 
+    /**
+     * Enables smart mode, which identifies the copied objects by fingerprints.
+     * <br>
+     * In contrast to {@link #useSmartMode()}, neither the writer nor the source documents retain the full
+     * serialized content of the copied objects: every object is identified by the SHA-256 digest of its content,
+     * the objects it refers to are identified by their digests as well. This drastically reduces the memory
+     * consumed by smart mode when thousands of documents are merged, while the probability of two different
+     * objects having the same fingerprint is negligible.
+     * <br>
+     * If the matches are verified, the content of the object is compared to the content of the source of the
+     * already copied object with the same fingerprint, as long as the source is available, i.e. its document is
+     * not closed and it isn't garbage collected. If the source isn't available, the fingerprint is relied on.
+     *
+     * @param verifyMatches true to verify the matching fingerprints by comparing the content of the objects
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useFingerprintSmartMode(boolean verifyMatches) {
+        this.smartMode = true;
+        this.smartModeFingerprints = true;
+        this.verifySmartModeMatches = verifyMatches;
+        return this;
+    }
+
+    /**
+     * Enables deduplication of the resources copied from other documents.
+     * <br>
+     * When resource streams (images, form XObjects, embedded font programs, ICC profiles, tiling patterns and
+     * shadings) or font, font descriptor, graphics state and pattern dictionaries are copied to the document,
+     * they are identified by the fingerprint of their content before being copied, see
+     * {@link #useFingerprintSmartMode(boolean)}. If a resource with the same fingerprint has already been copied
+     * to the document from any document, the already copied resource is reused and the resource isn't copied
+     * again. Page content streams are never deduplicated. This is a cheaper and more targeted alternative to
+     * smart mode when the same resources are repeated across a lot of merged documents. Shall not be used if
+     * the copied resources are going to be modified in the document. If smart mode is enabled, the resources
+     * are deduplicated by smart mode anyway.
+     *
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties useResourceDeduplication() {
+        this.resourceDeduplication = true;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -335,6 +412,64 @@ public class WriterProperties {
         return addXmpMetadata();
     }
 
+    /**
+     * Defines if the cross-reference table shall be kept in a compact form. If enabled, the entries of flushed
+     * objects are stored in primitive arrays and their {@link PdfIndirectReference} instances are released by the
+     * cross-reference table, so that they can be garbage collected as soon as no other object refers to them.
+     * A reference is created again if it is requested from the document after flushing, but in this case it doesn't
+     * refer to the flushed object anymore. This noticeably reduces memory consumption when documents with millions
+     * of objects are written with aggressive flushing, e.g. when merging a lot of documents.
+     * In order to keep the entries read from the source document in compact form as well see
+     * {@link ReaderProperties#setLazyXrefLoading(boolean)}.
+     *
+     * @param compactXrefTable true - to keep the cross-reference table in compact form, false otherwise
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setCompactXrefTable(boolean compactXrefTable) {
+        this.compactXrefTable = compactXrefTable;
+        return this;
+    }
+
+    /**
+     * Defines the number of threads which compress the flushed streams, such as page contents, images and fonts.
+     * If the number is positive, the writer works in pipelined mode: the content of each flushed stream is
+     * compressed on worker threads, while the flushed objects are written to the output strictly in the order they
+     * were flushed, as soon as all the preceding objects are written. At most the given number of streams of the
+     * document are compressed on the worker threads at the same time, the others are compressed on the thread which
+     * writes the document. The objects are held in memory until they are written, but the number of objects awaiting
+     * the compression of a preceding stream is limited. The resultant document is identical to the one written
+     * without this mode. This speeds up the writing of documents, which size is dominated by compressed streams,
+     * on multi-core machines. By default the streams are compressed on the thread which writes the document.
+     * <p>
+     * The worker threads are taken from {@link #setStreamCompressionExecutor(ExecutorService)}, or from the pool
+     * shared by all the writers if no executor is set.
+     *
+     * @param workerCount the maximum number of streams compressed on worker threads at the same time,
+     *                    0 to disable pipelined compression
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamCompressionWorkerCount(int workerCount) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException(KernelExceptionMessageConstant.WORKER_COUNT_SHALL_NOT_BE_NEGATIVE);
+        }
+        this.streamCompressionWorkerCount = workerCount;
+        return this;
+    }
+
+    /**
+     * Defines the executor which compresses the flushed streams if the pipelined mode is enabled by
+     * {@link #setStreamCompressionWorkerCount(int)}. The writer never shuts the executor down, so its lifecycle
+     * is controlled by the caller. By default the pool of daemon threads shared by all the writers is used,
+     * which threads are terminated once they stay idle for a while.
+     *
+     * @param executor the executor which compresses the streams, null to use the shared pool
+     * @return this {@link WriterProperties} instance
+     */
+    public WriterProperties setStreamCompressionExecutor(ExecutorService executor) {
+        this.streamCompressionExecutor = executor;
+        return this;
+    }
+
     boolean isStandardEncryptionUsed() {
         return encryptionProperties.isStandardEncryptionUsed();
     }
@@ -0,0 +1,275 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.IndependentRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.ThreadSafeRandomAccessSource;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Extracts text from the pages of a single PDF document using several threads.
+ * <p>
+ * A {@link PdfDocument} can't be shared between threads, so every worker opens its own read-only
+ * {@link PdfDocument} over an independent view of the same source of bytes. Pages are handed out to
+ * the workers one by one, so the load is balanced even if the pages are of very different complexity.
+ * Every worker decodes each font only once and reuses it for all the pages it processes.
+ * The extracted text is returned in page order, regardless of the order in which the pages were processed.
+ * <p>
+ * The passed source of bytes is never closed by this class.
+ */
+public class ParallelTextExtractor {
+
+    private final byte[] documentBytes;
+
+    private final IRandomAccessSource sharedSource;
+
+    private final ReaderProperties readerProperties;
+
+    private int workerCount = Runtime.getRuntime().availableProcessors();
+
+    private Supplier<ITextExtractionStrategy> strategySupplier = () -> new LocationTextExtractionStrategy();
+
+    /**
+     * Creates a new {@link ParallelTextExtractor} instance for the document stored in the byte array.
+     * Every worker reads the array directly without any synchronization.
+     *
+     * @param documentBytes the bytes of the PDF document
+     * @param readerProperties the properties used to open the document, e.g. the password
+     */
+    public ParallelTextExtractor(byte[] documentBytes, ReaderProperties readerProperties) {
+        this.documentBytes = documentBytes;
+        this.sharedSource = null;
+        this.readerProperties = readerProperties;
+    }
+
+    /**
+     * Creates a new {@link ParallelTextExtractor} instance for the document available via the passed source.
+     * The reads from the source are synchronized, since {@link IRandomAccessSource} implementations are
+     * generally not thread-safe. Prefer {@link #ParallelTextExtractor(byte[], ReaderProperties)} if the whole
+     * document is available in memory.
+     *
+     * @param source the source of the PDF document bytes
+     * @param readerProperties the properties used to open the document, e.g. the password
+     */
+    public ParallelTextExtractor(IRandomAccessSource source, ReaderProperties readerProperties) {
+        this.documentBytes = null;
+        this.sharedSource = source instanceof ThreadSafeRandomAccessSource
+                ? source : new ThreadSafeRandomAccessSource(source);
+        this.readerProperties = readerProperties;
+    }
+
+    /**
+     * Gets the maximum number of threads used to extract the text.
+     *
+     * @return the number of workers
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Sets the maximum number of threads used to extract the text. By default the number of available
+     * processors is used. The calling thread also participates in the extraction.
+     *
+     * @param workerCount the number of workers, shall be positive
+     * @return this {@link ParallelTextExtractor} instance
+     */
+    public ParallelTextExtractor setWorkerCount(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException(KernelExceptionMessageConstant.WORKER_COUNT_SHALL_BE_POSITIVE);
+        }
+        this.workerCount = workerCount;
+        return this;
+    }
+
+    /**
+     * Sets the supplier of the text extraction strategies. A new strategy is requested for every page,
+     * so the supplier shall be thread-safe and shall never return the same strategy twice.
+     * By default {@link LocationTextExtractionStrategy} is used.
+     *
+     * @param strategySupplier the supplier of {@link ITextExtractionStrategy} instances
+     * @return this {@link ParallelTextExtractor} instance
+     */
+    public ParallelTextExtractor setStrategySupplier(Supplier<ITextExtractionStrategy> strategySupplier) {
+        this.strategySupplier = strategySupplier;
+        return this;
+    }
+
+    /**
+     * Extracts text from all the pages of the document.
+     *
+     * @return the list with the text of every page, the first element corresponds to the first page
+     */
+    public List<String> extractText() {
+        return extractText(1, -1);
+    }
+
+    /**
+     * Extracts text from the specified range of the pages.
+     *
+     * @param fromPage the number of the first page to extract the text from, starting with 1
+     * @param toPage the number of the last page to extract the text from, inclusive,
+     *               or -1 to extract the text till the end of the document
+     * @return the list with the text of every page in the range, in page order
+     */
+    public List<String> extractText(int fromPage, int toPage) {
+        // the calling thread works with its own document, which is also used to validate the page range
+        PdfDocument document = openDocument();
+        ExecutorService executor = null;
+        try {
+            int numberOfPages = document.getNumberOfPages();
+            int lastPage = toPage == -1 ? numberOfPages : toPage;
+            if (fromPage < 1 || fromPage > numberOfPages) {
+                throw new PdfException(KernelExceptionMessageConstant.REQUESTED_PAGE_NUMBER_IS_OUT_OF_BOUNDS)
+                        .setMessageParams(fromPage);
+            }
+            if (lastPage < fromPage || lastPage > numberOfPages) {
+                throw new PdfException(KernelExceptionMessageConstant.REQUESTED_PAGE_NUMBER_IS_OUT_OF_BOUNDS)
+                        .setMessageParams(lastPage);
+            }
+
+            String[] results = new String[lastPage - fromPage + 1];
+            AtomicInteger nextPage = new AtomicInteger(fromPage);
+            int additionalWorkers = Math.min(workerCount, results.length) - 1;
+            List<Future<Void>> futures = new ArrayList<>(additionalWorkers);
+            if (additionalWorkers > 0) {
+                executor = Executors.newFixedThreadPool(additionalWorkers);
+                for (int i = 0; i < additionalWorkers; i++) {
+                    futures.add(executor.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            PdfDocument workerDocument = openDocument();
+                            try {
+                                extractPages(workerDocument, nextPage, fromPage, results);
+                            } finally {
+                                workerDocument.close();
+                            }
+                            return null;
+                        }
+                    }));
+                }
+            }
+            extractPages(document, nextPage, fromPage, results);
+            for (Future<Void> future : futures) {
+                waitForWorker(future);
+            }
+            return new ArrayList<>(Arrays.asList(results));
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            document.close();
+        }
+    }
+
+    private PdfDocument openDocument() {
+        try {
+            IRandomAccessSource source = documentBytes != null
+                    ? new RandomAccessSourceFactory().createSource(documentBytes)
+                    : new IndependentRandomAccessSource(sharedSource);
+            return new PdfDocument(new PdfReader(source, readerProperties));
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPEN_DOCUMENT, e);
+        }
+    }
+
+    private void extractPages(PdfDocument document, AtomicInteger nextPage, int fromPage, String[] results) {
+        Map<Integer, PdfFont> fonts = new HashMap<>();
+        int pageNumber;
+        while ((pageNumber = nextPage.getAndIncrement()) < fromPage + results.length) {
+            ITextExtractionStrategy strategy = strategySupplier.get();
+            new FontSharingCanvasProcessor(strategy, fonts).processPageContent(document.getPage(pageNumber));
+            results[pageNumber - fromPage] = strategy.getResultantText();
+        }
+    }
+
+    private static void waitForWorker(Future<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(KernelExceptionMessageConstant.TEXT_EXTRACTION_WAS_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PdfException(cause);
+        }
+    }
+
+    /**
+     * {@link PdfCanvasProcessor} which shares the decoded fonts with the other processors of the same worker.
+     */
+    private static final class FontSharingCanvasProcessor extends PdfCanvasProcessor {
+        private final Map<Integer, PdfFont> fonts;
+
+        FontSharingCanvasProcessor(ITextExtractionStrategy strategy, Map<Integer, PdfFont> fonts) {
+            super(strategy);
+            this.fonts = fonts;
+        }
+
+        @Override
+        protected PdfFont getFont(PdfDictionary fontDict) {
+            if (fontDict.getIndirectReference() == null) {
+                return super.getFont(fontDict);
+            }
+            int objNumber = fontDict.getIndirectReference().getObjNumber();
+            PdfFont font = fonts.get(objNumber);
+            if (font == null) {
+                font = super.getFont(fontDict);
+                fonts.put(objNumber, font);
+            }
+            return font;
+        }
+
+        @Override
+        protected boolean isNumericOperatorsDispatchEnabled() {
+            return true;
+        }
+    }
+}
@@ -70,6 +70,7 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.util.ContentOperation;
 import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
 import com.itextpdf.kernel.pdf.colorspace.PdfCieBasedCs;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
@@ -119,6 +120,11 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * The registered operators indexed by {@link ContentOperation#getOpcode() opcode}.
+     */
+    private final IContentOperator[] operatorsByOpcode = new IContentOperator[ContentOperation.getOpcodesCount()];
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -217,6 +223,10 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        int opcode = ContentOperation.getOpcode(operatorString);
+        if (opcode != ContentOperation.UNKNOWN_OPCODE) {
+            operatorsByOpcode[opcode] = operator;
+        }
         return operators.put(operatorString, operator);
     }
 
@@ -272,11 +282,14 @@ public class PdfCanvasProcessor {
         this.resourcesStack.add(resources);
         PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
-        List<PdfObject> operands = new ArrayList<>();
+        ContentOperation operation = new ContentOperation();
         try {
-            while (ps.parse(operands).size() > 0) {
-                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
-                invokeOperator(operator, operands);
+            while (ps.parseOperation(operation)) {
+                if (!invokeNumericOperator(operation)) {
+                    List<PdfObject> operands = operation.getOperands();
+                    PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+                    invokeOperator(operator, operands);
+                }
             }
         } catch (IOException e) {
             throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
@@ -438,6 +451,21 @@ public class PdfCanvasProcessor {
         currentPath = new Path();
     }
 
+    /**
+     * Indicates whether the built-in operators which support numeric operands can be invoked directly,
+     * bypassing {@link #invokeOperator(PdfLiteral, List)}, so that no {@link PdfObject} operands are created for them.
+     *
+     * <p>
+     * The direct invocation is enabled only for {@link PdfCanvasProcessor} itself, because a subclass may override
+     * {@link #invokeOperator(PdfLiteral, List)} and expect to be notified about all the operators. Subclasses which
+     * don't rely on that can opt in by overriding this method and returning {@code true}.
+     *
+     * @return {@code true} if the numeric operators can be invoked directly, {@code false} otherwise
+     */
+    protected boolean isNumericOperatorsDispatchEnabled() {
+        return getClass() == PdfCanvasProcessor.class;
+    }
+
     /**
      * Invokes an operator.
      *
@@ -585,22 +613,69 @@ public class PdfCanvasProcessor {
         textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
     }
 
+
+    /**
+     * Invokes the operator of the operation which has only numeric operands directly with the primitive
+     * operands buffer, so that no {@link PdfObject} instances are created for the operation.
+     *
+     * @param operation the operation to invoke
+     * @return {@code true} if the operator was invoked, {@code false} if it has to be invoked via
+     * {@link #invokeOperator(PdfLiteral, List)}
+     */
+    private boolean invokeNumericOperator(ContentOperation operation) {
+        if (!isNumericOperatorsDispatchEnabled() || !operation.hasOnlyNumericOperands()
+                || operation.getOpcode() == ContentOperation.UNKNOWN_OPCODE) {
+            return false;
+        }
+        IContentOperator operator = operatorsByOpcode[operation.getOpcode()];
+        if (operator == null) {
+            operator = operators.get(DEFAULT_OPERATOR);
+        }
+        return operator instanceof INumericContentOperator && ((INumericContentOperator) operator)
+                .invoke(this, operation.getNumericOperands(), operation.getNumericOperandsCount());
+    }
+
     private void initClippingPath(PdfPage page) {
         Path clippingPath = new Path();
         clippingPath.rectangle(page.getCropBox());
         getGraphicsState().setClippingPath(clippingPath);
     }
 
+    /**
+     * A handler of the operator which is able to work with the numeric operands stored in the primitive buffer,
+     * see {@link ContentOperation#getNumericOperands()}.
+     */
+    private interface INumericContentOperator {
+        /**
+         * Invokes the operator.
+         *
+         * @param processor     the processor that is dealing with the PDF content stream
+         * @param operands      the buffer with the values of the numeric operands
+         * @param operandsCount the number of the operands in the buffer
+         * @return {@code false} if the operands are not suitable for the operator, in this case the operator is
+         * invoked via {@link IContentOperator} interface
+         */
+        boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount);
+    }
+
     /**
      * A handler that implements operator (unregistered).
      */
-    private static class IgnoreOperator implements IContentOperator {
+    private static class IgnoreOperator implements IContentOperator, INumericContentOperator {
         /**
          * {@inheritDoc}
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             // ignore the operator
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            // ignore the operator
+            return true;
+        }
     }
 
     /**
@@ -1340,7 +1415,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (w). For more information see Table 51 ISO-32000-1
      */
-    private static class SetLineWidthOperator implements IContentOperator {
+    private static class SetLineWidthOperator implements IContentOperator, INumericContentOperator {
         /**
          * {@inheritDoc}
          */
@@ -1348,6 +1423,17 @@ public class PdfCanvasProcessor {
             float lineWidth = ((PdfNumber) operands.get(0)).floatValue();
             processor.getGraphicsState().setLineWidth(lineWidth);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 1) {
+                return false;
+            }
+            processor.getGraphicsState().setLineWidth((float) operands[0]);
+            return true;
+        }
     }
 
     /**
@@ -1468,7 +1554,7 @@ public class PdfCanvasProcessor {
     /**
      * A handler that implements operator (m). For more information see Table 51 ISO-32000-1
      */
-    private static class MoveToOperator implements IContentOperator {
+    private static class MoveToOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1478,12 +1564,23 @@ public class PdfCanvasProcessor {
             float y = ((PdfNumber) operands.get(1)).floatValue();
             processor.currentPath.moveTo(x, y);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 2) {
+                return false;
+            }
+            processor.currentPath.moveTo((float) operands[0], (float) operands[1]);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (l). For more information see Table 51 ISO-32000-1
      */
-    private static class LineToOperator implements IContentOperator {
+    private static class LineToOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1493,12 +1590,23 @@ public class PdfCanvasProcessor {
             float y = ((PdfNumber) operands.get(1)).floatValue();
             processor.currentPath.lineTo(x, y);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 2) {
+                return false;
+            }
+            processor.currentPath.lineTo((float) operands[0], (float) operands[1]);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (c). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveOperator implements IContentOperator {
+    private static class CurveOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1512,12 +1620,24 @@ public class PdfCanvasProcessor {
             float y3 = ((PdfNumber) operands.get(5)).floatValue();
             processor.currentPath.curveTo(x1, y1, x2, y2, x3, y3);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 6) {
+                return false;
+            }
+            processor.currentPath.curveTo((float) operands[0], (float) operands[1], (float) operands[2],
+                    (float) operands[3], (float) operands[4], (float) operands[5]);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (v). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveFirstPointDuplicatedOperator implements IContentOperator {
+    private static class CurveFirstPointDuplicatedOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1529,12 +1649,24 @@ public class PdfCanvasProcessor {
             float y3 = ((PdfNumber) operands.get(3)).floatValue();
             processor.currentPath.curveTo(x2, y2, x3, y3);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 4) {
+                return false;
+            }
+            processor.currentPath.curveTo((float) operands[0], (float) operands[1], (float) operands[2],
+                    (float) operands[3]);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (y). For more information see Table 51 ISO-32000-1
      */
-    private static class CurveFourhPointDuplicatedOperator implements IContentOperator {
+    private static class CurveFourhPointDuplicatedOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1546,12 +1678,24 @@ public class PdfCanvasProcessor {
             float y3 = ((PdfNumber) operands.get(3)).floatValue();
             processor.currentPath.curveFromTo(x1, y1, x3, y3);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 4) {
+                return false;
+            }
+            processor.currentPath.curveFromTo((float) operands[0], (float) operands[1], (float) operands[2],
+                    (float) operands[3]);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (h). For more information see Table 51 ISO-32000-1
      */
-    private static class CloseSubpathOperator implements IContentOperator {
+    private static class CloseSubpathOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1559,12 +1703,20 @@ public class PdfCanvasProcessor {
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             processor.currentPath.closeSubpath();
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            processor.currentPath.closeSubpath();
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (re). For more information see Table 51 ISO-32000-1
      */
-    private static class RectangleOperator implements IContentOperator {
+    private static class RectangleOperator implements IContentOperator, INumericContentOperator {
 
         /**
          * {@inheritDoc}
@@ -1576,12 +1728,24 @@ public class PdfCanvasProcessor {
             float h = ((PdfNumber) operands.get(3)).floatValue();
             processor.currentPath.rectangle(x, y, w, h);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (operandsCount < 4) {
+                return false;
+            }
+            processor.currentPath.rectangle((float) operands[0], (float) operands[1], (float) operands[2],
+                    (float) operands[3]);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (S, s, f, F, f*, B, B*, b, b*). For more information see Table 51 ISO-32000-1
      */
-    private static class PaintPathOperator implements IContentOperator {
+    private static class PaintPathOperator implements IContentOperator, INumericContentOperator {
 
         private int operation;
         private int rule;
@@ -1613,12 +1777,23 @@ public class PdfCanvasProcessor {
 
             processor.paintPath(operation, rule);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            if (close) {
+                processor.currentPath.closeSubpath();
+            }
+            processor.paintPath(operation, rule);
+            return true;
+        }
     }
 
     /**
      * A handler that implements operator (W, W*). For more information see Table 51 ISO-32000-1
      */
-    private static class ClipPathOperator implements IContentOperator {
+    private static class ClipPathOperator implements IContentOperator, INumericContentOperator {
 
         private int rule;
 
@@ -1633,5 +1808,14 @@ public class PdfCanvasProcessor {
             processor.isClip = true;
             processor.clippingRule = rule;
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean invoke(PdfCanvasProcessor processor, double[] operands, int operandsCount) {
+            processor.isClip = true;
+            processor.clippingRule = rule;
+            return true;
+        }
     }
 }
@@ -0,0 +1,340 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A single operation of a content stream, i.e. an operator together with its operands,
+ * as read by {@link PdfCanvasParser#parseOperation(ContentOperation)}.
+ * <p>
+ * The instance is meant to be reused for all the operations of a content stream. As long as an operation has
+ * only numeric operands, no {@link PdfObject} instances are created for it: the operator is resolved to an integer
+ * opcode and the operands are available in a primitive buffer. The operands are converted to {@link PdfNumber}
+ * and {@link PdfLiteral} objects only if {@link #getOperands()} is called.
+ */
+public class ContentOperation {
+
+    /**
+     * The opcode of the operators which are not defined in ISO 32000.
+     */
+    public static final int UNKNOWN_OPCODE = -1;
+
+    /**
+     * The operators defined in ISO 32000, the opcode of an operator is its index in this array.
+     */
+    private static final String[] OPERATORS = new String[] {
+            "b", "B", "b*", "B*", "BDC", "BI", "BMC", "BT", "BX", "c", "cm", "CS", "cs", "d", "d0", "d1", "Do", "DP",
+            "EI", "EMC", "ET", "EX", "f", "F", "f*", "G", "g", "gs", "h", "i", "ID", "j", "J", "K", "k", "l", "m", "M",
+            "MP", "n", "q", "Q", "re", "RG", "rg", "ri", "s", "S", "SC", "sc", "SCN", "scn", "sh", "T*", "Tc", "Td",
+            "TD", "Tf", "Tj", "TJ", "TL", "Tm", "Tr", "Ts", "Tw", "Tz", "v", "w", "W", "W*", "y", "'", "\""
+    };
+
+    private static final int[] OPERATOR_KEYS;
+
+    private static final int[] OPERATOR_OPCODES;
+
+    private static final int MAX_FAST_PARSED_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_PARSED_DIGITS + 1];
+
+    private static final int INITIAL_OPERANDS_CAPACITY = 8;
+
+    private final ByteBuffer tokens = new ByteBuffer();
+
+    private int[] numberEnds = new int[INITIAL_OPERANDS_CAPACITY];
+
+    private double[] numbers = new double[INITIAL_OPERANDS_CAPACITY];
+
+    private int numbersCount;
+
+    private boolean numbersParsed;
+
+    private int operatorEnd = -1;
+
+    private int opcode = UNKNOWN_OPCODE;
+
+    private final List<PdfObject> operands = new ArrayList<>();
+
+    private boolean operandsMaterialized;
+
+    static {
+        OPERATOR_KEYS = new int[OPERATORS.length];
+        OPERATOR_OPCODES = new int[OPERATORS.length];
+        long[] keysWithOpcodes = new long[OPERATORS.length];
+        for (int i = 0; i < OPERATORS.length; i++) {
+            byte[] bytes = OPERATORS[i].getBytes(StandardCharsets.ISO_8859_1);
+            keysWithOpcodes[i] = ((long) calculateOperatorKey(bytes, 0, bytes.length) << 32) | i;
+        }
+        Arrays.sort(keysWithOpcodes);
+        for (int i = 0; i < keysWithOpcodes.length; i++) {
+            OPERATOR_KEYS[i] = (int) (keysWithOpcodes[i] >> 32);
+            OPERATOR_OPCODES[i] = (int) keysWithOpcodes[i];
+        }
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Creates a new empty {@link ContentOperation} instance.
+     */
+    public ContentOperation() {
+        // empty constructor
+    }
+
+    /**
+     * Gets the opcode of the passed operator.
+     *
+     * @param operator the operator, e.g. "re"
+     * @return the opcode of the operator or {@link #UNKNOWN_OPCODE} if the operator is not defined in ISO 32000
+     */
+    public static int getOpcode(String operator) {
+        byte[] bytes = operator.getBytes(StandardCharsets.ISO_8859_1);
+        return findOpcode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Gets the number of the opcodes, all the opcodes are in range from 0 to this number (exclusive).
+     *
+     * @return the number of the opcodes
+     */
+    public static int getOpcodesCount() {
+        return OPERATORS.length;
+    }
+
+    /**
+     * Gets the opcode of the operator of this operation.
+     *
+     * @return the opcode or {@link #UNKNOWN_OPCODE} if the operator is not defined in ISO 32000 or is absent
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * Checks whether nothing has been read into this operation.
+     *
+     * @return {@code true} if the operation has neither operator nor operands
+     */
+    public boolean isEmpty() {
+        return operatorEnd < 0 && numbersCount == 0 && operands.isEmpty();
+    }
+
+    /**
+     * Checks whether all the operands of this operation are numbers which are available via
+     * {@link #getNumericOperands()} and the operator is present.
+     *
+     * @return {@code true} if the operation has only numeric operands
+     */
+    public boolean hasOnlyNumericOperands() {
+        return !operandsMaterialized && operatorEnd >= 0;
+    }
+
+    /**
+     * Gets the number of the numeric operands, see {@link #hasOnlyNumericOperands()}.
+     *
+     * @return the number of the numeric operands
+     */
+    public int getNumericOperandsCount() {
+        return numbersCount;
+    }
+
+    /**
+     * Gets the buffer with the values of the numeric operands, see {@link #hasOnlyNumericOperands()}.
+     * The buffer may be longer than the number of the operands and is reused for the next operations.
+     *
+     * @return the buffer with the values of the numeric operands
+     */
+    public double[] getNumericOperands() {
+        if (!numbersParsed) {
+            byte[] bytes = tokens.getInternalBuffer();
+            for (int i = 0; i < numbersCount; i++) {
+                numbers[i] = parseNumber(bytes, getNumberStart(i), numberEnds[i]);
+            }
+            numbersParsed = true;
+        }
+        return numbers;
+    }
+
+    /**
+     * Gets the operands of this operation as {@link PdfObject} instances, the last element is the operator
+     * as {@link PdfLiteral}. This is the same representation as the one produced by
+     * {@link PdfCanvasParser#parse(List)}.
+     *
+     * @return the list with the operands followed by the operator
+     */
+    public List<PdfObject> getOperands() {
+        if (!operandsMaterialized) {
+            materializeNumbers();
+            if (operatorEnd >= 0) {
+                operands.add(new PdfLiteral(tokens.toByteArray(getNumbersEnd(), operatorEnd - getNumbersEnd())));
+            }
+        }
+        return operands;
+    }
+
+    void reset() {
+        tokens.reset();
+        numbersCount = 0;
+        numbersParsed = false;
+        operatorEnd = -1;
+        opcode = UNKNOWN_OPCODE;
+        operands.clear();
+        operandsMaterialized = false;
+    }
+
+    void addNumericOperand(PdfTokenizer tokeniser) {
+        if (operandsMaterialized) {
+            operands.add(new PdfNumber(tokeniser.getByteContent()));
+            return;
+        }
+        if (numbersCount == numberEnds.length) {
+            numberEnds = Arrays.copyOf(numberEnds, numbersCount * 2);
+            numbers = Arrays.copyOf(numbers, numbersCount * 2);
+        }
+        tokeniser.appendByteContent(tokens);
+        numberEnds[numbersCount++] = tokens.size();
+    }
+
+    void addOperand(PdfObject operand) {
+        materializeNumbers();
+        operands.add(operand);
+    }
+
+    void setOperator(PdfTokenizer tokeniser) {
+        if (operandsMaterialized) {
+            byte[] operator = tokeniser.getByteContent();
+            opcode = findOpcode(operator, 0, operator.length);
+            operands.add(new PdfLiteral(operator));
+        } else {
+            tokeniser.appendByteContent(tokens);
+            operatorEnd = tokens.size();
+            opcode = findOpcode(tokens.getInternalBuffer(), getNumbersEnd(), operatorEnd);
+        }
+    }
+
+    void setInlineImage(PdfStream inlineImage) {
+        operands.clear();
+        numbersCount = 0;
+        operandsMaterialized = true;
+        operands.add(inlineImage);
+        operands.add(new PdfLiteral("EI"));
+        opcode = getOpcode("EI");
+    }
+
+    private void materializeNumbers() {
+        if (operandsMaterialized) {
+            return;
+        }
+        for (int i = 0; i < numbersCount; i++) {
+            int start = getNumberStart(i);
+            operands.add(new PdfNumber(tokens.toByteArray(start, numberEnds[i] - start)));
+        }
+        operandsMaterialized = true;
+    }
+
+    private int getNumberStart(int index) {
+        return index == 0 ? 0 : numberEnds[index - 1];
+    }
+
+    private int getNumbersEnd() {
+        return numbersCount == 0 ? 0 : numberEnds[numbersCount - 1];
+    }
+
+    private static int findOpcode(byte[] bytes, int start, int end) {
+        if (end - start < 1 || end - start > 3) {
+            return UNKNOWN_OPCODE;
+        }
+        int index = Arrays.binarySearch(OPERATOR_KEYS, calculateOperatorKey(bytes, start, end));
+        return index < 0 ? UNKNOWN_OPCODE : OPERATOR_OPCODES[index];
+    }
+
+    private static int calculateOperatorKey(byte[] bytes, int start, int end) {
+        // all the standard operators are not longer than 3 bytes, so the key is unique
+        int key = end - start;
+        for (int i = start; i < end; i++) {
+            key = (key << 8) | (bytes[i] & 0xff);
+        }
+        return key;
+    }
+
+    /**
+     * Parses the number the same way {@link PdfNumber#getValue()} does, but without creating intermediate objects
+     * for the plain decimal numbers which can be converted exactly.
+     */
+    private static double parseNumber(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean hasPoint = false;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                if (digits == MAX_FAST_PARSED_DIGITS) {
+                    return parseNumberSlow(bytes, start, end);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (hasPoint) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !hasPoint) {
+                hasPoint = true;
+            } else {
+                return parseNumberSlow(bytes, start, end);
+            }
+        }
+        if (digits == 0) {
+            return parseNumberSlow(bytes, start, end);
+        }
+        // both the mantissa and the power of ten are exact, so the division is rounded correctly
+        double value = (double) mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private static double parseNumberSlow(byte[] bytes, int start, int end) {
+        try {
+            return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -24,6 +24,7 @@ package com.itextpdf.kernel.pdf.canvas.parser.util;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -45,6 +46,8 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final byte[] BEGIN_INLINE_IMAGE = ByteUtils.getIsoBytes("BI");
+
     /**
      * Holds value of property tokeniser.
      */
@@ -107,6 +110,38 @@ public class PdfCanvasParser {
         return ls;
     }
 
+    /**
+     * Parses a single command from the content into the passed {@link ContentOperation}, which is cleared
+     * before using. This method is equivalent to {@link #parse(List)}, but the numeric operands and the
+     * operator are not converted to {@link PdfObject} instances unless requested via
+     * {@link ContentOperation#getOperands()}, so the operations which consist only of numbers, like path
+     * construction operations, don't produce short-living objects.
+     *
+     * @param operation the {@link ContentOperation} to read the command into
+     * @return {@code false} if the end of content was reached and nothing was read, {@code true} otherwise
+     * @throws IOException on error
+     */
+    public boolean parseOperation(ContentOperation operation) throws IOException {
+        operation.reset();
+        while (nextValidToken()) {
+            PdfTokenizer.TokenType type = tokeniser.getTokenType();
+            if (type == PdfTokenizer.TokenType.Number) {
+                operation.addNumericOperand(tokeniser);
+            } else if (type == PdfTokenizer.TokenType.Other) {
+                if (tokeniser.tokenValueEqualsTo(BEGIN_INLINE_IMAGE)) {
+                    operation.setInlineImage(InlineImageParsingUtils.parse(this,
+                            currentResources.getResource(PdfName.ColorSpace)));
+                } else {
+                    operation.setOperator(tokeniser);
+                }
+                break;
+            } else {
+                operation.addOperand(readCurrentObject());
+            }
+        }
+        return !operation.isEmpty();
+    }
+
     /**
      * Gets the tokeniser.
      * @return the tokeniser.
@@ -173,6 +208,24 @@ public class PdfCanvasParser {
     public PdfObject readObject() throws IOException {
         if (!nextValidToken())
             return null;
+        return readCurrentObject();
+    }
+
+    /**
+     * Reads the next token skipping over the comments.
+     * @return <CODE>true</CODE> if a token was read, <CODE>false</CODE> if the end of content was reached
+     * @throws IOException on error
+     */
+    public boolean nextValidToken() throws IOException {
+        while (tokeniser.nextToken()) {
+            if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Comment)
+                continue;
+            return true;
+        }
+        return false;
+    }
+
+    private PdfObject readCurrentObject() throws IOException {
         final PdfTokenizer.TokenType type = tokeniser.getTokenType();
         switch (type) {
             case StartDic: {
@@ -193,18 +246,4 @@ public class PdfCanvasParser {
                 return new PdfLiteral(tokeniser.getByteContent());
         }
     }
-
-    /**
-     * Reads the next token skipping over the comments.
-     * @return <CODE>true</CODE> if a token was read, <CODE>false</CODE> if the end of content was reached
-     * @throws IOException on error
-     */
-    public boolean nextValidToken() throws IOException {
-        while (tokeniser.nextToken()) {
-            if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Comment)
-                continue;
-            return true;
-        }
-        return false;
-    }
 }
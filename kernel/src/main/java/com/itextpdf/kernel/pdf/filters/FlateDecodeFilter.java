@@ -35,12 +35,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
  * Handles FlateDecode filter.
  */
-public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
+public class FlateDecodeFilter extends MemoryLimitsAwareFilter implements IStreamingFilterHandler {
 
     /**
      * A helper to flateDecode.
@@ -106,58 +107,7 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
                 return fout.toByteArray();
             }
 
-            switch (filter) {
-                case 0: //PNG_FILTER_NONE
-                    break;
-                case 1: //PNG_FILTER_SUB
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += curr[i - bytesPerPixel];
-                    }
-                    break;
-                case 2: //PNG_FILTER_UP
-                    for (int i = 0; i < bytesPerRow; i++) {
-                        curr[i] += prior[i];
-                    }
-                    break;
-                case 3: //PNG_FILTER_AVERAGE
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += (byte) (prior[i] / 2);
-                    }
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
-                    }
-                    break;
-                case 4: //PNG_FILTER_PAETH
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += prior[i];
-                    }
-
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        int a = curr[i - bytesPerPixel] & 0xff;
-                        int b = prior[i] & 0xff;
-                        int c = prior[i - bytesPerPixel] & 0xff;
-
-                        int p = a + b - c;
-                        int pa = Math.abs(p - a);
-                        int pb = Math.abs(p - b);
-                        int pc = Math.abs(p - c);
-
-                        int ret;
-
-                        if (pa <= pb && pa <= pc) {
-                            ret = a;
-                        } else if (pb <= pc) {
-                            ret = b;
-                        } else {
-                            ret = c;
-                        }
-                        curr[i] += (byte) ret;
-                    }
-                    break;
-                default:
-                    // Error -- unknown filter type
-                    throw new PdfException(KernelExceptionMessageConstant.PNG_FILTER_UNKNOWN);
-            }
+            decodePngRow(filter, curr, prior, bytesPerPixel);
             try {
                 fout.write(curr);
             } catch (IOException ioe) {
@@ -172,6 +122,48 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
     }
 
+    /**
+     * A helper to flateDecode which inflates the data lazily, while it is being read.
+     *
+     * @param in     the stream of the input data
+     * @param strict {@code true} to read a correct stream, in this case reading of a corrupted stream
+     *               results in an {@link IOException}. {@code false} to try to read a corrupted stream,
+     *               in this case the returned stream ends as soon as the corrupted data is met.
+     * @return the stream of the decoded data
+     */
+    public static InputStream flateDecode(InputStream in, boolean strict) {
+        return strict ? new InflaterInputStream(in) : new LenientInflaterInputStream(in);
+    }
+
+    /**
+     * Wraps the stream of predicted data into a stream which reverts the predictor row by row, so
+     * that only two rows of the image are kept in memory at any given time.
+     *
+     * @param in           the stream of the input data
+     * @param decodeParams PdfDictionary of decodeParams.
+     * @return the stream of the decoded data, or the passed stream if no predictor should be applied
+     */
+    public static InputStream decodePredictor(InputStream in, PdfObject decodeParams) {
+        if (decodeParams == null || decodeParams.getType() != PdfObject.DICTIONARY) {
+            return in;
+        }
+        PdfDictionary dic = (PdfDictionary) decodeParams;
+        PdfObject obj = dic.get(PdfName.Predictor);
+        if (obj == null || obj.getType() != PdfObject.NUMBER) {
+            return in;
+        }
+        int predictor = ((PdfNumber) obj).intValue();
+        final int bpc = getNumberOrDefault(dic, PdfName.BitsPerComponent, 8);
+        if ((predictor < 10 && predictor != 2) || (predictor == 2 && bpc != 8)) {
+            return in;
+        }
+        final int width = getNumberOrDefault(dic, PdfName.Columns, 1);
+        final int colors = getNumberOrDefault(dic, PdfName.Colors, 1);
+        int bytesPerPixel = colors * bpc / 8;
+        int bytesPerRow = (colors * width * bpc + 7) / 8;
+        return new PredictorDecodingInputStream(in, predictor, bytesPerPixel, bytesPerRow);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -187,6 +179,15 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         return b;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream decode(InputStream encodedStream, PdfName filterName, PdfObject decodeParams,
+            PdfDictionary streamDictionary) {
+        return decodePredictor(flateDecode(encodedStream, false), decodeParams);
+    }
+
     /**
      * A helper to flateDecode.
      *
@@ -217,6 +218,70 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
     }
 
+    /**
+     * Reverts the PNG predictor of a single row of an image.
+     *
+     * @param filter        the PNG filter type of the row
+     * @param curr          the bytes of the row which will be decoded in place
+     * @param prior         the already decoded bytes of the previous row
+     * @param bytesPerPixel the number of bytes per pixel
+     */
+    static void decodePngRow(int filter, byte[] curr, byte[] prior, int bytesPerPixel) {
+        final int bytesPerRow = curr.length;
+        switch (filter) {
+            case 0: //PNG_FILTER_NONE
+                break;
+            case 1: //PNG_FILTER_SUB
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += curr[i - bytesPerPixel];
+                }
+                break;
+            case 2: //PNG_FILTER_UP
+                for (int i = 0; i < bytesPerRow; i++) {
+                    curr[i] += prior[i];
+                }
+                break;
+            case 3: //PNG_FILTER_AVERAGE
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += (byte) (prior[i] / 2);
+                }
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
+                }
+                break;
+            case 4: //PNG_FILTER_PAETH
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += prior[i];
+                }
+
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    int a = curr[i - bytesPerPixel] & 0xff;
+                    int b = prior[i] & 0xff;
+                    int c = prior[i - bytesPerPixel] & 0xff;
+
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+
+                    int ret;
+
+                    if (pa <= pb && pa <= pc) {
+                        ret = a;
+                    } else if (pb <= pc) {
+                        ret = b;
+                    } else {
+                        ret = c;
+                    }
+                    curr[i] += (byte) ret;
+                }
+                break;
+            default:
+                // Error -- unknown filter type
+                throw new PdfException(KernelExceptionMessageConstant.PNG_FILTER_UNKNOWN);
+        }
+    }
+
     private static int getNumberOrDefault(PdfDictionary dict, PdfName key, int defaultInt) {
         int result = defaultInt;
         final PdfObject obj = dict.get(key);
@@ -226,4 +291,74 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
         return result;
     }
+
+    /**
+     * An {@link InflaterInputStream} which treats corrupted deflated data as the end of the stream.
+     *
+     * <p>
+     * The data inflated by the read which meets the corruption is lost by {@link InflaterInputStream}, so if the
+     * underlying stream supports marking, the rest of the stream is inflated again byte by byte to keep everything
+     * which precedes the corrupted data, as {@link #flateDecode(byte[], boolean)} does.
+     */
+    private static class LenientInflaterInputStream extends InflaterInputStream {
+        private final boolean recoverable;
+        private long delivered = 0;
+        private byte[] recovered = null;
+        private int recoveredPosition = 0;
+
+        LenientInflaterInputStream(InputStream in) {
+            super(in);
+            recoverable = in.markSupported();
+            if (recoverable) {
+                in.mark(Integer.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (recovered != null) {
+                if (recoveredPosition >= recovered.length) {
+                    return -1;
+                }
+                int n = Math.min(len, recovered.length - recoveredPosition);
+                System.arraycopy(recovered, recoveredPosition, b, off, n);
+                recoveredPosition += n;
+                return n;
+            }
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    delivered += n;
+                }
+                return n;
+            } catch (IOException e) {
+                recovered = recoverable ? recoverDataBeforeCorruption() : new byte[0];
+                return read(b, off, len);
+            }
+        }
+
+        private byte[] recoverDataBeforeCorruption() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                in.reset();
+                InflaterInputStream zip = new InflaterInputStream(in);
+                long toSkip = delivered;
+                while (toSkip > 0) {
+                    long skipped = zip.skip(toSkip);
+                    if (skipped <= 0) {
+                        return out.toByteArray();
+                    }
+                    toSkip -= skipped;
+                }
+                byte[] b = new byte[1];
+                int n;
+                while ((n = zip.read(b)) >= 0) {
+                    out.write(b, 0, n);
+                }
+            } catch (IOException e) {
+                // the corrupted data is reached, everything before it is already written
+            }
+            return out.toByteArray();
+        }
+    }
 }
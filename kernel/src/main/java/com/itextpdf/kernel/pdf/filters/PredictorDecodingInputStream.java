@@ -0,0 +1,188 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream which reverts TIFF and PNG predictors row by row while the data is being read.
+ * Only two rows of the image are kept in memory at any given time.
+ */
+class PredictorDecodingInputStream extends FilterInputStream {
+
+    private final int predictor;
+    private final int bytesPerPixel;
+
+    private byte[] curr;
+    private byte[] prior;
+
+    private int position = 0;
+    private int rowLength = 0;
+    private boolean finished = false;
+
+    /**
+     * Creates a new {@link PredictorDecodingInputStream} instance.
+     *
+     * @param in            the stream of predicted data
+     * @param predictor     the value of the predictor, either 2 for TIFF predictor or a value of 10 or greater
+     *                      for PNG predictors
+     * @param bytesPerPixel the number of bytes per pixel
+     * @param bytesPerRow   the number of bytes in one row of the image, not counting the PNG filter type byte
+     */
+    PredictorDecodingInputStream(InputStream in, int predictor, int bytesPerPixel, int bytesPerRow) {
+        super(in);
+        this.predictor = predictor;
+        this.bytesPerPixel = bytesPerPixel;
+        this.curr = new byte[bytesPerRow];
+        this.prior = new byte[bytesPerRow];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        if (position >= rowLength && !nextRow()) {
+            return -1;
+        }
+        return curr[position++] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int total = 0;
+        while (total < len) {
+            if (position >= rowLength && !nextRow()) {
+                break;
+            }
+            int n = Math.min(len - total, rowLength - position);
+            System.arraycopy(curr, position, b, off + total, n);
+            position += n;
+            total += n;
+        }
+        return total == 0 ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            if (position >= rowLength && !nextRow()) {
+                break;
+            }
+            int step = (int) Math.min(n - skipped, rowLength - position);
+            position += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return rowLength - position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void mark(int readlimit) {
+        // mark is not supported
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private boolean nextRow() throws IOException {
+        if (finished) {
+            return false;
+        }
+        position = 0;
+        rowLength = 0;
+        if (predictor == 2) {
+            int read = readRow();
+            if (read < curr.length) {
+                // An incomplete trailing row is left untouched, the same way it is done for byte arrays
+                finished = true;
+            } else {
+                for (int col = bytesPerPixel; col < curr.length; col++) {
+                    curr[col] = (byte) (curr[col] + curr[col - bytesPerPixel]);
+                }
+            }
+            rowLength = read;
+            return read > 0;
+        }
+
+        // Swap curr and prior, the row which has just been consumed becomes the prior one
+        byte[] tmp = prior;
+        prior = curr;
+        curr = tmp;
+        int filter = in.read();
+        if (filter < 0 || readRow() < curr.length) {
+            finished = true;
+            return false;
+        }
+        FlateDecodeFilter.decodePngRow(filter, curr, prior, bytesPerPixel);
+        rowLength = curr.length;
+        return true;
+    }
+
+    private int readRow() throws IOException {
+        int total = 0;
+        while (total < curr.length) {
+            int n = in.read(curr, total, curr.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+}
@@ -24,6 +24,7 @@ package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.pdf.IPdfPageExtraCopier;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -133,7 +134,19 @@ public class PdfMerger {
             PdfScriptMerger.mergeScripts(from, this.pdfDocument);
         }
 
-        from.copyPagesTo(pages, pdfDocument, copier);
+        PdfWriter writer = pdfDocument.getWriter();
+        if (properties.isDeduplicateResources() && !writer.isResourceDeduplication()) {
+            // The registry of the copied resources is kept by the writer of the destination document,
+            // so the deduplication is enabled only while the pages are copied by this merger
+            writer.setResourceDeduplication(true);
+            try {
+                from.copyPagesTo(pages, pdfDocument, copier);
+            } finally {
+                writer.setResourceDeduplication(false);
+            }
+        } else {
+            from.copyPagesTo(pages, pdfDocument, copier);
+        }
         if (properties.isCloseSrcDocuments()) {
             from.close();
         }
@@ -31,6 +31,7 @@ public class PdfMergerProperties {
     private boolean mergeTags;
     private boolean mergeOutlines;
     private boolean mergeScripts;
+    private boolean deduplicateResources;
 
     /**
      * Default constructor, use provided setters for configuration options.
@@ -40,6 +41,7 @@ public class PdfMergerProperties {
         mergeTags = true;
         mergeOutlines = true;
         mergeScripts = false;
+        deduplicateResources = false;
     }
 
     /**
@@ -78,6 +80,15 @@ public class PdfMergerProperties {
         return mergeScripts;
     }
 
+    /**
+     * check if the resources repeated across the merged documents should be copied only once
+     *
+     * @return true if they should, false otherwise
+     */
+    public boolean isDeduplicateResources() {
+        return deduplicateResources;
+    }
+
     /**
      * close source documents after merging
      *
@@ -126,4 +137,19 @@ public class PdfMergerProperties {
         this.mergeScripts = mergeNames;
         return this;
     }
+
+    /**
+     * copy the resources repeated across the merged documents, such as fonts, images and ICC profiles, only once.
+     * See {@link com.itextpdf.kernel.pdf.WriterProperties#useResourceDeduplication()}. The deduplication
+     * is enabled only for the pages copied by the merger, to deduplicate the resources of any other copying to
+     * the destination document use {@link com.itextpdf.kernel.pdf.WriterProperties#useResourceDeduplication()}.
+     *
+     * @param deduplicateResources true to copy the repeated resources only once, false otherwise
+     *
+     * @return <code>PdfMergerProperties</code> instance
+     */
+    public PdfMergerProperties setDeduplicateResources(boolean deduplicateResources) {
+        this.deduplicateResources = deduplicateResources;
+        return this;
+    }
 }
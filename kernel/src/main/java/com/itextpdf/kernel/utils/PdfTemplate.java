@@ -0,0 +1,267 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNull;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory snapshot of the pages of a template document, e.g. a letterhead, which can be stamped into any
+ * number of other documents.
+ *
+ * <p>
+ * The template document is parsed only once, when the snapshot is created: the content of each page is kept
+ * as a compressed form XObject stream and its resources are kept as a graph of objects detached from any document.
+ * Creating the form XObjects in a target document then only copies these objects, without reading the template
+ * document again. The template document can be closed right after the snapshot is created.
+ *
+ * <p>
+ * The snapshot isn't modified after it is created, so it can be shared between threads and used to stamp
+ * several documents concurrently. A single target document shall still be used from one thread only.
+ */
+public final class PdfTemplate {
+
+    private final List<PdfStream> pages;
+
+    private final List<Rectangle> pageSizes;
+
+    /**
+     * The detached dictionaries, arrays and streams which were indirect objects in the template document.
+     * They are copied as indirect objects only once per target document.
+     */
+    private final Set<PdfObject> indirectObjects = new HashSet<>();
+
+    /**
+     * Creates a snapshot of all the pages of the template document.
+     *
+     * @param templateDocument the template document
+     */
+    public PdfTemplate(PdfDocument templateDocument) {
+        int numberOfPages = templateDocument.getNumberOfPages();
+        List<PdfStream> pageList = new ArrayList<>(numberOfPages);
+        List<Rectangle> pageSizeList = new ArrayList<>(numberOfPages);
+        Map<PdfObject, PdfObject> detachedObjects = new HashMap<>();
+        for (int i = 1; i <= numberOfPages; i++) {
+            PdfPage page = templateDocument.getPage(i);
+            Rectangle cropBox = page.getCropBox();
+            PdfStream xObject = new PdfStream(compress(page.getContentBytes()));
+            xObject.put(PdfName.Type, PdfName.XObject);
+            xObject.put(PdfName.Subtype, PdfName.Form);
+            xObject.put(PdfName.BBox, new PdfArray(cropBox));
+            xObject.put(PdfName.Filter, PdfName.FlateDecode);
+            // Resources are taken from the page tree if they are inherited
+            xObject.put(PdfName.Resources, detach(page.getResources().getPdfObject(), detachedObjects));
+            PdfObject group = page.getPdfObject().get(PdfName.Group, false);
+            if (group != null) {
+                xObject.put(PdfName.Group, detach(group, detachedObjects));
+            }
+            pageList.add(xObject);
+            pageSizeList.add(cropBox);
+        }
+        this.pages = Collections.unmodifiableList(pageList);
+        this.pageSizes = Collections.unmodifiableList(pageSizeList);
+    }
+
+    /**
+     * Gets the number of pages of the template.
+     *
+     * @return the number of pages
+     */
+    public int getNumberOfPages() {
+        return pages.size();
+    }
+
+    /**
+     * Gets the crop box of the template page, which is also the bounding box of its form XObject.
+     *
+     * @param pageNumber the number of the page, starting from 1
+     * @return the crop box of the page
+     */
+    public Rectangle getPageSize(int pageNumber) {
+        return pageSizes.get(pageNumber - 1).clone();
+    }
+
+    /**
+     * Creates a form XObject of the template page in the target document.
+     *
+     * <p>
+     * Each call creates a new copy of the page and its resources in the target document, so the returned object
+     * should be reused to stamp the page several times into the same document. Use
+     * {@link #createFormXObjects(PdfDocument)} to copy several template pages which share their resources.
+     *
+     * @param pageNumber the number of the template page, starting from 1
+     * @param document   the target document
+     * @return the {@link PdfFormXObject} with the content of the template page
+     */
+    public PdfFormXObject createFormXObject(int pageNumber, PdfDocument document) {
+        return new PdfFormXObject((PdfStream) copyTo(pages.get(pageNumber - 1), document,
+                new HashMap<PdfObject, PdfObject>()));
+    }
+
+    /**
+     * Creates form XObjects of all the template pages in the target document. The resources shared between
+     * the template pages are copied only once.
+     *
+     * @param document the target document
+     * @return the list of {@link PdfFormXObject} instances in the order of the template pages
+     */
+    public List<PdfFormXObject> createFormXObjects(PdfDocument document) {
+        Map<PdfObject, PdfObject> copiedObjects = new HashMap<>();
+        List<PdfFormXObject> xObjects = new ArrayList<>(pages.size());
+        for (PdfStream page : pages) {
+            xObjects.add(new PdfFormXObject((PdfStream) copyTo(page, document, copiedObjects)));
+        }
+        return xObjects;
+    }
+
+    private PdfObject detach(PdfObject object, Map<PdfObject, PdfObject> detachedObjects) {
+        if (object.isIndirectReference()) {
+            object = ((PdfIndirectReference) object).getRefersTo();
+            if (object == null) {
+                return PdfNull.PDF_NULL;
+            }
+        }
+        PdfObject detached = detachedObjects.get(object);
+        if (detached != null) {
+            return detached;
+        }
+        boolean indirect = object.getIndirectReference() != null;
+        switch (object.getType()) {
+            case PdfObject.STREAM:
+                byte[] bytes = ((PdfStream) object).getBytes(false);
+                PdfStream stream = new PdfStream(bytes == null ? new byte[0] : bytes);
+                register(object, stream, indirect, detachedObjects);
+                for (Map.Entry<PdfName, PdfObject> entry : ((PdfStream) object).entrySet()) {
+                    if (!PdfName.Length.equals(entry.getKey())) {
+                        stream.put(entry.getKey(), detach(entry.getValue(), detachedObjects));
+                    }
+                }
+                return stream;
+            case PdfObject.DICTIONARY:
+                PdfDictionary dictionary = new PdfDictionary();
+                register(object, dictionary, indirect, detachedObjects);
+                for (Map.Entry<PdfName, PdfObject> entry : ((PdfDictionary) object).entrySet()) {
+                    dictionary.put(entry.getKey(), detach(entry.getValue(), detachedObjects));
+                }
+                return dictionary;
+            case PdfObject.ARRAY:
+                PdfArray array = new PdfArray();
+                register(object, array, indirect, detachedObjects);
+                for (PdfObject item : (PdfArray) object) {
+                    array.add(detach(item, detachedObjects));
+                }
+                return array;
+            case PdfObject.STRING:
+                // strings of encrypted documents are decrypted lazily, so the decrypted value is kept instead
+                PdfString string = (PdfString) object;
+                return new PdfString(string.getValueBytes()).setHexWriting(string.isHexWriting());
+            default:
+                // indirect primitive objects are inlined
+                return object.clone();
+        }
+    }
+
+    private void register(PdfObject object, PdfObject detached, boolean indirect,
+            Map<PdfObject, PdfObject> detachedObjects) {
+        if (indirect) {
+            detachedObjects.put(object, detached);
+            indirectObjects.add(detached);
+        }
+    }
+
+    private PdfObject copyTo(PdfObject object, PdfDocument document, Map<PdfObject, PdfObject> copiedObjects) {
+        PdfObject copy = copiedObjects.get(object);
+        if (copy != null) {
+            return copy;
+        }
+        switch (object.getType()) {
+            case PdfObject.STREAM:
+                PdfStream stream = new PdfStream(((PdfStream) object).getBytes(false));
+                // the content of the streams is already encoded, so it is written as is
+                stream.makeIndirect(document);
+                copiedObjects.put(object, stream);
+                for (Map.Entry<PdfName, PdfObject> entry : ((PdfStream) object).entrySet()) {
+                    stream.put(entry.getKey(), copyTo(entry.getValue(), document, copiedObjects));
+                }
+                return stream;
+            case PdfObject.DICTIONARY:
+                PdfDictionary dictionary = new PdfDictionary();
+                if (indirectObjects.contains(object)) {
+                    dictionary.makeIndirect(document);
+                    copiedObjects.put(object, dictionary);
+                }
+                for (Map.Entry<PdfName, PdfObject> entry : ((PdfDictionary) object).entrySet()) {
+                    dictionary.put(entry.getKey(), copyTo(entry.getValue(), document, copiedObjects));
+                }
+                return dictionary;
+            case PdfObject.ARRAY:
+                PdfArray array = new PdfArray();
+                if (indirectObjects.contains(object)) {
+                    array.makeIndirect(document);
+                    copiedObjects.put(object, array);
+                }
+                for (PdfObject item : (PdfArray) object) {
+                    array.add(copyTo(item, document, copiedObjects));
+                }
+                return array;
+            default:
+                return object.clone();
+        }
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try {
+            DeflaterOutputStream zip = new DeflaterOutputStream(compressed, CompressionConstants.DEFAULT_COMPRESSION);
+            zip.write(bytes);
+            zip.finish();
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -2929,6 +2929,85 @@ public class PdfReaderTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void lazyXrefLoadingTest() throws IOException {
+        assertLazyXrefEqualsEager(SOURCE_FOLDER + "1000PagesDocument.pdf");
+    }
+
+    @Test
+    public void lazyXrefLoadingWithXrefStreamsTest() throws IOException {
+        assertLazyXrefEqualsEager(SOURCE_FOLDER + "1000PagesDocumentWithFullCompressionAppended.pdf");
+    }
+
+    @Test
+    public void lazyXrefLoadingMaterializesOnDemandTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocument.pdf";
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename,
+                new ReaderProperties().setLazyXrefLoading(true)))) {
+            PdfXrefTable xref = pdfDoc.getXref();
+            Assertions.assertTrue(countMaterializedReferences(xref) < xref.size() / 100);
+
+            PdfPage page = pdfDoc.getPage(500);
+            Assertions.assertNotNull(page.getPdfObject());
+            Assertions.assertTrue(countMaterializedReferences(xref) < xref.size() / 10);
+            Assertions.assertEquals(1000, pdfDoc.getNumberOfPages());
+        }
+    }
+
+    @Test
+    public void lazyXrefLoadingAppendModeTest() throws IOException {
+        String filename = SOURCE_FOLDER + "1000PagesDocumentWithFullCompression.pdf";
+        String outFilename = DESTINATION_FOLDER + "lazyXrefLoadingAppendMode.pdf";
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename,
+                new ReaderProperties().setLazyXrefLoading(true)), CompareTool.createTestPdfWriter(outFilename),
+                new StampingProperties().useAppendMode())) {
+            pdfDoc.getDocumentInfo().setAuthor(author);
+            pdfDoc.getPage(1).setModified();
+        }
+
+        try (PdfDocument pdfDoc = new PdfDocument(CompareTool.createOutputReader(outFilename))) {
+            Assertions.assertFalse(pdfDoc.getReader().hasRebuiltXref());
+            Assertions.assertEquals(author, pdfDoc.getDocumentInfo().getAuthor());
+            Assertions.assertEquals(1000, pdfDoc.getNumberOfPages());
+        }
+    }
+
+    private static void assertLazyXrefEqualsEager(String filename) throws IOException {
+        try (PdfDocument eagerDoc = new PdfDocument(new PdfReader(filename));
+                PdfDocument lazyDoc = new PdfDocument(new PdfReader(filename,
+                        new ReaderProperties().setLazyXrefLoading(true)))) {
+            PdfXrefTable eagerXref = eagerDoc.getXref();
+            PdfXrefTable lazyXref = lazyDoc.getXref();
+            Assertions.assertEquals(eagerXref.size(), lazyXref.size());
+            Assertions.assertEquals(eagerXref.getCountOfIndirectObjects(), lazyXref.getCountOfIndirectObjects());
+            for (int i = 0; i < eagerXref.size(); i++) {
+                PdfIndirectReference eagerRef = eagerXref.get(i);
+                PdfIndirectReference lazyRef = lazyXref.get(i);
+                if (eagerRef == null) {
+                    Assertions.assertNull(lazyRef);
+                    continue;
+                }
+                Assertions.assertEquals(eagerRef.getGenNumber(), lazyRef.getGenNumber());
+                Assertions.assertEquals(eagerRef.isFree(), lazyRef.isFree());
+                Assertions.assertEquals(eagerRef.getOffset(), lazyRef.getOffset());
+                Assertions.assertEquals(eagerRef.getObjStreamNumber(), lazyRef.getObjStreamNumber());
+            }
+            Assertions.assertEquals(eagerDoc.getNumberOfPages(), lazyDoc.getNumberOfPages());
+            Assertions.assertEquals(PdfTextExtractor.getTextFromPage(eagerDoc.getPage(3)),
+                    PdfTextExtractor.getTextFromPage(lazyDoc.getPage(3)));
+        }
+    }
+
+    private static int countMaterializedReferences(PdfXrefTable xref) {
+        int count = 0;
+        for (int i = 0; i < xref.size(); i++) {
+            if (xref.getMaterializedReference(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private static PdfDictionary getTestPdfDictionary() {
         HashMap<PdfName, PdfObject> tmpMap = new HashMap<PdfName, PdfObject>();
         tmpMap.put(new PdfName("b"), new PdfName("c"));
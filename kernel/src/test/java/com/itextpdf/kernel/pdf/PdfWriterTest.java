@@ -40,9 +40,12 @@ import org.junit.jupiter.api.Tag;
 import java.io.ByteArrayInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Tag("IntegrationTest")
 public class PdfWriterTest extends ExtendedITextTest {
@@ -619,4 +622,282 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assertions.assertArrayEquals(streamContent.getBytes(), pdfStream.getBytes(), "Stream by InputStream");
         document.close();
     }
+
+    @Test
+    public void compactXrefTableTest() throws IOException {
+        assertCompactXrefTable("compactXrefTable.pdf", false);
+    }
+
+    @Test
+    public void compactXrefTableWithFullCompressionTest() throws IOException {
+        assertCompactXrefTable("compactXrefTableWithFullCompression.pdf", true);
+    }
+
+    @Test
+    public void compactXrefTableStampingTest() throws IOException {
+        String src = destinationFolder + "compactXrefTableStampingSource.pdf";
+        String filename = destinationFolder + "compactXrefTableStamping.pdf";
+        assertCompactXrefTable("compactXrefTableStampingSource.pdf", true);
+
+        try (PdfDocument document = new PdfDocument(
+                CompareTool.createOutputReader(src, new ReaderProperties().setLazyXrefLoading(true)),
+                CompareTool.createTestPdfWriter(filename, new WriterProperties().setCompactXrefTable(true)))) {
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                PdfPage page = document.getPage(i);
+                page.getPdfObject().put(PdfName.Rotate, new PdfNumber(90));
+                page.flush();
+            }
+        }
+
+        try (PdfDocument document = new PdfDocument(CompareTool.createOutputReader(filename))) {
+            Assertions.assertFalse(document.getReader().hasRebuiltXref());
+            Assertions.assertEquals(100, document.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                Assertions.assertEquals(90, document.getPage(i).getRotation());
+                Assertions.assertArrayEquals(("q " + i + " 0 0 1 0 0 cm Q\n").getBytes(),
+                        document.getPage(i).getContentBytes());
+            }
+        }
+    }
+
+    @Test
+    public void streamCompressionPipelineTest() throws IOException {
+        assertStreamCompressionPipeline(false, false);
+    }
+
+    @Test
+    public void streamCompressionPipelineWithFullCompressionTest() throws IOException {
+        assertStreamCompressionPipeline(true, false);
+    }
+
+    @Test
+    public void streamCompressionPipelineWithCompactXrefTableTest() throws IOException {
+        assertStreamCompressionPipeline(true, true);
+    }
+
+    @Test
+    public void streamCompressionPipelineWithInputStreamTest() throws IOException {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos,
+                new WriterProperties().setStreamCompressionWorkerCount(2)))) {
+            for (int i = 1; i <= 20; i++) {
+                PdfPage page = document.addNewPage();
+                page.getFirstContentStream().setData(createPipelineTestContent(i));
+                PdfStream inputStream = new PdfStream(document, new ByteArrayInputStream(createPipelineTestContent(i)));
+                page.getPdfObject().put(new PdfName("InputStreamData"), inputStream);
+                page.flush();
+            }
+        }
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertFalse(document.getReader().hasRebuiltXref());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                PdfDictionary page = document.getPage(i).getPdfObject();
+                Assertions.assertArrayEquals(createPipelineTestContent(i),
+                        page.getAsStream(new PdfName("InputStreamData")).getBytes());
+            }
+        }
+    }
+
+    @Test
+    public void streamCompressionPipelineStampingTest() throws IOException {
+        byte[] source = createPipelineTestDocument(0, false, false);
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)),
+                new PdfWriter(baos, new WriterProperties().setStreamCompressionWorkerCount(2)))) {
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                document.getPage(i).getFirstContentStream().setCompressionLevel(CompressionConstants.BEST_SPEED);
+            }
+        }
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertFalse(document.getReader().hasRebuiltXref());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                Assertions.assertArrayEquals(createPipelineTestContent(i), document.getPage(i).getContentBytes());
+            }
+        }
+    }
+
+    @Test
+    public void streamCompressionPipelineWithEncryptionTest() throws IOException {
+        byte[] password = "password".getBytes(StandardCharsets.ISO_8859_1);
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties()
+                .setStreamCompressionWorkerCount(4)
+                .setStandardEncryption(password, password, EncryptionConstants.ALLOW_PRINTING,
+                        EncryptionConstants.ENCRYPTION_AES_256);
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos, properties))) {
+            for (int i = 1; i <= 100; i++) {
+                PdfPage page = document.addNewPage();
+                page.getFirstContentStream().setData(createPipelineTestContent(i));
+                page.getPdfObject().put(new PdfName("PageName"), new PdfString("Page " + i));
+                if (i % 2 == 0) {
+                    page.flush();
+                }
+            }
+        }
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()),
+                new ReaderProperties().setPassword(password)))) {
+            Assertions.assertFalse(document.getReader().hasRebuiltXref());
+            Assertions.assertTrue(document.getReader().isEncrypted());
+            Assertions.assertEquals(100, document.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                PdfPage page = document.getPage(i);
+                Assertions.assertArrayEquals(createPipelineTestContent(i), page.getContentBytes());
+                Assertions.assertEquals("Page " + i,
+                        page.getPdfObject().getAsString(new PdfName("PageName")).toUnicodeString());
+            }
+        }
+    }
+
+    @Test
+    public void streamCompressionPipelineWithExecutorTest() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+            WriterProperties properties = new WriterProperties()
+                    .setStreamCompressionWorkerCount(2)
+                    .setStreamCompressionExecutor(executor);
+            try (PdfDocument document = new PdfDocument(new PdfWriter(baos, properties))) {
+                for (int i = 1; i <= 100; i++) {
+                    document.addNewPage().getFirstContentStream().setData(createPipelineTestContent(i));
+                }
+            }
+            // the executor provided by the caller stays usable after the writer is closed
+            Assertions.assertFalse(executor.isShutdown());
+
+            try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+                Assertions.assertFalse(document.getReader().hasRebuiltXref());
+                for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                    Assertions.assertArrayEquals(createPipelineTestContent(i), document.getPage(i).getContentBytes());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void streamCompressionPipelineWithRejectingExecutorTest() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.shutdown();
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties()
+                .setStreamCompressionWorkerCount(2)
+                .setStreamCompressionExecutor(executor);
+        // the rejected streams are compressed on the writing thread
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos, properties))) {
+            for (int i = 1; i <= 100; i++) {
+                document.addNewPage().getFirstContentStream().setData(createPipelineTestContent(i));
+            }
+        }
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertFalse(document.getReader().hasRebuiltXref());
+            Assertions.assertEquals(100, document.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                Assertions.assertArrayEquals(createPipelineTestContent(i), document.getPage(i).getContentBytes());
+            }
+        }
+    }
+
+    @Test
+    public void negativeStreamCompressionWorkerCountTest() {
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new WriterProperties().setStreamCompressionWorkerCount(-1));
+        Assertions.assertEquals(KernelExceptionMessageConstant.WORKER_COUNT_SHALL_NOT_BE_NEGATIVE, e.getMessage());
+    }
+
+    private static void assertStreamCompressionPipeline(boolean fullCompression, boolean compactXrefTable)
+            throws IOException {
+        byte[] expected = createPipelineTestDocument(0, fullCompression, compactXrefTable);
+        byte[] actual = createPipelineTestDocument(4, fullCompression, compactXrefTable);
+        Assertions.assertEquals(expected.length, actual.length);
+
+        try (PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+                PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)))) {
+            Assertions.assertFalse(actualDocument.getReader().hasRebuiltXref());
+            Assertions.assertFalse(actualDocument.getReader().hasFixedXref());
+            Assertions.assertEquals(expectedDocument.getNumberOfPdfObjects(), actualDocument.getNumberOfPdfObjects());
+            for (int i = 1; i < expectedDocument.getNumberOfPdfObjects(); i++) {
+                PdfIndirectReference expectedReference = expectedDocument.getXref().get(i);
+                PdfIndirectReference actualReference = actualDocument.getXref().get(i);
+                Assertions.assertEquals(expectedReference.getOffset(), actualReference.getOffset());
+                Assertions.assertEquals(expectedReference.getObjStreamNumber(), actualReference.getObjStreamNumber());
+            }
+            for (int i = 1; i <= actualDocument.getNumberOfPages(); i++) {
+                Assertions.assertArrayEquals(createPipelineTestContent(i), actualDocument.getPage(i).getContentBytes());
+            }
+        }
+    }
+
+    private static byte[] createPipelineTestDocument(int workerCount, boolean fullCompression,
+            boolean compactXrefTable) throws IOException {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties()
+                .setStreamCompressionWorkerCount(workerCount)
+                .setFullCompressionMode(fullCompression)
+                .setCompactXrefTable(compactXrefTable)
+                .setInitialDocumentId(new PdfString("initial"))
+                .setModifiedDocumentId(new PdfString("modified"));
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos, properties))) {
+            document.getDocumentInfo().setMoreInfo(PdfName.CreationDate.getValue(), "D:20240101000000Z");
+            document.getDocumentInfo().setMoreInfo(PdfName.ModDate.getValue(), "D:20240101000000Z");
+            for (int i = 1; i <= 300; i++) {
+                PdfPage page = document.addNewPage();
+                page.getFirstContentStream().setData(createPipelineTestContent(i));
+                PdfDictionary annotation = new PdfDictionary();
+                annotation.put(PdfName.Contents, new PdfString("Annotation " + i));
+                page.getPdfObject().put(PdfName.Annots, new PdfArray(annotation.makeIndirect(document)));
+                // only every second page is flushed, the rest is flushed on closing
+                if (i % 2 == 0) {
+                    page.flush();
+                }
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] createPipelineTestContent(int pageNumber) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < pageNumber * 20; i++) {
+            content.append("BT /F1 12 Tf ").append(i % 50).append(' ').append(pageNumber + i)
+                    .append(" Td (Page ").append(pageNumber).append(" line ").append(i).append(") Tj ET\n");
+        }
+        return content.toString().getBytes();
+    }
+
+    private static void assertCompactXrefTable(String fileName, boolean fullCompression) throws IOException {
+        String filename = destinationFolder + fileName;
+        WriterProperties properties = new WriterProperties()
+                .setCompactXrefTable(true)
+                .setFullCompressionMode(fullCompression);
+        try (PdfDocument document = new PdfDocument(CompareTool.createTestPdfWriter(filename, properties))) {
+            for (int i = 1; i <= 100; i++) {
+                PdfPage page = document.addNewPage();
+                PdfStream contentStream = page.getFirstContentStream();
+                contentStream.setData(("q " + i + " 0 0 1 0 0 cm Q").getBytes());
+                page.flush();
+            }
+            int materialized = 0;
+            PdfXrefTable xref = document.getXref();
+            for (int i = 0; i < xref.size(); i++) {
+                if (xref.getMaterializedReference(i) != null) {
+                    materialized++;
+                }
+            }
+            Assertions.assertTrue(materialized < xref.size() / 10);
+        }
+
+        try (PdfDocument document = new PdfDocument(CompareTool.createOutputReader(filename))) {
+            Assertions.assertFalse(document.getReader().hasRebuiltXref());
+            Assertions.assertFalse(document.getReader().hasFixedXref());
+            Assertions.assertEquals(100, document.getNumberOfPages());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                Assertions.assertArrayEquals(("q " + i + " 0 0 1 0 0 cm Q\n").getBytes(),
+                        document.getPage(i).getContentBytes());
+            }
+        }
+    }
 }
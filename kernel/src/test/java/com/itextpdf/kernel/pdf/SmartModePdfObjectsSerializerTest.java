@@ -67,4 +67,58 @@ public class SmartModePdfObjectsSerializerTest extends ExtendedITextTest {
 
         Assertions.assertEquals(expected, serializedObject);
     }
+
+    @Test
+    public void fingerprintOfEqualObjectsTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDictionary dict1 = createDictionaryWithStream(document, "content");
+        PdfDictionary dict2 = createDictionaryWithStream(document, "content");
+        PdfDictionary dict3 = createDictionaryWithStream(document, "other content");
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer();
+        SerializedObjectContent fingerprint1 = serializer.serializeObject(dict1, true);
+        SerializedObjectContent fingerprint2 = serializer.serializeObject(dict2, true);
+        SerializedObjectContent fingerprint3 = serializer.serializeObject(dict3, true);
+
+        Assertions.assertEquals(fingerprint1, fingerprint2);
+        Assertions.assertNotEquals(fingerprint1, fingerprint3);
+        // only the fingerprints of the referenced streams are cached
+        Assertions.assertTrue(document.serializedObjectsCache.isEmpty());
+        Assertions.assertEquals(3, document.serializedObjectsFingerprints.size());
+        Assertions.assertNotEquals(serializer.serializeObject(dict1, false), fingerprint1);
+    }
+
+    @Test
+    public void verifySavedObjectSourceTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDictionary source = createDictionaryWithStream(document, "content");
+        PdfDictionary equalObject = createDictionaryWithStream(document, "content");
+        PdfDictionary differentObject = createDictionaryWithStream(document, "other content");
+        PdfIndirectReference copyReference = new PdfDictionary().makeIndirect(document).getIndirectReference();
+
+        SmartModePdfObjectsSerializer serializer = new SmartModePdfObjectsSerializer();
+        serializer.saveSerializedObject(serializer.serializeObject(source, true), copyReference, source);
+
+        Assertions.assertTrue(serializer.isSameAsSavedObjectSource(equalObject, copyReference));
+        Assertions.assertFalse(serializer.isSameAsSavedObjectSource(differentObject, copyReference));
+    }
+
+    @Test
+    public void streamDataLengthTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDictionary dict = createDictionaryWithStream(document, "content");
+        ((PdfStream) dict.get(new PdfName("Data"))).updateLength(7);
+        dict.put(new PdfName("SameData"), dict.get(new PdfName("Data"), false));
+
+        Assertions.assertEquals(7, SmartModePdfObjectsSerializer.calculateStreamDataLength(dict));
+    }
+
+    private static PdfDictionary createDictionaryWithStream(PdfDocument document, String streamContent) {
+        PdfStream stream = new PdfStream(streamContent.getBytes(StandardCharsets.UTF_8));
+        stream.makeIndirect(document);
+        PdfDictionary dict = new PdfDictionary();
+        dict.makeIndirect(document);
+        dict.put(new PdfName("Data"), stream.getIndirectReference());
+        return dict;
+    }
 }
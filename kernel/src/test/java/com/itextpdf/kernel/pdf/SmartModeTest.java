@@ -576,4 +576,89 @@ public class SmartModeTest extends ExtendedITextTest {
             }
         }
     }
+
+    @Test
+    public void fingerprintSmartModeCopyingInPdfSamePagesDifferentXObjectsTest() throws IOException {
+        assertFingerprintSmartModeMatchesSmartMode("identicalPagesDifferentXObjects.pdf", false);
+    }
+
+    @Test
+    public void fingerprintSmartModeCopyingInPdfWithDiffImagesTest() throws IOException {
+        assertFingerprintSmartModeMatchesSmartMode("docWithDifferentImages.pdf", false);
+    }
+
+    @Test
+    public void verifiedFingerprintSmartModeCopyingInPdfWithIdenticalPagesTest() throws IOException {
+        assertFingerprintSmartModeMatchesSmartMode("docWithAllPagesIdenticalNotTagged.pdf", true);
+    }
+
+    @Test
+    public void fingerprintSmartModeSameResourcesCopyingAndFlushingTest() throws IOException {
+        String outFile = destinationFolder + "fingerprintSmartModeSameResourcesCopyingAndFlushing.pdf";
+        String[] srcFiles = new String[]{
+                sourceFolder + "indirectResourcesStructure.pdf",
+                sourceFolder + "indirectResourcesStructure2.pdf"
+        };
+
+        PdfWriter writer = CompareTool.createTestPdfWriter(outFile,
+                new WriterProperties().useFingerprintSmartMode(true));
+        try (PdfDocument outputDoc = new PdfDocument(writer)) {
+            for (String srcFile : srcFiles) {
+                PdfDocument sourceDoc = new PdfDocument(new PdfReader(srcFile));
+                sourceDoc.copyPagesTo(1, sourceDoc.getNumberOfPages(), outputDoc);
+                // full serialized content is not retained, only the fingerprints
+                Assertions.assertTrue(sourceDoc.serializedObjectsCache.isEmpty());
+                Assertions.assertFalse(sourceDoc.serializedObjectsFingerprints.isEmpty());
+                for (byte[] fingerprint : sourceDoc.serializedObjectsFingerprints.values()) {
+                    Assertions.assertEquals(32, fingerprint.length);
+                }
+                sourceDoc.close();
+
+                outputDoc.flushCopiedObjects(sourceDoc);
+            }
+            Assertions.assertTrue(writer.getSmartModeReusedObjectsCount() > 0);
+        }
+
+        try (PdfDocument assertDoc = new PdfDocument(CompareTool.createOutputReader(outFile))) {
+            PdfIndirectReference page1ResFontObj = assertDoc.getPage(1).getPdfObject()
+                    .getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.Font).getIndirectReference();
+            for (int i = 2; i <= 3; i++) {
+                Assertions.assertEquals(page1ResFontObj, assertDoc.getPage(i).getPdfObject()
+                        .getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.Font).getIndirectReference());
+            }
+        }
+    }
+
+    private static void assertFingerprintSmartModeMatchesSmartMode(String srcFileName, boolean verifyMatches)
+            throws IOException {
+        String srcFile = sourceFolder + srcFileName;
+        String smartModeFile = destinationFolder + "smartMode_" + srcFileName;
+        String fingerprintFile = destinationFolder + "fingerprintSmartMode_" + srcFileName;
+
+        PdfWriter smartModeWriter = CompareTool.createTestPdfWriter(smartModeFile,
+                new WriterProperties().useSmartMode());
+        copyAllPages(srcFile, smartModeWriter);
+        PdfWriter fingerprintWriter = CompareTool.createTestPdfWriter(fingerprintFile,
+                new WriterProperties().useFingerprintSmartMode(verifyMatches));
+        copyAllPages(srcFile, fingerprintWriter);
+
+        Assertions.assertEquals(smartModeWriter.getSmartModeReusedObjectsCount(),
+                fingerprintWriter.getSmartModeReusedObjectsCount());
+        Assertions.assertEquals(smartModeWriter.getSmartModeSavedBytes(), fingerprintWriter.getSmartModeSavedBytes());
+        try (PdfDocument smartModeDoc = new PdfDocument(CompareTool.createOutputReader(smartModeFile));
+                PdfDocument fingerprintDoc = new PdfDocument(CompareTool.createOutputReader(fingerprintFile))) {
+            Assertions.assertEquals(smartModeDoc.getNumberOfPdfObjects(), fingerprintDoc.getNumberOfPdfObjects());
+            for (int i = 1; i <= smartModeDoc.getNumberOfPages(); i++) {
+                Assertions.assertEquals(smartModeDoc.getPage(i).getPdfObject().toString(),
+                        fingerprintDoc.getPage(i).getPdfObject().toString());
+            }
+        }
+    }
+
+    private static void copyAllPages(String srcFile, PdfWriter writer) throws IOException {
+        try (PdfDocument pdfDest = new PdfDocument(writer);
+                PdfDocument pdfSrc = new PdfDocument(new PdfReader(srcFile))) {
+            pdfSrc.copyPagesTo(1, pdfSrc.getNumberOfPages(), pdfDest);
+        }
+    }
 }
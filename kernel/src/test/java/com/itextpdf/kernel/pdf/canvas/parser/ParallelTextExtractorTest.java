@@ -0,0 +1,121 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class ParallelTextExtractorTest extends ExtendedITextTest {
+
+    private static final int PAGES_COUNT = 20;
+
+    private static byte[] documentBytes;
+
+    @BeforeAll
+    public static void beforeClass() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            for (int i = 1; i <= PAGES_COUNT; i++) {
+                new PdfCanvas(pdfDocument.addNewPage())
+                        .beginText()
+                        .setFontAndSize(font, 12)
+                        .moveText(36, 700)
+                        .showText("Page " + i)
+                        .endText();
+            }
+        }
+        documentBytes = baos.toByteArray();
+    }
+
+    @Test
+    public void extractAllPagesTest() {
+        List<String> text = new ParallelTextExtractor(documentBytes, new ReaderProperties())
+                .setWorkerCount(4)
+                .extractText();
+
+        Assertions.assertEquals(PAGES_COUNT, text.size());
+        for (int i = 0; i < PAGES_COUNT; i++) {
+            Assertions.assertEquals("Page " + (i + 1), text.get(i));
+        }
+    }
+
+    @Test
+    public void extractPageRangeFromSharedSourceTest() {
+        ParallelTextExtractor extractor = new ParallelTextExtractor(
+                new RandomAccessSourceFactory().createSource(documentBytes), new ReaderProperties())
+                .setWorkerCount(3)
+                .setStrategySupplier(() -> new SimpleTextExtractionStrategy());
+        List<String> text = extractor.extractText(5, 9);
+
+        Assertions.assertEquals(5, text.size());
+        for (int i = 0; i < text.size(); i++) {
+            Assertions.assertEquals("Page " + (i + 5), text.get(i));
+        }
+    }
+
+    @Test
+    public void singleWorkerTest() {
+        List<String> text = new ParallelTextExtractor(documentBytes, new ReaderProperties())
+                .setWorkerCount(1)
+                .extractText(PAGES_COUNT, -1);
+
+        Assertions.assertEquals(1, text.size());
+        Assertions.assertEquals("Page " + PAGES_COUNT, text.get(0));
+    }
+
+    @Test
+    public void pageOutOfBoundsTest() {
+        ParallelTextExtractor extractor = new ParallelTextExtractor(documentBytes, new ReaderProperties());
+        Exception e = Assertions.assertThrows(PdfException.class, () -> extractor.extractText(1, PAGES_COUNT + 1));
+        Assertions.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.REQUESTED_PAGE_NUMBER_IS_OUT_OF_BOUNDS, PAGES_COUNT + 1), e.getMessage());
+    }
+
+    @Test
+    public void invalidWorkerCountTest() {
+        ParallelTextExtractor extractor = new ParallelTextExtractor(documentBytes, new ReaderProperties());
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class, () -> extractor.setWorkerCount(0));
+        Assertions.assertEquals(KernelExceptionMessageConstant.WORKER_COUNT_SHALL_BE_POSITIVE, e.getMessage());
+    }
+}
@@ -22,16 +22,26 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.geom.Subpath;
 import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.test.ExtendedITextTest;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 @Tag("UnitTest")
 public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
@@ -48,4 +58,96 @@ public class PdfCanvasProcessorUnitTest extends ExtendedITextTest {
         processor.registerContentOperator("BMC", contentOperator);
         contentOperator.invoke(processor, null, Collections.singletonList((PdfObject) null));
     }
+
+    @Test
+    public void pathOperatorsWithNumericOperandsTest() {
+        List<PathRenderInfo> paths = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new PathCollectingListener(paths));
+        processor.processContent("10 20 m 30.5 40 l 1 2 3 4 5 6 c h S 5 5 100 50 re f".getBytes(StandardCharsets.ISO_8859_1),
+                new PdfResources());
+
+        Assertions.assertEquals(2, paths.size());
+        List<Subpath> subpaths = paths.get(0).getPath().getSubpaths();
+        Assertions.assertEquals(2, subpaths.get(0).getSegments().size());
+        Assertions.assertTrue(subpaths.get(0).isClosed());
+        Assertions.assertEquals(30.5, subpaths.get(0).getSegments().get(0).getBasePoints().get(1).getX(), 1e-6);
+        Assertions.assertEquals(PathRenderInfo.FILL, paths.get(1).getOperation());
+    }
+
+    @Test
+    public void overriddenInvokeOperatorReceivesAllOperatorsTest() {
+        List<String> operators = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener()) {
+            @Override
+            protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
+                operators.add(operator.toString() + operands.size());
+                super.invokeOperator(operator, operands);
+            }
+        };
+        processor.processContent("10 20 m 30 40 l S".getBytes(StandardCharsets.ISO_8859_1), new PdfResources());
+
+        Assertions.assertEquals(3, operators.size());
+        Assertions.assertEquals("m3", operators.get(0));
+        Assertions.assertEquals("l3", operators.get(1));
+        Assertions.assertEquals("S1", operators.get(2));
+    }
+
+    @Test
+    public void subclassCanOptInToNumericOperatorsDispatchTest() {
+        List<String> operators = new ArrayList<>();
+        List<PathRenderInfo> paths = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new PathCollectingListener(paths)) {
+            @Override
+            protected boolean isNumericOperatorsDispatchEnabled() {
+                return true;
+            }
+
+            @Override
+            protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
+                operators.add(operator.toString() + operands.size());
+                super.invokeOperator(operator, operands);
+            }
+        };
+        processor.processContent("/P BMC 10 20 m 30 40 l S".getBytes(StandardCharsets.ISO_8859_1),
+                new PdfResources());
+
+        Assertions.assertEquals(1, paths.size());
+        Assertions.assertEquals(Collections.singletonList("BMC2"), operators);
+    }
+
+    @Test
+    public void replacedPathOperatorIsInvokedTest() {
+        List<String> operators = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new FilteredEventListener());
+        processor.registerContentOperator("m", new IContentOperator() {
+            @Override
+            public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+                operators.add(operands.get(0).toString());
+            }
+        });
+        processor.processContent("10 20 m 30 40 m S".getBytes(StandardCharsets.ISO_8859_1), new PdfResources());
+
+        Assertions.assertEquals(2, operators.size());
+        Assertions.assertEquals("10", operators.get(0));
+    }
+
+    private static class PathCollectingListener implements IEventListener {
+        private final List<PathRenderInfo> paths;
+
+        PathCollectingListener(List<PathRenderInfo> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            PathRenderInfo renderInfo = (PathRenderInfo) data;
+            renderInfo.preserveGraphicsState();
+            paths.add(renderInfo);
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return Collections.singleton(EventType.RENDER_PATH);
+        }
+    }
 }
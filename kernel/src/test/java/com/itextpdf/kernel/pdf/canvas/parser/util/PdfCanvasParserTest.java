@@ -30,7 +30,9 @@ import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfResources;
@@ -39,6 +41,7 @@ import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Assertions;
@@ -99,4 +102,71 @@ public class PdfCanvasParserTest extends ExtendedITextTest {
         Assertions.assertEquals(MessageFormatUtil.format(KernelExceptionMessageConstant.UNEXPECTED_TOKEN, ">>"),
                 exception.getCause().getMessage());
     }
+
+    @Test
+    public void parseNumericOperationTest() throws IOException {
+        PdfCanvasParser ps = createParser("10 20.5 -3 .25 re\n0.1234567890123456789 m h");
+        ContentOperation operation = new ContentOperation();
+
+        Assertions.assertTrue(ps.parseOperation(operation));
+        Assertions.assertTrue(operation.hasOnlyNumericOperands());
+        Assertions.assertEquals(ContentOperation.getOpcode("re"), operation.getOpcode());
+        Assertions.assertEquals(4, operation.getNumericOperandsCount());
+        double[] operands = operation.getNumericOperands();
+        Assertions.assertEquals(10, operands[0]);
+        Assertions.assertEquals(20.5, operands[1]);
+        Assertions.assertEquals(-3, operands[2]);
+        Assertions.assertEquals(0.25, operands[3]);
+
+        Assertions.assertTrue(ps.parseOperation(operation));
+        Assertions.assertEquals(ContentOperation.getOpcode("m"), operation.getOpcode());
+        Assertions.assertEquals(1, operation.getNumericOperandsCount());
+        Assertions.assertEquals(0.1234567890123456789, operation.getNumericOperands()[0]);
+
+        Assertions.assertTrue(ps.parseOperation(operation));
+        Assertions.assertEquals(ContentOperation.getOpcode("h"), operation.getOpcode());
+        Assertions.assertEquals(0, operation.getNumericOperandsCount());
+
+        Assertions.assertFalse(ps.parseOperation(operation));
+    }
+
+    @Test
+    public void parseOperationOperandsAreSameAsParsedListTest() throws IOException {
+        String content = "/F1 12 Tf\n1 0 0 1 50 700 Tm\n[(Hello) -250 (World)] TJ\n0.5 g\n1 2 customOp";
+        PdfCanvasParser listParser = createParser(content);
+        PdfCanvasParser operationParser = createParser(content);
+        ContentOperation operation = new ContentOperation();
+
+        List<PdfObject> expected;
+        while ((expected = listParser.parse(null)).size() > 0) {
+            Assertions.assertTrue(operationParser.parseOperation(operation));
+            List<PdfObject> actual = operation.getOperands();
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).toString(), actual.get(i).toString());
+                Assertions.assertEquals(expected.get(i).getType(), actual.get(i).getType());
+            }
+        }
+        Assertions.assertFalse(operationParser.parseOperation(operation));
+    }
+
+    @Test
+    public void unknownOperatorOpcodeTest() throws IOException {
+        PdfCanvasParser ps = createParser("1 2 customOp");
+        ContentOperation operation = new ContentOperation();
+
+        Assertions.assertTrue(ps.parseOperation(operation));
+        Assertions.assertEquals(ContentOperation.UNKNOWN_OPCODE, operation.getOpcode());
+        Assertions.assertEquals(ContentOperation.UNKNOWN_OPCODE, ContentOperation.getOpcode("customOp"));
+        List<PdfObject> operands = operation.getOperands();
+        Assertions.assertEquals(new PdfNumber(2), operands.get(1));
+        Assertions.assertEquals(new PdfLiteral("customOp"), operands.get(2));
+    }
+
+    private static PdfCanvasParser createParser(String content) {
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(
+                factory.createSource(content.getBytes(StandardCharsets.ISO_8859_1))));
+        return new PdfCanvasParser(tokeniser, new PdfResources());
+    }
 }
@@ -0,0 +1,177 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class FlateDecodeFilterTest extends ExtendedITextTest {
+
+    @Test
+    public void streamingDecodeEqualsArrayDecodeTest() throws IOException {
+        byte[] data = createData(10000);
+        byte[] deflated = deflate(data);
+
+        byte[] expected = new FlateDecodeFilter().decode(deflated, PdfName.FlateDecode, null, new PdfDictionary());
+        InputStream decoded = new FlateDecodeFilter().decode(new ByteArrayInputStream(deflated),
+                PdfName.FlateDecode, null, new PdfDictionary());
+
+        Assertions.assertArrayEquals(data, expected);
+        Assertions.assertArrayEquals(expected, StreamUtil.inputStreamToArray(decoded));
+    }
+
+    @Test
+    public void streamingPngPredictorTest() throws IOException {
+        int columns = 7;
+        int colors = 3;
+        int bytesPerRow = columns * colors;
+        byte[] predicted = new byte[(bytesPerRow + 1) * 5];
+        byte[] rows = createData(bytesPerRow * 5);
+        for (int row = 0; row < 5; row++) {
+            // PNG filter types 0 to 4
+            predicted[row * (bytesPerRow + 1)] = (byte) row;
+            System.arraycopy(rows, row * bytesPerRow, predicted, row * (bytesPerRow + 1) + 1, bytesPerRow);
+        }
+        PdfDictionary decodeParams = createPredictorParams(12, columns, colors);
+
+        byte[] expected = FlateDecodeFilter.decodePredictor(Arrays.copyOf(predicted, predicted.length), decodeParams);
+        byte[] actual = StreamUtil.inputStreamToArray(
+                FlateDecodeFilter.decodePredictor(new ByteArrayInputStream(predicted), decodeParams));
+
+        Assertions.assertEquals(bytesPerRow * 5, expected.length);
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void streamingTiffPredictorTest() throws IOException {
+        // the last row is incomplete and should be left untouched
+        byte[] predicted = createData(3 * 4 * 5 + 2);
+        PdfDictionary decodeParams = createPredictorParams(2, 4, 3);
+
+        byte[] expected = FlateDecodeFilter.decodePredictor(Arrays.copyOf(predicted, predicted.length), decodeParams);
+        byte[] actual = StreamUtil.inputStreamToArray(
+                FlateDecodeFilter.decodePredictor(new ByteArrayInputStream(predicted), decodeParams));
+
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void streamingDecodeOfCorruptedDataTest() throws IOException {
+        byte[] data = createData(5000);
+        byte[] deflated = deflate(data);
+        byte[] truncated = Arrays.copyOf(deflated, deflated.length / 2);
+
+        byte[] lenient = StreamUtil.inputStreamToArray(
+                FlateDecodeFilter.flateDecode(new ByteArrayInputStream(truncated), false));
+        Assertions.assertTrue(lenient.length > 0);
+        Assertions.assertArrayEquals(Arrays.copyOf(data, lenient.length), lenient);
+
+        InputStream strict = FlateDecodeFilter.flateDecode(new ByteArrayInputStream(truncated), true);
+        Assertions.assertThrows(IOException.class, () -> StreamUtil.inputStreamToArray(strict));
+    }
+
+    @Test
+    public void streamingDecodeKeepsDataBeforeCorruptionTest() throws IOException {
+        byte[] data = createData(20000);
+        byte[] corrupted = deflate(data);
+        for (int i = corrupted.length / 2; i < corrupted.length / 2 + 16; i++) {
+            corrupted[i] = (byte) 0xff;
+        }
+
+        byte[] expected = FlateDecodeFilter.flateDecode(corrupted, false);
+        byte[] lenient = StreamUtil.inputStreamToArray(
+                FlateDecodeFilter.flateDecode(new ByteArrayInputStream(corrupted), false));
+
+        Assertions.assertTrue(expected.length > 0 && expected.length < data.length);
+        Assertions.assertArrayEquals(Arrays.copyOf(data, expected.length), expected);
+        Assertions.assertArrayEquals(expected, lenient);
+    }
+
+    @Test
+    public void decodeStreamWithFilterChainTest() throws IOException {
+        byte[] data = createData(3000);
+        byte[] hexEncoded = toHex(deflate(data));
+
+        PdfDictionary streamDictionary = new PdfDictionary();
+        PdfArray filters = new PdfArray();
+        filters.add(PdfName.ASCIIHexDecode);
+        filters.add(PdfName.FlateDecode);
+        streamDictionary.put(PdfName.Filter, filters);
+
+        byte[] expected = PdfReader.decodeBytes(hexEncoded, streamDictionary);
+        byte[] actual = StreamUtil.inputStreamToArray(
+                PdfReader.decodeStream(new ByteArrayInputStream(hexEncoded), streamDictionary));
+
+        Assertions.assertArrayEquals(data, expected);
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    private static PdfDictionary createPredictorParams(int predictor, int columns, int colors) {
+        PdfDictionary decodeParams = new PdfDictionary();
+        decodeParams.put(PdfName.Predictor, new PdfNumber(predictor));
+        decodeParams.put(PdfName.Columns, new PdfNumber(columns));
+        decodeParams.put(PdfName.Colors, new PdfNumber(colors));
+        return decodeParams;
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ((i * 31) ^ (i >> 3));
+        }
+        return data;
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(baos);
+        zip.write(data);
+        zip.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] toHex(byte[] data) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : data) {
+            sb.append(String.format("%02X", b & 0xff));
+        }
+        sb.append('>');
+        return sb.toString().getBytes();
+    }
+}
@@ -22,19 +22,30 @@
  */
 package com.itextpdf.kernel.utils;
 
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.logs.KernelLogMessageConstant;
+import com.itextpdf.kernel.pdf.CompressionConstants;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
@@ -529,6 +540,126 @@ public class PdfMergerTest extends ExtendedITextTest {
                 sourceFolder + "cmp_infiniteLoopInOutlineStructure.pdf", destinationFolder));
     }
 
+    @Test
+    public void mergeWithResourceDeduplicationTest() throws IOException {
+        byte[] deduplicated = mergeStatements(new PdfMergerProperties().setDeduplicateResources(true), 5);
+        byte[] notDeduplicated = mergeStatements(new PdfMergerProperties(), 5);
+        Assertions.assertTrue(deduplicated.length < notDeduplicated.length);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(deduplicated)))) {
+            Assertions.assertEquals(5, document.getNumberOfPages());
+            PdfDictionary firstResources = document.getPage(1).getResources().getPdfObject();
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                PdfDictionary resources = document.getPage(i).getResources().getPdfObject();
+                Assertions.assertEquals(
+                        firstResources.getAsDictionary(PdfName.XObject).get(new PdfName("Im1"), false),
+                        resources.getAsDictionary(PdfName.XObject).get(new PdfName("Im1"), false));
+                Assertions.assertEquals(firstResources.getAsDictionary(PdfName.Font).get(new PdfName("F1"), false),
+                        resources.getAsDictionary(PdfName.Font).get(new PdfName("F1"), false));
+                // the unique content of every statement is preserved
+                Assertions.assertTrue(new String(document.getPage(i).getContentBytes(), StandardCharsets.ISO_8859_1)
+                        .contains("(Statement " + i + ")"));
+            }
+        }
+    }
+
+    @Test
+    public void resourceDeduplicationCountersTest() throws IOException {
+        PdfWriter writer = new PdfWriter(new ByteArrayOutputStream());
+        try (PdfDocument mergedDoc = new PdfDocument(writer)) {
+            PdfMerger merger = new PdfMerger(mergedDoc, new PdfMergerProperties().setDeduplicateResources(true));
+            for (int i = 1; i <= 3; i++) {
+                try (PdfDocument statement = new PdfDocument(
+                        new PdfReader(new ByteArrayInputStream(createStatement(i))))) {
+                    merger.merge(statement, 1, 1);
+                }
+            }
+            // the image and the font of the second and the third statements are reused
+            Assertions.assertEquals(4, writer.getSmartModeReusedObjectsCount());
+            Assertions.assertEquals(2 * 64 * 64 * 3, writer.getSmartModeSavedBytes());
+        }
+    }
+
+    @Test
+    public void resourceDeduplicationKeepsPageContentsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument mergedDoc = new PdfDocument(new PdfWriter(baos))) {
+            PdfMerger merger = new PdfMerger(mergedDoc, new PdfMergerProperties().setDeduplicateResources(true));
+            byte[] statement = createStatement(1);
+            for (int i = 0; i < 2; i++) {
+                try (PdfDocument statementDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(statement)))) {
+                    merger.merge(statementDoc, 1, 1);
+                }
+            }
+        }
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfDictionary firstPage = document.getPage(1).getPdfObject();
+            PdfDictionary secondPage = document.getPage(2).getPdfObject();
+            // the identical page contents are not shared, since they are not resources
+            Assertions.assertNotEquals(firstPage.getAsStream(PdfName.Contents).getIndirectReference(),
+                    secondPage.getAsStream(PdfName.Contents).getIndirectReference());
+            Assertions.assertEquals(
+                    document.getPage(1).getResources().getResourceObject(PdfName.XObject, new PdfName("Im1"))
+                            .getIndirectReference(),
+                    document.getPage(2).getResources().getResourceObject(PdfName.XObject, new PdfName("Im1"))
+                            .getIndirectReference());
+        }
+    }
+
+    @Test
+    public void resourceDeduplicationDoesNotChangeWriterTest() throws IOException {
+        WriterProperties properties = new WriterProperties();
+        PdfWriter writer = new PdfWriter(new ByteArrayOutputStream(), properties);
+        try (PdfDocument mergedDoc = new PdfDocument(writer)) {
+            PdfMerger merger = new PdfMerger(mergedDoc, new PdfMergerProperties().setDeduplicateResources(true));
+            Assertions.assertFalse(writer.isResourceDeduplication());
+            for (int i = 1; i <= 2; i++) {
+                try (PdfDocument statement = new PdfDocument(
+                        new PdfReader(new ByteArrayInputStream(createStatement(i))))) {
+                    merger.merge(statement, 1, 1);
+                }
+            }
+            // the deduplication is enabled only while the merger copies the pages
+            Assertions.assertFalse(writer.isResourceDeduplication());
+            Assertions.assertEquals(2, writer.getSmartModeReusedObjectsCount());
+        }
+
+        writer.setResourceDeduplication(true);
+        Assertions.assertFalse(new PdfWriter(new ByteArrayOutputStream(), properties).isResourceDeduplication());
+    }
+
+    private static byte[] mergeStatements(PdfMergerProperties properties, int count) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument mergedDoc = new PdfDocument(new PdfWriter(baos))) {
+            PdfMerger merger = new PdfMerger(mergedDoc, properties.setCloseSrcDocuments(true));
+            for (int i = 1; i <= count; i++) {
+                merger.merge(new PdfDocument(new PdfReader(new ByteArrayInputStream(createStatement(i)))), 1, 1);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] createStatement(int number) throws IOException {
+        byte[] pixels = new byte[64 * 64 * 3];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) (i * 31 % 251);
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos,
+                new WriterProperties().setCompressionLevel(CompressionConstants.NO_COMPRESSION)))) {
+            PdfPage page = document.addNewPage();
+            PdfCanvas canvas = new PdfCanvas(page);
+            PdfImageXObject image = new PdfImageXObject(ImageDataFactory.create(64, 64, 3, 8, pixels, null));
+            image.makeIndirect(document);
+            page.getResources().addImage(image.getPdfObject());
+            canvas.addXObjectAt(image, 36, 700);
+            canvas.beginText().setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .moveText(36, 650).showText("Statement " + number).endText();
+        }
+        return baos.toByteArray();
+    }
+
     private static void mergeAndCompareTagStructures(String testName, int fromPage, int toPage)
             throws IOException, ParserConfigurationException, SAXException, InterruptedException {
         String src = sourceFolder + testName;
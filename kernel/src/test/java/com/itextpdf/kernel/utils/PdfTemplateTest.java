@@ -0,0 +1,136 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class PdfTemplateTest extends ExtendedITextTest {
+
+    @Test
+    public void stampTemplatePagesTest() throws IOException {
+        PdfTemplate template = createTemplate();
+        Assertions.assertEquals(2, template.getNumberOfPages());
+        Assertions.assertTrue(template.getPageSize(1).equalsWithEpsilon(PageSize.A5));
+
+        byte[] result = stamp(template);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            Assertions.assertEquals("Letterhead 1\nBody 1", PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1)));
+            Assertions.assertEquals("Letterhead 2\nBody 2", PdfTextExtractor.getTextFromPage(pdfDocument.getPage(2)));
+        }
+    }
+
+    @Test
+    public void sharedResourcesAreCopiedOnceTest() throws IOException {
+        PdfTemplate template = createTemplate();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            List<PdfFormXObject> xObjects = template.createFormXObjects(pdfDocument);
+            Assertions.assertSame(
+                    xObjects.get(0).getResources().getResource(PdfName.Font).values().iterator().next(),
+                    xObjects.get(1).getResources().getResource(PdfName.Font).values().iterator().next());
+            for (PdfFormXObject xObject : xObjects) {
+                new PdfCanvas(pdfDocument.addNewPage()).addXObject(xObject);
+            }
+        }
+    }
+
+    @Test
+    public void stampTemplateConcurrentlyTest() throws Exception {
+        final PdfTemplate template = createTemplate();
+        final List<byte[]> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10; j++) {
+                    byte[] result = stamp(template);
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(40, results.size());
+        for (byte[] result : results) {
+            try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+                Assertions.assertEquals("Letterhead 2\nBody 2",
+                        PdfTextExtractor.getTextFromPage(pdfDocument.getPage(2)));
+            }
+        }
+    }
+
+    private static PdfTemplate createTemplate() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            for (int i = 1; i <= 2; i++) {
+                new PdfCanvas(pdfDocument.addNewPage(PageSize.A5)).beginText().setFontAndSize(font, 12)
+                        .moveText(36, 500).showText("Letterhead " + i).endText();
+            }
+        }
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            return new PdfTemplate(pdfDocument);
+        }
+    }
+
+    private static byte[] stamp(PdfTemplate template) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            List<PdfFormXObject> xObjects = template.createFormXObjects(pdfDocument);
+            for (int i = 1; i <= template.getNumberOfPages(); i++) {
+                PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage(new PageSize(template.getPageSize(i))));
+                canvas.addXObject(xObjects.get(i - 1));
+                canvas.beginText().setFontAndSize(font, 12).moveText(36, 450).showText("Body " + i).endText();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return baos.toByteArray();
+    }
+}
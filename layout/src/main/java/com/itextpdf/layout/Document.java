@@ -186,6 +186,40 @@ public class Document extends RootElement<Document> {
         }
     }
 
+    /**
+     * Performs a recalculation of the document flow starting from the specified child element. The layout
+     * of the preceding elements is kept, so that only the pages, starting from the one where the element was placed,
+     * are laid out again. This is the cheaper alternative to {@link #relayout()} if only the content of
+     * the latter elements has changed, e.g. if a summary has been updated at the end of the document.
+     * <p>
+     * The preceding elements shall not depend on the layout of the changed ones, e.g. they shall not refer
+     * to their page numbers. If the layout can't be kept, e.g. because the element follows an element with
+     * {@link Property#KEEP_WITH_NEXT} or because a custom {@link DocumentRenderer} is used, then the layout is
+     * recalculated from the closest preceding element for which this is possible, or from the very beginning.
+     * <p>
+     * Do not use when you have set {@link #immediateFlush} to <code>true</code>.
+     *
+     * @param firstChangedElement the first child element, which has changed since the previous layout
+     */
+    public void relayout(IElement firstChangedElement) {
+        if (immediateFlush) {
+            throw new IllegalStateException("Operation not supported with immediate flush");
+        }
+        int elementIndex = childElements.indexOf(firstChangedElement);
+        if (elementIndex < 0) {
+            throw new IllegalArgumentException(LayoutExceptionMessageConstant.ELEMENT_IS_NOT_A_CHILD_OF_DOCUMENT);
+        }
+        int firstElementToAdd = rootRenderer instanceof DocumentRenderer
+                ? ((DocumentRenderer) rootRenderer).rollBackLayout(elementIndex) : -1;
+        if (firstElementToAdd < 0) {
+            relayout();
+            return;
+        }
+        for (int i = firstElementToAdd; i < childElements.size(); i++) {
+            createAndAddRendererSubTree(childElements.get(i));
+        }
+    }
+
     /**
      * Gets the left margin, measured in points
      *
@@ -0,0 +1,126 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The page numbers of the target document, which are known to a {@link IDocumentSection} when it is laid out by
+ * {@link ParallelDocumentLayout}.
+ *
+ * <p>
+ * If the page references are resolved, see {@link ParallelDocumentLayout#setResolvePageReferences(boolean)},
+ * a section, which requests any of the page numbers of the context, is laid out several times. The page numbers
+ * are taken from the preceding layout pass, so they are only estimates until {@link #isResolved()} returns true.
+ * A section, which doesn't fit the same pages in the final pass as in the preceding ones, e.g. because the resolved
+ * page numbers are wider, shifts the pages of the following sections. The sections, which don't request
+ * the page numbers, are laid out only once.
+ */
+public final class DocumentSectionContext {
+
+    private final int sectionIndex;
+
+    private final int firstPageNumber;
+
+    private final int totalNumberOfPages;
+
+    private final Map<String, Integer> pagesByIds;
+
+    private final boolean resolved;
+
+    private boolean pageNumbersRequested;
+
+    DocumentSectionContext(int sectionIndex, int firstPageNumber, int totalNumberOfPages,
+            Map<String, Integer> pagesByIds, boolean resolved) {
+        this.sectionIndex = sectionIndex;
+        this.firstPageNumber = firstPageNumber;
+        this.totalNumberOfPages = totalNumberOfPages;
+        this.pagesByIds = Collections.unmodifiableMap(pagesByIds);
+        this.resolved = resolved;
+    }
+
+    /**
+     * Gets the index of the section in the order the sections were added.
+     *
+     * @return the index of the section
+     */
+    public int getSectionIndex() {
+        return sectionIndex;
+    }
+
+    /**
+     * Gets the number of the first page of the section in the target document. Add it, less one, to the number of
+     * a page of the section document to get the number of the page in the target document.
+     *
+     * @return the number of the first page of the section
+     */
+    public int getFirstPageNumber() {
+        pageNumbersRequested = true;
+        return firstPageNumber;
+    }
+
+    /**
+     * Gets the number of pages of the target document once all the sections are added to it.
+     *
+     * @return the total number of pages
+     */
+    public int getTotalNumberOfPages() {
+        pageNumbersRequested = true;
+        return totalNumberOfPages;
+    }
+
+    /**
+     * Gets the number of the page of the target document, on which the element with the specified
+     * {@link com.itextpdf.layout.properties.Property#ID} is placed. The element can belong to any section.
+     * The same pages are returned by {@link com.itextpdf.layout.renderer.TargetCounterHandler#getPageByID}
+     * for the renderers of the section.
+     *
+     * @param id the id of the element
+     * @return the page number, or {@code null} if there is no element with such id
+     */
+    public Integer getPageNumber(String id) {
+        pageNumbersRequested = true;
+        return pagesByIds.get(id);
+    }
+
+    Map<String, Integer> getPagesByIds() {
+        return pagesByIds;
+    }
+
+    boolean isPageNumbersRequested() {
+        return pageNumbersRequested;
+    }
+
+    /**
+     * Indicates whether the page numbers are the resolved ones, i.e. the section is laid out for the last time and
+     * is added to the target document. The page numbers are estimates during the preceding layout passes, as well
+     * as if the page references are not resolved at all: then every section is expected to take one page.
+     *
+     * @return true if the page numbers are resolved, false otherwise
+     */
+    public boolean isResolved() {
+        pageNumbersRequested = true;
+        return resolved;
+    }
+}
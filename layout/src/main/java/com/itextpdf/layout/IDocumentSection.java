@@ -0,0 +1,41 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+/**
+ * An independent part of a document, which can be laid out separately from the other parts,
+ * see {@link ParallelDocumentLayout}.
+ */
+public interface IDocumentSection {
+
+    /**
+     * Adds the content of the section to the document. The document is created for this section only
+     * and is closed once this method returns. The method can be called several times for the same section,
+     * once per layout pass, see {@link ParallelDocumentLayout#setResolvePageReferences(boolean)}, and shall add
+     * the same content each time, apart from the content which depends on the page numbers of the context.
+     *
+     * @param document the {@link Document} to add the content to
+     * @param context the page numbers of the target document known at the moment
+     */
+    void layout(Document document, DocumentSectionContext context);
+}
@@ -0,0 +1,486 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfConformance;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.kernel.utils.PdfMergerProperties;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
+import com.itextpdf.layout.renderer.DocumentRenderer;
+import com.itextpdf.layout.renderer.RootRenderer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lays out independent sections of a document using several threads.
+ *
+ * <p>
+ * A {@link PdfDocument} can't be shared between threads, so every section is laid out into its own temporary
+ * in-memory document. It has the same default page size, tagging, PDF version and conformance as the target
+ * document. The temporary documents are merged into the target document in the order of the sections, each one
+ * as soon as it and all the preceding sections are laid out, while the following sections are still being
+ * processed. Only a limited number of laid out sections is kept in memory while waiting for merging.
+ *
+ * <p>
+ * Every section starts on a new page and is laid out only once, unless it refers to the page numbers of the target
+ * document. By default such references are resolved, see {@link #setResolvePageReferences(boolean)}: once a section
+ * requests the page numbers of its {@link DocumentSectionContext} or the pages of the target counters, see
+ * {@link com.itextpdf.layout.renderer.TargetCounterHandler#getPageByID}, the merging stops before it. The following
+ * sections are laid out without being added to the target document, in order to find out the number of pages of
+ * every section and the pages of the elements with {@link com.itextpdf.layout.properties.Property#ID}. The sections,
+ * which request the page numbers, are laid out again until their pages are stable, and then all the sections, which
+ * are not merged yet, are laid out once more with the page numbers of the whole document known.
+ *
+ * <p>
+ * Every section embeds its own subsets of the fonts it uses, since the fonts can't be shared between the documents
+ * either. The subsets of the same font differ from section to section, so they are not deduplicated when the
+ * sections are merged and a font used by many sections is embedded many times. Prefer fewer, larger sections if
+ * the size of the resultant document matters. The other repeated resources, such as images, are copied once.
+ */
+public class ParallelDocumentLayout {
+
+    /**
+     * The maximum number of the layout passes, which find out the pages of the sections, which request the page
+     * numbers, before the final one.
+     */
+    private static final int MAX_MEASURING_PASSES = 3;
+
+    /**
+     * The maximum number of the laid out sections per worker, which await merging into the target document.
+     */
+    private static final int MAX_PENDING_SECTIONS_PER_WORKER = 2;
+
+    private final PdfDocument pdfDocument;
+
+    private final List<IDocumentSection> sections = new ArrayList<>();
+
+    private int workerCount = Runtime.getRuntime().availableProcessors();
+
+    private boolean resolvePageReferences = true;
+
+    private ExecutorService executorService;
+
+    /**
+     * Creates a new {@link ParallelDocumentLayout} instance.
+     *
+     * @param pdfDocument the document the sections will be added to
+     */
+    public ParallelDocumentLayout(PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Gets the maximum number of threads used to lay out the sections.
+     *
+     * @return the number of workers
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Sets the maximum number of threads used to lay out the sections. By default the number of available
+     * processors is used. The calling thread merges the laid out sections into the target document.
+     *
+     * @param workerCount the number of workers, shall be positive
+     * @return this {@link ParallelDocumentLayout} instance
+     */
+    public ParallelDocumentLayout setWorkerCount(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException(LayoutExceptionMessageConstant.WORKER_COUNT_SHALL_BE_POSITIVE);
+        }
+        this.workerCount = workerCount;
+        return this;
+    }
+
+    /**
+     * Set {@link ExecutorService} to be used to lay out the sections concurrently. The executor service is not shut
+     * down by {@link ParallelDocumentLayout}. The worker count still limits the number of the laid out sections,
+     * which await merging.
+     * <p>
+     * If none is set, a fixed thread pool of {@link #getWorkerCount()} threads is created for every
+     * {@link #layout()} call and shut down once the layout is finished.
+     *
+     * @param executorService {@link ExecutorService} instance to be used
+     *
+     * @return this {@link ParallelDocumentLayout} instance
+     */
+    public ParallelDocumentLayout setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * Checks whether the page references are resolved, see {@link #setResolvePageReferences(boolean)}.
+     *
+     * @return true if the page references are resolved, false otherwise
+     */
+    public boolean isResolvePageReferences() {
+        return resolvePageReferences;
+    }
+
+    /**
+     * Defines whether the page references are resolved. The sections, which don't request the page numbers, are laid
+     * out only once either way. If the page references are resolved, the sections starting from the first one, which
+     * requests the page numbers, are laid out at least twice: to find out the number of pages of every section and
+     * the pages of the elements with ids, and then for the last time with the resolved page numbers, see
+     * {@link DocumentSectionContext}. The sections, which request the page numbers, are laid out again until their
+     * pages are stable. This makes the page numbers of the whole document, the total number of pages and the target
+     * counters, which refer to the elements of any section, correct. If the page references are not resolved, every
+     * section is laid out only once, the target counters refer to the elements of the same section only and the page
+     * numbers of {@link DocumentSectionContext} are not known. True by default.
+     *
+     * @param resolvePageReferences true to resolve the page references, false otherwise
+     * @return this {@link ParallelDocumentLayout} instance
+     */
+    public ParallelDocumentLayout setResolvePageReferences(boolean resolvePageReferences) {
+        this.resolvePageReferences = resolvePageReferences;
+        return this;
+    }
+
+    /**
+     * Adds the section to the end of the document. The section is laid out only when {@link #layout()} is called.
+     *
+     * @param section the section to add
+     * @return this {@link ParallelDocumentLayout} instance
+     */
+    public ParallelDocumentLayout addSection(IDocumentSection section) {
+        sections.add(section);
+        return this;
+    }
+
+    /**
+     * Lays out all the added sections and appends them to the target document in the order they were added.
+     *
+     * @return the numbers of the first pages of the sections in the target document, in the order of the sections
+     */
+    public int[] layout() {
+        int[] firstPageNumbers = new int[sections.size()];
+        if (sections.isEmpty()) {
+            return firstPageNumbers;
+        }
+        int startPageNumber = pdfDocument.getNumberOfPages() + 1;
+        ExecutorService executor = executorService == null
+                ? Executors.newFixedThreadPool(Math.min(workerCount, sections.size()))
+                : executorService;
+        try {
+            SectionPages[] sectionPages = new SectionPages[sections.size()];
+            int firstUnmergedSection = mergeSections(executor, createContexts(null, startPageNumber, false),
+                    sectionPages, firstPageNumbers, 0, resolvePageReferences);
+            if (firstUnmergedSection < sections.size()) {
+                boolean stable = false;
+                for (int pass = 0; pass < MAX_MEASURING_PASSES && !stable; pass++) {
+                    SectionPages[] measuredPages = measureSections(executor,
+                            createContexts(sectionPages, startPageNumber, false), sectionPages);
+                    stable = SectionPages.areEqual(sectionPages, measuredPages);
+                    sectionPages = measuredPages;
+                }
+                if (!stable) {
+                    Logger logger = LoggerFactory.getLogger(ParallelDocumentLayout.class);
+                    logger.warn(MessageFormatUtil.format(LayoutLogMessageConstant.SECTION_PAGES_ARE_NOT_STABLE,
+                            MAX_MEASURING_PASSES));
+                }
+                mergeSections(executor, createContexts(sectionPages, startPageNumber, true), sectionPages,
+                        firstPageNumbers, firstUnmergedSection, false);
+            }
+        } finally {
+            if (executor != executorService) {
+                executor.shutdownNow();
+            }
+        }
+        return firstPageNumbers;
+    }
+
+    /**
+     * Lays out the sections, which request the page numbers, without adding them to the target document.
+     * The pages of the other sections are kept.
+     */
+    private SectionPages[] measureSections(ExecutorService executor, DocumentSectionContext[] contexts,
+            SectionPages[] sectionPages) {
+        SectionPages[] measuredPages = new SectionPages[sections.size()];
+        List<Future<SectionPages>> futures = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            futures.add(sectionPages[i].pageNumbersRequested ? submitMeasuring(executor, i, contexts[i]) : null);
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            measuredPages[i] = futures.get(i) == null ? sectionPages[i] : waitForSection(futures.get(i));
+        }
+        return measuredPages;
+    }
+
+    /**
+     * Lays out the sections starting from the specified one and merges them into the target document. If the merging
+     * stops before a section, which requests the page numbers, the pages of the sections, which are already laid
+     * out, are kept, and the index of that section is returned.
+     */
+    private int mergeSections(ExecutorService executor, DocumentSectionContext[] contexts,
+            SectionPages[] sectionPages, int[] firstPageNumbers, int firstSection, boolean stopOnPageNumbersRequest) {
+        PdfMerger merger = new PdfMerger(pdfDocument, new PdfMergerProperties()
+                .setMergeTags(pdfDocument.isTagged())
+                .setMergeOutlines(true)
+                .setDeduplicateResources(true))
+                .setCloseSourceDocuments(true);
+        int maxPendingSections = MAX_PENDING_SECTIONS_PER_WORKER * workerCount;
+        Deque<Future<LaidOutSection>> pendingSections = new ArrayDeque<>();
+        int nextSection = firstSection;
+        for (int i = firstSection; i < sections.size(); i++) {
+            // the laid out sections are held in memory until they are merged, so only a few are laid out ahead
+            while (nextSection < sections.size() && pendingSections.size() < maxPendingSections) {
+                final IDocumentSection section = sections.get(nextSection);
+                final DocumentSectionContext context = contexts[nextSection];
+                pendingSections.addLast(executor.submit(new Callable<LaidOutSection>() {
+                    @Override
+                    public LaidOutSection call() {
+                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                        SectionPages pages = layoutSection(section, context, baos);
+                        return new LaidOutSection(baos.toByteArray(), pages);
+                    }
+                }));
+                ++nextSection;
+            }
+            LaidOutSection laidOutSection = waitForSection(pendingSections.removeFirst());
+            sectionPages[i] = laidOutSection.pages;
+            if (stopOnPageNumbersRequest && laidOutSection.pages.pageNumbersRequested) {
+                // the following sections are only measured, they are merged once the page numbers are resolved
+                List<Future<SectionPages>> futures = new ArrayList<>(sections.size() - nextSection);
+                for (int j = nextSection; j < sections.size(); j++) {
+                    futures.add(submitMeasuring(executor, j, contexts[j]));
+                }
+                for (int j = i + 1; j < nextSection; j++) {
+                    sectionPages[j] = waitForSection(pendingSections.removeFirst()).pages;
+                }
+                for (int j = nextSection; j < sections.size(); j++) {
+                    sectionPages[j] = waitForSection(futures.get(j - nextSection));
+                }
+                return i;
+            }
+            firstPageNumbers[i] = pdfDocument.getNumberOfPages() + 1;
+            PdfDocument sectionDocument = openSection(laidOutSection.bytes);
+            merger.merge(sectionDocument, 1, sectionDocument.getNumberOfPages());
+        }
+        return sections.size();
+    }
+
+    private Future<SectionPages> submitMeasuring(ExecutorService executor, int sectionIndex,
+            final DocumentSectionContext context) {
+        final IDocumentSection section = sections.get(sectionIndex);
+        return executor.submit(new Callable<SectionPages>() {
+            @Override
+            public SectionPages call() {
+                // the content isn't needed, only the pages it takes
+                return layoutSection(section, context, new DiscardingOutputStream());
+            }
+        });
+    }
+
+    private DocumentSectionContext[] createContexts(SectionPages[] sectionPages, int startPageNumber,
+            boolean resolved) {
+        int[] firstPageNumbers = new int[sections.size()];
+        Map<String, Integer> pagesByIds = new HashMap<>();
+        int nextPageNumber = startPageNumber;
+        for (int i = 0; i < sections.size(); i++) {
+            firstPageNumbers[i] = nextPageNumber;
+            if (sectionPages == null) {
+                // the pages of the sections aren't known yet
+                ++nextPageNumber;
+            } else {
+                for (Map.Entry<String, Integer> pageById : sectionPages[i].pagesByIds.entrySet()) {
+                    pagesByIds.put(pageById.getKey(), pageById.getValue() + nextPageNumber - 1);
+                }
+                nextPageNumber += sectionPages[i].numberOfPages;
+            }
+        }
+        DocumentSectionContext[] contexts = new DocumentSectionContext[sections.size()];
+        for (int i = 0; i < sections.size(); i++) {
+            contexts[i] = new DocumentSectionContext(i, firstPageNumbers[i], nextPageNumber - 1, pagesByIds,
+                    resolved);
+        }
+        return contexts;
+    }
+
+    private SectionPages layoutSection(IDocumentSection section, DocumentSectionContext context, OutputStream os) {
+        WriterProperties writerProperties = new WriterProperties().setPdfVersion(pdfDocument.getPdfVersion());
+        if (os instanceof DiscardingOutputStream) {
+            writerProperties.setCompressionLevel(CompressionConstants.NO_COMPRESSION);
+        }
+        SectionPdfDocument sectionDocument = new SectionPdfDocument(new PdfWriter(os, writerProperties),
+                pdfDocument.getConformance());
+        sectionDocument.setDefaultPageSize(pdfDocument.getDefaultPageSize());
+        if (pdfDocument.isTagged()) {
+            sectionDocument.setTagged();
+        }
+        Document document = new Document(sectionDocument);
+        DocumentRenderer documentRenderer = new DocumentRenderer(document);
+        // the target counters refer to the pages of the whole document
+        documentRenderer.getTargetCounterHandler().setPreviousRenderersPages(context.getPagesByIds());
+        document.setRenderer(documentRenderer);
+        try {
+            section.layout(document, context);
+        } finally {
+            document.close();
+        }
+        RootRenderer renderer = document.getRenderer();
+        Map<String, Integer> pagesByIds = renderer instanceof DocumentRenderer
+                ? ((DocumentRenderer) renderer).getTargetCounterHandler().getRenderersPages()
+                : Collections.<String, Integer>emptyMap();
+        boolean pageNumbersRequested = context.isPageNumbersRequested() || renderer instanceof DocumentRenderer
+                && ((DocumentRenderer) renderer).getTargetCounterHandler().isPreviousRenderersPagesRequested();
+        return new SectionPages(sectionDocument.numberOfPages, pagesByIds, pageNumbersRequested);
+    }
+
+    private static PdfDocument openSection(byte[] sectionBytes) {
+        try {
+            return new PdfDocument(new PdfReader(new ByteArrayInputStream(sectionBytes)));
+        } catch (IOException e) {
+            throw new PdfException(LayoutExceptionMessageConstant.CANNOT_MERGE_LAID_OUT_SECTION, e);
+        }
+    }
+
+    private static <T> T waitForSection(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(LayoutExceptionMessageConstant.SECTION_LAYOUT_WAS_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PdfException(cause);
+        }
+    }
+
+    /**
+     * The pages taken by a section in a layout pass.
+     */
+    private static final class SectionPages {
+        final int numberOfPages;
+        // the page numbers are the ones of the section document
+        final Map<String, Integer> pagesByIds;
+        final boolean pageNumbersRequested;
+
+        SectionPages(int numberOfPages, Map<String, Integer> pagesByIds, boolean pageNumbersRequested) {
+            this.numberOfPages = numberOfPages;
+            this.pagesByIds = pagesByIds;
+            this.pageNumbersRequested = pageNumbersRequested;
+        }
+
+        static boolean areEqual(SectionPages[] first, SectionPages[] second) {
+            for (int i = 0; i < first.length; i++) {
+                if (first[i].numberOfPages != second[i].numberOfPages
+                        || !first[i].pagesByIds.equals(second[i].pagesByIds)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The content of a section laid out to be merged, along with the pages it takes.
+     */
+    private static final class LaidOutSection {
+        final byte[] bytes;
+        final SectionPages pages;
+
+        LaidOutSection(byte[] bytes, SectionPages pages) {
+            this.bytes = bytes;
+            this.pages = pages;
+        }
+    }
+
+    /**
+     * The temporary document of a section, which conforms to the same standard as the target document,
+     * so that the layout makes the same choices, e.g. doesn't fall back to the non-embedded default font.
+     * The conformance itself is checked by the target document once the section is merged into it.
+     */
+    private static final class SectionPdfDocument extends PdfDocument {
+        private final PdfConformance conformance;
+        private int numberOfPages;
+
+        SectionPdfDocument(PdfWriter writer, PdfConformance conformance) {
+            super(writer);
+            this.conformance = conformance;
+        }
+
+        @Override
+        public PdfConformance getConformance() {
+            return conformance;
+        }
+
+        @Override
+        public PdfFont getDefaultFont() {
+            if (conformance.isPdfA()) {
+                return null;
+            }
+            return super.getDefaultFont();
+        }
+
+        @Override
+        public void close() {
+            if (!isClosed()) {
+                numberOfPages = getNumberOfPages();
+            }
+            super.close();
+        }
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            // The content of the measured section isn't needed
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // The content of the measured section isn't needed
+        }
+    }
+}
@@ -753,18 +753,20 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
-        for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+        // Compact the remaining cells in a single pass: removing the flushed ones one by one
+        // would make flushing quadratic in the number of rows kept between two flushes.
+        int keptCount = 0;
+        for (int i = 0; i < childElements.size(); i++) {
+            IElement cell = childElements.get(i);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                childElements.set(keptCount++, cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.subList(keptCount, childElements.size()).clear();
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
-        lastAddedRow = rows.remove(firstRow - rowWindowStart);
+        List<Cell[]> flushedRows = rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart + 1);
+        lastAddedRow = flushedRows.get(flushedRows.size() - 1);
+        flushedRows.clear();
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
@@ -28,6 +28,8 @@ package com.itextpdf.layout.exceptions;
 public final class LayoutExceptionMessageConstant {
     public static final String CANNOT_ADD_CELL_TO_COMPLETED_LARGE_TABLE = "The large table was completed. It's "
             + "prohibited to use it anymore. Created different Table instance instead.";
+    public static final String CANNOT_MERGE_LAID_OUT_SECTION = "Cannot merge the laid out section into the "
+            + "document.";
     public static final String CANNOT_CREATE_LAYOUT_IMAGE_BY_WMF_IMAGE = "Cannot create layout image by WmfImage "
             + "instance. First convert the image into FormXObject and then use the corresponding layout image "
             + "constructor.";
@@ -35,6 +37,9 @@ public final class LayoutExceptionMessageConstant {
             + "flushed pages.";
     public static final String DOCUMENT_CLOSED_IT_IS_IMPOSSIBLE_TO_EXECUTE_ACTION = "Document was closed. It is "
             + "impossible to execute action.";
+    public static final String ELEMENT_DOES_NOT_FIT_TEMPLATE_AREA = "The element doesn't fit into the template "
+            + "area.";
+    public static final String ELEMENT_IS_NOT_A_CHILD_OF_DOCUMENT = "The element is not a child of this document.";
     public static final String FLEX_BASIS_CANNOT_BE_NULL = "Flex basis cannot be null.";
     public static final String FLEX_GROW_CANNOT_BE_NEGATIVE = "Flex grow cannot be negative.";
     public static final String FLEX_SHRINK_CANNOT_BE_NEGATIVE = "Flex shrink cannot be negative.";
@@ -54,6 +59,8 @@ public final class LayoutExceptionMessageConstant {
     public static final String INVALID_COLUMN_PROPERTIES =
             "Invalid column-count/column-width/column-gap properties, they're absent or have negative value";
     public static final String INVALID_FONT_PROPERTY_VALUE = "Invalid FONT property value type.";
+    public static final String SECTION_LAYOUT_WAS_INTERRUPTED = "Layout of the document sections was "
+            + "interrupted.";
     public static final String TAGGING_HINTKEY_SHOULD_HAVE_ACCES = "TaggingHintKey should have accessibility properties" ;
     public static final String GRID_AUTO_REPEAT_CAN_BE_USED_ONLY_ONCE
             = "Automatic repetitions in the grid template are allowed only once per template.";
@@ -62,6 +69,7 @@ public final class LayoutExceptionMessageConstant {
     public static final String FLEXIBLE_ARENT_ALLOWED_AS_MINIMUM_IN_MINMAX
             = "Flexible values aren't allowed as minimum in minmax grid function.";
     public static final String TEXT_CONTENT_CANNOT_BE_NULL = "Text content cannot be null.";
+    public static final String WORKER_COUNT_SHALL_BE_POSITIVE = "Worker count shall be positive.";
 
     private LayoutExceptionMessageConstant(){}
 }
@@ -28,4 +28,11 @@ package com.itextpdf.layout.hyphenation;
 public class HyphenationConstants {
 
     public static final String HYPHENATION_DEFAULT_RESOURCE = "com/itextpdf/hyph/";
+
+    /**
+     * Extension of the files with the hyphenation patterns compiled via
+     * {@link HyphenationTree#writeCompiledPatterns(java.io.OutputStream)}. If such a file is found
+     * next to the XML pattern file, it is loaded instead of parsing the XML.
+     */
+    public static final String COMPILED_PATTERNS_EXTENSION = ".hyc";
 }
@@ -20,9 +20,14 @@ package com.itextpdf.layout.hyphenation;
 import com.itextpdf.commons.utils.FileUtil;
 
 import java.io.FileInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,6 +43,16 @@ import java.util.Map;
  */
 public class HyphenationTree extends TernaryTree implements IPatternConsumer {
 
+    /**
+     * Signature of the compiled hyphenation patterns, see {@link #writeCompiledPatterns(OutputStream)}.
+     */
+    private static final int COMPILED_PATTERNS_SIGNATURE = 0x48595054;
+
+    private static final int COMPILED_PATTERNS_VERSION = 1;
+
+    private static final byte STRING_ITEM = 0;
+
+    private static final byte HYPHEN_ITEM = 1;
 
     /**
      * value space: stores the interletter values
@@ -154,6 +169,86 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Read hyphenation patterns previously compiled via {@link #writeCompiledPatterns(OutputStream)}.
+     * Loading of the compiled patterns is a plain read of the tree arrays which is much faster
+     * than parsing of the XML pattern file.
+     * @param stream the stream with the compiled patterns
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException In case the compiled patterns can't be read
+     */
+    public void loadCompiledPatterns(InputStream stream, String name) throws HyphenationException {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != COMPILED_PATTERNS_SIGNATURE || in.readInt() != COMPILED_PATTERNS_VERSION) {
+                throw new HyphenationException(name + " doesn't contain compiled hyphenation patterns");
+            }
+            readNodes(in);
+            classmap.readNodes(in);
+            int vspaceLength = in.readInt();
+            if (vspaceLength < 0) {
+                throw new HyphenationException(name + " contains corrupted compiled hyphenation patterns");
+            }
+            byte[] values = new byte[vspaceLength];
+            in.readFully(values);
+            vspace = new ByteVector(values);
+            int exceptionsCount = in.readInt();
+            stoplist = new HashMap<>(Math.max(23, exceptionsCount * 2));
+            for (int i = 0; i < exceptionsCount; i++) {
+                String word = in.readUTF();
+                int itemsCount = in.readInt();
+                List<Object> hyphenatedWord = new ArrayList<>(itemsCount);
+                for (int j = 0; j < itemsCount; j++) {
+                    if (in.readByte() == HYPHEN_ITEM) {
+                        hyphenatedWord.add(new Hyphen(readNullableString(in), readNullableString(in),
+                                readNullableString(in)));
+                    } else {
+                        hyphenatedWord.add(in.readUTF());
+                    }
+                }
+                stoplist.put(word, hyphenatedWord);
+            }
+        } catch (IOException e) {
+            throw new HyphenationException("Can't read compiled hyphenation patterns from " + name + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the patterns loaded into this tree in a compact binary form, which can be loaded
+     * back via {@link #loadCompiledPatterns(InputStream, String)}.
+     * @param stream the stream to write the compiled patterns to
+     * @throws IOException In case of an I/O error
+     */
+    public void writeCompiledPatterns(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(COMPILED_PATTERNS_SIGNATURE);
+        out.writeInt(COMPILED_PATTERNS_VERSION);
+        writeNodes(out);
+        classmap.writeNodes(out);
+        out.writeInt(vspace.length());
+        out.write(vspace.getArray(), 0, vspace.length());
+        out.writeInt(stoplist.size());
+        for (String word : stoplist.keySet()) {
+            List<?> hyphenatedWord = stoplist.get(word);
+            out.writeUTF(word);
+            out.writeInt(hyphenatedWord.size());
+            for (Object item : hyphenatedWord) {
+                if (item instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) item;
+                    out.writeByte(HYPHEN_ITEM);
+                    writeNullableString(out, hyphen.preBreak);
+                    writeNullableString(out, hyphen.noBreak);
+                    writeNullableString(out, hyphen.postBreak);
+                } else {
+                    out.writeByte(STRING_ITEM);
+                    out.writeUTF(item.toString());
+                }
+            }
+        }
+        out.flush();
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
@@ -616,4 +711,14 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         insert(pattern, (char)k);
     }
 
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
 }
@@ -18,20 +18,26 @@
 
 package com.itextpdf.layout.hyphenation;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is a cache for HyphenationTree instances.
+ * <p>
+ * The cache is thread-safe, so a single instance may be shared between the threads
+ * which perform layout concurrently.
  */
 public class HyphenationTreeCache {
 
     /** Contains the cached hyphenation trees */
-    private Map<String, HyphenationTree> hyphenTrees = new HashMap<>();
+    private final Map<String, HyphenationTree> hyphenTrees = new ConcurrentHashMap<>();
     /** Used to avoid multiple error messages for the same language if a pattern file is missing. */
-    private Set<String> missingHyphenationTrees;
+    private final Set<String> missingHyphenationTrees = Collections.newSetFromMap(
+            new ConcurrentHashMap<String, Boolean>());
+    /** Used to load every hyphenation tree only once if it is requested by several threads at the same time. */
+    private final Map<String, Object> loadingLocks = new ConcurrentHashMap<>();
 
     /**
      * Looks in the cache if a hyphenation tree is available and returns it if it is found.
@@ -47,13 +53,11 @@ public class HyphenationTreeCache {
         }
 
         // first try to find it in the cache
-        if (hyphenTrees.containsKey(key)) {
-            return hyphenTrees.get(key);
-        } else if (hyphenTrees.containsKey(lang)) {
-            return hyphenTrees.get(lang);
-        } else {
-            return null;
+        HyphenationTree hTree = hyphenTrees.get(key);
+        if (hTree == null && lang != null) {
+            hTree = hyphenTrees.get(lang);
         }
+        return hTree;
     }
 
     /**
@@ -95,7 +99,10 @@ public class HyphenationTreeCache {
      * @param hTree the hyphenation tree
      */
     public void cache(String key, HyphenationTree hTree) {
-        hyphenTrees.put(key, hTree);
+        // concurrent map doesn't allow nulls, while absent tree is equivalent to not cached one
+        if (key != null && hTree != null) {
+            hyphenTrees.put(key, hTree);
+        }
     }
 
     /**
@@ -105,10 +112,9 @@ public class HyphenationTreeCache {
      * @param key the key (ex. "de_CH" or "en")
      */
     public void noteMissing(String key) {
-        if (missingHyphenationTrees == null) {
-            missingHyphenationTrees = new HashSet<>();
+        if (key != null) {
+            missingHyphenationTrees.add(key);
         }
-        missingHyphenationTrees.add(key);
     }
 
     /**
@@ -119,6 +125,24 @@ public class HyphenationTreeCache {
      * @return true if the hyphenation tree is unavailable
      */
     public boolean isMissing(String key) {
-        return (missingHyphenationTrees != null && missingHyphenationTrees.contains(key));
+        return key != null && missingHyphenationTrees.contains(key);
+    }
+
+    /**
+     * Gets the object which is used to synchronize loading of the hyphenation tree with the given key,
+     * so that the pattern file is parsed only once even if the tree is requested by several threads.
+     * @param key the key (ex. "de_CH" or "en")
+     * @return the lock object for the key
+     */
+    Object getLoadingLock(String key) {
+        Object lock = loadingLocks.get(key);
+        if (lock == null) {
+            Object newLock = new Object();
+            lock = loadingLocks.putIfAbsent(key, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+        return lock;
     }
 }
@@ -47,7 +47,7 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache;
 
     private static List<String> additionalHyphenationFileDirectories;
 
@@ -106,12 +106,16 @@ public final class Hyphenator {
      * @return the default (static) hyphenation tree cache
      */
     public static HyphenationTreeCache getHyphenationTreeCache() {
-        synchronized (staticLock) {
-            if (hTreeCache == null) {
-                hTreeCache = new HyphenationTreeCache();
+        HyphenationTreeCache cache = hTreeCache;
+        if (cache == null) {
+            synchronized (staticLock) {
+                if (hTreeCache == null) {
+                    hTreeCache = new HyphenationTreeCache();
+                }
+                cache = hTreeCache;
             }
         }
-        return hTreeCache;
+        return cache;
     }
 
     /**
@@ -191,40 +195,23 @@ public final class Hyphenator {
         String llccKey = HyphenationTreeCache.constructLlccKey(lang, country);
         HyphenationTreeCache cache = getHyphenationTreeCache();
 
-        HyphenationTree hTree;
         // first try to find it in the cache
-        hTree = getHyphenationTreeCache().getHyphenationTree(lang, country);
-        if (hTree != null) {
+        HyphenationTree hTree = cache.getHyphenationTree(lang, country);
+        if (hTree != null || llccKey == null) {
             return hTree;
         }
 
-        String key = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
-        if (key == null) {
-            key = llccKey;
-        }
-
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
+        // make sure that concurrent requests for the same tree parse the pattern file only once
+        synchronized (cache.getLoadingLock(llccKey)) {
+            hTree = cache.getHyphenationTree(lang, country);
+            if (hTree == null) {
+                hTree = loadHyphenationTree(lang, country, hyphPathNames);
+                // put it into the pattern cache
                 if (hTree != null) {
-                    break;
+                    cache.cache(llccKey, hTree);
                 }
             }
         }
-
-        if (hTree == null) {
-            // get from the default directory
-            InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
-            if (defaultHyphenationResourceStream != null) {
-                hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
-            }
-        }
-
-        // put it into the pattern cache
-        if (hTree != null) {
-            cache.cache(llccKey, hTree);
-        }
-
         return hTree;
     }
 
@@ -236,6 +223,23 @@ public final class Hyphenator {
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled patterns first
+        String compiledName = key + HyphenationConstants.COMPILED_PATTERNS_EXTENSION;
+        String compiledPath = searchDirectory + File.separator + compiledName;
+        if (FileUtil.fileExists(compiledPath)) {
+            try {
+                HyphenationTree hTree = getCompiledHyphenationTree(
+                        FileUtil.getInputStreamForFile(compiledPath), compiledName);
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (IOException ioe) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load " + compiledName + ": " + ioe.getMessage());
+                }
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -325,6 +329,64 @@ public final class Hyphenator {
         return hyphenate(lang, country, hyphPathNames, word, leftMin, rightMin);
     }
 
+    private static HyphenationTree loadHyphenationTree(String lang, String country,
+            Map<String, String> hyphPathNames) {
+        String key = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
+        if (key == null) {
+            key = HyphenationTreeCache.constructLlccKey(lang, country);
+        }
+
+        List<String> directories = null;
+        synchronized (staticLock) {
+            if (additionalHyphenationFileDirectories != null) {
+                directories = new ArrayList<>(additionalHyphenationFileDirectories);
+            }
+        }
+
+        HyphenationTree hTree = null;
+        if (directories != null) {
+            for (String dir : directories) {
+                hTree = getHyphenationTree(dir, key);
+                if (hTree != null) {
+                    break;
+                }
+            }
+        }
+
+        if (hTree == null) {
+            // get from the default directory, the compiled patterns are preferred if available
+            InputStream compiledResourceStream = ResourceUtil.getResourceStream(
+                    HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + HyphenationConstants.COMPILED_PATTERNS_EXTENSION);
+            if (compiledResourceStream != null) {
+                hTree = getCompiledHyphenationTree(compiledResourceStream, key);
+            }
+        }
+
+        if (hTree == null) {
+            InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
+            if (defaultHyphenationResourceStream != null) {
+                hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
+            }
+        }
+        return hTree;
+    }
+
+    private static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        HyphenationTree hTree;
+        try {
+            hTree = new HyphenationTree();
+            hTree.loadCompiledPatterns(in, name);
+        } catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns from " + name + ": " + ex.getMessage());
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+        return hTree;
+    }
+
     private static boolean wordContainsSoftHyphens(String word) {
         return word.indexOf(SOFT_HYPHEN) >= 0;
     }
@@ -21,6 +21,9 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Enumeration;
 
 /**
@@ -557,6 +560,65 @@ public class TernaryTree {
         kv.trimToSize();
     }
 
+    /**
+     * Writes the node arrays of the tree in a compact binary form which can be read back
+     * via {@link #readNodes(DataInputStream)} without rebuilding the tree.
+     *
+     * @param out the stream to write the nodes to
+     * @throws IOException in case of an I/O error
+     */
+    void writeNodes(DataOutputStream out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        writeChars(out, lo, freenode);
+        writeChars(out, hi, freenode);
+        writeChars(out, eq, freenode);
+        writeChars(out, sc, freenode);
+        writeChars(out, kv.getArray(), kv.length());
+    }
+
+    /**
+     * Reads the node arrays of the tree written via {@link #writeNodes(DataOutputStream)}.
+     *
+     * @param in the stream to read the nodes from
+     * @throws IOException in case of an I/O error
+     */
+    void readNodes(DataInputStream in) throws IOException {
+        root = in.readChar();
+        freenode = in.readChar();
+        length = in.readInt();
+        lo = readChars(in);
+        hi = readChars(in);
+        eq = readChars(in);
+        sc = readChars(in);
+        kv = new CharVector(readChars(in));
+    }
+
+    private static void writeChars(DataOutputStream out, char[] chars, int count) throws IOException {
+        out.writeInt(count);
+        byte[] bytes = new byte[count * 2];
+        for (int i = 0; i < count; i++) {
+            bytes[2 * i] = (byte) (chars[i] >>> 8);
+            bytes[2 * i + 1] = (byte) chars[i];
+        }
+        out.write(bytes);
+    }
+
+    private static char[] readChars(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid array length in compiled hyphenation patterns.");
+        }
+        byte[] bytes = new byte[count * 2];
+        in.readFully(bytes);
+        char[] chars = new char[count];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) (((bytes[2 * i] & 0xff) << 8) | (bytes[2 * i + 1] & 0xff));
+        }
+        return chars;
+    }
+
     private void compact(CharVector kx, TernaryTree map, char p) {
         int k;
         if (p == 0) {
@@ -29,6 +29,9 @@ public final class LayoutLogMessageConstant {
 
     public static final String ELEMENT_DOES_NOT_FIT_AREA = "Element does not fit current area. {0}";
 
+    public static final String SECTION_PAGES_ARE_NOT_STABLE = "The pages of the document sections changed in every "
+            + "one of {0} layout passes. Page references between the sections may be inaccurate.";
+
     private LayoutLogMessageConstant() {
         //Private constructor will prevent the instantiation of this class directly
     }
@@ -0,0 +1,327 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import com.itextpdf.layout.IPropertyContainer;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact storage of the properties of an {@link IPropertyContainer}, which maps {@link Property} ids
+ * to property values.
+ * <p>
+ * Property ids are kept in a sorted primitive array, so that the primitive {@link #get(int)},
+ * {@link #containsKey(int)}, {@link #set(int, Object)} and {@link #remove(int)} methods neither box the keys
+ * nor allocate entries. Since property containers usually have just a few own properties, this takes much less
+ * memory than a hash map. {@code null} values are allowed. Entries are iterated in the ascending order of the ids.
+ * The primitive setter is called {@link #set(int, Object)} rather than {@code put} so that {@code put} calls with
+ * primitive values are not ambiguous.
+ * <p>
+ * The fields declared as {@code Map<Integer, Object>} can be accessed without boxing by the static
+ * {@link #get(Map, int)}, {@link #containsKey(Map, int)} and {@link #set(Map, int, Object)} methods, which take
+ * the primitive path if the map is a {@link PropertyMap}.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int[] EMPTY_KEYS = new int[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    private int modificationCount;
+
+    private Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty {@link PropertyMap}.
+     */
+    public PropertyMap() {
+        // Empty constructor
+    }
+
+    /**
+     * Creates a {@link PropertyMap} which contains all the mappings of the specified map.
+     *
+     * @param properties the map whose mappings are to be placed in this map
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of the specified property from the property map. The property id isn't boxed
+     * if the map is a {@link PropertyMap}.
+     *
+     * @param properties the property map
+     * @param property the id of the property
+     * @return the value of the property, or {@code null} if there is no such property or its value is {@code null}
+     */
+    public static Object get(Map<Integer, Object> properties, int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).get(property);
+        }
+        return properties.get(property);
+    }
+
+    /**
+     * Checks whether the specified property is present in the property map. The property id isn't boxed
+     * if the map is a {@link PropertyMap}.
+     *
+     * @param properties the property map
+     * @param property the id of the property
+     * @return {@code true} if the property is present, {@code false} otherwise
+     */
+    public static boolean containsKey(Map<Integer, Object> properties, int property) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).containsKey(property);
+        }
+        return properties.containsKey(property);
+    }
+
+    /**
+     * Sets the value of the specified property in the property map. The property id isn't boxed
+     * if the map is a {@link PropertyMap}.
+     *
+     * @param properties the property map
+     * @param property the id of the property
+     * @param value the value of the property
+     * @return the previous value of the property, or {@code null} if there was no such property
+     */
+    public static Object set(Map<Integer, Object> properties, int property, Object value) {
+        if (properties instanceof PropertyMap) {
+            return ((PropertyMap) properties).set(property, value);
+        }
+        return properties.put(property, value);
+    }
+
+    /**
+     * Gets the value of the specified property.
+     *
+     * @param property the id of the property
+     * @return the value of the property, or {@code null} if there is no such property or its value is {@code null}
+     */
+    public Object get(int property) {
+        int index = indexOf(property);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Checks whether the specified property is present in this map.
+     *
+     * @param property the id of the property
+     * @return {@code true} if the property is present, {@code false} otherwise
+     */
+    public boolean containsKey(int property) {
+        return indexOf(property) >= 0;
+    }
+
+    /**
+     * Sets the value of the specified property.
+     *
+     * @param property the id of the property
+     * @param value the value of the property
+     * @return the previous value of the property, or {@code null} if there was no such property
+     */
+    public Object set(int property, Object value) {
+        int index = indexOf(property);
+        if (index >= 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        index = -index - 1;
+        if (size == keys.length) {
+            int capacity = Math.max(MIN_CAPACITY, size + (size >> 1));
+            int[] newKeys = new int[capacity];
+            Object[] newValues = new Object[capacity];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, size - index);
+            System.arraycopy(values, index, newValues, index + 1, size - index);
+            keys = newKeys;
+            values = newValues;
+        } else {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        keys[index] = property;
+        values[index] = value;
+        ++size;
+        ++modificationCount;
+        return null;
+    }
+
+    /**
+     * Removes the specified property from this map.
+     *
+     * @param property the id of the property
+     * @return the removed value of the property, or {@code null} if there was no such property
+     */
+    public Object remove(int property) {
+        int index = indexOf(property);
+        if (index < 0) {
+            return null;
+        }
+        Object previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return set((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            for (int i = 0; i < other.size; i++) {
+                set(other.keys[i], other.values[i]);
+            }
+        } else {
+            super.putAll(properties);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            values[i] = null;
+        }
+        size = 0;
+        ++modificationCount;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int indexOf(int property) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int key = keys[middle];
+            if (key < property) {
+                low = middle + 1;
+            } else if (key > property) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+        ++modificationCount;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int index;
+        private int lastReturned = -1;
+        private int expectedModificationCount = modificationCount;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (expectedModificationCount != modificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = index++;
+            return new SimpleImmutableEntry<Integer, Object>(keys[lastReturned], values[lastReturned]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModificationCount != modificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(lastReturned);
+            index = lastReturned;
+            lastReturned = -1;
+            expectedModificationCount = modificationCount;
+        }
+    }
+}
@@ -77,6 +77,7 @@ import com.itextpdf.layout.properties.BoxSizingPropertyValue;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.OverflowPropertyValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.Transform;
 import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
@@ -85,7 +86,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -151,9 +151,18 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
+    // The version of the properties of this renderer, which is changed every time its properties are modified.
+    private int propertiesVersion;
+
+    // Memoised lookups of inherited properties through the parent, valid while the ancestors and their properties
+    // versions are the same as when the lookups were memoised.
+    private PropertyMap inheritedProperties;
+    private IRenderer[] inheritedPropertiesAncestors;
+    private int[] inheritedPropertiesVersions;
+
     /**
      * Creates a renderer.
      */
@@ -275,7 +284,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.containsKey(properties, property);
     }
 
     /**
@@ -295,6 +304,7 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public void deleteOwnProperty(int property) {
         properties.remove(property);
+        ++propertiesVersion;
     }
 
     /**
@@ -304,6 +314,7 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
+        ++propertiesVersion;
         if (properties.containsKey(property)) {
             properties.remove(property);
         } else {
@@ -319,13 +330,13 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if ((property = PropertyMap.get(properties, key)) != null || PropertyMap.containsKey(properties, key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
             return (T1) property;
         }
-        if (parent != null && Property.isPropertyInherited(key) && (property = parent.<T1>getProperty(key)) != null) {
+        if (parent != null && Property.isPropertyInherited(key) && (property = getInheritedProperty(key)) != null) {
             return (T1) property;
         }
         property = this.<T1>getDefaultProperty(key);
@@ -340,7 +351,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.get(property);
+        return (T1) PropertyMap.get(properties, property);
     }
 
     /**
@@ -357,7 +368,8 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.set(properties, property, value);
+        ++propertiesVersion;
     }
 
     /**
@@ -1742,12 +1754,73 @@ public abstract class AbstractRenderer implements IRenderer {
         }
     }
     
+    private Object getInheritedProperty(int key) {
+        if (!validateInheritedProperties()) {
+            return parent.<Object>getProperty(key);
+        }
+        Object property;
+        if ((property = inheritedProperties.get(key)) != null || inheritedProperties.containsKey(key)) {
+            return property;
+        }
+        property = parent.<Object>getProperty(key);
+        inheritedProperties.set(key, property);
+        return property;
+    }
+
+    /**
+     * Checks that the memoised inherited properties were obtained with the same ancestors and the same versions
+     * of their properties, and drops them otherwise.
+     *
+     * @return {@code false} if the inherited properties can't be memoised, since not all the ancestors are
+     * {@link AbstractRenderer} instances, {@code true} otherwise
+     */
+    private boolean validateInheritedProperties() {
+        boolean valid = inheritedProperties != null;
+        int depth = 0;
+        for (IRenderer ancestor = parent; ancestor != null; ancestor = ancestor.getParent()) {
+            if (!(ancestor instanceof AbstractRenderer)) {
+                return false;
+            }
+            valid = valid && depth < inheritedPropertiesAncestors.length
+                    && inheritedPropertiesAncestors[depth] == ancestor
+                    && inheritedPropertiesVersions[depth] == ((AbstractRenderer) ancestor).propertiesVersion;
+            ++depth;
+        }
+        if (valid && depth == inheritedPropertiesAncestors.length) {
+            return true;
+        }
+        if (inheritedProperties == null) {
+            inheritedProperties = new PropertyMap();
+        } else {
+            inheritedProperties.clear();
+        }
+        inheritedPropertiesAncestors = new IRenderer[depth];
+        inheritedPropertiesVersions = new int[depth];
+        depth = 0;
+        for (IRenderer ancestor = parent; ancestor != null; ancestor = ancestor.getParent()) {
+            inheritedPropertiesAncestors[depth] = ancestor;
+            inheritedPropertiesVersions[depth] = ((AbstractRenderer) ancestor).propertiesVersion;
+            ++depth;
+        }
+        return true;
+    }
+
     protected Map<Integer, Object> getOwnProperties() {
         return properties;
     }
 
     protected void addAllProperties(Map<Integer, Object> properties) {
         this.properties.putAll(properties);
+        ++propertiesVersion;
+    }
+
+    /**
+     * Invalidates the inherited property lookups memoised by the descendants of this renderer. The lookups are
+     * also resolved through the model elements, which don't track their modifications, so the root renderer
+     * calls this method when a new layout pass starts.
+     */
+    void invalidateInheritedProperties() {
+        ++propertiesVersion;
     }
 
     /**
@@ -29,6 +29,7 @@ import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.Property;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -136,13 +137,9 @@ class CollapsedTableBorders extends TableBorders {
     @Override
     public List<Border> getVerticalBorder(int index) {
         if (index == 0) {
-            List<Border> borderList = TableBorderUtil
-                    .createAndFillBorderList(null, tableBoundingBorders[3], verticalBorders.get(0).size());
-            return getCollapsedList(verticalBorders.get(0), borderList);
+            return new CollapsedBorderList(verticalBorders.get(0), tableBoundingBorders[3]);
         } else if (index == numberOfColumns) {
-            List<Border> borderList = TableBorderUtil.createAndFillBorderList(null, tableBoundingBorders[1],
-                    verticalBorders.get(verticalBorders.size() - 1).size());
-            return getCollapsedList(verticalBorders.get(verticalBorders.size() - 1), borderList);
+            return new CollapsedBorderList(verticalBorders.get(verticalBorders.size() - 1), tableBoundingBorders[1]);
         } else {
             return verticalBorders.get(index);
         }
@@ -686,6 +683,34 @@ class CollapsedTableBorders extends TableBorders {
         return crossingBorders;
     }
 
+    /**
+     * A read-only view of a cell border list collapsed with a table border.
+     *
+     * <p>
+     * The outer vertical borders are requested for each cell and each crossing point while drawing,
+     * so the collapsed borders are evaluated on access instead of copying the whole list,
+     * which for large tables spans all the rows which haven't been flushed yet.
+     */
+    private static class CollapsedBorderList extends AbstractList<Border> {
+        private final List<Border> cellBorders;
+        private final Border tableBorder;
+
+        CollapsedBorderList(List<Border> cellBorders, Border tableBorder) {
+            this.cellBorders = cellBorders;
+            this.tableBorder = tableBorder;
+        }
+
+        @Override
+        public Border get(int index) {
+            return getCollapsedBorder(cellBorders.get(index), tableBorder);
+        }
+
+        @Override
+        public int size() {
+            return cellBorders.size();
+        }
+    }
+
     /**
      * A comparison function to compare two {@link Border} instances.
      */
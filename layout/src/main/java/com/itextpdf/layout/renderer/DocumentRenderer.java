@@ -48,6 +48,17 @@ public class DocumentRenderer extends RootRenderer {
     protected List<Integer> wrappedContentPage = new ArrayList<>();
     protected TargetCounterHandler targetCounterHandler = new TargetCounterHandler();
 
+    /**
+     * The layout state before each child renderer was added, or {@code null} if it couldn't be stored.
+     */
+    private final List<RootRendererLayoutCheckpoint> layoutCheckpoints = new ArrayList<>();
+
+    /**
+     * Indicates that the renderers are added by the root renderer itself, e.g. the floats waiting for the next page,
+     * so that they don't correspond to the child elements of the document and no checkpoints are stored for them.
+     */
+    private boolean addingOwnRenderers = false;
+
     public DocumentRenderer(Document document) {
         this(document, true);
     }
@@ -81,6 +92,92 @@ public class DocumentRenderer extends RootRenderer {
         throw new IllegalStateException("Not applicable for DocumentRenderer");
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addChild(IRenderer renderer) {
+        if (addingOwnRenderers) {
+            super.addChild(renderer);
+            return;
+        }
+        // The checkpoints are of use only if the renderers aren't drawn right after their layout.
+        // Subclasses might keep their own layout state, which isn't stored in the checkpoints.
+        if (!immediateFlush) {
+            layoutCheckpoints.add(getClass() == DocumentRenderer.class
+                    ? createLayoutCheckpoint(document.getPdfDocument().getNumberOfPages(), wrappedContentPage.size())
+                    : null);
+        }
+        addingOwnRenderers = true;
+        try {
+            super.addChild(renderer);
+        } finally {
+            addingOwnRenderers = false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        addingOwnRenderers = true;
+        try {
+            super.close();
+        } finally {
+            addingOwnRenderers = false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        // the drawn renderers can't be laid out again
+        for (int i = 0; i < layoutCheckpoints.size(); i++) {
+            layoutCheckpoints.set(i, null);
+        }
+        super.flush();
+    }
+
+    /**
+     * Discards the layout of the child renderers starting from the specified one, so that they can be added again.
+     * The layout of the preceding child renderers, and the pages they occupy, are kept as they are.
+     *
+     * <p>
+     * The layout can be rolled back only to the state before a child renderer, which is completely defined by
+     * the preceding renderers, e.g. not to the state before a renderer following an element with
+     * {@link Property#KEEP_WITH_NEXT}. In this case the layout is rolled back to the closest preceding child
+     * renderer, for which this is possible.
+     *
+     * @param childIndex the index of the first child renderer to be discarded, in the order the renderers were added
+     * @return the index of the first child renderer, which has been discarded and shall be added again,
+     *         or -1 if the layout can't be rolled back and shall be done from scratch
+     */
+    public int rollBackLayout(int childIndex) {
+        if (childIndex >= layoutCheckpoints.size()) {
+            return -1;
+        }
+        int index = childIndex;
+        while (index >= 0 && layoutCheckpoints.get(index) == null) {
+            index--;
+        }
+        if (index < 0) {
+            return -1;
+        }
+        RootRendererLayoutCheckpoint checkpoint = layoutCheckpoints.get(index);
+        layoutCheckpoints.subList(index, layoutCheckpoints.size()).clear();
+        restoreLayoutCheckpoint(checkpoint);
+        wrappedContentPage.subList(checkpoint.getWrappedContentPageCount(), wrappedContentPage.size()).clear();
+        PdfDocument pdfDocument = document.getPdfDocument();
+        while (pdfDocument.getNumberOfPages() > checkpoint.getNumberOfPages()) {
+            pdfDocument.removePage(pdfDocument.getNumberOfPages());
+        }
+        targetCounterHandler.prepareHandlerToRelayout();
+        return index;
+    }
+
     /**
      * For {@link DocumentRenderer}, this has a meaning of the renderer that will be used for relayout.
      *
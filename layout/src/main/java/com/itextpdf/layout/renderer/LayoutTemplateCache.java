@@ -0,0 +1,138 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of laid out and drawn repeated content, e.g. running headers and footers added by page event handlers.
+ *
+ * <p>
+ * An element is laid out and drawn into a {@link PdfFormXObject} the first time it is requested for a given width.
+ * Subsequent requests for the same element instance and width return the very same form XObject, so that repeated
+ * content costs neither layout time nor additional space in the resultant document.
+ *
+ * <p>
+ * Elements are identified by their instance, so an element shall not be modified after its template has been
+ * created. Call {@link #invalidate(IBlockElement)} if it has to be. The templates are drawn as untagged
+ * content, so they should be added as artifacts to tagged documents. Content which depends on the page it is
+ * placed on, like link annotations or page numbers, shall not be cached.
+ */
+public class LayoutTemplateCache {
+
+    private final PdfDocument pdfDocument;
+
+    // The templates of an element are keyed by the exact width they were laid out for.
+    private final Map<IBlockElement, Map<Float, PdfFormXObject>> templates = new HashMap<>();
+
+    /**
+     * Creates a new {@link LayoutTemplateCache} instance.
+     *
+     * @param pdfDocument the document the templates will be written to
+     */
+    public LayoutTemplateCache(PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Gets the template of the element laid out in an area of the specified width. The element is laid out
+     * and drawn only if there is no cached template for this element and width yet.
+     *
+     * <p>
+     * The bounding box of the resultant form XObject starts at the origin and is as wide as the available width
+     * and as high as the area occupied by the element, so that it can be placed with
+     * {@link com.itextpdf.kernel.pdf.canvas.PdfCanvas#addXObjectAt(com.itextpdf.kernel.pdf.xobject.PdfXObject,
+     * float, float)} at the bottom-left corner of the target area.
+     *
+     * <p>
+     * The widths are compared exactly, so a template is reused only if the very same width value is passed,
+     * e.g. the width of the same page size or of the same target rectangle. Widths which differ only because
+     * of rounding errors result in separate templates.
+     *
+     * @param element the element to get the template of
+     * @param width   the available width
+     * @return the {@link PdfFormXObject} with the drawn element
+     */
+    public PdfFormXObject getTemplate(IBlockElement element, float width) {
+        Map<Float, PdfFormXObject> elementTemplates = templates.get(element);
+        if (elementTemplates == null) {
+            elementTemplates = new HashMap<>();
+            templates.put(element, elementTemplates);
+        }
+        PdfFormXObject template = elementTemplates.get(width);
+        if (template == null) {
+            template = createTemplate(element, width);
+            elementTemplates.put(width, template);
+        }
+        return template;
+    }
+
+    /**
+     * Removes all the cached templates of the element. This shall be called after the element is modified.
+     *
+     * @param element the element which templates are to be removed
+     */
+    public void invalidate(IBlockElement element) {
+        templates.remove(element);
+    }
+
+    /**
+     * Removes all the cached templates.
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    private PdfFormXObject createTemplate(IBlockElement element, float width) {
+        PdfFormXObject template = new PdfFormXObject(new Rectangle(width, AbstractRenderer.INF));
+        Canvas canvas = new Canvas(template, pdfDocument);
+        try {
+            IRenderer renderer = element.createRendererSubTree().setParent(canvas.getRenderer());
+            LayoutResult result = renderer.layout(new LayoutContext(
+                    new LayoutArea(1, new Rectangle(width, AbstractRenderer.INF))));
+            if (result.getStatus() != LayoutResult.FULL) {
+                throw new PdfException(LayoutExceptionMessageConstant.ELEMENT_DOES_NOT_FIT_TEMPLATE_AREA);
+            }
+            Rectangle occupiedBox = renderer.getOccupiedArea().getBBox();
+            renderer.move(0, -occupiedBox.getY());
+            renderer.draw(new DrawContext(pdfDocument, canvas.getPdfCanvas(), false));
+            template.setBBox(new PdfArray(new Rectangle(width, occupiedBox.getHeight())));
+        } finally {
+            canvas.close();
+        }
+        return template;
+    }
+}
@@ -64,6 +64,8 @@ public abstract class RootRenderer extends AbstractRenderer {
     private boolean floatOverflowedCompletely = false;
 
     public void addChild(IRenderer renderer) {
+        // the model elements may have been modified since the previous child was laid out
+        invalidateInheritedProperties();
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
         if (taggingHelper != null) {
             LayoutTaggingHelper.addTreeHints(taggingHelper, renderer);
@@ -307,6 +309,38 @@ public abstract class RootRenderer extends AbstractRenderer {
         return currentArea;
     }
 
+    /**
+     * Stores the layout state before the next child renderer is added. The state can't be stored if it isn't
+     * completely defined by the laid out renderers, e.g. if there is a renderer waiting for the next one
+     * because of {@link Property#KEEP_WITH_NEXT}.
+     *
+     * @param numberOfPages the current number of pages in the document
+     * @param wrappedContentPageCount the current size of {@link DocumentRenderer#wrappedContentPage}
+     * @return the stored state, or {@code null} if it can't be stored
+     */
+    RootRendererLayoutCheckpoint createLayoutCheckpoint(int numberOfPages, int wrappedContentPageCount) {
+        if (currentArea == null || keepWithNextHangingRenderer != null || !waitingNextPageRenderers.isEmpty()
+                || floatOverflowedCompletely || marginsCollapseHandler != null
+                || this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER) != null) {
+            return null;
+        }
+        return new RootRendererLayoutCheckpoint(childRenderers.size(), positionedRenderers.size(), numberOfPages,
+                wrappedContentPageCount, currentArea, initialCurrentArea, floatRendererAreas);
+    }
+
+    /**
+     * Discards the renderers added after the checkpoint was created and restores the stored layout state.
+     *
+     * @param checkpoint the stored state
+     */
+    void restoreLayoutCheckpoint(RootRendererLayoutCheckpoint checkpoint) {
+        childRenderers.subList(checkpoint.getChildRendererCount(), childRenderers.size()).clear();
+        positionedRenderers.subList(checkpoint.getPositionedRendererCount(), positionedRenderers.size()).clear();
+        currentArea = checkpoint.getCurrentArea();
+        initialCurrentArea = checkpoint.getInitialCurrentArea();
+        floatRendererAreas = checkpoint.getFloatRendererAreas();
+    }
+
     protected abstract void flushSingleRenderer(IRenderer resultRenderer);
 
     protected abstract LayoutArea updateCurrentArea(LayoutResult overflowResult);
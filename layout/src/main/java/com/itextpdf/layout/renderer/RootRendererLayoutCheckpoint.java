@@ -0,0 +1,93 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.RootLayoutArea;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The state of a {@link RootRenderer} before a child renderer is added to it.
+ */
+final class RootRendererLayoutCheckpoint {
+    private final int childRendererCount;
+    private final int positionedRendererCount;
+    private final int numberOfPages;
+    private final int wrappedContentPageCount;
+    private final RootLayoutArea currentArea;
+    private final LayoutArea initialCurrentArea;
+    private final List<Rectangle> floatRendererAreas;
+
+    RootRendererLayoutCheckpoint(int childRendererCount, int positionedRendererCount, int numberOfPages,
+            int wrappedContentPageCount, RootLayoutArea currentArea, LayoutArea initialCurrentArea,
+            List<Rectangle> floatRendererAreas) {
+        this.childRendererCount = childRendererCount;
+        this.positionedRendererCount = positionedRendererCount;
+        this.numberOfPages = numberOfPages;
+        this.wrappedContentPageCount = wrappedContentPageCount;
+        this.currentArea = (RootLayoutArea) currentArea.clone();
+        this.initialCurrentArea = initialCurrentArea.clone();
+        this.floatRendererAreas = copyAreas(floatRendererAreas);
+    }
+
+    int getChildRendererCount() {
+        return childRendererCount;
+    }
+
+    int getPositionedRendererCount() {
+        return positionedRendererCount;
+    }
+
+    int getNumberOfPages() {
+        return numberOfPages;
+    }
+
+    int getWrappedContentPageCount() {
+        return wrappedContentPageCount;
+    }
+
+    // the stored state is copied both ways, so that the checkpoint can be restored several times
+
+    RootLayoutArea getCurrentArea() {
+        return (RootLayoutArea) currentArea.clone();
+    }
+
+    LayoutArea getInitialCurrentArea() {
+        return initialCurrentArea.clone();
+    }
+
+    List<Rectangle> getFloatRendererAreas() {
+        return copyAreas(floatRendererAreas);
+    }
+
+    private static List<Rectangle> copyAreas(List<Rectangle> areas) {
+        List<Rectangle> copy = new ArrayList<>(areas.size());
+        for (Rectangle area : areas) {
+            copy.add(area.clone());
+        }
+        return copy;
+    }
+}
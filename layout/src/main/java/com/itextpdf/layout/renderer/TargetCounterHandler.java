@@ -24,6 +24,7 @@ package com.itextpdf.layout.renderer;
 
 import com.itextpdf.layout.properties.Property;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -39,6 +40,8 @@ public class TargetCounterHandler {
 
     private Map<String, Integer> previousRenderersPages = new HashMap<>();
 
+    private boolean previousRenderersPagesRequested;
+
     /**
      * Creates a copy of the given {@link TargetCounterHandler} instance.
      *
@@ -47,6 +50,7 @@ public class TargetCounterHandler {
     public TargetCounterHandler(TargetCounterHandler targetCounterHandler) {
         this.renderersPages = targetCounterHandler.renderersPages;
         this.previousRenderersPages = targetCounterHandler.previousRenderersPages;
+        this.previousRenderersPagesRequested = targetCounterHandler.previousRenderersPagesRequested;
     }
 
     /**
@@ -79,7 +83,11 @@ public class TargetCounterHandler {
      */
     public static Integer getPageByID(IRenderer renderer, String id) {
         final TargetCounterHandler targetCounterHandler = getTargetCounterHandler(renderer);
-        return targetCounterHandler == null ? null : targetCounterHandler.previousRenderersPages.get(id);
+        if (targetCounterHandler == null) {
+            return null;
+        }
+        targetCounterHandler.previousRenderersPagesRequested = true;
+        return targetCounterHandler.previousRenderersPages.get(id);
     }
 
     /**
@@ -115,6 +123,35 @@ public class TargetCounterHandler {
         previousRenderersPages = new HashMap<>(renderersPages);
     }
 
+    /**
+     * Gets the pages of all the renderers with id, which were laid out with this handler.
+     *
+     * @return the unmodifiable map from the ids to the page numbers
+     */
+    public Map<String, Integer> getRenderersPages() {
+        return Collections.unmodifiableMap(renderersPages);
+    }
+
+    /**
+     * Defines the pages which are returned by {@link #getPageByID(IRenderer, String)}, e.g. the pages resolved
+     * during the preceding layout of a document, which parts are laid out separately.
+     *
+     * @param renderersPages the map from the ids to the page numbers
+     */
+    public void setPreviousRenderersPages(Map<String, Integer> renderersPages) {
+        previousRenderersPages = new HashMap<>(renderersPages);
+    }
+
+    /**
+     * Indicates if any page was requested by {@link #getPageByID(IRenderer, String)} from this handler,
+     * i.e. if the layout depends on the pages defined by {@link #setPreviousRenderersPages(Map)}.
+     *
+     * @return true if the pages were requested, false otherwise
+     */
+    public boolean isPreviousRenderersPagesRequested() {
+        return previousRenderersPagesRequested;
+    }
+
     private static TargetCounterHandler getTargetCounterHandler(IRenderer renderer) {
         IRenderer rootRenderer = renderer;
         while (rootRenderer.getParent() != null) {
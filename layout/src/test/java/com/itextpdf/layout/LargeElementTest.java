@@ -55,6 +55,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @Tag("IntegrationTest")
@@ -1309,6 +1310,30 @@ public class LargeElementTest extends ExtendedITextTest {
         Assertions.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void flushedRowsOfLargeTableAreReleasedTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document doc = new Document(pdfDoc);
+        Table table = new Table(UnitValue.createPercentArray(3), true);
+        doc.add(table);
+
+        for (int i = 0; i < 3000; i++) {
+            for (int j = 0; j < 3; j++) {
+                table.addCell(new Cell().add(new Paragraph(i + "-" + j)));
+            }
+            if (i % 1000 == 999) {
+                table.flush();
+                // only the rows which are not yet placed on a page are kept in memory
+                Assertions.assertTrue(table.getNumberOfRows() < 100);
+                Assertions.assertTrue(table.getChildren().size() < 300);
+            }
+        }
+        table.complete();
+        doc.close();
+
+        Assertions.assertEquals(0, table.getChildren().size());
+    }
+
     @Test
     public void largeEmptyTableTest() throws IOException, InterruptedException {
         String testName = "largeEmptyTableTest.pdf";
@@ -0,0 +1,280 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfVersion;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.renderer.TargetCounterHandler;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class ParallelDocumentLayoutTest extends ExtendedITextTest {
+
+    @Test
+    public void sectionsAreMergedInOrderTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        int[] firstPageNumbers;
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            pdfDocument.setDefaultPageSize(PageSize.A5);
+            ParallelDocumentLayout layout = new ParallelDocumentLayout(pdfDocument).setWorkerCount(3);
+            for (int i = 0; i < 8; i++) {
+                // sections of different length, so that they are not finished in order
+                layout.addSection(new CustomerSection(i, 8 - i));
+            }
+            firstPageNumbers = layout.layout();
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertEquals(36, pdfDocument.getNumberOfPages());
+            Assertions.assertTrue(PageSize.A5.equalsWithEpsilon(pdfDocument.getPage(1).getPageSize()));
+            int expectedFirstPage = 1;
+            for (int i = 0; i < 8; i++) {
+                Assertions.assertEquals(expectedFirstPage, firstPageNumbers[i]);
+                for (int j = 0; j < 8 - i; j++) {
+                    Assertions.assertEquals("Customer " + i + ", page " + j,
+                            PdfTextExtractor.getTextFromPage(pdfDocument.getPage(expectedFirstPage + j)));
+                }
+                expectedFirstPage += 8 - i;
+            }
+        }
+    }
+
+    @Test
+    public void sectionsWithoutPageReferencesAreLaidOutOnceTest() {
+        AtomicInteger layoutCount = new AtomicInteger();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            ParallelDocumentLayout layout = new ParallelDocumentLayout(pdfDocument).setWorkerCount(2);
+            for (int i = 0; i < 5; i++) {
+                layout.addSection(new CustomerSection(i, 2, layoutCount));
+            }
+            layout.layout();
+            Assertions.assertEquals(10, pdfDocument.getNumberOfPages());
+        }
+
+        Assertions.assertEquals(5, layoutCount.get());
+    }
+
+    @Test
+    public void pageReferencesAcrossSectionsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        AtomicReference<DocumentSectionContext> finalContext = new AtomicReference<>();
+        AtomicInteger layoutCount = new AtomicInteger();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            ParallelDocumentLayout layout = new ParallelDocumentLayout(pdfDocument).setWorkerCount(2);
+            layout.addSection((document, context) -> {
+                if (context.isResolved()) {
+                    finalContext.set(context);
+                }
+                document.add(new Paragraph("Customer 3 is on page " + context.getPageNumber("customer3")
+                        + " of " + context.getTotalNumberOfPages()));
+            });
+            for (int i = 0; i < 5; i++) {
+                layout.addSection(new CustomerSection(i, 5 - i, layoutCount));
+            }
+            layout.layout();
+        }
+
+        // the sections following the referring one are measured once and laid out once more to be merged
+        Assertions.assertEquals(10, layoutCount.get());
+
+        Assertions.assertEquals(0, finalContext.get().getSectionIndex());
+        Assertions.assertEquals(1, finalContext.get().getFirstPageNumber());
+        Assertions.assertEquals(11, (int) finalContext.get().getPageNumber("customer2"));
+        Assertions.assertNull(finalContext.get().getPageNumber("customer5"));
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertEquals(16, pdfDocument.getNumberOfPages());
+            Assertions.assertEquals("Customer 3 is on page 14 of 16",
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1)));
+            Assertions.assertEquals("Customer 3, page 0", PdfTextExtractor.getTextFromPage(pdfDocument.getPage(14)));
+        }
+    }
+
+    @Test
+    public void sectionsPrecedingPageReferencesAreLaidOutOnceTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        AtomicInteger precedingLayoutCount = new AtomicInteger();
+        AtomicInteger followingLayoutCount = new AtomicInteger();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            ParallelDocumentLayout layout = new ParallelDocumentLayout(pdfDocument).setWorkerCount(1);
+            for (int i = 0; i < 3; i++) {
+                layout.addSection(new CustomerSection(i, 2, precedingLayoutCount));
+            }
+            layout.addSection((document, context) -> {
+                // the target counters request the pages from the handler of the document renderer
+                Integer page = TargetCounterHandler.getPageByID(document.getRenderer(), "customer4");
+                document.add(new Paragraph("Customer 4 is on page " + page));
+            });
+            layout.addSection(new CustomerSection(4, 2, followingLayoutCount));
+            layout.layout();
+        }
+
+        Assertions.assertEquals(3, precedingLayoutCount.get());
+        Assertions.assertEquals(2, followingLayoutCount.get());
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertEquals(9, pdfDocument.getNumberOfPages());
+            Assertions.assertEquals("Customer 4 is on page 8",
+                    PdfTextExtractor.getTextFromPage(pdfDocument.getPage(7)));
+        }
+    }
+
+    @Test
+    public void pageReferencesAreNotResolvedTest() {
+        AtomicReference<DocumentSectionContext> sectionContext = new AtomicReference<>();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            pdfDocument.addNewPage();
+            new ParallelDocumentLayout(pdfDocument)
+                    .setResolvePageReferences(false)
+                    .addSection(new CustomerSection(0, 3))
+                    .addSection((document, context) -> {
+                        sectionContext.set(context);
+                        document.add(new Paragraph("Last section"));
+                    })
+                    .layout();
+            Assertions.assertEquals(5, pdfDocument.getNumberOfPages());
+        }
+
+        Assertions.assertFalse(sectionContext.get().isResolved());
+        // every section is expected to take one page
+        Assertions.assertEquals(3, sectionContext.get().getFirstPageNumber());
+        Assertions.assertEquals(3, sectionContext.get().getTotalNumberOfPages());
+        Assertions.assertNull(sectionContext.get().getPageNumber("customer0"));
+    }
+
+    @Test
+    public void writerSettingsAreKeptTest() {
+        AtomicReference<PdfVersion> sectionVersion = new AtomicReference<>();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream(),
+                new WriterProperties().setPdfVersion(PdfVersion.PDF_2_0)))) {
+            new ParallelDocumentLayout(pdfDocument)
+                    .addSection((document, context) -> {
+                        sectionVersion.set(document.getPdfDocument().getPdfVersion());
+                        document.add(new Paragraph("Section"));
+                    })
+                    .layout();
+            Assertions.assertFalse(pdfDocument.getWriter().isResourceDeduplication());
+        }
+
+        Assertions.assertEquals(PdfVersion.PDF_2_0, sectionVersion.get());
+    }
+
+    @Test
+    public void noSectionsTest() {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            Assertions.assertEquals(0, new ParallelDocumentLayout(pdfDocument).layout().length);
+            pdfDocument.addNewPage();
+        }
+    }
+
+    @Test
+    public void sectionExceptionIsRethrownTest() {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            ParallelDocumentLayout layout = new ParallelDocumentLayout(pdfDocument)
+                    .addSection(new CustomerSection(0, 1))
+                    .addSection((document, context) -> {
+                        throw new IllegalStateException("Broken section");
+                    });
+            Exception e = Assertions.assertThrows(IllegalStateException.class, () -> layout.layout());
+            Assertions.assertEquals("Broken section", e.getMessage());
+            pdfDocument.addNewPage();
+        }
+    }
+
+    @Test
+    public void executorServiceIsNotShutDownTest() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+                int[] firstPageNumbers = new ParallelDocumentLayout(pdfDocument)
+                        .setExecutorService(executorService)
+                        .addSection(new CustomerSection(0, 2))
+                        .addSection(new CustomerSection(1, 1))
+                        .layout();
+                Assertions.assertArrayEquals(new int[] {1, 3}, firstPageNumbers);
+            }
+            Assertions.assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void workerCountShallBePositiveTest() {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> new ParallelDocumentLayout(pdfDocument).setWorkerCount(0));
+            Assertions.assertEquals(LayoutExceptionMessageConstant.WORKER_COUNT_SHALL_BE_POSITIVE, e.getMessage());
+            pdfDocument.addNewPage();
+        }
+    }
+
+    private static class CustomerSection implements IDocumentSection {
+        private final int customer;
+        private final int pages;
+        private final AtomicInteger layoutCount;
+
+        CustomerSection(int customer, int pages) {
+            this(customer, pages, new AtomicInteger());
+        }
+
+        CustomerSection(int customer, int pages, AtomicInteger layoutCount) {
+            this.customer = customer;
+            this.pages = pages;
+            this.layoutCount = layoutCount;
+        }
+
+        @Override
+        public void layout(Document document, DocumentSectionContext context) {
+            layoutCount.incrementAndGet();
+            for (int j = 0; j < pages; j++) {
+                if (j > 0) {
+                    document.add(new AreaBreak());
+                }
+                Paragraph paragraph = new Paragraph("Customer " + customer + ", page " + j);
+                if (j == 0) {
+                    paragraph.setProperty(Property.ID, "customer" + customer);
+                }
+                document.add(paragraph);
+            }
+        }
+    }
+}
@@ -27,12 +27,18 @@ import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import com.itextpdf.kernel.utils.CompareTool;
+import com.itextpdf.layout.element.Div;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
 import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.properties.FloatPropertyValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.renderer.ParagraphRenderer;
 import com.itextpdf.layout.renderer.TextRenderer;
@@ -42,6 +48,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -162,6 +170,149 @@ public class PreLayoutTest extends ExtendedITextTest{
         Assertions.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void relayoutFromChangedElementTest() throws IOException {
+        byte[] fullRelayout = createDocumentWithSummary(false, false, false);
+        byte[] incrementalRelayout = createDocumentWithSummary(true, false, false);
+        assertSameText(fullRelayout, incrementalRelayout);
+    }
+
+    @Test
+    public void relayoutFromElementAfterKeepWithNextTest() throws IOException {
+        byte[] fullRelayout = createDocumentWithSummary(false, true, false);
+        byte[] incrementalRelayout = createDocumentWithSummary(true, true, false);
+        assertSameText(fullRelayout, incrementalRelayout);
+    }
+
+    @Test
+    public void relayoutFromElementAfterOverflowingFloatTest() throws IOException {
+        // the overflow of the float is added to the document renderer on the next page, along with the paragraphs
+        byte[] fullRelayout = createDocumentWithSummary(false, false, true);
+        byte[] incrementalRelayout = createDocumentWithSummary(true, false, true);
+        assertSameText(fullRelayout, incrementalRelayout);
+    }
+
+    @Test
+    public void relayoutFromElementAfterOverflowingFloatAndKeepWithNextTest() throws IOException {
+        byte[] fullRelayout = createDocumentWithSummary(false, true, true);
+        byte[] incrementalRelayout = createDocumentWithSummary(true, true, true);
+        assertSameText(fullRelayout, incrementalRelayout);
+    }
+
+    @Test
+    public void relayoutFromElementKeepsPrecedingRenderersTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument, PageSize.DEFAULT, false);
+        for (int i = 0; i < 100; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        Text summaryText = new Text("Summary");
+        Paragraph summary = new Paragraph(summaryText);
+        document.add(summary);
+
+        List<IRenderer> childRenderers = document.getRenderer().getChildRenderers();
+        IRenderer firstRenderer = childRenderers.get(0);
+        IRenderer summaryRenderer = childRenderers.get(childRenderers.size() - 1);
+        int numberOfRenderers = childRenderers.size();
+        summaryText.setText("Updated summary");
+        document.relayout(summary);
+
+        childRenderers = document.getRenderer().getChildRenderers();
+        Assertions.assertSame(firstRenderer, childRenderers.get(0));
+        Assertions.assertNotSame(summaryRenderer, childRenderers.get(childRenderers.size() - 1));
+        Assertions.assertEquals(numberOfRenderers, childRenderers.size());
+        Assertions.assertEquals(summary, childRenderers.get(childRenderers.size() - 1).getModelElement());
+        document.close();
+    }
+
+    @Test
+    public void relayoutFromElementWithCustomDocumentRendererTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        Document document = new Document(pdfDocument, PageSize.DEFAULT, false);
+        document.setRenderer(new CustomDocumentRenderer(document));
+        document.add(new Paragraph("first"));
+        Paragraph second = new Paragraph("second");
+        document.add(second);
+
+        // the layout state of the subclass isn't known, so the layout is done from scratch
+        document.relayout(second);
+        Assertions.assertEquals(2, document.getRenderer().getChildRenderers().size());
+        document.close();
+
+        try (PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            Assertions.assertEquals(1, resultDocument.getNumberOfPages());
+            Assertions.assertEquals("first\nsecond", PdfTextExtractor.getTextFromPage(resultDocument.getPage(1)));
+        }
+    }
+
+    @Test
+    public void relayoutFromElementNotAddedToDocumentTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument, PageSize.DEFAULT, false);
+        document.add(new Paragraph("first"));
+
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> document.relayout(new Paragraph("second")));
+        Assertions.assertEquals(LayoutExceptionMessageConstant.ELEMENT_IS_NOT_A_CHILD_OF_DOCUMENT, e.getMessage());
+        document.close();
+    }
+
+    private static byte[] createDocumentWithSummary(boolean incremental, boolean keepWithNext,
+            boolean overflowingFloat) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        Document document = new Document(pdfDocument, PageSize.A5, false);
+        for (int i = 0; i < 150; i++) {
+            if (overflowingFloat && i == 10) {
+                Div note = new Div().setWidth(100);
+                note.setProperty(Property.FLOAT, FloatPropertyValue.LEFT);
+                for (int j = 0; j < 40; j++) {
+                    note.add(new Paragraph("Note line " + j));
+                }
+                document.add(note);
+            }
+            document.add(new Paragraph("Statement line " + i));
+        }
+        Paragraph heading = new Paragraph("Summary");
+        heading.setKeepWithNext(keepWithNext);
+        document.add(heading);
+        Text summaryText = new Text("Total: unknown");
+        Paragraph summary = new Paragraph(summaryText);
+        document.add(summary);
+        document.add(new Paragraph("End of statement"));
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            text.append("Total line ").append(i).append(' ');
+        }
+        summaryText.setText(text.toString());
+        if (incremental) {
+            document.relayout(summary);
+        } else {
+            document.relayout();
+        }
+        document.close();
+        return baos.toByteArray();
+    }
+
+    private static void assertSameText(byte[] expected, byte[] actual) throws IOException {
+        try (PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+                PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)))) {
+            Assertions.assertEquals(expectedDocument.getNumberOfPages(), actualDocument.getNumberOfPages());
+            for (int i = 1; i <= expectedDocument.getNumberOfPages(); i++) {
+                Assertions.assertEquals(PdfTextExtractor.getTextFromPage(expectedDocument.getPage(i)),
+                        PdfTextExtractor.getTextFromPage(actualDocument.getPage(i)));
+            }
+        }
+    }
+
+    private static class CustomDocumentRenderer extends DocumentRenderer {
+        CustomDocumentRenderer(Document document) {
+            super(document, false);
+        }
+    }
+
     static class TwoColumnParagraphRenderer extends ParagraphRenderer {
 
         int oneColumnPage = -1;
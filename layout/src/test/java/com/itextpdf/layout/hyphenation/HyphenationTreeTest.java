@@ -22,9 +22,19 @@
  */
 package com.itextpdf.layout.hyphenation;
 
+import com.itextpdf.io.util.ResourceUtil;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -56,4 +66,56 @@ public class HyphenationTreeTest extends ExtendedITextTest {
         String resultClassmapSc = new String(sc);
         Assertions.assertTrue(resultClassmapSc.contains(classPatterns));
     }
+
+    @Test
+    public void compiledPatternsRoundTripTest() throws HyphenationException, IOException {
+        InputStream xmlStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + "de.xml");
+        HyphenationTree parsedTree = Hyphenator.getHyphenationTree(xmlStream, "de");
+        Assertions.assertNotNull(parsedTree);
+
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        parsedTree.writeCompiledPatterns(compiled);
+        HyphenationTree compiledTree = new HyphenationTree();
+        compiledTree.loadCompiledPatterns(new ByteArrayInputStream(compiled.toByteArray()), "de");
+
+        Assertions.assertEquals(parsedTree.length, compiledTree.length);
+        Assertions.assertEquals(parsedTree.stoplist.size(), compiledTree.stoplist.size());
+        String[] words = new String[] {"Silbentrennung", "Donaudampfschifffahrt", "Geschwindigkeitsbegrenzung"};
+        for (String word : words) {
+            Assertions.assertEquals(parsedTree.hyphenate(word, 2, 2).toString(),
+                    compiledTree.hyphenate(word, 2, 2).toString());
+        }
+    }
+
+    @Test
+    public void loadCorruptedCompiledPatternsTest() {
+        HyphenationTree hyphenationTree = new HyphenationTree();
+        Assertions.assertThrows(HyphenationException.class, () -> hyphenationTree.loadCompiledPatterns(
+                new ByteArrayInputStream(new byte[] {1, 2, 3}), "corrupted"));
+    }
+
+    @Test
+    public void concurrentRequestsShareHyphenationTreeTest() throws Exception {
+        Hyphenator.clearHyphenationTreeCache();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<HyphenationTree>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<HyphenationTree>() {
+                    @Override
+                    public HyphenationTree call() {
+                        return Hyphenator.getHyphenationTree("en", "GB", null);
+                    }
+                }));
+            }
+            HyphenationTree expected = results.get(0).get();
+            Assertions.assertNotNull(expected);
+            for (Future<HyphenationTree> result : results) {
+                Assertions.assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+            Hyphenator.clearHyphenationTreeCache();
+        }
+    }
 }
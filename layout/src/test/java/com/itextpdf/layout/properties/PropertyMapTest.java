@@ -0,0 +1,108 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        PropertyMap properties = new PropertyMap();
+        Map<Integer, Object> expected = new HashMap<>();
+        for (int i = 154; i > 0; i -= 7) {
+            properties.set(i, "value" + i);
+            expected.put(i, "value" + i);
+        }
+        properties.set(Property.WIDTH, null);
+        expected.put(Property.WIDTH, null);
+        Assertions.assertEquals(expected, properties);
+        Assertions.assertTrue(properties.containsKey(Property.WIDTH));
+        Assertions.assertNull(properties.get(Property.WIDTH));
+        Assertions.assertEquals("value154", properties.set(154, "other"));
+        Assertions.assertEquals("other", properties.remove(154));
+        Assertions.assertNull(properties.remove(154));
+        Assertions.assertFalse(properties.containsKey(154));
+        Assertions.assertEquals(expected.size() - 1, properties.size());
+    }
+
+    @Test
+    public void iterationTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.set(Property.WIDTH, 1);
+        properties.set(Property.FONT_SIZE, 2);
+        properties.set(Property.BACKGROUND, 3);
+        List<Integer> keys = new ArrayList<>(properties.keySet());
+        for (int i = 1; i < keys.size(); i++) {
+            Assertions.assertTrue(keys.get(i - 1) < keys.get(i));
+        }
+        Iterator<Integer> iterator = properties.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == Property.FONT_SIZE) {
+                iterator.remove();
+            }
+        }
+        Assertions.assertEquals(2, properties.size());
+        Assertions.assertFalse(properties.containsKey(Property.FONT_SIZE));
+        Assertions.assertEquals(3, properties.get(Property.BACKGROUND));
+        Assertions.assertEquals(1, properties.get(Property.WIDTH));
+    }
+
+    @Test
+    public void copyTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.set(Property.WIDTH, 1);
+        properties.set(Property.FONT_SIZE, 2);
+        PropertyMap copy = new PropertyMap(properties);
+        properties.clear();
+        Assertions.assertTrue(properties.isEmpty());
+        Assertions.assertEquals(2, copy.size());
+        Assertions.assertEquals(1, copy.get(Property.WIDTH));
+    }
+
+    @Test
+    public void staticAccessToGenericMapTest() {
+        Map<Integer, Object> propertyMap = new PropertyMap();
+        Map<Integer, Object> hashMap = new HashMap<>();
+        Assertions.assertNull(PropertyMap.set(propertyMap, Property.FONT_SIZE, 1));
+        Assertions.assertNull(PropertyMap.set(hashMap, Property.FONT_SIZE, 1));
+        Assertions.assertEquals(1, PropertyMap.set(propertyMap, Property.FONT_SIZE, 2));
+        Assertions.assertEquals(1, PropertyMap.set(hashMap, Property.FONT_SIZE, 2));
+        Assertions.assertEquals(2, PropertyMap.get(propertyMap, Property.FONT_SIZE));
+        Assertions.assertEquals(2, PropertyMap.get(hashMap, Property.FONT_SIZE));
+        Assertions.assertTrue(PropertyMap.containsKey(propertyMap, Property.FONT_SIZE));
+        Assertions.assertTrue(PropertyMap.containsKey(hashMap, Property.FONT_SIZE));
+        Assertions.assertFalse(PropertyMap.containsKey(propertyMap, Property.WIDTH));
+        Assertions.assertFalse(PropertyMap.containsKey(hashMap, Property.WIDTH));
+    }
+}
@@ -54,6 +54,7 @@ import com.itextpdf.layout.properties.BackgroundPosition;
 import com.itextpdf.layout.properties.BackgroundRepeat;
 import com.itextpdf.layout.properties.BackgroundRepeat.BackgroundRepeatValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.test.AssertUtil;
 import com.itextpdf.test.ExtendedITextTest;
@@ -676,4 +677,72 @@ public class AbstractRendererUnitTest extends ExtendedITextTest {
         Rectangle rect = new Rectangle(0, 0);
         Assertions.assertThrows(ClassCastException.class, () -> renderer.applyMargins(rect, false));
     }
+
+    @Test
+    public void inheritedPropertyLookupFollowsParentModificationsTest() {
+        Div parentDiv = new Div();
+        parentDiv.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(10));
+        DivRenderer grandParentRenderer = new DivRenderer(new Div());
+        DivRenderer parentRenderer = new DivRenderer(parentDiv);
+        DivRenderer childRenderer = new DivRenderer(new Div());
+        parentRenderer.setParent(grandParentRenderer);
+        childRenderer.setParent(parentRenderer);
+        Assertions.assertEquals(UnitValue.createPointValue(10), childRenderer.<UnitValue>getProperty(Property.FONT_SIZE));
+        Assertions.assertNull(childRenderer.<TransparentColor>getProperty(Property.FONT_COLOR));
+
+        parentRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(12));
+        Assertions.assertEquals(UnitValue.createPointValue(12), childRenderer.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        parentRenderer.deleteOwnProperty(Property.FONT_SIZE);
+        Assertions.assertEquals(UnitValue.createPointValue(10), childRenderer.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        // the property of the model element is deleted by the renderer
+        parentRenderer.deleteProperty(Property.FONT_SIZE);
+        Assertions.assertNull(childRenderer.<UnitValue>getProperty(Property.FONT_SIZE));
+
+        grandParentRenderer.setProperty(Property.FONT_COLOR, new TransparentColor(ColorConstants.RED));
+        Assertions.assertEquals(ColorConstants.RED,
+                childRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+    }
+
+    @Test
+    public void inheritedPropertyLookupFollowsParentChangesTest() {
+        DivRenderer firstParent = new DivRenderer(new Div().setFontColor(ColorConstants.RED));
+        DivRenderer secondParent = new DivRenderer(new Div().setFontColor(ColorConstants.BLUE));
+        DivRenderer childRenderer = new DivRenderer(new Div());
+        DivRenderer grandChildRenderer = new DivRenderer(new Div());
+        childRenderer.setParent(firstParent);
+        grandChildRenderer.setParent(childRenderer);
+        Assertions.assertEquals(ColorConstants.RED,
+                grandChildRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        childRenderer.setParent(secondParent);
+        Assertions.assertEquals(ColorConstants.BLUE,
+                grandChildRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        childRenderer.setParent(null);
+        Assertions.assertNull(grandChildRenderer.<TransparentColor>getProperty(Property.FONT_COLOR));
+    }
+
+    @Test
+    public void inheritedPropertyLookupIsMemoisedForLayoutPassTest() {
+        Div parentDiv = new Div().setFontColor(ColorConstants.RED);
+        DivRenderer rootRenderer = new DivRenderer(new Div());
+        DivRenderer parentRenderer = new DivRenderer(parentDiv);
+        DivRenderer childRenderer = new DivRenderer(new Div());
+        parentRenderer.setParent(rootRenderer);
+        childRenderer.setParent(parentRenderer);
+        Assertions.assertEquals(ColorConstants.RED,
+                childRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        // the model elements are not expected to be modified during a layout pass
+        parentDiv.setFontColor(ColorConstants.BLUE);
+        Assertions.assertEquals(ColorConstants.RED,
+                childRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        // a new layout pass is started by the root renderer
+        rootRenderer.invalidateInheritedProperties();
+        Assertions.assertEquals(ColorConstants.BLUE,
+                childRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+    }
 }
@@ -0,0 +1,88 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class LayoutTemplateCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void templateIsReusedForSameElementAndWidthTest() {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            LayoutTemplateCache cache = new LayoutTemplateCache(pdfDocument);
+            Paragraph header = new Paragraph("Running header");
+
+            PdfFormXObject template = cache.getTemplate(header, 300);
+            Assertions.assertSame(template, cache.getTemplate(header, 300));
+            Assertions.assertNotSame(template, cache.getTemplate(header, 200));
+            Assertions.assertNotSame(template, cache.getTemplate(new Paragraph("Running header"), 300));
+
+            cache.invalidate(header);
+            Assertions.assertNotSame(template, cache.getTemplate(header, 300));
+        }
+    }
+
+    @Test
+    public void templateBBoxFitsOccupiedAreaTest() {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            LayoutTemplateCache cache = new LayoutTemplateCache(pdfDocument);
+            Div header = new Div().setHeight(50).setMargin(0);
+            header.add(new Paragraph("Running header"));
+
+            PdfFormXObject template = cache.getTemplate(header, 300);
+            Assertions.assertEquals(new Rectangle(300, 50).toString(), template.getBBox().toRectangle().toString());
+            Assertions.assertNotEquals(0, template.getPdfObject().getBytes().length);
+
+            for (int i = 0; i < 3; i++) {
+                new PdfCanvas(pdfDocument.addNewPage(PageSize.A4)).addXObjectAt(template, 36, 770);
+            }
+        }
+    }
+
+    @Test
+    public void elementHigherThanTemplateTest() {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            LayoutTemplateCache cache = new LayoutTemplateCache(pdfDocument);
+            Div header = new Div().setHeight(2 * AbstractRenderer.INF);
+
+            Exception e = Assertions.assertThrows(PdfException.class, () -> cache.getTemplate(header, 300));
+            Assertions.assertEquals(LayoutExceptionMessageConstant.ELEMENT_DOES_NOT_FIT_TEMPLATE_AREA, e.getMessage());
+        }
+    }
+}
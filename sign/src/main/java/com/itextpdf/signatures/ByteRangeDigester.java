@@ -0,0 +1,260 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RASInputStream;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Calculates digests of several byte ranges of the same source reading the source only once.
+ *
+ * <p>
+ * All the registered byte ranges are processed in a single pass over the source, each chunk of data is read once and
+ * fed to all the digests which need it. Digests of the same algorithm are additionally shared while their byte ranges
+ * cover the same data, e.g. the common prefix of signatures from different incremental revisions is hashed once and
+ * the digest state is cloned as soon as the byte ranges diverge.
+ */
+public class ByteRangeDigester {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final IRandomAccessSource source;
+    private final List<DigestRequest> requests = new ArrayList<>();
+    private boolean digested = false;
+
+    /**
+     * Creates new {@link ByteRangeDigester} instance.
+     *
+     * @param source {@link IRandomAccessSource} the byte ranges refer to
+     */
+    public ByteRangeDigester(IRandomAccessSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Registers a byte range to be digested.
+     *
+     * @param byteRange     byte range as pairs of offset and length, e.g. signature's /ByteRange
+     * @param messageDigest {@link MessageDigest} to be used, which shall not be updated yet
+     *
+     * @return index of the registered byte range to be used in {@link #getMessageDigest(int)}.
+     */
+    public int addByteRange(long[] byteRange, MessageDigest messageDigest) {
+        requests.add(new DigestRequest(byteRange, messageDigest));
+        return requests.size() - 1;
+    }
+
+    /**
+     * Reads the source and updates the digests with the registered byte ranges.
+     *
+     * @throws IOException if some I/O problem occurs
+     */
+    public void digest() throws IOException {
+        if (digested) {
+            return;
+        }
+        digested = true;
+        List<DigestNode> nodes = new ArrayList<>();
+        TreeSet<Long> boundaries = new TreeSet<>();
+        Map<String, DigestNode> sharedNodes = new HashMap<>();
+        for (DigestRequest request : requests) {
+            if (!request.isAscending()) {
+                // Such byte ranges can't be read in a single pass, so they are read separately.
+                digestSeparately(request);
+                continue;
+            }
+            for (int i = 0; i < request.ranges.length; i += 2) {
+                boundaries.add(request.ranges[i]);
+                boundaries.add(request.ranges[i] + request.ranges[i + 1]);
+            }
+            String key = request.messageDigest.getAlgorithm() + "/" + request.messageDigest.getProvider();
+            DigestNode node = sharedNodes.get(key);
+            if (node == null || !isCloneable(node.messageDigest)) {
+                node = new DigestNode(request.messageDigest);
+                nodes.add(node);
+                sharedNodes.put(key, node);
+            }
+            node.members.add(request);
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        Long start = boundaries.isEmpty() ? null : boundaries.first();
+        while (start != null) {
+            Long end = boundaries.higher(start);
+            if (end == null) {
+                break;
+            }
+            List<DigestNode> wantingNodes = splitNodes(nodes, start, end);
+            if (!wantingNodes.isEmpty() && !feed(wantingNodes, start, end, buffer)) {
+                // End of the source is reached, the following ranges can't be read anyway.
+                break;
+            }
+            start = end;
+        }
+        for (DigestNode node : nodes) {
+            for (int i = 0; i < node.members.size(); ++i) {
+                node.members.get(i).result = i == 0 ? node.messageDigest : cloneDigest(node.messageDigest);
+            }
+        }
+    }
+
+    /**
+     * Gets the digest updated with the registered byte range. {@link #digest()} shall be called first.
+     * <p>
+     * The returned instance may differ from the one passed to {@link #addByteRange(long[], MessageDigest)},
+     * if the digest state was shared with other byte ranges.
+     *
+     * @param index index returned by {@link #addByteRange(long[], MessageDigest)}
+     *
+     * @return {@link MessageDigest} updated with the registered byte range.
+     */
+    public MessageDigest getMessageDigest(int index) {
+        return requests.get(index).result;
+    }
+
+    private void digestSeparately(DigestRequest request) throws IOException {
+        try (InputStream data = new RASInputStream(new RandomAccessSourceFactory().createRanged(source,
+                request.ranges))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = data.read(buffer, 0, buffer.length)) > 0) {
+                request.messageDigest.update(buffer, 0, read);
+            }
+        }
+        request.result = request.messageDigest;
+    }
+
+    private static List<DigestNode> splitNodes(List<DigestNode> nodes, long start, long end) {
+        List<DigestNode> wantingNodes = new ArrayList<>();
+        int nodesCount = nodes.size();
+        for (int i = 0; i < nodesCount; ++i) {
+            DigestNode node = nodes.get(i);
+            List<DigestRequest> notWanting = new ArrayList<>();
+            for (DigestRequest request : node.members) {
+                if (!request.wants(start, end)) {
+                    notWanting.add(request);
+                }
+            }
+            if (notWanting.size() == node.members.size()) {
+                continue;
+            }
+            if (!notWanting.isEmpty()) {
+                // Requests which skip this part continue with their own copy of the digest state.
+                DigestNode detached = new DigestNode(cloneDigest(node.messageDigest));
+                for (DigestRequest request : notWanting) {
+                    node.members.remove(request);
+                    detached.members.add(request);
+                }
+                nodes.add(detached);
+            }
+            wantingNodes.add(node);
+        }
+        return wantingNodes;
+    }
+
+    private boolean feed(List<DigestNode> wantingNodes, long start, long end, byte[] buffer) throws IOException {
+        long position = start;
+        while (position < end) {
+            int read = source.get(position, buffer, 0, (int) Math.min(buffer.length, end - position));
+            if (read <= 0) {
+                return false;
+            }
+            for (DigestNode node : wantingNodes) {
+                node.messageDigest.update(buffer, 0, read);
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    private static boolean isCloneable(MessageDigest messageDigest) {
+        try {
+            messageDigest.clone();
+            return true;
+        } catch (CloneNotSupportedException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest messageDigest) {
+        try {
+            return (MessageDigest) messageDigest.clone();
+        } catch (CloneNotSupportedException e) {
+            // Only cloneable digests are ever shared.
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static final class DigestRequest {
+        final long[] ranges;
+        final MessageDigest messageDigest;
+        MessageDigest result;
+        private int currentRange = 0;
+
+        DigestRequest(long[] ranges, MessageDigest messageDigest) {
+            this.ranges = ranges;
+            this.messageDigest = messageDigest;
+        }
+
+        boolean isAscending() {
+            if (ranges.length % 2 != 0) {
+                return false;
+            }
+            long previousEnd = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] < previousEnd || ranges[i + 1] < 0) {
+                    return false;
+                }
+                previousEnd = ranges[i] + ranges[i + 1];
+            }
+            return true;
+        }
+
+        boolean wants(long start, long end) {
+            // Parts are processed in ascending order, so passed ranges are never needed again.
+            while (currentRange < ranges.length && ranges[currentRange] + ranges[currentRange + 1] <= start) {
+                currentRange += 2;
+            }
+            return currentRange < ranges.length && ranges[currentRange] <= start
+                    && end <= ranges[currentRange] + ranges[currentRange + 1];
+        }
+    }
+
+    private static final class DigestNode {
+        final MessageDigest messageDigest;
+        final List<DigestRequest> members = new ArrayList<>();
+
+        DigestNode(MessageDigest messageDigest) {
+            this.messageDigest = messageDigest;
+        }
+    }
+}
@@ -438,6 +438,56 @@ public class CertificateUtil {
         return SignUtils.checkIfIssuersMatch(certID, issuerCert);
     }
 
+    /**
+     * Retrieves the key identifier from the Subject Key Identifier extension of the given certificate.
+     *
+     * @param certificate the certificate
+     *
+     * @return the key identifier or null if the extension is absent or cannot be parsed.
+     */
+    public static byte[] getSubjectKeyIdentifier(X509Certificate certificate) {
+        try {
+            IASN1Primitive obj = getExtensionValue(certificate,
+                    FACTORY.createExtension().getSubjectKeyIdentifier().getId());
+            if (obj == null) {
+                return null;
+            }
+            IASN1OctetString keyIdentifier = FACTORY.createASN1OctetString(obj);
+            return keyIdentifier == null ? null : keyIdentifier.getOctets();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the key identifier from the Authority Key Identifier extension of the given certificate.
+     *
+     * @param certificate the certificate
+     *
+     * @return the key identifier or null if the extension or its key identifier is absent or cannot be parsed.
+     */
+    public static byte[] getAuthorityKeyIdentifier(X509Certificate certificate) {
+        try {
+            IASN1Primitive obj = getExtensionValue(certificate,
+                    FACTORY.createExtension().getAuthorityKeyIdentifier().getId());
+            if (obj == null) {
+                return null;
+            }
+            IASN1Sequence authorityKeyIdentifier = FACTORY.createASN1Sequence(obj);
+            for (int i = 0; authorityKeyIdentifier != null && i < authorityKeyIdentifier.size(); i++) {
+                IASN1TaggedObject taggedObject = FACTORY.createASN1TaggedObject(
+                        authorityKeyIdentifier.getObjectAt(i));
+                // keyIdentifier [0] IMPLICIT KeyIdentifier OPTIONAL
+                if (taggedObject != null && taggedObject.getTagNo() == 0) {
+                    return FACTORY.createASN1OctetString(taggedObject, false).getOctets();
+                }
+            }
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
     /**
      * Retrieves certificate extension value by its OID.
      *
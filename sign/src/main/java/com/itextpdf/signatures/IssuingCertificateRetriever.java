@@ -25,11 +25,13 @@ package com.itextpdf.signatures;
 import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
 import com.itextpdf.commons.bouncycastle.IBouncyCastleFactory;
 import com.itextpdf.commons.bouncycastle.cert.ocsp.IBasicOCSPResp;
+import com.itextpdf.commons.utils.Base64;
 import com.itextpdf.signatures.logs.SignLogMessageConstant;
 import com.itextpdf.signatures.validation.TrustedCertificatesStore;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,14 +58,26 @@ public class IssuingCertificateRetriever implements IIssuingCertificateRetriever
     private static final IBouncyCastleFactory FACTORY = BouncyCastleFactoryCreator.getFactory();
     private static final Logger LOGGER = LoggerFactory.getLogger(IssuingCertificateRetriever.class);
 
-    private final TrustedCertificatesStore trustedCertificatesStore = new TrustedCertificatesStore();
-    private final Map<String, List<Certificate>> knownCertificates = new HashMap<>();
+    private final TrustedCertificatesStore trustedCertificatesStore;
+    private final Map<String, Set<Certificate>> knownCertificates = new HashMap<>();
+    private final Map<String, Set<Certificate>> knownCertificatesByKeyIdentifier = new HashMap<>();
 
     /**
      * Creates {@link IssuingCertificateRetriever} instance.
      */
     public IssuingCertificateRetriever() {
-        // Empty constructor.
+        this(new TrustedCertificatesStore());
+    }
+
+    /**
+     * Creates {@link IssuingCertificateRetriever} instance, which uses provided trusted certificates storage.
+     * This allows to load large trusted certificates lists once and share them between several retrievers.
+     * Note, that trusted certificates added to this retriever are added to the provided storage.
+     *
+     * @param trustedCertificatesStore {@link TrustedCertificatesStore} to be used
+     */
+    public IssuingCertificateRetriever(TrustedCertificatesStore trustedCertificatesStore) {
+        this.trustedCertificatesStore = trustedCertificatesStore;
     }
 
     /**
@@ -93,11 +107,15 @@ public class IssuingCertificateRetriever implements IIssuingCertificateRetriever
                 Collection<Certificate> certificatesFromAIA = processCertificatesFromAIA(url);
                 if (certificatesFromAIA == null || certificatesFromAIA.isEmpty()) {
                     // Retrieve Issuer from the certificate store
-                    Certificate issuer = getIssuerFromCertificateSet(lastAddedCert, trustedCertificatesStore
-                            .getKnownCertificates(lastAddedCert.getIssuerX500Principal().getName()));
+                    byte[] keyIdentifier = CertificateUtil.getAuthorityKeyIdentifier(lastAddedCert);
+                    Certificate issuer = getIssuerFromCertificateSet(lastAddedCert, filterByKeyIdentifier(
+                            trustedCertificatesStore.getKnownCertificates(
+                                    lastAddedCert.getIssuerX500Principal().getName()),
+                            trustedCertificatesStore.getKnownCertificatesByKeyIdentifier(keyIdentifier)));
                     if (issuer == null || !isSignedBy(lastAddedCert, issuer)) {
-                        issuer = getIssuerFromCertificateSet(lastAddedCert, knownCertificates.get(
-                                lastAddedCert.getIssuerX500Principal().getName()));
+                        issuer = getIssuerFromCertificateSet(lastAddedCert, filterByKeyIdentifier(
+                                knownCertificates.get(lastAddedCert.getIssuerX500Principal().getName()),
+                                getKnownCertificatesByKeyIdentifier(keyIdentifier)));
                         if (issuer == null) {
                             // Unable to retrieve missing certificates
                             while (i < chain.length) {
@@ -186,6 +204,14 @@ public class IssuingCertificateRetriever implements IIssuingCertificateRetriever
                     certificate.getIssuerX500Principal().getName()) != null) {
                 possibleIssuers.addAll(knownCertificates.get(certificate.getIssuerX500Principal().getName()));
             }
+            // Issuers with the same name, but different keys, e.g. after CA rekeying, can't be issuers.
+            byte[] keyIdentifier = CertificateUtil.getAuthorityKeyIdentifier(certificate);
+            if (keyIdentifier != null) {
+                Set<Certificate> keyIdentifierMatches =
+                        trustedCertificatesStore.getKnownCertificatesByKeyIdentifier(keyIdentifier);
+                keyIdentifierMatches.addAll(getKnownCertificatesByKeyIdentifier(keyIdentifier));
+                possibleIssuers = new HashSet<>(filterByKeyIdentifier(possibleIssuers, keyIdentifierMatches));
+            }
             if (possibleIssuers.isEmpty()) {
                 List<List<X509Certificate>> singleChain = new ArrayList<>();
                 List<X509Certificate> chain = new ArrayList<>();
@@ -298,7 +324,7 @@ public class IssuingCertificateRetriever implements IIssuingCertificateRetriever
             if (issuers == null) {
                 issuers = new HashSet<>();
             }
-            List<Certificate> localIssuers = getCrlIssuersFromKnownCertificates((X509CRL) crl);
+            Collection<Certificate> localIssuers = getCrlIssuersFromKnownCertificates((X509CRL) crl);
             if (localIssuers != null) {
                 issuers.addAll(localIssuers);
             }
@@ -346,8 +372,15 @@ public class IssuingCertificateRetriever implements IIssuingCertificateRetriever
     public void addKnownCertificates(Collection<Certificate> certificates) {
         for (Certificate certificate : certificates) {
             String name = ((X509Certificate) certificate).getSubjectX500Principal().getName();
-            List<Certificate> certs = knownCertificates.computeIfAbsent(name,k -> new ArrayList<>());
-            certs.add(certificate);
+            Set<Certificate> certs = knownCertificates.computeIfAbsent(name, k -> new LinkedHashSet<>());
+            // The same certificates are usually added for each validated signature, no need to index them again.
+            if (certs.add(certificate)) {
+                byte[] keyIdentifier = CertificateUtil.getSubjectKeyIdentifier((X509Certificate) certificate);
+                if (keyIdentifier != null) {
+                    knownCertificatesByKeyIdentifier.computeIfAbsent(Base64.encodeBytes(keyIdentifier),
+                            k -> new LinkedHashSet<>()).add(certificate);
+                }
+            }
         }
     }
 
@@ -441,7 +474,33 @@ public class IssuingCertificateRetriever implements IIssuingCertificateRetriever
         return null;
     }
 
-    private List<Certificate> getCrlIssuersFromKnownCertificates(X509CRL crl) {
+    private Collection<Certificate> getCrlIssuersFromKnownCertificates(X509CRL crl) {
         return knownCertificates.get(crl.getIssuerX500Principal().getName());
     }
+
+    private Set<Certificate> getKnownCertificatesByKeyIdentifier(byte[] keyIdentifier) {
+        Set<Certificate> result = new HashSet<>();
+        if (keyIdentifier != null) {
+            Set<Certificate> certificates = knownCertificatesByKeyIdentifier.get(Base64.encodeBytes(keyIdentifier));
+            if (certificates != null) {
+                result.addAll(certificates);
+            }
+        }
+        return result;
+    }
+
+    private static Collection<Certificate> filterByKeyIdentifier(Collection<Certificate> candidates,
+            Set<Certificate> keyIdentifierMatches) {
+        if (candidates == null || keyIdentifierMatches.isEmpty()) {
+            return candidates;
+        }
+        List<Certificate> result = new ArrayList<>();
+        for (Certificate candidate : candidates) {
+            if (keyIdentifierMatches.contains(candidate)) {
+                result.add(candidate);
+            }
+        }
+        // Key identifiers are optional, so fall back to the name based matching if none of the candidates matches.
+        return result.isEmpty() ? candidates : result;
+    }
 }
@@ -247,7 +247,28 @@ public class PadesTwoPhaseSigningHelper {
         X509Certificate[] x509FullChain = Arrays.asList(fullChain).toArray(new X509Certificate[0]);
         PdfTwoPhaseSigner pdfTwoPhaseSigner = new PdfTwoPhaseSigner(inputDocument, outputStream);
         pdfTwoPhaseSigner.setStampingProperties(stampingProperties);
+        return createCMSContainerWithoutSignature(pdfTwoPhaseSigner, x509FullChain, digestAlgorithm,
+                signerProperties, estimatedSize, tsaClient == null ? 0 : tsaClient.getTokenSizeEstimate());
+    }
 
+    /**
+     * Creates CMS container compliant with PAdES level and prepares the document for the future signature.
+     *
+     * @param pdfTwoPhaseSigner  {@link PdfTwoPhaseSigner} instance to prepare the document with
+     * @param x509FullChain      complete certificate chain to be added to the CMS container
+     * @param digestAlgorithm    the algorithm to generate the digest with
+     * @param signerProperties   properties to be used in the signing operations
+     * @param estimatedSize      the size of the space reserved for the CMS container, or -1 to estimate it
+     * @param additionalSize     the size to be reserved in addition to the estimated one, e.g. for a timestamp
+     *
+     * @return prepared CMS container without signature.
+     *
+     * @throws IOException                  if an I/O error occurs.
+     * @throws GeneralSecurityException     if some problem with signature or security occur.
+     */
+    static CMSContainer createCMSContainerWithoutSignature(PdfTwoPhaseSigner pdfTwoPhaseSigner,
+            X509Certificate[] x509FullChain, String digestAlgorithm, SignerProperties signerProperties,
+            int estimatedSize, int additionalSize) throws IOException, GeneralSecurityException {
         CMSContainer cms = new CMSContainer();
         SignerInfo signerInfo = new SignerInfo();
         String digestAlgorithmOid = DigestAlgorithms.getAllowedDigest(digestAlgorithm);
@@ -257,10 +278,8 @@ public class PadesTwoPhaseSigningHelper {
         cms.setSignerInfo(signerInfo);
 
         MessageDigest messageDigest = MessageDigest.getInstance(DigestAlgorithms.getDigest(digestAlgorithmOid));
-        int realSignatureSize = (messageDigest.getDigestLength() + (int) cms.getSizeEstimation()) * 2 + 2;
-        if (tsaClient != null) {
-            realSignatureSize += tsaClient.getTokenSizeEstimate();
-        }
+        int realSignatureSize = (messageDigest.getDigestLength() + (int) cms.getSizeEstimation()) * 2 + 2
+                + additionalSize;
         int expectedSignatureSize = estimatedSize < 0 ? realSignatureSize : estimatedSize;
 
         byte[] digestedDocumentBytes = pdfTwoPhaseSigner.prepareDocumentForSignature(signerProperties, digestAlgorithm,
@@ -389,28 +408,39 @@ public class PadesTwoPhaseSigningHelper {
 
     private byte[] setSignatureAlgorithmAndSignature(IExternalSignature externalSignature, CMSContainer cmsContainer)
             throws IOException, GeneralSecurityException {
-        String signatureDigest = externalSignature.getDigestAlgorithmName();
+        setSignatureAlgorithm(cmsContainer, externalSignature.getDigestAlgorithmName(),
+                externalSignature.getSignatureAlgorithmName(), externalSignature.getSignatureMechanismParameters());
+
+        byte[] signedAttributes = cmsContainer.getSerializedSignedAttributes();
+        byte[] signature = externalSignature.sign(signedAttributes);
+        cmsContainer.getSignerInfo().setSignature(signature);
+        return signature;
+    }
+
+    /**
+     * Sets the signature algorithm of the CMS container, which digest algorithm shall be the one of the signature.
+     *
+     * @param cmsContainer              the CMS container to be signed
+     * @param signatureDigest           the digest algorithm of the signature
+     * @param signatureAlgorithm        the signature algorithm, disregarding the digest function
+     * @param signatureMechanismParams  the signature algorithm parameters, or null if there are none
+     */
+    static void setSignatureAlgorithm(CMSContainer cmsContainer, String signatureDigest, String signatureAlgorithm,
+            ISignatureMechanismParams signatureMechanismParams) {
         String containerDigest = cmsContainer.getDigestAlgorithm().getAlgorithmOid();
-        String providedSignatureAlgorithm = externalSignature.getSignatureAlgorithmName();
         if (!DigestAlgorithms.getAllowedDigest(signatureDigest).equals(containerDigest)) {
             throw new PdfException(MessageFormatUtil.format(
                     SignExceptionMessageConstant.DIGEST_ALGORITHMS_ARE_NOT_SAME,
                     DigestAlgorithms.getDigest(containerDigest), signatureDigest));
         }
-        ISignatureMechanismParams signatureMechanismParams = externalSignature.getSignatureMechanismParameters();
         if (signatureMechanismParams == null) {
             cmsContainer.getSignerInfo().setSignatureAlgorithm(new AlgorithmIdentifier(
-                    SignatureMechanisms.getSignatureMechanismOid(providedSignatureAlgorithm, signatureDigest)));
+                    SignatureMechanisms.getSignatureMechanismOid(signatureAlgorithm, signatureDigest)));
         } else {
             cmsContainer.getSignerInfo().setSignatureAlgorithm(new AlgorithmIdentifier(
-                    SignatureMechanisms.getSignatureMechanismOid(providedSignatureAlgorithm, signatureDigest),
+                    SignatureMechanisms.getSignatureMechanismOid(signatureAlgorithm, signatureDigest),
                     signatureMechanismParams.toEncodable().toASN1Primitive()));
         }
-
-        byte[] signedAttributes = cmsContainer.getSerializedSignedAttributes();
-        byte[] signature = externalSignature.sign(signedAttributes);
-        cmsContainer.getSignerInfo().setSignature(signature);
-        return signature;
     }
 
     private PdfPadesSigner createPadesSigner(PdfReader inputDocument, OutputStream outputStream) {
@@ -0,0 +1,406 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.StampingProperties;
+import com.itextpdf.signatures.cms.CMSContainer;
+import com.itextpdf.signatures.exceptions.SignExceptionMessageConstant;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Class that signs many documents with PAdES Baseline-B signatures using a single signing request.
+ *
+ * <p>
+ * All the added documents are prepared for signing in the same way as it is done by
+ * {@link PadesTwoPhaseSigningHelper#createCMSContainerWithoutSignature}, then the signed attributes of all the
+ * documents are signed with one {@link IExternalBatchSignature#sign} call and finally the signatures are added to
+ * the prepared documents. This way the signing latency, e.g. of a network HSM, doesn't depend on the number of
+ * documents. If {@link ExecutorService} is set, documents are prepared and finalized concurrently.
+ *
+ * <p>
+ * Note, that the prepared documents are kept in memory until the signatures are added.
+ */
+public class PdfBatchSigner {
+    private final List<BatchDocument> documents = new ArrayList<>();
+    private StampingProperties stampingProperties = new StampingProperties().useAppendMode();
+    private IIssuingCertificateRetriever issuingCertificateRetriever = new IssuingCertificateRetriever();
+    private IExternalDigest externalDigest;
+    private ExecutorService executorService;
+    private int estimatedSize = -1;
+
+    /**
+     * Creates new {@link PdfBatchSigner} instance.
+     */
+    public PdfBatchSigner() {
+        // Empty constructor.
+    }
+
+    /**
+     * Adds the document to be signed in the next {@link #signWithBaselineBProfile} call.
+     *
+     * @param reader           {@link PdfReader} instance to read the original PDF file
+     * @param outputStream     {@link OutputStream} output stream to write the signed PDF file into
+     * @param signerProperties properties to be used in the signing operation of this document,
+     *                         shall not be shared between documents
+     *
+     * @return same instance of {@link PdfBatchSigner}
+     */
+    public PdfBatchSigner addDocument(PdfReader reader, OutputStream outputStream, SignerProperties signerProperties) {
+        documents.add(new BatchDocument(reader, outputStream, signerProperties));
+        return this;
+    }
+
+    /**
+     * Set {@link ExecutorService} to be used to prepare and finalize documents concurrently.
+     * <p>
+     * If none is set, documents are processed one after another in the calling thread.
+     *
+     * @param executorService {@link ExecutorService} instance to be used
+     *
+     * @return same instance of {@link PdfBatchSigner}
+     */
+    public PdfBatchSigner setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * Set {@link StampingProperties} to be used for all the documents.
+     * <p>
+     * If none is set, stamping properties with append mode enabled will be used.
+     *
+     * @param stampingProperties {@link StampingProperties} instance to be used
+     *
+     * @return same instance of {@link PdfBatchSigner}
+     */
+    public PdfBatchSigner setStampingProperties(StampingProperties stampingProperties) {
+        this.stampingProperties = stampingProperties;
+        return this;
+    }
+
+    /**
+     * Set certificate retriever to complete the signing certificate chain.
+     * <p>
+     * The chain is completed once for the whole batch.
+     * If none is set, {@link IssuingCertificateRetriever} instance will be used.
+     *
+     * @param issuingCertificateRetriever {@link IIssuingCertificateRetriever} instance to be used
+     *
+     * @return same instance of {@link PdfBatchSigner}
+     */
+    public PdfBatchSigner setIssuingCertificateRetriever(IIssuingCertificateRetriever issuingCertificateRetriever) {
+        this.issuingCertificateRetriever = issuingCertificateRetriever;
+        return this;
+    }
+
+    /**
+     * Use the external digest to inject specific digest implementations.
+     *
+     * @param externalDigest the IExternalDigest instance to use to generate document digests
+     *
+     * @return same instance of {@link PdfBatchSigner}
+     */
+    public PdfBatchSigner setExternalDigest(IExternalDigest externalDigest) {
+        this.externalDigest = externalDigest;
+        return this;
+    }
+
+    /**
+     * Set the estimated size of the signature, this is the size of the space reserved for
+     * the Cryptographic Message Container in each document.
+     * <p>
+     * If none is set, the size is estimated based on the certificate chain.
+     *
+     * @param estimatedSize estimated size of the signatures
+     *
+     * @return same instance of {@link PdfBatchSigner}
+     */
+    public PdfBatchSigner setEstimatedSize(int estimatedSize) {
+        this.estimatedSize = estimatedSize;
+        return this;
+    }
+
+    /**
+     * Signs all the added documents with PAdES Baseline-B profile using a single signing request.
+     * <p>
+     * The output streams of the documents are closed. Once called, the added documents are removed from
+     * this instance, so that it can be used to sign the next batch. This is also the case if signing fails,
+     * since the readers and the output streams of the documents can't be used again.
+     * <p>
+     * If the signatures can't be added to some of the documents, the rest of the documents are still signed and
+     * {@link PdfException} is thrown afterwards, which lists the indices of the failed documents in the order they
+     * were added, and is caused by the first failure.
+     *
+     * @param externalBatchSignature external batch signature to do the actual signing
+     * @param chain                  the certificate chain of the signing certificate
+     *
+     * @throws IOException              if some I/O problem occurs.
+     * @throws GeneralSecurityException if some problem during apply security algorithms occurs.
+     */
+    public void signWithBaselineBProfile(IExternalBatchSignature externalBatchSignature, Certificate[] chain)
+            throws IOException, GeneralSecurityException {
+        List<BatchDocument> batch = new ArrayList<>(documents);
+        documents.clear();
+        try {
+            signBatch(batch, externalBatchSignature, chain);
+        } catch (Exception e) {
+            // The failures to close the output streams don't replace the signing failure.
+            for (IOException closingException : closeOutputStreams(batch)) {
+                e.addSuppressed(closingException);
+            }
+            throw e;
+        }
+        List<IOException> closingExceptions = closeOutputStreams(batch);
+        if (!closingExceptions.isEmpty()) {
+            IOException closingException = closingExceptions.get(0);
+            for (int i = 1; i < closingExceptions.size(); ++i) {
+                closingException.addSuppressed(closingExceptions.get(i));
+            }
+            throw closingException;
+        }
+    }
+
+    private void signBatch(List<BatchDocument> batch, IExternalBatchSignature externalBatchSignature,
+            Certificate[] chain) throws IOException, GeneralSecurityException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Certificate[] fullChain = issuingCertificateRetriever.retrieveMissingCertificates(chain);
+        X509Certificate[] x509FullChain = Arrays.asList(fullChain).toArray(new X509Certificate[0]);
+
+        List<Callable<byte[]>> preparations = new ArrayList<>(batch.size());
+        for (BatchDocument document : batch) {
+            preparations.add(() -> prepareDocument(document, x509FullChain, externalBatchSignature));
+        }
+        List<byte[]> signedAttributes = invokeAll(preparations);
+
+        List<byte[]> signatures = externalBatchSignature.sign(signedAttributes);
+        if (signatures == null || signatures.size() != batch.size()) {
+            throw new PdfException(MessageFormatUtil.format(
+                    SignExceptionMessageConstant.BATCH_SIGNATURES_COUNT_MISMATCH,
+                    signatures == null ? 0 : signatures.size(), batch.size()));
+        }
+
+        List<Callable<byte[]>> finalizations = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); ++i) {
+            BatchDocument document = batch.get(i);
+            byte[] signature = signatures.get(i);
+            finalizations.add(() -> {
+                addSignature(document, signature);
+                return signature;
+            });
+        }
+        // A failure to finalize one document doesn't prevent the rest of them from being signed.
+        Exception[] failures = invokeEach(finalizations);
+        List<Integer> failedDocuments = new ArrayList<>();
+        Exception firstFailure = null;
+        for (int i = 0; i < failures.length; ++i) {
+            if (failures[i] != null) {
+                failedDocuments.add(i);
+                if (firstFailure == null) {
+                    firstFailure = failures[i];
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw new PdfException(MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_DOCUMENTS_SIGNING_FAILED,
+                    failedDocuments.size(), batch.size(), failedDocuments), firstFailure);
+        }
+    }
+
+    private byte[] prepareDocument(BatchDocument document, X509Certificate[] x509FullChain,
+            IExternalBatchSignature externalBatchSignature) throws IOException, GeneralSecurityException {
+        ByteArrayOutputStream preparedDocument = new ByteArrayOutputStream();
+        PdfTwoPhaseSigner pdfTwoPhaseSigner = new PdfTwoPhaseSigner(document.reader, preparedDocument)
+                .setStampingProperties(stampingProperties)
+                .setExternalDigest(externalDigest);
+        CMSContainer cms = PadesTwoPhaseSigningHelper.createCMSContainerWithoutSignature(pdfTwoPhaseSigner,
+                x509FullChain, externalBatchSignature.getDigestAlgorithmName(), document.signerProperties,
+                estimatedSize, 0);
+        PadesTwoPhaseSigningHelper.setSignatureAlgorithm(cms, externalBatchSignature.getDigestAlgorithmName(),
+                externalBatchSignature.getSignatureAlgorithmName(),
+                externalBatchSignature.getSignatureMechanismParameters());
+
+        document.preparedDocument = preparedDocument.toByteArray();
+        document.cmsContainer = cms;
+        return cms.getSerializedSignedAttributes();
+    }
+
+    private void addSignature(BatchDocument document, byte[] signature) throws IOException, GeneralSecurityException {
+        document.cmsContainer.getSignerInfo().setSignature(signature);
+        try (PdfDocument pdfDocument = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(document.preparedDocument)), stampingProperties)) {
+            String fieldName = document.signerProperties.getFieldName();
+            if (fieldName == null) {
+                List<String> signatureNames = new SignatureUtil(pdfDocument).getSignatureNames();
+                fieldName = signatureNames.get(signatureNames.size() - 1);
+            }
+            PdfTwoPhaseSigner.addSignatureToPreparedDocument(pdfDocument, fieldName, document.outputStream,
+                    document.cmsContainer);
+        } finally {
+            document.preparedDocument = null;
+        }
+        // If the signature can't be added, the output stream is closed along with the rest of the batch,
+        // so that a failure to close it doesn't replace the signing failure.
+        document.closeOutputStream();
+    }
+
+    private List<byte[]> invokeAll(List<Callable<byte[]>> tasks) throws IOException, GeneralSecurityException {
+        List<byte[]> results = new ArrayList<>(tasks.size());
+        if (executorService == null) {
+            for (Callable<byte[]> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+        List<Future<byte[]>> futures = new ArrayList<>(tasks.size());
+        for (Callable<byte[]> task : tasks) {
+            futures.add(executorService.submit(task));
+        }
+        try {
+            for (Future<byte[]> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PdfException(cause);
+        } finally {
+            for (Future<byte[]> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return results;
+    }
+
+    private Exception[] invokeEach(List<Callable<byte[]>> tasks) {
+        Exception[] failures = new Exception[tasks.size()];
+        if (executorService == null) {
+            for (int i = 0; i < tasks.size(); ++i) {
+                try {
+                    tasks.get(i).call();
+                } catch (Exception e) {
+                    failures[i] = e;
+                }
+            }
+            return failures;
+        }
+        List<Future<byte[]>> futures = new ArrayList<>(tasks.size());
+        for (Callable<byte[]> task : tasks) {
+            futures.add(executorService.submit(task));
+        }
+        // All the tasks are waited for, so that none of them writes into an output stream after it is closed.
+        boolean interrupted = false;
+        for (int i = 0; i < futures.size(); ++i) {
+            while (true) {
+                try {
+                    futures.get(i).get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    failures[i] = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return failures;
+    }
+
+    private static byte[] call(Callable<byte[]> task) throws IOException, GeneralSecurityException {
+        try {
+            return task.call();
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PdfException(e);
+        }
+    }
+
+    private static List<IOException> closeOutputStreams(List<BatchDocument> batch) {
+        List<IOException> closingExceptions = new ArrayList<>();
+        for (BatchDocument document : batch) {
+            try {
+                document.closeOutputStream();
+            } catch (IOException e) {
+                closingExceptions.add(e);
+            }
+        }
+        return closingExceptions;
+    }
+
+    private static final class BatchDocument {
+        final PdfReader reader;
+        final OutputStream outputStream;
+        final SignerProperties signerProperties;
+        byte[] preparedDocument;
+        CMSContainer cmsContainer;
+
+        private boolean outputStreamClosed = false;
+
+        BatchDocument(PdfReader reader, OutputStream outputStream, SignerProperties signerProperties) {
+            this.reader = reader;
+            this.outputStream = outputStream;
+            this.signerProperties = signerProperties;
+        }
+
+        void closeOutputStream() throws IOException {
+            if (!outputStreamClosed) {
+                outputStreamClosed = true;
+                outputStream.close();
+            }
+        }
+    }
+}
@@ -875,6 +875,28 @@ public class PdfPKCS7 {
         }
     }
 
+    /**
+     * Gets the digest which is updated by {@link #update(byte[], int, int)}, so that the signed data
+     * can be digested externally.
+     *
+     * @return the digest of the signed data or {@code null} if signed data is fed directly into signature verifier.
+     */
+    MessageDigest getSignedDataDigest() {
+        if (encapMessageContent != null || digestAttr != null || isTsp) {
+            return messageDigest;
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the digest returned by {@link #getSignedDataDigest()} with the one already updated with signed data.
+     *
+     * @param messageDigest the digest updated with signed data
+     */
+    void setSignedDataDigest(MessageDigest messageDigest) {
+        this.messageDigest = messageDigest;
+    }
+
     /**
      * Update the digest with the specified bytes.
      * This method is used both for signing and verifying
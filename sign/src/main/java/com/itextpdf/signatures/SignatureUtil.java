@@ -47,10 +47,13 @@ import com.itextpdf.signatures.exceptions.SignExceptionMessageConstant;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -122,40 +125,59 @@ public class SignatureUtil {
             return null;
         }
         try {
-            PdfName sub = signature.getSubFilter();
-            PdfString contents = signature.getContents();
-            PdfPKCS7 pk = null;
-            if (sub.equals(PdfName.Adbe_x509_rsa_sha1)) {
-                PdfString cert = signature.getPdfObject().getAsString(PdfName.Cert);
-                if (cert == null) {
-                    cert = signature.getPdfObject().getAsArray(PdfName.Cert).getAsString(0);
-                }
-                pk = new PdfPKCS7(PdfEncodings.convertToBytes(contents.getValue(), null), cert.getValueBytes(),
-                        securityProvider);
-            } else {
-                pk = new PdfPKCS7(PdfEncodings.convertToBytes(contents.getValue(), null), sub, securityProvider);
-            }
+            PdfPKCS7 pk = createPdfPKCS7(signature, securityProvider);
             updateByteRange(pk, signature);
-            PdfString date = signature.getDate();
-            if (date != null) {
-                pk.setSignDate(PdfDate.decode(date.toString()));
-            }
-            String signName = signature.getName();
-            pk.setSignName(signName);
-            String reason = signature.getReason();
-            if (reason != null) {
-                pk.setReason(reason);
-            }
-            String location = signature.getLocation();
-            if (location != null) {
-                pk.setLocation(location);
-            }
             return pk;
         } catch (Exception e) {
             throw new PdfException(e);
         }
     }
 
+    /**
+     * Prepares {@link PdfPKCS7} instances for several signatures at once.
+     * <p>
+     * The result is the same as calling {@link #readSignatureData(String, String)} for each signature,
+     * but the signed byte ranges are read in a single pass over the document, see {@link ByteRangeDigester}.
+     * This considerably reduces the amount of data read and digested for documents with many
+     * incremental revisions, since the data shared by the revisions is digested only once.
+     *
+     * @param signatureFieldNames the signature field names
+     * @param securityProvider    the security provider or null for the default provider
+     *
+     * @return a map from the signature field names to the {@link PdfPKCS7} instances, which preserves the
+     * order of the passed names. Names of fields which don't contain signatures are not included.
+     */
+    public Map<String, PdfPKCS7> readSignaturesData(Collection<String> signatureFieldNames,
+            String securityProvider) {
+        Map<String, PdfPKCS7> result = new LinkedHashMap<>();
+        ByteRangeDigester digester = new ByteRangeDigester(document.getReader().getSafeFile().createSourceView());
+        Map<PdfPKCS7, Integer> digestIndices = new HashMap<>();
+        try {
+            for (String signatureFieldName : signatureFieldNames) {
+                PdfSignature signature = getSignature(signatureFieldName);
+                if (signature == null) {
+                    continue;
+                }
+                PdfPKCS7 pk = createPdfPKCS7(signature, securityProvider);
+                MessageDigest signedDataDigest = pk.getSignedDataDigest();
+                if (signedDataDigest == null) {
+                    updateByteRange(pk, signature);
+                } else {
+                    digestIndices.put(pk, digester.addByteRange(signature.getByteRange().toLongArray(),
+                            signedDataDigest));
+                }
+                result.put(signatureFieldName, pk);
+            }
+            digester.digest();
+        } catch (Exception e) {
+            throw new PdfException(e);
+        }
+        for (Map.Entry<PdfPKCS7, Integer> entry : digestIndices.entrySet()) {
+            entry.getKey().setSignedDataDigest(digester.getMessageDigest((int) entry.getValue()));
+        }
+        return result;
+    }
+
     /**
      * Get {@link PdfSignature} dictionary based on the provided name.
      *
@@ -191,6 +213,38 @@ public class SignatureUtil {
         return field.getPdfObject();
     }
 
+    /* Creates the PdfPKCS7 of the signature, which signed data is not digested yet */
+    private static PdfPKCS7 createPdfPKCS7(PdfSignature signature, String securityProvider) {
+        PdfName sub = signature.getSubFilter();
+        PdfString contents = signature.getContents();
+        PdfPKCS7 pk = null;
+        if (sub.equals(PdfName.Adbe_x509_rsa_sha1)) {
+            PdfString cert = signature.getPdfObject().getAsString(PdfName.Cert);
+            if (cert == null) {
+                cert = signature.getPdfObject().getAsArray(PdfName.Cert).getAsString(0);
+            }
+            pk = new PdfPKCS7(PdfEncodings.convertToBytes(contents.getValue(), null), cert.getValueBytes(),
+                    securityProvider);
+        } else {
+            pk = new PdfPKCS7(PdfEncodings.convertToBytes(contents.getValue(), null), sub, securityProvider);
+        }
+        PdfString date = signature.getDate();
+        if (date != null) {
+            pk.setSignDate(PdfDate.decode(date.toString()));
+        }
+        String signName = signature.getName();
+        pk.setSignName(signName);
+        String reason = signature.getReason();
+        if (reason != null) {
+            pk.setReason(reason);
+        }
+        String location = signature.getLocation();
+        if (location != null) {
+            pk.setLocation(location);
+        }
+        return pk;
+    }
+
     /* Updates the /ByteRange with the provided value */
     private void updateByteRange(PdfPKCS7 pkcs7, PdfSignature signature) {
         PdfArray b = signature.getByteRange();
@@ -35,6 +35,10 @@ public final class SignExceptionMessageConstant {
     public static final String TOKEN_ESTIMATION_SIZE_IS_NOT_LARGE_ENOUGH = "Timestamp token estimation size is not " 
             + "large enough to accommodate the entire timestamp token. Timestamp token estimation size is: {0} bytes, " 
             + "however real timestamp token size is: {1} bytes.";
+    public static final String BATCH_SIGNATURES_COUNT_MISMATCH = "External batch signature returned {0} "
+            + "signatures for {1} messages.";
+    public static final String BATCH_DOCUMENTS_SIGNING_FAILED = "Signatures couldn't be added to {0} of {1} "
+            + "documents of the batch, the indices of the failed documents are: {2}.";
     public static final String CANNOT_DECODE_PKCS7_SIGNED_DATA_OBJECT = "Cannot decode PKCS#7 SignedData object.";
     public static final String CANNOT_FIND_SIGNING_CERTIFICATE_WITH_THIS_SERIAL = "Cannot find signing certificate "
             + "with serial {0}.";
@@ -34,6 +34,10 @@ public final class SignLogMessageConstant {
             "Revocation data for certificate: \"{0}\" is not added due to validity assured - short term extension.";
     public static final String UNABLE_TO_PARSE_REV_INFO = "Unable to parse signed data revocation info item " +
             "since it is incorrect or unsupported (e.g. SCVP Request and Response).";
+    public static final String UNABLE_TO_READ_STORED_REVOCATION_DATA =
+            "Unable to read stored revocation data {0}: {1}";
+    public static final String UNABLE_TO_STORE_CRL = "Unable to store CRL from {0}: {1}";
+    public static final String UNABLE_TO_STORE_OCSP_RESPONSE = "Unable to store OCSP response for {0}: {1}";
     public static final String VALID_CERTIFICATE_IS_REVOKED = "The certificate was valid on the verification date, " +
             "but has been revoked since {0}.";
 
@@ -0,0 +1,327 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.signatures.validation;
+
+import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.commons.bouncycastle.IBouncyCastleFactory;
+import com.itextpdf.commons.bouncycastle.cert.ocsp.IBasicOCSPResp;
+import com.itextpdf.commons.bouncycastle.cert.ocsp.ISingleResp;
+import com.itextpdf.commons.utils.DateTimeUtil;
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.signatures.BouncyCastleDigest;
+import com.itextpdf.signatures.CertificateUtil;
+import com.itextpdf.signatures.logs.SignLogMessageConstant;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread-safe cache of revocation data, which can be shared between validators and threads.
+ *
+ * <p>
+ * CRLs are stored per distribution point, OCSP responses are stored per issuer and serial number of the checked
+ * certificate. An entry is only returned while its next update date (if any) has not passed and its this update date
+ * is still within the freshness requested by the caller, so that the same data would have been accepted by
+ * {@link CRLValidator} and {@link OCSPValidator} anyway. Optionally the entries can be stored in a directory,
+ * so that they survive restarts and can be shared between processes.
+ */
+public class RevocationDataCache {
+    private static final IBouncyCastleFactory BOUNCY_CASTLE_FACTORY = BouncyCastleFactoryCreator.getFactory();
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevocationDataCache.class);
+
+    private static final String CRL_KEY_PREFIX = "crl:";
+    private static final String OCSP_KEY_PREFIX = "ocsp:";
+    private static final String CRL_FILE_EXTENSION = ".crl";
+    private static final String OCSP_FILE_EXTENSION = ".ocsp";
+
+    private final Map<String, CacheEntry<X509CRL>> crls = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry<IBasicOCSPResp>> ocspResponses = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final String storageDirectory;
+
+    /**
+     * Creates new {@link RevocationDataCache} instance which keeps revocation data in memory only.
+     */
+    public RevocationDataCache() {
+        this(null);
+    }
+
+    /**
+     * Creates new {@link RevocationDataCache} instance which additionally stores revocation data in the directory.
+     *
+     * @param storageDirectory the directory to store revocation data in, or {@code null} to keep it in memory only
+     */
+    public RevocationDataCache(String storageDirectory) {
+        this.storageDirectory = storageDirectory;
+        if (storageDirectory != null) {
+            FileUtil.createDirectories(storageDirectory);
+        }
+    }
+
+    /**
+     * Gets the cached CRL for the distribution point.
+     *
+     * @param distributionPoint the distribution point the CRL was retrieved from
+     * @param currentDate       {@link Date} at which the CRL is going to be used
+     * @param freshness         maximum allowed age of the CRL, counted from its this update date
+     *
+     * @return cached {@link X509CRL} or {@code null} if there is no usable CRL for the distribution point.
+     */
+    public X509CRL getCrl(String distributionPoint, Date currentDate, Duration freshness) {
+        return getEntry(crls, CRL_KEY_PREFIX + distributionPoint, CRL_FILE_EXTENSION, currentDate, freshness);
+    }
+
+    /**
+     * Stores the CRL retrieved from the distribution point.
+     *
+     * @param distributionPoint the distribution point the CRL was retrieved from
+     * @param crl               {@link X509CRL} to be stored
+     */
+    public void putCrl(String distributionPoint, X509CRL crl) {
+        String key = CRL_KEY_PREFIX + distributionPoint;
+        crls.put(key, new CacheEntry<>(crl, crl.getThisUpdate(), crl.getNextUpdate()));
+        try {
+            store(key, CRL_FILE_EXTENSION, crl.getEncoded());
+        } catch (Exception e) {
+            LOGGER.warn(MessageFormatUtil.format(SignLogMessageConstant.UNABLE_TO_STORE_CRL, distributionPoint,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets the cached OCSP response for the certificate.
+     *
+     * @param certificate the certificate, which revocation status was requested
+     * @param issuerCert  the issuer of the certificate
+     * @param currentDate {@link Date} at which the response is going to be used
+     * @param freshness   maximum allowed age of the response, counted from its this update date
+     *
+     * @return cached {@link IBasicOCSPResp} or {@code null} if there is no usable response for the certificate.
+     */
+    public IBasicOCSPResp getOcspResponse(X509Certificate certificate, X509Certificate issuerCert, Date currentDate,
+            Duration freshness) {
+        return getEntry(ocspResponses, createOcspKey(certificate, issuerCert), OCSP_FILE_EXTENSION, currentDate,
+                freshness);
+    }
+
+    /**
+     * Stores the OCSP response retrieved for the certificate.
+     *
+     * @param certificate  the certificate, which revocation status was requested
+     * @param issuerCert   the issuer of the certificate
+     * @param ocspResponse {@link IBasicOCSPResp} to be stored
+     */
+    public void putOcspResponse(X509Certificate certificate, X509Certificate issuerCert,
+            IBasicOCSPResp ocspResponse) {
+        String key = createOcspKey(certificate, issuerCert);
+        ocspResponses.put(key, createOcspEntry(ocspResponse));
+        try {
+            store(key, OCSP_FILE_EXTENSION, ocspResponse.getEncoded());
+        } catch (Exception e) {
+            LOGGER.warn(MessageFormatUtil.format(SignLogMessageConstant.UNABLE_TO_STORE_OCSP_RESPONSE,
+                    certificate.getSubjectX500Principal(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets the number of lookups which were answered from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of lookups which were not answered from the cache.
+     *
+     * @return the number of cache misses.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Removes all the entries kept in memory and resets hit and miss counters.
+     * The entries stored in the storage directory are not removed.
+     */
+    public void clear() {
+        crls.clear();
+        ocspResponses.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    private <T> T getEntry(Map<String, CacheEntry<T>> entries, String key, String fileExtension, Date currentDate,
+            Duration freshness) {
+        CacheEntry<T> entry = entries.get(key);
+        if (entry == null) {
+            entry = this.<T>load(key, fileExtension);
+            if (entry != null) {
+                entries.putIfAbsent(key, entry);
+            }
+        }
+        if (entry != null) {
+            if (entry.isExpired(currentDate)) {
+                entries.remove(key, entry);
+            } else if (entry.isFresh(currentDate, freshness)) {
+                hitCount.incrementAndGet();
+                return entry.value;
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CacheEntry<T> load(String key, String fileExtension) {
+        if (storageDirectory == null) {
+            return null;
+        }
+        File file = FileUtil.constructFileByDirectoryAndName(storageDirectory, createFileName(key, fileExtension));
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream input = FileUtil.getInputStreamForFile(file)) {
+            byte[] bytes = StreamUtil.inputStreamToArray(input);
+            if (OCSP_FILE_EXTENSION.equals(fileExtension)) {
+                return (CacheEntry<T>) createOcspEntry(BOUNCY_CASTLE_FACTORY.createBasicOCSPResp(
+                        BOUNCY_CASTLE_FACTORY.createBasicOCSPResponse(
+                                BOUNCY_CASTLE_FACTORY.createASN1Primitive(bytes))));
+            }
+            X509CRL crl = (X509CRL) CertificateUtil.parseCrlFromBytes(bytes);
+            return (CacheEntry<T>) new CacheEntry<>(crl, crl.getThisUpdate(), crl.getNextUpdate());
+        } catch (Exception e) {
+            LOGGER.warn(MessageFormatUtil.format(SignLogMessageConstant.UNABLE_TO_READ_STORED_REVOCATION_DATA,
+                    file.getName(), e.getMessage()));
+            return null;
+        }
+    }
+
+    private void store(String key, String fileExtension, byte[] bytes) throws Exception {
+        if (storageDirectory == null) {
+            return;
+        }
+        String fileName = createFileName(key, fileExtension);
+        // Write into a temporary file first, so that concurrent readers never see partially written data.
+        File tempFile = FileUtil.constructFileByDirectoryAndName(storageDirectory,
+                fileName + "." + Thread.currentThread().getId() + ".tmp");
+        try (OutputStream output = FileUtil.getFileOutputStream(tempFile)) {
+            output.write(bytes);
+        }
+        File file = FileUtil.constructFileByDirectoryAndName(storageDirectory, fileName);
+        // The stored file is replaced at once, so that it is never missing for the concurrent readers either.
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            FileUtil.deleteFile(tempFile);
+            throw e;
+        }
+    }
+
+    private static CacheEntry<IBasicOCSPResp> createOcspEntry(IBasicOCSPResp ocspResponse) {
+        Date thisUpdate = null;
+        Date nextUpdate = null;
+        boolean nextUpdateMissing = false;
+        for (ISingleResp singleResp : ocspResponse.getResponses()) {
+            if (thisUpdate == null || singleResp.getThisUpdate().before(thisUpdate)) {
+                thisUpdate = singleResp.getThisUpdate();
+            }
+            if (singleResp.getNextUpdate() == null) {
+                nextUpdateMissing = true;
+            } else if (nextUpdate == null || singleResp.getNextUpdate().before(nextUpdate)) {
+                nextUpdate = singleResp.getNextUpdate();
+            }
+        }
+        if (thisUpdate == null) {
+            thisUpdate = ocspResponse.getProducedAt();
+        }
+        return new CacheEntry<>(ocspResponse, thisUpdate, nextUpdateMissing ? null : nextUpdate);
+    }
+
+    private static String createOcspKey(X509Certificate certificate, X509Certificate issuerCert) {
+        return OCSP_KEY_PREFIX + issuerCert.getSubjectX500Principal().getName() + ":"
+                + toHex(digest(issuerCert.getPublicKey().getEncoded())) + ":"
+                + certificate.getSerialNumber().toString(16);
+    }
+
+    private static String createFileName(String key, String fileExtension) {
+        return toHex(digest(key.getBytes(StandardCharsets.UTF_8))) + fileExtension;
+    }
+
+    private static byte[] digest(byte[] data) {
+        try {
+            MessageDigest messageDigest = new BouncyCastleDigest().getMessageDigest("SHA256");
+            return messageDigest.digest(data);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    private static final class CacheEntry<T> {
+        final T value;
+        final Date thisUpdate;
+        final Date nextUpdate;
+
+        CacheEntry(T value, Date thisUpdate, Date nextUpdate) {
+            this.value = value;
+            this.thisUpdate = thisUpdate;
+            this.nextUpdate = nextUpdate;
+        }
+
+        boolean isExpired(Date currentDate) {
+            return nextUpdate != null && !currentDate.before(nextUpdate);
+        }
+
+        boolean isFresh(Date currentDate, Duration freshness) {
+            return !DateTimeUtil.addMillisToDate(thisUpdate, freshness.toMillis()).before(currentDate);
+        }
+    }
+}
@@ -47,6 +47,7 @@ import com.itextpdf.signatures.validation.report.ValidationReport;
 import java.io.IOException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -93,6 +94,7 @@ public class RevocationDataValidator {
     private final IssuingCertificateRetriever certificateRetriever;
     private final OCSPValidator ocspValidator;
     private final CRLValidator crlValidator;
+    private final RevocationDataCache revocationDataCache;
 
     /**
      * Creates new {@link RevocationDataValidator} instance to validate certificate revocation data.
@@ -104,6 +106,7 @@ public class RevocationDataValidator {
         this.properties = builder.getProperties();
         this.ocspValidator = builder.getOCSPValidator();
         this.crlValidator = builder.getCRLValidator();
+        this.revocationDataCache = builder.getRevocationDataCache();
         this.crlClients.addAll(this.properties.getCrlClients());
         this.ocspClients.addAll(this.properties.getOcspClients());
     }
@@ -321,6 +324,15 @@ public class RevocationDataValidator {
                 }
             } else {
                 for (X509Certificate issuerCert : issuerCerts) {
+                    if (revocationDataCache != null && ocspClient instanceof OcspClientBouncyCastle) {
+                        onRuntimeExceptionLog(() -> fillOcspResponses(ocspResponses, retrieveOcspResponse(context,
+                                        certificate, issuerCert, (OcspClientBouncyCastle) ocspClient),
+                                DateTimeUtil.getCurrentTimeDate(), TimeBasedContext.PRESENT), report, e ->
+                                new CertificateReportItem(certificate, REVOCATION_DATA_CHECK,
+                                        MessageFormatUtil.format(OCSP_CLIENT_FAILURE, ocspClient), e,
+                                        ReportItemStatus.INFO));
+                        continue;
+                    }
                     byte[] basicOcspRespBytes = null;
                     basicOcspRespBytes = onRuntimeExceptionLog(() ->
                             ocspClient.getEncoded(certificate, issuerCert, null), null, report, e ->
@@ -348,8 +360,8 @@ public class RevocationDataValidator {
         if (SignatureValidationProperties.OnlineFetching.ALWAYS_FETCH == onlineFetching) {
             for (X509Certificate issuerCert : issuerCerts) {
                 onRuntimeExceptionLog(() -> {
-                    IBasicOCSPResp basicOCSPResp = new OcspClientBouncyCastle().getBasicOCSPResp(certificate,
-                            issuerCert, null);
+                    IBasicOCSPResp basicOCSPResp = retrieveOcspResponse(context, certificate, issuerCert,
+                            new OcspClientBouncyCastle());
                     fillOcspResponses(ocspResponses, basicOCSPResp, DateTimeUtil.getCurrentTimeDate(),
                             TimeBasedContext.PRESENT);
                 }, report, e -> new CertificateReportItem(certificate, REVOCATION_DATA_CHECK,
@@ -364,12 +376,18 @@ public class RevocationDataValidator {
             X509Certificate certificate) {
         List<CrlValidationInfo> crlResponses = new ArrayList<>();
         for (ICrlClient crlClient : crlClients) {
-            crlResponses.addAll(retrieveAllCRLResponsesUsingClient(report, certificate, crlClient));
+            if (revocationDataCache != null && crlClient instanceof CrlClientOnline) {
+                crlResponses.addAll(retrieveAllCRLResponsesUsingOnlineClient(report, context, certificate,
+                        (CrlClientOnline) crlClient));
+            } else {
+                crlResponses.addAll(retrieveAllCRLResponsesUsingClient(report, certificate, crlClient));
+            }
         }
         SignatureValidationProperties.OnlineFetching onlineFetching = properties.getRevocationOnlineFetching(
                 context.setValidatorContext(ValidatorContext.CRL_VALIDATOR));
         if (SignatureValidationProperties.OnlineFetching.ALWAYS_FETCH == onlineFetching) {
-            crlResponses.addAll(retrieveAllCRLResponsesUsingClient(report, certificate, new CrlClientOnline()));
+            crlResponses.addAll(retrieveAllCRLResponsesUsingOnlineClient(report, context, certificate,
+                    new CrlClientOnline()));
         }
         // Sort all the CRL responses available based on the most recent revocation data.
         return crlResponses.stream().sorted((o1, o2) -> o2.crl.getThisUpdate().compareTo(o1.crl.getThisUpdate()))
@@ -384,8 +402,8 @@ public class RevocationDataValidator {
                 context.setValidatorContext(ValidatorContext.CRL_VALIDATOR));
         if (SignatureValidationProperties.OnlineFetching.FETCH_IF_NO_OTHER_DATA_AVAILABLE == crlOnlineFetching) {
             // Sort all the CRL responses available based on the most recent revocation data.
-            onlineCrlResponses.addAll(retrieveAllCRLResponsesUsingClient(report, certificate, new CrlClientOnline())
-                    .stream().sorted((o1, o2) ->
+            onlineCrlResponses.addAll(retrieveAllCRLResponsesUsingOnlineClient(report, context, certificate,
+                    new CrlClientOnline()).stream().sorted((o1, o2) ->
                             o2.crl.getThisUpdate().compareTo(o1.crl.getThisUpdate())).collect(Collectors.toList()));
         }
         SignatureValidationProperties.OnlineFetching ocspOnlineFetching = properties.getRevocationOnlineFetching(
@@ -393,8 +411,8 @@ public class RevocationDataValidator {
         if (SignatureValidationProperties.OnlineFetching.FETCH_IF_NO_OTHER_DATA_AVAILABLE == ocspOnlineFetching) {
             for (X509Certificate issuerCert : certificateRetriever.retrieveIssuerCertificate(certificate)) {
                 onRuntimeExceptionLog(() -> {
-                    IBasicOCSPResp basicOCSPResp = new OcspClientBouncyCastle().getBasicOCSPResp(certificate,
-                            issuerCert, null);
+                    IBasicOCSPResp basicOCSPResp = retrieveOcspResponse(context, certificate, issuerCert,
+                            new OcspClientBouncyCastle());
                     List<OcspResponseValidationInfo> ocspResponses = new ArrayList<>();
                     fillOcspResponses(ocspResponses, basicOCSPResp, DateTimeUtil.getCurrentTimeDate(),
                             TimeBasedContext.PRESENT);
@@ -409,6 +427,59 @@ public class RevocationDataValidator {
         }
     }
 
+    private List<CrlValidationInfo> retrieveAllCRLResponsesUsingOnlineClient(ValidationReport report,
+            ValidationContext context, X509Certificate certificate, CrlClientOnline crlClient) {
+        // CRL client with predefined urls ignores certificate distribution points, so it can't be cached per url.
+        List<String> distributionPoints = revocationDataCache == null || crlClient.getUrlsSize() != 0 ?
+                Collections.<String>emptyList() : CertificateUtil.getCRLURLs(certificate);
+        if (distributionPoints.isEmpty()) {
+            return retrieveAllCRLResponsesUsingClient(report, certificate, crlClient);
+        }
+        Duration freshness = properties.getFreshness(context.setValidatorContext(ValidatorContext.CRL_VALIDATOR)
+                .setTimeBasedContext(TimeBasedContext.PRESENT));
+        List<CrlValidationInfo> crlResponses = new ArrayList<>();
+        for (String distributionPoint : distributionPoints) {
+            Date currentDate = DateTimeUtil.getCurrentTimeDate();
+            X509CRL cachedCrl = revocationDataCache.getCrl(distributionPoint, currentDate, freshness);
+            if (cachedCrl != null) {
+                crlResponses.add(new CrlValidationInfo(cachedCrl, currentDate, TimeBasedContext.PRESENT));
+                continue;
+            }
+            Collection<byte[]> crlBytesCollection = onExceptionLog(() ->
+                    crlClient.getEncoded(certificate, distributionPoint), Collections.<byte[]>emptyList(), report,
+                    e -> new CertificateReportItem(certificate, REVOCATION_DATA_CHECK,
+                            MessageFormatUtil.format(CRL_CLIENT_FAILURE, crlClient), e, ReportItemStatus.INFO));
+            for (byte[] crlBytes : crlBytesCollection) {
+                onExceptionLog(() -> {
+                    X509CRL crl = (X509CRL) CertificateUtil.parseCrlFromBytes(crlBytes);
+                    revocationDataCache.putCrl(distributionPoint, crl);
+                    crlResponses.add(new CrlValidationInfo(crl, DateTimeUtil.getCurrentTimeDate(),
+                            TimeBasedContext.PRESENT));
+                }, report, e -> new CertificateReportItem(certificate, REVOCATION_DATA_CHECK,
+                        MessageFormatUtil.format(CANNOT_PARSE_CRL, crlClient), e, ReportItemStatus.INFO));
+            }
+        }
+        return crlResponses;
+    }
+
+    private IBasicOCSPResp retrieveOcspResponse(ValidationContext context, X509Certificate certificate,
+            X509Certificate issuerCert, OcspClientBouncyCastle ocspClient) {
+        if (revocationDataCache == null) {
+            return ocspClient.getBasicOCSPResp(certificate, issuerCert, null);
+        }
+        Duration freshness = properties.getFreshness(context.setValidatorContext(ValidatorContext.OCSP_VALIDATOR)
+                .setTimeBasedContext(TimeBasedContext.PRESENT));
+        IBasicOCSPResp basicOCSPResp = revocationDataCache.getOcspResponse(certificate, issuerCert,
+                DateTimeUtil.getCurrentTimeDate(), freshness);
+        if (basicOCSPResp == null) {
+            basicOCSPResp = ocspClient.getBasicOCSPResp(certificate, issuerCert, null);
+            if (basicOCSPResp != null) {
+                revocationDataCache.putOcspResponse(certificate, issuerCert, basicOCSPResp);
+            }
+        }
+        return basicOCSPResp;
+    }
+
     /**
      * Class which contains validation related information about single OCSP response.
      */
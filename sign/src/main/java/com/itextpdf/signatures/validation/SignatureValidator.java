@@ -30,6 +30,7 @@ import com.itextpdf.commons.bouncycastle.asn1.tsp.ITSTInfo;
 import com.itextpdf.commons.bouncycastle.cert.ocsp.AbstractOCSPException;
 import com.itextpdf.commons.utils.DateTimeUtil;
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.DocumentProperties;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -38,12 +39,14 @@ import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
 
 import com.itextpdf.signatures.CertificateUtil;
 import com.itextpdf.signatures.ICrlClient;
 import com.itextpdf.signatures.IOcspClient;
 import com.itextpdf.signatures.IssuingCertificateRetriever;
 import com.itextpdf.signatures.PdfPKCS7;
+import com.itextpdf.signatures.PdfSignature;
 import com.itextpdf.signatures.SignatureUtil;
 import com.itextpdf.signatures.validation.context.CertificateSource;
 import com.itextpdf.signatures.validation.context.TimeBasedContext;
@@ -57,6 +60,7 @@ import com.itextpdf.signatures.validation.report.ValidationReport.ValidationResu
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.security.cert.CRL;
 import java.security.cert.Certificate;
@@ -66,7 +70,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static com.itextpdf.signatures.validation.SafeCalling.onExceptionLog;
 import static com.itextpdf.signatures.validation.SafeCalling.onRuntimeExceptionLog;
@@ -101,6 +111,7 @@ public class SignatureValidator {
     static final String SIGNATURE_NOT_FOUND = "Document doesn't contain signature field {0}.";
     static final String VALIDATION_PERFORMED = "Validation has already been performed. " +
             "You should create new SignatureValidator instance for each validation call.";
+    static final String CONCURRENT_VALIDATION_INTERRUPTED = "Concurrent signature validation was interrupted.";
 
     private static final IBouncyCastleFactory BOUNCY_CASTLE_FACTORY = BouncyCastleFactoryCreator.getFactory();
 
@@ -113,8 +124,10 @@ public class SignatureValidator {
     private Date lastKnownPoE = DateTimeUtil.getCurrentTimeDate();
     private IMetaInfo metaInfo = new ValidationMetaInfo();
     private final PdfDocument originalDocument;
+    private final ExecutorService executorService;
     private ValidationOcspClient validationOcspClient;
     private ValidationCrlClient validationCrlClient;
+    private Map<String, PreparedSignature> preparedSignatures = Collections.<String, PreparedSignature>emptyMap();
 
     private boolean validationPerformed = false;
 
@@ -130,6 +143,7 @@ public class SignatureValidator {
         this.properties = builder.getProperties();
         this.certificateChainValidator = builder.getCertificateChainValidator();
         this.documentRevisionsValidator = builder.getDocumentRevisionsValidator();
+        this.executorService = builder.getExecutorService();
         findValidationClients();
     }
 
@@ -155,15 +169,10 @@ public class SignatureValidator {
             throw new PdfException(VALIDATION_PERFORMED);
         }
         validationPerformed = true;
-        ValidationReport report = new ValidationReport();
-        onRuntimeExceptionLog(() -> {
-            documentRevisionsValidator.setEventCountingMetaInfo(metaInfo);
-            ValidationReport revisionsValidationReport =
-                    documentRevisionsValidator.validateAllDocumentRevisions(validationContext, originalDocument);
-            report.merge(revisionsValidationReport);
-        }, report, e ->
-                new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_VALIDATION_FAILED, e, ReportItemStatus.INDETERMINATE));
-
+        if (executorService != null) {
+            return validateConcurrently(null);
+        }
+        ValidationReport report = validateRevisions(null, validationContext);
         if (stopValidation(report, validationContext)) {
             return report;
         }
@@ -183,16 +192,10 @@ public class SignatureValidator {
             throw new PdfException(VALIDATION_PERFORMED);
         }
         validationPerformed = true;
-        ValidationReport report = new ValidationReport();
-        onRuntimeExceptionLog(() -> {
-            documentRevisionsValidator.setEventCountingMetaInfo(metaInfo);
-            ValidationReport revisionsValidationReport =
-                    documentRevisionsValidator.validateAllDocumentRevisions(validationContext, originalDocument,
-                            signatureName);
-            report.merge(revisionsValidationReport);
-        }, report, e ->
-                new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_VALIDATION_FAILED, e, ReportItemStatus.INDETERMINATE));
-
+        if (executorService != null) {
+            return validateConcurrently(signatureName);
+        }
+        ValidationReport report = validateRevisions(signatureName, validationContext);
         if (stopValidation(report, validationContext)) {
             return report;
         }
@@ -203,6 +206,11 @@ public class SignatureValidator {
     ValidationReport validateLatestSignature(PdfDocument document) {
         ValidationReport validationReport = new ValidationReport();
         PdfPKCS7 pkcs7 = mathematicallyVerifySignature(validationReport, document);
+        return validateLatestSignature(validationReport, pkcs7, document);
+    }
+
+    private ValidationReport validateLatestSignature(ValidationReport validationReport, PdfPKCS7 pkcs7,
+            PdfDocument document) {
         updateValidationClients(pkcs7, validationReport, validationContext, document);
         // We only retrieve not signed revocation data at the very beginning of signature processing.
         retrieveNotSignedRevocationInfoFromSignatureContainer(pkcs7, validationContext);
@@ -265,30 +273,158 @@ public class SignatureValidator {
         return validationReport.merge(signatureReport);
     }
 
-    private ValidationReport validate(String signatureName) {
-        ValidationReport validationReport = new ValidationReport();
-        boolean validateSingleSignature = signatureName != null;
+    private ValidationReport validateRevisions(String signatureName, ValidationContext context) {
+        ValidationReport report = new ValidationReport();
+        onRuntimeExceptionLog(() -> {
+            documentRevisionsValidator.setEventCountingMetaInfo(metaInfo);
+            ValidationReport revisionsValidationReport = signatureName == null ?
+                    documentRevisionsValidator.validateAllDocumentRevisions(context, originalDocument) :
+                    documentRevisionsValidator.validateAllDocumentRevisions(context, originalDocument,
+                            signatureName);
+            report.merge(revisionsValidationReport);
+        }, report, e ->
+                new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_VALIDATION_FAILED, e, ReportItemStatus.INDETERMINATE));
+        return report;
+    }
 
+    private ValidationReport validateConcurrently(String signatureName) {
+        // Revisions are read in advance, so that the original document is only accessed by the revisions validator.
         SignatureUtil util = new SignatureUtil(originalDocument);
         List<String> signatureNames = util.getSignatureNames();
         Collections.reverse(signatureNames);
-
+        List<byte[]> revisions = new ArrayList<>();
+        List<Exception> retrievalExceptions = new ArrayList<>();
         for (String fieldName : signatureNames) {
-            ValidationReport subReport = new ValidationReport();
-            try (PdfDocument doc = new PdfDocument(new PdfReader(util.extractRevision(fieldName))
-                    .setStrictnessLevel(PdfReader.StrictnessLevel.CONSERVATIVE),
-                    new DocumentProperties().setEventCountingMetaInfo(metaInfo))) {
-                subReport.merge(validateLatestSignature(doc));
+            try (InputStream revision = util.extractRevision(fieldName)) {
+                revisions.add(StreamUtil.inputStreamToArray(revision));
+                retrievalExceptions.add(null);
             } catch (IOException | RuntimeException e) {
-                subReport.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_RETRIEVAL_FAILED,
-                        e, ReportItemStatus.INDETERMINATE));
+                revisions.add(null);
+                retrievalExceptions.add(e);
+            }
+            if (fieldName.equals(signatureName)) {
+                break;
+            }
+        }
+        prepareSignatures(util, signatureNames.subList(0, revisions.size()));
+
+        ValidationContext initialContext = validationContext;
+        Future<ValidationReport> revisionsValidation = executorService.submit(() ->
+                validateRevisions(signatureName, initialContext));
+        // Mathematical verification of the signatures doesn't depend on the previously validated signatures,
+        // so it can be performed in advance for all of them.
+        List<Future<VerifiedRevision>> verifiedRevisions = new ArrayList<>();
+        for (int i = 0; i < revisions.size(); ++i) {
+            byte[] revision = revisions.get(i);
+            if (revision == null) {
+                CompletableFuture<VerifiedRevision> failedRevision = new CompletableFuture<>();
+                failedRevision.completeExceptionally(retrievalExceptions.get(i));
+                verifiedRevisions.add(failedRevision);
+            } else {
+                verifiedRevisions.add(executorService.submit(() -> verifyRevision(revision)));
+            }
+        }
+
+        // As in the sequential mode, certificate chains, which validation might request revocation data online,
+        // are only validated if the validation isn't stopped by the revisions validation result.
+        ValidationReport report;
+        try {
+            report = revisionsValidation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report = new ValidationReport();
+            report.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, CONCURRENT_VALIDATION_INTERRUPTED, e,
+                    ReportItemStatus.INDETERMINATE));
+        } catch (ExecutionException e) {
+            report = new ValidationReport();
+            report.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_VALIDATION_FAILED,
+                    getCause(e), ReportItemStatus.INDETERMINATE));
+        }
+        if (stopValidation(report, initialContext)) {
+            cancel(verifiedRevisions);
+            return report;
+        }
+        return report.merge(validate(signatureName, signatureNames.subList(0, revisions.size()),
+                verifiedRevisions, null));
+    }
+
+    private VerifiedRevision verifyRevision(byte[] revision) throws IOException {
+        try (PdfDocument doc = openRevision(new ByteArrayInputStream(revision))) {
+            ValidationReport validationReport = new ValidationReport();
+            PdfPKCS7 pkcs7 = mathematicallyVerifySignature(validationReport, doc);
+            return new VerifiedRevision(revision, validationReport, pkcs7);
+        }
+    }
+
+    private PdfDocument openRevision(InputStream revision) throws IOException {
+        return new PdfDocument(new PdfReader(revision).setStrictnessLevel(PdfReader.StrictnessLevel.CONSERVATIVE),
+                new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+    }
+
+    private ValidationReport validate(String signatureName) {
+        SignatureUtil util = new SignatureUtil(originalDocument);
+        List<String> signatureNames = util.getSignatureNames();
+        Collections.reverse(signatureNames);
+        int lastSignatureIndex = signatureName == null ? -1 : signatureNames.indexOf(signatureName);
+        prepareSignatures(util, lastSignatureIndex == -1 ? signatureNames :
+                signatureNames.subList(0, lastSignatureIndex + 1));
+        return validate(signatureName, signatureNames, null, util);
+    }
+
+    private void prepareSignatures(SignatureUtil util, List<String> signatureNames) {
+        Map<String, PreparedSignature> prepared = new HashMap<>();
+        try {
+            // Signed byte ranges of all the signatures are digested in a single pass over the original document.
+            prepareSignatures(prepared, util, signatureNames);
+        } catch (RuntimeException e) {
+            // A single broken signature fails the whole pass, so the signatures are prepared one by one instead.
+            prepared.clear();
+            for (String signatureName : signatureNames) {
+                try {
+                    prepareSignatures(prepared, util, Collections.singletonList(signatureName));
+                } catch (RuntimeException ignored) {
+                    // The signature is read from its revision, which reports the problem.
+                }
+            }
+        }
+        preparedSignatures = prepared;
+    }
+
+    private static void prepareSignatures(Map<String, PreparedSignature> prepared, SignatureUtil util,
+            List<String> signatureNames) {
+        for (Map.Entry<String, PdfPKCS7> entry : util.readSignaturesData(signatureNames, null).entrySet()) {
+            prepared.put(entry.getKey(), new PreparedSignature(util.getSignature(entry.getKey()), entry.getValue()));
+        }
+    }
+
+    private ValidationReport validate(String signatureName, List<String> signatureNames,
+            List<Future<VerifiedRevision>> verifiedRevisions, SignatureUtil util) {
+        ValidationReport validationReport = new ValidationReport();
+        boolean validateSingleSignature = signatureName != null;
+
+        for (int i = 0; i < signatureNames.size(); ++i) {
+            String fieldName = signatureNames.get(i);
+            ValidationReport subReport = new ValidationReport();
+            if (verifiedRevisions == null) {
+                try (PdfDocument doc = openRevision(util.extractRevision(fieldName))) {
+                    subReport.merge(validateLatestSignature(doc));
+                } catch (IOException | RuntimeException e) {
+                    subReport.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_RETRIEVAL_FAILED,
+                            e, ReportItemStatus.INDETERMINATE));
+                }
+            } else {
+                validateVerifiedRevision(subReport, verifiedRevisions.get(i));
+                // Release the revision bytes as soon as they are not needed anymore.
+                verifiedRevisions.set(i, null);
             }
             if (!validateSingleSignature) {
                 validationReport.merge(subReport);
                 if (stopValidation(subReport, validationContext)) {
+                    cancel(verifiedRevisions);
                     return validationReport;
                 }
             } else if (fieldName.equals(signatureName)) {
+                cancel(verifiedRevisions);
                 return subReport;
             }
         }
@@ -300,6 +436,39 @@ public class SignatureValidator {
         return validationReport;
     }
 
+    private void validateVerifiedRevision(ValidationReport subReport, Future<VerifiedRevision> verification) {
+        try {
+            VerifiedRevision verifiedRevision = verification.get();
+            try (PdfDocument doc = openRevision(new ByteArrayInputStream(verifiedRevision.revision))) {
+                subReport.merge(validateLatestSignature(verifiedRevision.report, verifiedRevision.pkcs7, doc));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            subReport.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, CONCURRENT_VALIDATION_INTERRUPTED,
+                    e, ReportItemStatus.INDETERMINATE));
+        } catch (ExecutionException e) {
+            subReport.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_RETRIEVAL_FAILED,
+                    getCause(e), ReportItemStatus.INDETERMINATE));
+        } catch (IOException | RuntimeException e) {
+            subReport.addReportItem(new ReportItem(SIGNATURE_VERIFICATION, REVISIONS_RETRIEVAL_FAILED,
+                    e, ReportItemStatus.INDETERMINATE));
+        }
+    }
+
+    private static Exception getCause(ExecutionException e) {
+        return e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+
+    private static void cancel(List<Future<VerifiedRevision>> verifiedRevisions) {
+        if (verifiedRevisions != null) {
+            for (Future<VerifiedRevision> verifiedRevision : verifiedRevisions) {
+                if (verifiedRevision != null) {
+                    verifiedRevision.cancel(false);
+                }
+            }
+        }
+    }
+
     private void findValidationClients() {
         for (IOcspClient ocspClient : this.properties.getOcspClients()) {
             if (ocspClient.getClass() == ValidationOcspClient.class) {
@@ -319,7 +488,10 @@ public class SignatureValidator {
         SignatureUtil signatureUtil = new SignatureUtil(document);
         List<String> signatures = signatureUtil.getSignatureNames();
         String latestSignatureName = signatures.get(signatures.size() - 1);
-        PdfPKCS7 pkcs7 = signatureUtil.readSignatureData(latestSignatureName);
+        PreparedSignature preparedSignature = preparedSignatures.get(latestSignatureName);
+        PdfPKCS7 pkcs7 = preparedSignature != null &&
+                preparedSignature.matches(signatureUtil.getSignature(latestSignatureName)) ?
+                preparedSignature.pkcs7 : signatureUtil.readSignatureData(latestSignatureName);
         validationReport.addReportItem(new ReportItem(SIGNATURE_VERIFICATION,
                 MessageFormatUtil.format(VALIDATING_SIGNATURE_NAME, latestSignatureName), ReportItemStatus.INFO));
 
@@ -510,4 +682,38 @@ public class SignatureValidator {
         return !properties.getContinueAfterFailure(validationContext)
                 && result.getValidationResult() == ValidationResult.INVALID;
     }
+
+    private static final class VerifiedRevision {
+        final byte[] revision;
+        final ValidationReport report;
+        final PdfPKCS7 pkcs7;
+
+        VerifiedRevision(byte[] revision, ValidationReport report, PdfPKCS7 pkcs7) {
+            this.revision = revision;
+            this.report = report;
+            this.pkcs7 = pkcs7;
+        }
+    }
+
+    private static final class PreparedSignature {
+        final long[] byteRange;
+        final byte[] contents;
+        final PdfName subFilter;
+        final PdfPKCS7 pkcs7;
+
+        PreparedSignature(PdfSignature signature, PdfPKCS7 pkcs7) {
+            this.byteRange = signature.getByteRange().toLongArray();
+            this.contents = signature.getContents().getValueBytes();
+            this.subFilter = signature.getSubFilter();
+            this.pkcs7 = pkcs7;
+        }
+
+        boolean matches(PdfSignature signature) {
+            PdfString signatureContents = signature.getContents();
+            return signature.getByteRange() != null && signatureContents != null &&
+                    Arrays.equals(byteRange, signature.getByteRange().toLongArray()) &&
+                    Arrays.equals(contents, signatureContents.getValueBytes()) &&
+                    subFilter.equals(signature.getSubFilter());
+        }
+    }
 }
@@ -22,6 +22,9 @@
  */
 package com.itextpdf.signatures.validation;
 
+import com.itextpdf.commons.utils.Base64;
+import com.itextpdf.signatures.CertificateUtil;
+
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.Collection;
@@ -33,13 +36,42 @@ import java.util.Set;
 
 /**
  * Trusted certificates storage class to be used to configure trusted certificates in a particular way.
+ * <p>
+ * Certificates are indexed by subject name and by subject key identifier, so that the lookups performed during
+ * chain building don't depend on the number of trusted certificates. Once filled, the same store can be shared by
+ * several validators, including validators used in different threads, as long as it isn't modified anymore.
  */
 public class TrustedCertificatesStore {
-    private final Map<String, Set<Certificate>> generallyTrustedCertificates = new HashMap<>();
-    private final Map<String, Set<Certificate>> ocspTrustedCertificates = new HashMap<>();
-    private final Map<String, Set<Certificate>> timestampTrustedCertificates = new HashMap<>();
-    private final Map<String, Set<Certificate>> crlTrustedCertificates = new HashMap<>();
-    private final Map<String, Set<Certificate>> caTrustedCertificates = new HashMap<>();
+    private final Map<String, Set<Certificate>> certificatesBySubject = new HashMap<>();
+    private final Map<String, Set<Certificate>> certificatesByKeyIdentifier = new HashMap<>();
+    private final Set<Certificate> generallyTrustedCertificates = new HashSet<>();
+    private final Set<Certificate> ocspTrustedCertificates = new HashSet<>();
+    private final Set<Certificate> timestampTrustedCertificates = new HashSet<>();
+    private final Set<Certificate> crlTrustedCertificates = new HashSet<>();
+    private final Set<Certificate> caTrustedCertificates = new HashSet<>();
+
+    /**
+     * Creates new empty {@link TrustedCertificatesStore} instance.
+     */
+    public TrustedCertificatesStore() {
+        // Empty constructor.
+    }
+
+    /**
+     * Creates new {@link TrustedCertificatesStore} instance containing the same certificates as the provided one.
+     * Certificates added to the copy aren't added to the original store and vice versa.
+     *
+     * @param store {@link TrustedCertificatesStore} to copy certificates from
+     */
+    public TrustedCertificatesStore(TrustedCertificatesStore store) {
+        copyIndex(store.certificatesBySubject, certificatesBySubject);
+        copyIndex(store.certificatesByKeyIdentifier, certificatesByKeyIdentifier);
+        generallyTrustedCertificates.addAll(store.generallyTrustedCertificates);
+        ocspTrustedCertificates.addAll(store.ocspTrustedCertificates);
+        timestampTrustedCertificates.addAll(store.timestampTrustedCertificates);
+        crlTrustedCertificates.addAll(store.crlTrustedCertificates);
+        caTrustedCertificates.addAll(store.caTrustedCertificates);
+    }
 
     /**
      * Add collection of certificates to be trusted for any possible usage.
@@ -48,7 +80,7 @@ public class TrustedCertificatesStore {
      */
     public void addGenerallyTrustedCertificates(Collection<Certificate> certificates) {
         for (Certificate certificate : certificates) {
-            addCertificateToMap(certificate, generallyTrustedCertificates);
+            addCertificate(certificate, generallyTrustedCertificates);
         }
     }
 
@@ -61,7 +93,7 @@ public class TrustedCertificatesStore {
      */
     public void addOcspTrustedCertificates(Collection<Certificate> certificates) {
         for (Certificate certificate : certificates) {
-            addCertificateToMap(certificate, ocspTrustedCertificates);
+            addCertificate(certificate, ocspTrustedCertificates);
         }
     }
 
@@ -74,7 +106,7 @@ public class TrustedCertificatesStore {
      */
     public void addCrlTrustedCertificates(Collection<Certificate> certificates) {
         for (Certificate certificate : certificates) {
-            addCertificateToMap(certificate, crlTrustedCertificates);
+            addCertificate(certificate, crlTrustedCertificates);
         }
     }
 
@@ -87,7 +119,7 @@ public class TrustedCertificatesStore {
      */
     public void addTimestampTrustedCertificates(Collection<Certificate> certificates) {
         for (Certificate certificate : certificates) {
-            addCertificateToMap(certificate, timestampTrustedCertificates);
+            addCertificate(certificate, timestampTrustedCertificates);
         }
     }
 
@@ -99,7 +131,7 @@ public class TrustedCertificatesStore {
      */
     public void addCATrustedCertificates(Collection<Certificate> certificates) {
         for (Certificate certificate : certificates) {
-            addCertificateToMap(certificate, caTrustedCertificates);
+            addCertificate(certificate, caTrustedCertificates);
         }
     }
 
@@ -111,7 +143,7 @@ public class TrustedCertificatesStore {
      * @return {@code true} is provided certificate is generally trusted, {@code false} otherwise
      */
     public boolean isCertificateGenerallyTrusted(Certificate certificate) {
-        return mapContainsCertificate(certificate, generallyTrustedCertificates);
+        return generallyTrustedCertificates.contains(certificate);
     }
 
 
@@ -123,7 +155,7 @@ public class TrustedCertificatesStore {
      * @return {@code true} is provided certificate is trusted for OCSP generation, {@code false} otherwise
      */
     public boolean isCertificateTrustedForOcsp(Certificate certificate) {
-        return mapContainsCertificate(certificate, ocspTrustedCertificates);
+        return ocspTrustedCertificates.contains(certificate);
     }
 
     /**
@@ -134,7 +166,7 @@ public class TrustedCertificatesStore {
      * @return {@code true} is provided certificate is trusted for CRL generation, {@code false} otherwise
      */
     public boolean isCertificateTrustedForCrl(Certificate certificate) {
-        return mapContainsCertificate(certificate, crlTrustedCertificates);
+        return crlTrustedCertificates.contains(certificate);
     }
 
     /**
@@ -145,7 +177,7 @@ public class TrustedCertificatesStore {
      * @return {@code true} is provided certificate is trusted for timestamp generation, {@code false} otherwise
      */
     public boolean isCertificateTrustedForTimestamp(Certificate certificate) {
-        return mapContainsCertificate(certificate, timestampTrustedCertificates);
+        return timestampTrustedCertificates.contains(certificate);
     }
 
     /**
@@ -156,7 +188,7 @@ public class TrustedCertificatesStore {
      * @return {@code true} is provided certificate is trusted for certificates generation, {@code false} otherwise
      */
     public boolean isCertificateTrustedForCA(Certificate certificate) {
-        return mapContainsCertificate(certificate, caTrustedCertificates);
+        return caTrustedCertificates.contains(certificate);
     }
 
     /**
@@ -167,7 +199,7 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getGenerallyTrustedCertificates(String certificateName) {
-        return generallyTrustedCertificates.getOrDefault(certificateName, Collections.<Certificate>emptySet());
+        return getMatched(generallyTrustedCertificates, certificateName);
     }
 
     /**
@@ -179,7 +211,7 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getCertificatesTrustedForOcsp(String certificateName) {
-        return ocspTrustedCertificates.getOrDefault(certificateName, Collections.<Certificate>emptySet());
+        return getMatched(ocspTrustedCertificates, certificateName);
     }
 
     /**
@@ -191,7 +223,7 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getCertificatesTrustedForCrl(String certificateName) {
-        return crlTrustedCertificates.getOrDefault(certificateName, Collections.<Certificate>emptySet());
+        return getMatched(crlTrustedCertificates, certificateName);
     }
 
     /**
@@ -203,7 +235,7 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getCertificatesTrustedForTimestamp(String certificateName) {
-        return timestampTrustedCertificates.getOrDefault(certificateName, Collections.<Certificate>emptySet());
+        return getMatched(timestampTrustedCertificates, certificateName);
     }
 
     /**
@@ -215,7 +247,7 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getCertificatesTrustedForCA(String certificateName) {
-        return caTrustedCertificates.getOrDefault(certificateName, Collections.<Certificate>emptySet());
+        return getMatched(caTrustedCertificates, certificateName);
     }
 
     /**
@@ -226,13 +258,23 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getKnownCertificates(String certificateName) {
-        Set<Certificate> result = new HashSet<>();
-        addMatched(result, generallyTrustedCertificates, certificateName);
-        addMatched(result, ocspTrustedCertificates, certificateName);
-        addMatched(result, crlTrustedCertificates, certificateName);
-        addMatched(result, timestampTrustedCertificates, certificateName);
-        addMatched(result, caTrustedCertificates, certificateName);
-        return result;
+        return new HashSet<>(certificatesBySubject.getOrDefault(certificateName,
+                Collections.<Certificate>emptySet()));
+    }
+
+    /**
+     * Get certificates, if any, which subject key identifier is equal to the provided key identifier.
+     *
+     * @param keyIdentifier subject key identifier, usually taken from authority key identifier of issued certificate
+     *
+     * @return set of {@link Certificate} which correspond to the provided key identifier
+     */
+    public Set<Certificate> getKnownCertificatesByKeyIdentifier(byte[] keyIdentifier) {
+        if (keyIdentifier == null) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(certificatesByKeyIdentifier.getOrDefault(Base64.encodeBytes(keyIdentifier),
+                Collections.<Certificate>emptySet()));
     }
 
     /**
@@ -242,19 +284,7 @@ public class TrustedCertificatesStore {
      */
     public Collection<Certificate> getAllTrustedCertificates() {
         Set<Certificate> certificates = new HashSet<>();
-        for (Set<Certificate> set : generallyTrustedCertificates.values()) {
-            certificates.addAll(set);
-        }
-        for (Set<Certificate> set : ocspTrustedCertificates.values()) {
-            certificates.addAll(set);
-        }
-        for (Set<Certificate> set : crlTrustedCertificates.values()) {
-            certificates.addAll(set);
-        }
-        for (Set<Certificate> set : timestampTrustedCertificates.values()) {
-            certificates.addAll(set);
-        }
-        for (Set<Certificate> set : caTrustedCertificates.values()) {
+        for (Set<Certificate> set : certificatesBySubject.values()) {
             certificates.addAll(set);
         }
         return certificates;
@@ -268,51 +298,40 @@ public class TrustedCertificatesStore {
      * @return set of {@link Certificate} which correspond to the provided certificate name
      */
     public Set<Certificate> getAllTrustedCertificates(String name) {
-        Set<Certificate> certificates = new HashSet<>();
-        Set<Certificate> set = generallyTrustedCertificates.get(name);
-        if (set != null) {
-            certificates.addAll(set);
-        }
-        set = ocspTrustedCertificates.get(name);
-        if (set != null) {
-            certificates.addAll(set);
-        }
-        set = crlTrustedCertificates.get(name);
-        if (set != null) {
-            certificates.addAll(set);
-        }
-        set = timestampTrustedCertificates.get(name);
-        if (set != null) {
-            certificates.addAll(set);
-        }
-        set = caTrustedCertificates.get(name);
-        if (set != null) {
-            certificates.addAll(set);
-        }
-        return certificates;
+        return getKnownCertificates(name);
     }
 
-
-    private static void addCertificateToMap(Certificate certificate, Map<String, Set<Certificate>> map) {
-        String name = ((X509Certificate) certificate).getSubjectX500Principal().getName();
-
-        Set<Certificate> set = map.computeIfAbsent(name, k -> new HashSet<>());
-        set.add(certificate);
+    private void addCertificate(Certificate certificate, Set<Certificate> usageCertificates) {
+        if (!usageCertificates.add(certificate)) {
+            return;
+        }
+        X509Certificate x509Certificate = (X509Certificate) certificate;
+        if (certificatesBySubject.computeIfAbsent(x509Certificate.getSubjectX500Principal().getName(),
+                k -> new HashSet<>()).add(certificate)) {
+            byte[] keyIdentifier = CertificateUtil.getSubjectKeyIdentifier(x509Certificate);
+            if (keyIdentifier != null) {
+                certificatesByKeyIdentifier.computeIfAbsent(Base64.encodeBytes(keyIdentifier),
+                        k -> new HashSet<>()).add(certificate);
+            }
+        }
     }
 
-    private static boolean mapContainsCertificate(Certificate certificate, Map<String, Set<Certificate>> map) {
-        Set<Certificate> set = map.get(((X509Certificate) certificate).getSubjectX500Principal().getName());
-        if (set == null) {
-            return false;
+    private Set<Certificate> getMatched(Set<Certificate> usageCertificates, String certificateName) {
+        Set<Certificate> result = new HashSet<>();
+        Set<Certificate> named = certificatesBySubject.get(certificateName);
+        if (named != null) {
+            for (Certificate certificate : named) {
+                if (usageCertificates.contains(certificate)) {
+                    result.add(certificate);
+                }
+            }
         }
-        return set.contains(certificate);
+        return result;
     }
 
-    private static void addMatched(Set<Certificate> target, Map<String, Set<Certificate>> source,
-            String certificateName) {
-        Set<Certificate> subset = source.get(certificateName);
-        if (subset != null) {
-            target.addAll(subset);
+    private static void copyIndex(Map<String, Set<Certificate>> source, Map<String, Set<Certificate>> target) {
+        for (Map.Entry<String, Set<Certificate>> entry : source.entrySet()) {
+            target.put(entry.getKey(), new HashSet<>(entry.getValue()));
         }
     }
 }
@@ -28,6 +28,7 @@ import com.itextpdf.signatures.IssuingCertificateRetriever;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 /**
@@ -44,6 +45,9 @@ public class ValidatorChainBuilder {
     private Supplier<DocumentRevisionsValidator> documentRevisionsValidatorFactory;
     private Collection<Certificate> trustedCertificates;
     private Collection<Certificate> knownCertificates;
+    private TrustedCertificatesStore trustedCertificatesStore;
+    private RevocationDataCache revocationDataCache;
+    private ExecutorService executorService;
 
     /**
      * Create a new {@link SignatureValidator} instance with the current configuration.
@@ -221,6 +225,54 @@ public class ValidatorChainBuilder {
         return this;
     }
 
+    /**
+     * Uses this {@link TrustedCertificatesStore} in the {@link IssuingCertificateRetriever} instances
+     * created by this builder.
+     * <p>
+     * This allows to load large trusted lists once and share them between all the validators, including validators
+     * used in different threads. The store shall not be modified while it is in use. Certificates set using
+     * {@link #withTrustedCertificates(Collection)} are added to a copy of the store.
+     *
+     * @param trustedCertificatesStore the TrustedCertificatesStore instance to use
+     *
+     * @return the current ValidatorChainBuilder.
+     */
+    public ValidatorChainBuilder withTrustedCertificatesStore(TrustedCertificatesStore trustedCertificatesStore) {
+        this.trustedCertificatesStore = trustedCertificatesStore;
+        return this;
+    }
+
+    /**
+     * Use this {@link RevocationDataCache} instance to share fetched revocation data between validations.
+     * The same cache instance can be used by several builders and threads.
+     *
+     * @param revocationDataCache the RevocationDataCache instance to use
+     *
+     * @return the current ValidatorChainBuilder.
+     */
+    public ValidatorChainBuilder withRevocationDataCache(RevocationDataCache revocationDataCache) {
+        this.revocationDataCache = revocationDataCache;
+        return this;
+    }
+
+    /**
+     * Use this {@link ExecutorService} to validate signatures concurrently.
+     * <p>
+     * When set, {@link SignatureValidator} validates document revisions at the same time as the signatures and
+     * mathematically verifies all the signatures in advance. Certificate chains are still validated one signature
+     * after another, since each signature relies on the proof of existence provided by the later ones.
+     * The resulting report is the same as the one produced by sequential validation.
+     * Note, that all the signed revisions are kept in memory during concurrent validation.
+     *
+     * @param executorService the ExecutorService to use or {@code null} to validate signatures sequentially
+     *
+     * @return the current ValidatorChainBuilder.
+     */
+    public ValidatorChainBuilder withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
     /**
      * Retrieves the explicitly added or automatically created {@link IssuingCertificateRetriever} instance.
      *
@@ -245,6 +297,26 @@ public class ValidatorChainBuilder {
         return properties;
     }
 
+    /**
+     * Retrieves the explicitly added {@link RevocationDataCache} instance.
+     *
+     * @return the explicitly added {@link RevocationDataCache} instance or {@code null} if revocation data
+     * shall not be cached.
+     */
+    public RevocationDataCache getRevocationDataCache() {
+        return revocationDataCache;
+    }
+
+    /**
+     * Retrieves the explicitly added {@link ExecutorService} instance.
+     *
+     * @return the explicitly added {@link ExecutorService} instance or {@code null} if signatures
+     * shall be validated sequentially.
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
     /**
      * Retrieves the explicitly added or automatically created {@link DocumentRevisionsValidator} instance.
      *
@@ -306,7 +378,15 @@ public class ValidatorChainBuilder {
     }
 
     private IssuingCertificateRetriever buildIssuingCertificateRetriever() {
-        IssuingCertificateRetriever result = new IssuingCertificateRetriever();
+        IssuingCertificateRetriever result;
+        if (trustedCertificatesStore == null) {
+            result = new IssuingCertificateRetriever();
+        } else if (trustedCertificates == null) {
+            result = new IssuingCertificateRetriever(trustedCertificatesStore);
+        } else {
+            // Shared store isn't modified, since it can be used by other validators at the same time.
+            result = new IssuingCertificateRetriever(new TrustedCertificatesStore(trustedCertificatesStore));
+        }
         if (trustedCertificates != null) {
             result.setTrustedCertificates(trustedCertificates);
         }
@@ -0,0 +1,120 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class ByteRangeDigesterTest extends ExtendedITextTest {
+    private static final byte[] DATA = createData(200000);
+
+    @Test
+    public void nestedByteRangesTest() throws IOException, GeneralSecurityException {
+        long[] firstRange = new long[] {0, 1000, 1500, 50000};
+        long[] secondRange = new long[] {0, 120000, 120500, 70000};
+        long[] thirdRange = new long[] {0, 190000, 190100, 9900};
+        ByteRangeDigester digester = new ByteRangeDigester(new RandomAccessSourceFactory().createSource(DATA));
+        int first = digester.addByteRange(firstRange, MessageDigest.getInstance("SHA-256"));
+        int second = digester.addByteRange(secondRange, MessageDigest.getInstance("SHA-256"));
+        int third = digester.addByteRange(thirdRange, MessageDigest.getInstance("SHA-256"));
+        digester.digest();
+
+        Assertions.assertArrayEquals(digest("SHA-256", firstRange), digester.getMessageDigest(first).digest());
+        Assertions.assertArrayEquals(digest("SHA-256", secondRange), digester.getMessageDigest(second).digest());
+        Assertions.assertArrayEquals(digest("SHA-256", thirdRange), digester.getMessageDigest(third).digest());
+    }
+
+    @Test
+    public void differentAlgorithmsTest() throws IOException, GeneralSecurityException {
+        long[] firstRange = new long[] {0, 1000, 1500, 50000};
+        long[] secondRange = new long[] {0, 120000, 120500, 70000};
+        ByteRangeDigester digester = new ByteRangeDigester(new RandomAccessSourceFactory().createSource(DATA));
+        int first = digester.addByteRange(firstRange, MessageDigest.getInstance("SHA-512"));
+        int second = digester.addByteRange(secondRange, MessageDigest.getInstance("SHA-1"));
+        digester.digest();
+
+        Assertions.assertArrayEquals(digest("SHA-512", firstRange), digester.getMessageDigest(first).digest());
+        Assertions.assertArrayEquals(digest("SHA-1", secondRange), digester.getMessageDigest(second).digest());
+    }
+
+    @Test
+    public void sameByteRangesTest() throws IOException, GeneralSecurityException {
+        long[] range = new long[] {0, 1000, 1500, 50000};
+        ByteRangeDigester digester = new ByteRangeDigester(new RandomAccessSourceFactory().createSource(DATA));
+        int first = digester.addByteRange(range, MessageDigest.getInstance("SHA-256"));
+        int second = digester.addByteRange(range, MessageDigest.getInstance("SHA-256"));
+        digester.digest();
+
+        Assertions.assertNotSame(digester.getMessageDigest(first), digester.getMessageDigest(second));
+        Assertions.assertArrayEquals(digest("SHA-256", range), digester.getMessageDigest(first).digest());
+        Assertions.assertArrayEquals(digest("SHA-256", range), digester.getMessageDigest(second).digest());
+    }
+
+    @Test
+    public void notAscendingByteRangeTest() throws IOException, GeneralSecurityException {
+        long[] firstRange = new long[] {1500, 50000, 0, 1000};
+        long[] secondRange = new long[] {0, 120000, 120500, 70000};
+        ByteRangeDigester digester = new ByteRangeDigester(new RandomAccessSourceFactory().createSource(DATA));
+        int first = digester.addByteRange(firstRange, MessageDigest.getInstance("SHA-256"));
+        int second = digester.addByteRange(secondRange, MessageDigest.getInstance("SHA-256"));
+        digester.digest();
+
+        Assertions.assertArrayEquals(digest("SHA-256", firstRange), digester.getMessageDigest(first).digest());
+        Assertions.assertArrayEquals(digest("SHA-256", secondRange), digester.getMessageDigest(second).digest());
+    }
+
+    @Test
+    public void byteRangeExceedsSourceTest() throws IOException, GeneralSecurityException {
+        long[] range = new long[] {0, 1000, 199000, 5000};
+        ByteRangeDigester digester = new ByteRangeDigester(new RandomAccessSourceFactory().createSource(DATA));
+        int index = digester.addByteRange(range, MessageDigest.getInstance("SHA-256"));
+        digester.digest();
+
+        Assertions.assertArrayEquals(digest("SHA-256", new long[] {0, 1000, 199000, 1000}),
+                digester.getMessageDigest(index).digest());
+    }
+
+    private static byte[] digest(String algorithm, long[] range) throws GeneralSecurityException {
+        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
+        for (int i = 0; i < range.length; i += 2) {
+            messageDigest.update(DATA, (int) range[i], (int) range[i + 1]);
+        }
+        return messageDigest.digest();
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            data[i] = (byte) (i * 31 + i / 256);
+        }
+        return data;
+    }
+}
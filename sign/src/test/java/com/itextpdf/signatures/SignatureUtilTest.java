@@ -38,7 +38,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
 import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Tag("BouncyCastleIntegrationTest")
 public class SignatureUtilTest extends ExtendedITextTest {
@@ -365,4 +368,33 @@ public class SignatureUtilTest extends ExtendedITextTest {
 
         Assertions.assertNull(signatureUtil.extractRevision("Signature1"));
     }
+
+    @Test
+    public void readSignaturesDataTest() throws IOException, GeneralSecurityException {
+        String inPdf = sourceFolder + "simpleSignature.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(inPdf));
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+
+        Map<String, PdfPKCS7> signaturesData = signatureUtil.readSignaturesData(
+                Arrays.asList("Signature1", "Signature2"), null);
+        Assertions.assertEquals(1, signaturesData.size());
+        Assertions.assertEquals(signatureUtil.readSignatureData("Signature1").verifySignatureIntegrityAndAuthenticity(),
+                signaturesData.get("Signature1").verifySignatureIntegrityAndAuthenticity());
+    }
+
+    @Test
+    public void readSignaturesDataRsaSha1Test() throws IOException, GeneralSecurityException {
+        String inPdf = sourceFolder + "adbe.x509.rsa_sha1_signature.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(inPdf));
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+
+        Map<String, PdfPKCS7> signaturesData = signatureUtil.readSignaturesData(
+                signatureUtil.getSignatureNames(), null);
+        Assertions.assertEquals(1, signaturesData.size());
+        PdfPKCS7 pkcs7 = signaturesData.get("Signature1");
+        Assertions.assertEquals("Test", pkcs7.getReason());
+        Assertions.assertEquals("TestCity", pkcs7.getLocation());
+        Assertions.assertEquals(signatureUtil.readSignatureData("Signature1").verifySignatureIntegrityAndAuthenticity(),
+                pkcs7.verifySignatureIntegrityAndAuthenticity());
+    }
 }
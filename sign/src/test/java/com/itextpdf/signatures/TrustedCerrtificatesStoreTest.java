@@ -283,4 +283,31 @@ public class TrustedCerrtificatesStoreTest extends ExtendedITextTest {
         Assertions.assertEquals(0,sut.getCertificatesTrustedForOcsp(name).size());
         Assertions.assertEquals(0,sut.getCertificatesTrustedForTimestamp(name).size());
     }
+
+    @Test
+    public void testGetKnownCertificatesByKeyIdentifier() {
+        TrustedCertificatesStore sut = new TrustedCertificatesStore();
+        sut.addCATrustedCertificates(Collections.singletonList(rootCert));
+        sut.addGenerallyTrustedCertificates(Collections.singletonList(intermediateCert));
+
+        byte[] keyIdentifier = CertificateUtil.getAuthorityKeyIdentifier(intermediateCert);
+        Assertions.assertEquals(1, sut.getKnownCertificatesByKeyIdentifier(keyIdentifier).size());
+        Assertions.assertTrue(sut.getKnownCertificatesByKeyIdentifier(keyIdentifier).contains(rootCert));
+        Assertions.assertTrue(sut.getKnownCertificatesByKeyIdentifier(new byte[] {1, 2, 3}).isEmpty());
+        Assertions.assertTrue(sut.getKnownCertificatesByKeyIdentifier(null).isEmpty());
+    }
+
+    @Test
+    public void testCopiedStoreIsIndependent() {
+        TrustedCertificatesStore original = new TrustedCertificatesStore();
+        original.addCATrustedCertificates(Collections.singletonList(rootCert));
+        TrustedCertificatesStore sut = new TrustedCertificatesStore(original);
+        sut.addGenerallyTrustedCertificates(Collections.singletonList(signCert));
+
+        Assertions.assertTrue(sut.isCertificateTrustedForCA(rootCert));
+        Assertions.assertTrue(sut.isCertificateGenerallyTrusted(signCert));
+        Assertions.assertFalse(original.isCertificateGenerallyTrusted(signCert));
+        Assertions.assertEquals(2, sut.getAllTrustedCertificates().size());
+        Assertions.assertEquals(1, original.getAllTrustedCertificates().size());
+    }
 }
@@ -0,0 +1,312 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.signatures.sign;
+
+import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.commons.bouncycastle.IBouncyCastleFactory;
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.crypto.DigestAlgorithms;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.signatures.IExternalBatchSignature;
+import com.itextpdf.signatures.ISignatureMechanismParams;
+import com.itextpdf.signatures.PdfBatchSigner;
+import com.itextpdf.signatures.PrivateKeySignature;
+import com.itextpdf.signatures.SignerProperties;
+import com.itextpdf.signatures.TestSignUtils;
+import com.itextpdf.signatures.exceptions.SignExceptionMessageConstant;
+import com.itextpdf.signatures.testutils.PemFileHelper;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("BouncyCastleIntegrationTest")
+public class PdfBatchSignerTest extends ExtendedITextTest {
+    private static final IBouncyCastleFactory FACTORY = BouncyCastleFactoryCreator.getFactory();
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/signatures/sign/PdfBatchSignerTest/";
+    private static final String destinationFolder = "./target/test/com/itextpdf/signatures/sign/PdfBatchSignerTest/";
+    private static final String certsSrc = "./src/test/resources/com/itextpdf/signatures/certs/";
+    private static final String srcFileName = sourceFolder + "helloWorldDoc.pdf";
+    private static final char[] PASSWORD = "testpassphrase".toCharArray();
+
+    private static Certificate[] certChain;
+    private static PrivateKey signPrivateKey;
+
+    @BeforeAll
+    public static void before() throws Exception {
+        Security.addProvider(FACTORY.getProvider());
+        createOrClearDestinationFolder(destinationFolder);
+
+        String signCertFileName = certsSrc + "signCertRsa01.pem";
+        X509Certificate signCert = (X509Certificate) PemFileHelper.readFirstChain(signCertFileName)[0];
+        X509Certificate rootCert = (X509Certificate) PemFileHelper.readFirstChain(certsSrc + "rootRsa.pem")[0];
+        certChain = new X509Certificate[] {signCert, rootCert};
+        signPrivateKey = PemFileHelper.readFirstKey(signCertFileName, PASSWORD);
+    }
+
+    @Test
+    public void signBatchTest() throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            PdfBatchSigner batchSigner = new PdfBatchSigner().setExecutorService(executorService);
+            for (int i = 0; i < 3; i++) {
+                batchSigner.addDocument(new PdfReader(srcFileName),
+                        FileUtil.getFileOutputStream(destinationFolder + "signBatchTest" + i + ".pdf"),
+                        new SignerProperties().setFieldName("Signature1"));
+            }
+            batchSigner.signWithBaselineBProfile(batchSignature, certChain);
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assertions.assertEquals(1, batchSignature.signCalls);
+        Assertions.assertEquals(3, batchSignature.signedMessages);
+        for (int i = 0; i < 3; i++) {
+            TestSignUtils.basicCheckSignedDoc(destinationFolder + "signBatchTest" + i + ".pdf", "Signature1");
+        }
+    }
+
+    @Test
+    public void signBatchSequentiallyWithGeneratedFieldNameTest() throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+
+        ByteArrayOutputStream firstOutput = new ByteArrayOutputStream();
+        ByteArrayOutputStream secondOutput = new ByteArrayOutputStream();
+        new PdfBatchSigner()
+                .addDocument(new PdfReader(srcFileName), firstOutput, new SignerProperties())
+                .addDocument(new PdfReader(srcFileName), secondOutput, new SignerProperties())
+                .signWithBaselineBProfile(batchSignature, certChain);
+
+        Assertions.assertEquals(1, batchSignature.signCalls);
+        TestSignUtils.basicCheckSignedDoc(new ByteArrayInputStream(firstOutput.toByteArray()), "Signature1");
+        TestSignUtils.basicCheckSignedDoc(new ByteArrayInputStream(secondOutput.toByteArray()), "Signature1");
+    }
+
+    @Test
+    public void signaturesCountMismatchTest() throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+        batchSignature.dropLastSignature = true;
+
+        TestOutputStream firstOutput = new TestOutputStream(false);
+        TestOutputStream secondOutput = new TestOutputStream(false);
+        PdfBatchSigner batchSigner = new PdfBatchSigner()
+                .addDocument(new PdfReader(srcFileName), firstOutput, new SignerProperties())
+                .addDocument(new PdfReader(srcFileName), secondOutput, new SignerProperties());
+        Exception exception = Assertions.assertThrows(PdfException.class,
+                () -> batchSigner.signWithBaselineBProfile(batchSignature, certChain));
+        Assertions.assertEquals(MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_SIGNATURES_COUNT_MISMATCH,
+                1, 2), exception.getMessage());
+        Assertions.assertTrue(firstOutput.closed);
+        Assertions.assertTrue(secondOutput.closed);
+    }
+
+    @Test
+    public void closingFailureIsSuppressedBySigningFailureTest() throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+        batchSignature.dropLastSignature = true;
+
+        TestOutputStream firstOutput = new TestOutputStream(false, true);
+        TestOutputStream secondOutput = new TestOutputStream(false);
+        PdfBatchSigner batchSigner = new PdfBatchSigner()
+                .addDocument(new PdfReader(srcFileName), firstOutput, new SignerProperties())
+                .addDocument(new PdfReader(srcFileName), secondOutput, new SignerProperties());
+        Exception exception = Assertions.assertThrows(PdfException.class,
+                () -> batchSigner.signWithBaselineBProfile(batchSignature, certChain));
+        Assertions.assertEquals(MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_SIGNATURES_COUNT_MISMATCH,
+                1, 2), exception.getMessage());
+        Assertions.assertEquals(1, exception.getSuppressed().length);
+        Assertions.assertEquals("Test output stream closing failure", exception.getSuppressed()[0].getMessage());
+        Assertions.assertTrue(secondOutput.closed);
+    }
+
+    @Test
+    public void closingFailureFailsDocumentTest() throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+
+        TestOutputStream firstOutput = new TestOutputStream(false);
+        TestOutputStream secondOutput = new TestOutputStream(false, true);
+        PdfBatchSigner batchSigner = new PdfBatchSigner()
+                .addDocument(new PdfReader(srcFileName), firstOutput, new SignerProperties())
+                .addDocument(new PdfReader(srcFileName), secondOutput, new SignerProperties());
+        Exception exception = Assertions.assertThrows(PdfException.class,
+                () -> batchSigner.signWithBaselineBProfile(batchSignature, certChain));
+        Assertions.assertEquals(MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_DOCUMENTS_SIGNING_FAILED,
+                1, 2, Collections.singletonList(1)), exception.getMessage());
+        Assertions.assertEquals("Test output stream closing failure", exception.getCause().getMessage());
+        TestSignUtils.basicCheckSignedDoc(new ByteArrayInputStream(firstOutput.toByteArray()), "Signature1");
+    }
+
+    @Test
+    public void closingFailureIsSuppressedByFinalizationFailureTest() throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+
+        TestOutputStream output = new TestOutputStream(true, true);
+        PdfBatchSigner batchSigner = new PdfBatchSigner()
+                .addDocument(new PdfReader(srcFileName), output, new SignerProperties());
+        Exception exception = Assertions.assertThrows(PdfException.class,
+                () -> batchSigner.signWithBaselineBProfile(batchSignature, certChain));
+        Assertions.assertEquals("Test output stream failure", exception.getCause().getMessage());
+        Assertions.assertEquals(1, exception.getSuppressed().length);
+        Assertions.assertEquals("Test output stream closing failure", exception.getSuppressed()[0].getMessage());
+        Assertions.assertTrue(output.closed);
+    }
+
+    @Test
+    public void documentFinalizationFailureTest() throws Exception {
+        signBatchWithFailingDocument(null);
+    }
+
+    @Test
+    public void concurrentDocumentFinalizationFailureTest() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            signBatchWithFailingDocument(executorService);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static void signBatchWithFailingDocument(ExecutorService executorService) throws Exception {
+        TestBatchSignature batchSignature = createBatchSignature();
+
+        TestOutputStream[] outputs = new TestOutputStream[] {
+                new TestOutputStream(false), new TestOutputStream(true), new TestOutputStream(false)};
+        PdfBatchSigner batchSigner = new PdfBatchSigner().setExecutorService(executorService);
+        for (TestOutputStream output : outputs) {
+            batchSigner.addDocument(new PdfReader(srcFileName), output, new SignerProperties());
+        }
+        Exception exception = Assertions.assertThrows(PdfException.class,
+                () -> batchSigner.signWithBaselineBProfile(batchSignature, certChain));
+
+        Assertions.assertEquals(MessageFormatUtil.format(SignExceptionMessageConstant.BATCH_DOCUMENTS_SIGNING_FAILED,
+                1, 3, Collections.singletonList(1)), exception.getMessage());
+        Assertions.assertNotNull(exception.getCause());
+        for (TestOutputStream output : outputs) {
+            Assertions.assertTrue(output.closed);
+        }
+        // the rest of the documents are signed despite the failure
+        TestSignUtils.basicCheckSignedDoc(new ByteArrayInputStream(outputs[0].toByteArray()), "Signature1");
+        TestSignUtils.basicCheckSignedDoc(new ByteArrayInputStream(outputs[2].toByteArray()), "Signature1");
+    }
+
+    private static TestBatchSignature createBatchSignature() {
+        return new TestBatchSignature(
+                new PrivateKeySignature(signPrivateKey, DigestAlgorithms.SHA256, FACTORY.getProviderName()));
+    }
+
+    private static final class TestOutputStream extends ByteArrayOutputStream {
+        private final boolean failOnWrite;
+        private final boolean failOnClose;
+        private boolean closed = false;
+
+        TestOutputStream(boolean failOnWrite) {
+            this(failOnWrite, false);
+        }
+
+        TestOutputStream(boolean failOnWrite, boolean failOnClose) {
+            this.failOnWrite = failOnWrite;
+            this.failOnClose = failOnClose;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (failOnWrite) {
+                throw new IllegalStateException("Test output stream failure");
+            }
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+            if (failOnClose) {
+                throw new IOException("Test output stream closing failure");
+            }
+        }
+    }
+
+    private static final class TestBatchSignature implements IExternalBatchSignature {
+        private final PrivateKeySignature signature;
+        private int signCalls = 0;
+        private int signedMessages = 0;
+        private boolean dropLastSignature = false;
+
+        TestBatchSignature(PrivateKeySignature signature) {
+            this.signature = signature;
+        }
+
+        @Override
+        public String getDigestAlgorithmName() {
+            return signature.getDigestAlgorithmName();
+        }
+
+        @Override
+        public String getSignatureAlgorithmName() {
+            return signature.getSignatureAlgorithmName();
+        }
+
+        @Override
+        public ISignatureMechanismParams getSignatureMechanismParameters() {
+            return signature.getSignatureMechanismParameters();
+        }
+
+        @Override
+        public List<byte[]> sign(List<byte[]> messages) throws GeneralSecurityException {
+            ++signCalls;
+            signedMessages += messages.size();
+            List<byte[]> result = new ArrayList<>();
+            for (byte[] message : messages) {
+                result.add(signature.sign(message));
+            }
+            if (dropLastSignature) {
+                result.remove(result.size() - 1);
+            }
+            return result;
+        }
+    }
+}
@@ -105,6 +105,39 @@ public class CertificateChainValidatorTest extends ExtendedITextTest {
                    ));
     }
 
+    @Test
+    public void sharedTrustedCertificatesStoreTest() throws CertificateException, IOException {
+        String chainName = CERTS_SRC + "chain.pem";
+        Certificate[] certificateChain = PemFileHelper.readFirstChain(chainName);
+        X509Certificate signingCert = (X509Certificate) certificateChain[0];
+        X509Certificate intermediateCert = (X509Certificate) certificateChain[1];
+        X509Certificate rootCert = (X509Certificate) certificateChain[2];
+
+        TrustedCertificatesStore trustedCertificatesStore = new TrustedCertificatesStore();
+        trustedCertificatesStore.addGenerallyTrustedCertificates(Collections.<Certificate>singletonList(rootCert));
+        ValidatorChainBuilder builder = new ValidatorChainBuilder()
+                .withTrustedCertificatesStore(trustedCertificatesStore)
+                .withKnownCertificates(Collections.<Certificate>singletonList(intermediateCert))
+                .withSignatureValidationProperties(properties)
+                .withRevocationDataValidatorFactory(()-> mockRevocationDataValidator);
+
+        for (int i = 0; i < 2; i++) {
+            ValidationReport report = builder.buildCertificateChainValidator()
+                    .validateCertificate(baseContext, signingCert, TimeTestUtil.TEST_DATE_TIME);
+            AssertValidationReport.assertThat(report, a -> a
+                    .hasStatus(ValidationResult.VALID)
+                    .hasNumberOfFailures(0)
+                    .hasNumberOfLogs(1)
+                    .hasLogItem(la -> la
+                            .withCheckName(CertificateChainValidator.CERTIFICATE_CHECK)
+                            .withMessage("Certificate {0} is trusted, revocation data checks are not required.",
+                                    l -> rootCert.getSubjectX500Principal())
+                            .withCertificate(rootCert)
+                    ));
+        }
+        Assertions.assertEquals(1, trustedCertificatesStore.getAllTrustedCertificates().size());
+    }
+
     @Test
     public void validNumericBasicConstraintsTest() throws CertificateException, IOException {
         String chainName = CERTS_SRC + "signChainWithValidNumericBasicConstraints.pem";
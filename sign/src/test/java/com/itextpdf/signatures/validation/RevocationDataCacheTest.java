@@ -0,0 +1,261 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.signatures.validation;
+
+import com.itextpdf.bouncycastleconnector.BouncyCastleFactoryCreator;
+import com.itextpdf.commons.bouncycastle.IBouncyCastleFactory;
+import com.itextpdf.commons.bouncycastle.cert.ocsp.IBasicOCSPResp;
+import com.itextpdf.commons.utils.DateTimeUtil;
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.signatures.CertificateUtil;
+import com.itextpdf.signatures.IssuingCertificateRetriever;
+import com.itextpdf.signatures.OcspClientBouncyCastle;
+import com.itextpdf.signatures.logs.SignLogMessageConstant;
+import com.itextpdf.signatures.testutils.PemFileHelper;
+import com.itextpdf.signatures.testutils.builder.TestCrlBuilder;
+import com.itextpdf.signatures.testutils.builder.TestOcspResponseBuilder;
+import com.itextpdf.signatures.testutils.client.TestOcspClient;
+import com.itextpdf.signatures.validation.context.CertificateSource;
+import com.itextpdf.signatures.validation.context.CertificateSources;
+import com.itextpdf.signatures.validation.context.TimeBasedContext;
+import com.itextpdf.signatures.validation.context.TimeBasedContexts;
+import com.itextpdf.signatures.validation.context.ValidationContext;
+import com.itextpdf.signatures.validation.context.ValidatorContext;
+import com.itextpdf.signatures.validation.context.ValidatorContexts;
+import com.itextpdf.signatures.validation.mocks.MockOCSPValidator;
+import com.itextpdf.signatures.validation.report.ValidationReport;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+
+import java.io.File;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("BouncyCastleUnitTest")
+public class RevocationDataCacheTest extends ExtendedITextTest {
+    private static final IBouncyCastleFactory FACTORY = BouncyCastleFactoryCreator.getFactory();
+    private static final String SOURCE_FOLDER =
+            "./src/test/resources/com/itextpdf/signatures/validation/RevocationDataValidatorTest/";
+    private static final String DESTINATION_FOLDER =
+            "./target/test/com/itextpdf/signatures/validation/RevocationDataCacheTest/";
+    private static final char[] PASSWORD = "testpassphrase".toCharArray();
+    private static final String DISTRIBUTION_POINT = "http://localhost/test.crl";
+
+    private static X509Certificate caCert;
+    private static PrivateKey caPrivateKey;
+    private static X509Certificate checkCert;
+    private static X509Certificate responderCert;
+    private static PrivateKey ocspRespPrivateKey;
+
+    @BeforeAll
+    public static void before() throws Exception {
+        Security.addProvider(FACTORY.getProvider());
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+
+        String rootCertFileName = SOURCE_FOLDER + "rootCert.pem";
+        String checkCertFileName = SOURCE_FOLDER + "signCert.pem";
+        String ocspResponderCertFileName = SOURCE_FOLDER + "ocspResponderCert.pem";
+
+        caCert = (X509Certificate) PemFileHelper.readFirstChain(rootCertFileName)[0];
+        caPrivateKey = PemFileHelper.readFirstKey(rootCertFileName, PASSWORD);
+        checkCert = (X509Certificate) PemFileHelper.readFirstChain(checkCertFileName)[0];
+        responderCert = (X509Certificate) PemFileHelper.readFirstChain(ocspResponderCertFileName)[0];
+        ocspRespPrivateKey = PemFileHelper.readFirstKey(ocspResponderCertFileName, PASSWORD);
+    }
+
+    @Test
+    public void ocspResponseIsReturnedUntilNextUpdateTest() throws Exception {
+        Date currentDate = DateTimeUtil.getCurrentTimeDate();
+        RevocationDataCache cache = new RevocationDataCache();
+        Assertions.assertNull(cache.getOcspResponse(checkCert, caCert, currentDate, Duration.ofDays(1)));
+
+        cache.putOcspResponse(checkCert, caCert, createOcspResponse(currentDate, 2));
+
+        Assertions.assertNotNull(cache.getOcspResponse(checkCert, caCert, currentDate, Duration.ofDays(1)));
+        Assertions.assertNotNull(cache.getOcspResponse(checkCert, caCert,
+                DateTimeUtil.addDaysToDate(currentDate, 1), Duration.ofDays(3)));
+        // Response isn't fresh enough for the requested freshness.
+        Assertions.assertNull(cache.getOcspResponse(checkCert, caCert,
+                DateTimeUtil.addDaysToDate(currentDate, 1), Duration.ofHours(1)));
+        // Next update date has passed.
+        Assertions.assertNull(cache.getOcspResponse(checkCert, caCert,
+                DateTimeUtil.addDaysToDate(currentDate, 3), Duration.ofDays(5)));
+        // Another certificate issued by the same CA has no response.
+        Assertions.assertNull(cache.getOcspResponse(responderCert, caCert, currentDate, Duration.ofDays(1)));
+
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void crlIsReadFromStorageDirectoryTest() throws Exception {
+        Date currentDate = DateTimeUtil.getCurrentTimeDate();
+        TestCrlBuilder crlBuilder = new TestCrlBuilder(caCert, caPrivateKey, currentDate);
+        crlBuilder.setNextUpdate(DateTimeUtil.addDaysToDate(currentDate, 2));
+        X509CRL crl = (X509CRL) CertificateUtil.parseCrlFromBytes(crlBuilder.makeCrl());
+
+        new RevocationDataCache(DESTINATION_FOLDER).putCrl(DISTRIBUTION_POINT, crl);
+
+        RevocationDataCache cache = new RevocationDataCache(DESTINATION_FOLDER);
+        X509CRL cachedCrl = cache.getCrl(DISTRIBUTION_POINT, currentDate, Duration.ofDays(1));
+        Assertions.assertNotNull(cachedCrl);
+        Assertions.assertArrayEquals(crl.getEncoded(), cachedCrl.getEncoded());
+        Assertions.assertNull(cache.getCrl("http://localhost/other.crl", currentDate, Duration.ofDays(1)));
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void storedCrlIsReplacedTest() throws Exception {
+        String storageDirectory = DESTINATION_FOLDER + "replaced/";
+        Date currentDate = DateTimeUtil.getCurrentTimeDate();
+        TestCrlBuilder crlBuilder = new TestCrlBuilder(caCert, caPrivateKey,
+                DateTimeUtil.addDaysToDate(currentDate, -1));
+        crlBuilder.setNextUpdate(DateTimeUtil.addDaysToDate(currentDate, 2));
+        X509CRL oldCrl = (X509CRL) CertificateUtil.parseCrlFromBytes(crlBuilder.makeCrl());
+        crlBuilder = new TestCrlBuilder(caCert, caPrivateKey, currentDate);
+        crlBuilder.setNextUpdate(DateTimeUtil.addDaysToDate(currentDate, 2));
+        X509CRL newCrl = (X509CRL) CertificateUtil.parseCrlFromBytes(crlBuilder.makeCrl());
+
+        RevocationDataCache storingCache = new RevocationDataCache(storageDirectory);
+        storingCache.putCrl(DISTRIBUTION_POINT, oldCrl);
+        storingCache.putCrl(DISTRIBUTION_POINT, newCrl);
+
+        X509CRL cachedCrl = new RevocationDataCache(storageDirectory)
+                .getCrl(DISTRIBUTION_POINT, currentDate, Duration.ofDays(1));
+        Assertions.assertNotNull(cachedCrl);
+        Assertions.assertArrayEquals(newCrl.getEncoded(), cachedCrl.getEncoded());
+        // The temporary files are moved in place of the stored one.
+        Assertions.assertEquals(1, FileUtil.listFilesInDirectory(storageDirectory, false).length);
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = SignLogMessageConstant.UNABLE_TO_STORE_CRL))
+    public void crlIsKeptInMemoryIfItCannotBeStoredTest() throws Exception {
+        String storageDirectory = DESTINATION_FOLDER + "removed/";
+        Date currentDate = DateTimeUtil.getCurrentTimeDate();
+        TestCrlBuilder crlBuilder = new TestCrlBuilder(caCert, caPrivateKey, currentDate);
+        crlBuilder.setNextUpdate(DateTimeUtil.addDaysToDate(currentDate, 2));
+        X509CRL crl = (X509CRL) CertificateUtil.parseCrlFromBytes(crlBuilder.makeCrl());
+
+        RevocationDataCache cache = new RevocationDataCache(storageDirectory);
+        Assertions.assertTrue(new File(storageDirectory).delete());
+        cache.putCrl(DISTRIBUTION_POINT, crl);
+
+        Assertions.assertNotNull(cache.getCrl(DISTRIBUTION_POINT, currentDate, Duration.ofDays(1)));
+    }
+
+    @Test
+    public void cachedOcspResponseIsSharedBetweenValidatorsTest() throws Exception {
+        Date currentDate = DateTimeUtil.getCurrentTimeDate();
+        StandInOcspClient ocspClient = new StandInOcspClient(createOcspResponse(currentDate, 2));
+        MockOCSPValidator mockOCSPValidator = new MockOCSPValidator();
+        IssuingCertificateRetriever certificateRetriever = new IssuingCertificateRetriever();
+        certificateRetriever.addTrustedCertificates(Collections.singletonList(caCert));
+        SignatureValidationProperties properties = new SignatureValidationProperties()
+                .setRevocationOnlineFetching(ValidatorContexts.all(), CertificateSources.all(),
+                        TimeBasedContexts.all(), SignatureValidationProperties.OnlineFetching.NEVER_FETCH)
+                .setFreshness(ValidatorContexts.all(), CertificateSources.all(), TimeBasedContexts.all(),
+                        Duration.ofDays(1));
+        RevocationDataCache cache = new RevocationDataCache();
+        ValidatorChainBuilder builder = new ValidatorChainBuilder()
+                .withIssuingCertificateRetrieverFactory(() -> certificateRetriever)
+                .withSignatureValidationProperties(properties)
+                .withOCSPValidatorFactory(() -> mockOCSPValidator)
+                .withRevocationDataCache(cache);
+        ValidationContext context = new ValidationContext(ValidatorContext.SIGNATURE_VALIDATOR,
+                CertificateSource.SIGNER_CERT, TimeBasedContext.PRESENT);
+
+        for (int i = 0; i < 2; i++) {
+            builder.buildRevocationDataValidator().addOcspClient(ocspClient)
+                    .validate(new ValidationReport(), context, checkCert, currentDate);
+        }
+
+        Assertions.assertEquals(1, ocspClient.calls);
+        Assertions.assertEquals(2, mockOCSPValidator.calls.size());
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void concurrentLookupsTest() throws Exception {
+        Date currentDate = DateTimeUtil.getCurrentTimeDate();
+        RevocationDataCache cache = new RevocationDataCache();
+        cache.putOcspResponse(checkCert, caCert, createOcspResponse(currentDate, 2));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IBasicOCSPResp>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() ->
+                        cache.getOcspResponse(checkCert, caCert, currentDate, Duration.ofDays(1))));
+            }
+            for (Future<IBasicOCSPResp> future : futures) {
+                Assertions.assertNotNull(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(100, cache.getHitCount());
+        Assertions.assertEquals(0, cache.getMissCount());
+    }
+
+    private static IBasicOCSPResp createOcspResponse(Date thisUpdate, int daysToNextUpdate) throws Exception {
+        TestOcspResponseBuilder builder = new TestOcspResponseBuilder(responderCert, ocspRespPrivateKey);
+        builder.setProducedAt(thisUpdate);
+        builder.setThisUpdate(DateTimeUtil.getCalendar(thisUpdate));
+        builder.setNextUpdate(DateTimeUtil.getCalendar(DateTimeUtil.addDaysToDate(thisUpdate, daysToNextUpdate)));
+        byte[] bytes = new TestOcspClient().addBuilderForCertIssuer(caCert, builder)
+                .getEncoded(checkCert, caCert, null);
+        return FACTORY.createBasicOCSPResp(FACTORY.createBasicOCSPResponse(FACTORY.createASN1Primitive(bytes)));
+    }
+
+    private static class StandInOcspClient extends OcspClientBouncyCastle {
+        private final IBasicOCSPResp response;
+        private int calls;
+
+        StandInOcspClient(IBasicOCSPResp response) {
+            this.response = response;
+        }
+
+        @Override
+        public IBasicOCSPResp getBasicOCSPResp(X509Certificate checkCert, X509Certificate rootCert, String url) {
+            calls++;
+            return response;
+        }
+    }
+}
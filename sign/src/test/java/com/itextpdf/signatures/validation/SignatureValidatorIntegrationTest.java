@@ -64,6 +64,8 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -611,6 +613,37 @@ public class SignatureValidatorIntegrationTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void validateMultipleSignaturesConcurrentlyTest() throws Exception {
+        String trustedCertsFileName = CERTS_SRC + "trustedCerts.pem";
+        Certificate[] trustedCerts = PemFileHelper.readFirstChain(trustedCertsFileName);
+        ValidatorChainBuilder chainBuilder = new ValidatorChainBuilder()
+                .withTrustedCertificates(Arrays.asList(trustedCerts))
+                .withRevocationDataValidatorFactory(() -> new MockRevocationDataValidator());
+
+        ValidationReport sequentialReport;
+        try (PdfDocument document = new PdfDocument(
+                new PdfReader(SOURCE_FOLDER + "signatureSigningCertExpired.pdf"))) {
+            sequentialReport = chainBuilder.buildSignatureValidator(document).validateSignatures();
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        ValidationReport concurrentReport;
+        try (PdfDocument document = new PdfDocument(
+                new PdfReader(SOURCE_FOLDER + "signatureSigningCertExpired.pdf"))) {
+            concurrentReport = chainBuilder.withExecutorService(executorService).buildSignatureValidator(document)
+                    .validateSignatures();
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assertions.assertEquals(ValidationResult.VALID, concurrentReport.getValidationResult());
+        Assertions.assertEquals(sequentialReport.getLogs().size(), concurrentReport.getLogs().size());
+        for (int i = 0; i < sequentialReport.getLogs().size(); ++i) {
+            Assertions.assertEquals(sequentialReport.getLogs().get(i).getMessage(),
+                    concurrentReport.getLogs().get(i).getMessage());
+        }
+    }
+
     @Test
     public void stopAfterTimestampChainValidationFailureTest() throws Exception {
         try (PdfDocument document = new PdfDocument(
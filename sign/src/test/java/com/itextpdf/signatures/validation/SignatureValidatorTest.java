@@ -60,7 +60,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.security.PrivateKey;
 import java.security.Security;
@@ -70,6 +74,10 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Tag("BouncyCastleUnitTest")
 public class SignatureValidatorTest extends ExtendedITextTest {
@@ -628,4 +636,119 @@ public class SignatureValidatorTest extends ExtendedITextTest {
                         .withMessage(SignatureValidator.SIGNATURE_NOT_FOUND, p -> "Invalid signature name")
                         .withStatus(ReportItemStatus.INDETERMINATE)));
     }
+
+    @Test
+    public void concurrentValidationInvalidRevisionsStopValidationTest() throws IOException {
+        mockDocumentRevisionsValidator.setReportItemStatus(ReportItemStatus.INVALID);
+        parameters.setContinueAfterFailure(ValidatorContexts.all(), CertificateSources.all(), false);
+
+        ValidationReport report;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (PdfDocument document = new PdfDocument(
+                new PdfReader(SOURCE_FOLDER + "docWithMultipleSignaturesAndTimeStamp.pdf"))) {
+            report = builder.withExecutorService(executorService).buildSignatureValidator(document)
+                    .validateSignatures();
+        } finally {
+            executorService.shutdown();
+        }
+
+        AssertValidationReport.assertThat(report, a -> a
+                .hasStatus(ValidationResult.INVALID)
+                .hasNumberOfLogs(1).hasNumberOfFailures(1)
+                .hasLogItem(al -> al
+                        .withCheckName("test")
+                        .withMessage("test")));
+        // check that no chains are validated after the revisions validation failure
+        Assertions.assertEquals(0, mockCertificateChainValidator.verificationCalls.size());
+    }
+
+    @Test
+    public void concurrentValidationStopsAfterInvalidSignatureTest() throws IOException {
+        mockCertificateChainValidator.onCallDo(c -> c.report.addReportItem(
+                new ReportItem("test", "test", ReportItem.ReportItemStatus.INVALID)));
+        parameters.setContinueAfterFailure(ValidatorContexts.all(), CertificateSources.all(), false);
+
+        ValidationReport report;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (PdfDocument document = new PdfDocument(
+                new PdfReader(SOURCE_FOLDER + "docWithMultipleSignaturesAndTimeStamp.pdf"))) {
+            report = builder.withExecutorService(executorService).buildSignatureValidator(document)
+                    .validateSignatures();
+        } finally {
+            executorService.shutdown();
+        }
+
+        AssertValidationReport.assertThat(report, a -> a
+                .hasStatus(ValidationResult.INVALID)
+                .hasLogItem(l -> l
+                        .withCheckName(SignatureValidator.SIGNATURE_VERIFICATION)
+                        .withMessage(SignatureValidator.VALIDATING_SIGNATURE_NAME, p -> "Signature3")));
+        // only the latest signature is validated
+        Assertions.assertEquals(1, mockCertificateChainValidator.verificationCalls.size());
+    }
+
+    @Test
+    public void concurrentValidationOfSingleSignatureTest() throws IOException {
+        ValidationReport sequentialReport;
+        try (PdfDocument document = new PdfDocument(
+                new PdfReader(SOURCE_FOLDER + "docWithMultipleSignaturesAndTimeStamp.pdf"))) {
+            sequentialReport = builder.buildSignatureValidator(document).validateSignature("Signature2");
+        }
+        int sequentialChainValidations = mockCertificateChainValidator.verificationCalls.size();
+        mockCertificateChainValidator.verificationCalls.clear();
+
+        ValidationReport concurrentReport;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (PdfDocument document = new PdfDocument(
+                new PdfReader(SOURCE_FOLDER + "docWithMultipleSignaturesAndTimeStamp.pdf"))) {
+            concurrentReport = builder.withExecutorService(executorService).buildSignatureValidator(document)
+                    .validateSignature("Signature2");
+        } finally {
+            executorService.shutdown();
+        }
+
+        AssertValidationReport.assertThat(concurrentReport, a -> a
+                .hasStatus(sequentialReport.getValidationResult())
+                .hasNumberOfLogs(sequentialReport.getLogs().size())
+                .hasLogItem(l -> l
+                        .withCheckName(SignatureValidator.SIGNATURE_VERIFICATION)
+                        .withMessage(SignatureValidator.VALIDATING_SIGNATURE_NAME, p -> "Signature2")));
+        for (int i = 0; i < sequentialReport.getLogs().size(); ++i) {
+            Assertions.assertEquals(sequentialReport.getLogs().get(i).getMessage(),
+                    concurrentReport.getLogs().get(i).getMessage());
+        }
+        Assertions.assertEquals(sequentialChainValidations, mockCertificateChainValidator.verificationCalls.size());
+    }
+
+    @Test
+    public void concurrentValidationRevisionRetrievalFailureTest() throws IOException {
+        // The signed revision of the broken byte range isn't a valid PDF document.
+        String documentContent = new String(Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validDoc.pdf")),
+                StandardCharsets.ISO_8859_1);
+        Matcher byteRange = Pattern.compile("/ByteRange\\s*\\[[^\\]]*\\]").matcher(documentContent);
+        Assertions.assertTrue(byteRange.find());
+        StringBuilder brokenByteRange = new StringBuilder("/ByteRange [0 10 20 30]");
+        while (brokenByteRange.length() < byteRange.group().length()) {
+            brokenByteRange.insert(brokenByteRange.length() - 1, ' ');
+        }
+        byte[] brokenDocument = (documentContent.substring(0, byteRange.start()) + brokenByteRange
+                + documentContent.substring(byteRange.end())).getBytes(StandardCharsets.ISO_8859_1);
+
+        ValidationReport report;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(brokenDocument)))) {
+            report = builder.withExecutorService(executorService).buildSignatureValidator(document)
+                    .validateSignatures();
+        } finally {
+            executorService.shutdown();
+        }
+
+        AssertValidationReport.assertThat(report, a -> a
+                .hasStatus(ValidationResult.INDETERMINATE)
+                .hasLogItem(l -> l
+                        .withCheckName(SignatureValidator.SIGNATURE_VERIFICATION)
+                        .withMessage(SignatureValidator.REVISIONS_RETRIEVAL_FAILED)
+                        .withStatus(ReportItemStatus.INDETERMINATE)));
+        Assertions.assertEquals(0, mockCertificateChainValidator.verificationCalls.size());
+    }
 }
@@ -0,0 +1,274 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.styledxmlparser.css;
+
+import com.itextpdf.styledxmlparser.CommonAttributeConstants;
+import com.itextpdf.styledxmlparser.CssRuleSetComparator;
+import com.itextpdf.styledxmlparser.css.media.CssMediaRule;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.css.selector.CssSelector;
+import com.itextpdf.styledxmlparser.css.selector.ICssSelector;
+import com.itextpdf.styledxmlparser.css.selector.item.CssClassSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssIdSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssPseudoElementSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssSeparatorSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssTagSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.ICssSelectorItem;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compiled index of the rule sets of a {@link CssStyleSheet} for a given {@link MediaDeviceDescription}.
+ *
+ * <p>
+ * The media queries of the style sheet are evaluated once, when the index is created. Rule sets are put into
+ * buckets by the most selective item of the rightmost compound selector: id, class or tag name. Only the rule
+ * sets of the buckets which correspond to the id, classes and tag name of a node, together with the rule sets
+ * which can't be bucketed, are checked against the node.
+ *
+ * <p>
+ * The index is immutable and can be safely shared between threads and reused for all the documents which
+ * use the same style sheet and media device description. The index keeps its own copy of the media device
+ * description, so it has to be recreated if the statements of the style sheet are changed, while later changes
+ * of the passed media device description don't affect it, see {@link #isCompiledFor(MediaDeviceDescription)}.
+ */
+public class CssRuleSetIndex {
+
+    /** The media device description for which the index is compiled. */
+    private final MediaDeviceDescription deviceDescription;
+
+    /** Rule sets keyed by the id from the rightmost compound selector. */
+    private final Map<String, List<IndexedStatement>> idBuckets = new HashMap<>();
+
+    /** Rule sets keyed by a class name from the rightmost compound selector. */
+    private final Map<String, List<IndexedStatement>> classBuckets = new HashMap<>();
+
+    /** Rule sets keyed by the tag name from the rightmost compound selector. */
+    private final Map<String, List<IndexedStatement>> tagBuckets = new HashMap<>();
+
+    /** Rule sets which can't be bucketed and statements which are evaluated as is. */
+    private final List<IndexedStatement> universalBucket = new ArrayList<>();
+
+    /** The number of indexed statements. */
+    private int statementsCount = 0;
+
+    /**
+     * Creates a new {@link CssRuleSetIndex} instance.
+     *
+     * @param statements        the CSS statements to index
+     * @param deviceDescription the media device description
+     */
+    public CssRuleSetIndex(List<CssStatement> statements, MediaDeviceDescription deviceDescription) {
+        this.deviceDescription = copyDeviceDescription(deviceDescription);
+        addStatements(statements);
+    }
+
+    /**
+     * Gets the media device description for which the index is compiled. The returned instance is the
+     * copy made when the index was created and must not be modified.
+     *
+     * @return the media device description
+     */
+    public MediaDeviceDescription getDeviceDescription() {
+        return deviceDescription;
+    }
+
+    /**
+     * Checks whether the index is compiled for a media device description with the same values as the passed one.
+     *
+     * @param deviceDescription the media device description
+     * @return {@code true} if the index can be used for the media device description, {@code false} otherwise
+     */
+    public boolean isCompiledFor(MediaDeviceDescription deviceDescription) {
+        if (this.deviceDescription == null || deviceDescription == null) {
+            return this.deviceDescription == deviceDescription;
+        }
+        return Objects.equals(this.deviceDescription.getType(), deviceDescription.getType())
+                && this.deviceDescription.getBitsPerComponent() == deviceDescription.getBitsPerComponent()
+                && this.deviceDescription.getColorIndex() == deviceDescription.getColorIndex()
+                && Float.compare(this.deviceDescription.getWidth(), deviceDescription.getWidth()) == 0
+                && Float.compare(this.deviceDescription.getHeight(), deviceDescription.getHeight()) == 0
+                && this.deviceDescription.isGrid() == deviceDescription.isGrid()
+                && Objects.equals(this.deviceDescription.getScan(), deviceDescription.getScan())
+                && Objects.equals(this.deviceDescription.getOrientation(), deviceDescription.getOrientation())
+                && this.deviceDescription.getMonochrome() == deviceDescription.getMonochrome()
+                && Float.compare(this.deviceDescription.getResolution(), deviceDescription.getResolution()) == 0;
+    }
+
+    /**
+     * Gets the CSS rule sets which match the node, sorted the same way
+     * as by {@link CssStyleSheet#getCssRuleSets(INode, MediaDeviceDescription)}.
+     *
+     * @param node the node
+     * @return the css rule sets
+     */
+    public List<CssRuleSet> getCssRuleSets(INode node) {
+        List<IndexedStatement> candidates = new ArrayList<>(universalBucket);
+        if (node instanceof IElementNode) {
+            IElementNode element = (IElementNode) node;
+            addCandidates(candidates, idBuckets, element.getAttribute(CommonAttributeConstants.ID));
+            String classAttr = element.getAttribute(CommonAttributeConstants.CLASS);
+            if (classAttr != null && classAttr.length() > 0) {
+                Set<String> classNames = new LinkedHashSet<>();
+                for (String className : classAttr.split(" ")) {
+                    classNames.add(className.trim());
+                }
+                for (String className : classNames) {
+                    addCandidates(candidates, classBuckets, className);
+                }
+            }
+            addCandidates(candidates, tagBuckets, element.name());
+        }
+        Collections.sort(candidates, new IndexedStatementComparator());
+
+        List<CssRuleSet> ruleSets = new ArrayList<>();
+        for (IndexedStatement candidate : candidates) {
+            ruleSets.addAll(candidate.statement.getCssRuleSets(node, deviceDescription));
+        }
+        Collections.sort(ruleSets, new CssRuleSetComparator());
+        return ruleSets;
+    }
+
+    private static void addCandidates(List<IndexedStatement> candidates, Map<String, List<IndexedStatement>> buckets,
+            String key) {
+        if (key == null) {
+            return;
+        }
+        List<IndexedStatement> bucket = buckets.get(key);
+        if (bucket != null) {
+            candidates.addAll(bucket);
+        }
+    }
+
+    private static MediaDeviceDescription copyDeviceDescription(MediaDeviceDescription deviceDescription) {
+        if (deviceDescription == null) {
+            return null;
+        }
+        return new MediaDeviceDescription(deviceDescription.getType(), deviceDescription.getWidth(),
+                deviceDescription.getHeight())
+                .setBitsPerComponent(deviceDescription.getBitsPerComponent())
+                .setColorIndex(deviceDescription.getColorIndex())
+                .setGrid(deviceDescription.isGrid())
+                .setScan(deviceDescription.getScan())
+                .setOrientation(deviceDescription.getOrientation())
+                .setMonochrome(deviceDescription.getMonochrome())
+                .setResolution(deviceDescription.getResolution());
+    }
+
+    private static void addToBucket(Map<String, List<IndexedStatement>> buckets, String key,
+            IndexedStatement statement) {
+        List<IndexedStatement> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets.put(key, bucket);
+        }
+        bucket.add(statement);
+    }
+
+    private void addStatements(List<CssStatement> statements) {
+        for (CssStatement statement : statements) {
+            if (statement instanceof CssRuleSet) {
+                addRuleSet((CssRuleSet) statement);
+            } else if (statement instanceof CssMediaRule) {
+                if (((CssMediaRule) statement).matchMediaDevice(deviceDescription)) {
+                    addStatements(((CssMediaRule) statement).getStatements());
+                }
+            } else if (statement instanceof CssNestedAtRule) {
+                addStatements(((CssNestedAtRule) statement).getStatements());
+            } else {
+                universalBucket.add(new IndexedStatement(statementsCount++, statement));
+            }
+        }
+    }
+
+    private void addRuleSet(CssRuleSet ruleSet) {
+        IndexedStatement indexedStatement = new IndexedStatement(statementsCount++, ruleSet);
+        ICssSelector selector = ruleSet.getSelector();
+        if (!(selector instanceof CssSelector)) {
+            universalBucket.add(indexedStatement);
+            return;
+        }
+        String id = null;
+        String className = null;
+        String tagName = null;
+        List<ICssSelectorItem> items = ((CssSelector) selector).getSelectorItems();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            ICssSelectorItem item = items.get(i);
+            if (item instanceof CssSeparatorSelectorItem) {
+                break;
+            } else if (item instanceof CssPseudoElementSelectorItem) {
+                // The rest of the compound selector is matched against the parent of the pseudo element node
+                universalBucket.add(indexedStatement);
+                return;
+            } else if (item instanceof CssIdSelectorItem) {
+                id = ((CssIdSelectorItem) item).getId();
+            } else if (item instanceof CssClassSelectorItem) {
+                className = ((CssClassSelectorItem) item).getClassName();
+            } else if (item instanceof CssTagSelectorItem && !((CssTagSelectorItem) item).isUniversal()) {
+                tagName = ((CssTagSelectorItem) item).getTagName();
+            }
+        }
+        if (id != null) {
+            addToBucket(idBuckets, id, indexedStatement);
+        } else if (className != null) {
+            addToBucket(classBuckets, className, indexedStatement);
+        } else if (tagName != null) {
+            addToBucket(tagBuckets, tagName, indexedStatement);
+        } else {
+            universalBucket.add(indexedStatement);
+        }
+    }
+
+    /**
+     * A statement together with its position in the style sheet.
+     */
+    private static class IndexedStatement {
+        final int order;
+        final CssStatement statement;
+
+        IndexedStatement(int order, CssStatement statement) {
+            this.order = order;
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * Restores the order in which the statements appear in the style sheet.
+     */
+    private static class IndexedStatementComparator implements Comparator<IndexedStatement> {
+        @Override
+        public int compare(IndexedStatement o1, IndexedStatement o2) {
+            return Integer.compare(o1.order, o2.order);
+        }
+    }
+}
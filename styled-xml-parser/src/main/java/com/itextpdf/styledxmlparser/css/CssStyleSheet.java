@@ -23,7 +23,6 @@
 package com.itextpdf.styledxmlparser.css;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
-import com.itextpdf.styledxmlparser.CssRuleSetComparator;
 import com.itextpdf.styledxmlparser.logs.StyledXmlParserLogMessageConstant;
 import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
 import com.itextpdf.styledxmlparser.css.resolve.shorthand.IShorthandResolver;
@@ -47,6 +46,9 @@ public class CssStyleSheet {
     /** The list of CSS statements. */
     private List<CssStatement> statements;
 
+    /** The index of the rule sets compiled for the last used media device description. */
+    private volatile CssRuleSetIndex ruleSetIndex;
+
     /**
      * Creates a new {@link CssStyleSheet} instance.
      */
@@ -61,6 +63,7 @@ public class CssStyleSheet {
      */
     public void addStatement(CssStatement statement) {
         statements.add(statement);
+        ruleSetIndex = null;
     }
 
     /**
@@ -70,6 +73,7 @@ public class CssStyleSheet {
      */
     public void appendCssStyleSheet(CssStyleSheet anotherCssStyleSheet) {
         statements.addAll(anotherCssStyleSheet.statements);
+        ruleSetIndex = null;
     }
 
     /* (non-Javadoc)
@@ -162,12 +166,24 @@ public class CssStyleSheet {
      * @return the css rule sets
      */
     public List<CssRuleSet> getCssRuleSets(INode node, MediaDeviceDescription deviceDescription) {
-        List<CssRuleSet> ruleSets = new ArrayList<>();
-        for (CssStatement statement : statements) {
-            ruleSets.addAll(statement.getCssRuleSets(node, deviceDescription));
+        return getCssRuleSetIndex(deviceDescription).getCssRuleSets(node);
+    }
+
+    /**
+     * Gets the index of the rule sets of this style sheet compiled for the media device description.
+     * The index is cached and reused while the style sheet is not modified and a media device
+     * description with the same values is passed.
+     *
+     * @param deviceDescription the device description
+     * @return the {@link CssRuleSetIndex} instance
+     */
+    public CssRuleSetIndex getCssRuleSetIndex(MediaDeviceDescription deviceDescription) {
+        CssRuleSetIndex index = ruleSetIndex;
+        if (index == null || !index.isCompiledFor(deviceDescription)) {
+            index = new CssRuleSetIndex(statements, deviceDescription);
+            ruleSetIndex = index;
         }
-        Collections.sort(ruleSets, new CssRuleSetComparator());
-        return ruleSets;
+        return index;
     }
 
     /**
@@ -46,6 +46,15 @@ public class CssClassSelectorItem implements ICssSelectorItem {
         this.className = className;
     }
 
+    /**
+     * Gets the class name of the element matched by this selector item.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
     /* (non-Javadoc)
      * @see com.itextpdf.styledxmlparser.css.selector.item.ICssSelectorItem#getSpecificity()
      */
@@ -45,6 +45,15 @@ public class CssIdSelectorItem implements ICssSelectorItem {
         this.id = id;
     }
 
+    /**
+     * Gets the id of the element matched by this selector item.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
     /* (non-Javadoc)
      * @see com.itextpdf.styledxmlparser.css.selector.item.ICssSelectorItem#getSpecificity()
      */
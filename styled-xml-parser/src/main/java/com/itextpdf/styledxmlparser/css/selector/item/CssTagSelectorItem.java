@@ -49,6 +49,24 @@ public class CssTagSelectorItem implements ICssSelectorItem {
         this.isUniversal = "*".equals(tagName);
     }
 
+    /**
+     * Gets the lower-cased name of the tag matched by this selector item.
+     *
+     * @return the tag name
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Checks whether this selector item matches elements with any tag name.
+     *
+     * @return true, if the selector item is universal
+     */
+    public boolean isUniversal() {
+        return isUniversal;
+    }
+
     /* (non-Javadoc)
      * @see com.itextpdf.styledxmlparser.css.selector.item.ICssSelectorItem#getSpecificity()
      */
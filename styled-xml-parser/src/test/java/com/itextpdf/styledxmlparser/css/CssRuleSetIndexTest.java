@@ -0,0 +1,154 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.styledxmlparser.css;
+
+import com.itextpdf.styledxmlparser.CssRuleSetComparator;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.css.media.MediaType;
+import com.itextpdf.styledxmlparser.css.parse.CssStyleSheetParser;
+import com.itextpdf.styledxmlparser.css.pseudo.CssPseudoElementNode;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CssRuleSetIndexTest extends ExtendedITextTest {
+
+    private static final String CSS = "p { color: red }\n"
+            + "* { margin: 0 }\n"
+            + "div p.note { font-size: 10pt }\n"
+            + ".note { font-weight: bold }\n"
+            + "#main > .note.wide { width: 100% }\n"
+            + "#main { padding: 1pt }\n"
+            + "p::before { content: 'x' }\n"
+            + "span:first-child { color: blue }\n"
+            + "div :not(p) { color: green }\n"
+            + "@media print { p { color: black } .wide { width: 50% } }\n"
+            + "@media screen { p { color: gray } }\n"
+            + "P.note { color: yellow }\n";
+
+    private static final String HTML = "<html><body>"
+            + "<div id='main'><p class='note  wide'>a<span>b</span></p><p class='other'>c</p></div>"
+            + "<p id='main' class='note note'>d</p><span class='wide'>e</span>"
+            + "</body></html>";
+
+    @Test
+    public void indexMatchesSequentialScanTest() {
+        CssStyleSheet css = CssStyleSheetParser.parse(CSS);
+        IDocumentNode document = new JsoupHtmlParser().parse(HTML);
+        MediaDeviceDescription print = new MediaDeviceDescription(MediaType.PRINT);
+        MediaDeviceDescription screen = new MediaDeviceDescription(MediaType.SCREEN);
+
+        List<INode> nodes = new ArrayList<>();
+        collectNodes(document, nodes);
+        Assertions.assertTrue(nodes.size() > 10);
+        for (INode node : nodes) {
+            Assertions.assertEquals(getCssRuleSetsSequentially(css, node, print), css.getCssRuleSets(node, print));
+            Assertions.assertEquals(getCssRuleSetsSequentially(css, node, screen), css.getCssRuleSets(node, screen));
+        }
+    }
+
+    @Test
+    public void pseudoElementRuleSetsAreFoundTest() {
+        CssStyleSheet css = CssStyleSheetParser.parse(CSS);
+        IDocumentNode document = new JsoupHtmlParser().parse(HTML);
+        MediaDeviceDescription print = new MediaDeviceDescription(MediaType.PRINT);
+        List<INode> nodes = new ArrayList<>();
+        collectNodes(document, nodes);
+
+        IElementNode paragraph = null;
+        for (INode node : nodes) {
+            if (node instanceof IElementNode && "p".equals(((IElementNode) node).name())) {
+                paragraph = (IElementNode) node;
+                break;
+            }
+        }
+        Assertions.assertNotNull(paragraph);
+        CssPseudoElementNode before = new CssPseudoElementNode(paragraph, "before");
+        List<CssRuleSet> ruleSets = css.getCssRuleSets(before, print);
+        Assertions.assertEquals(getCssRuleSetsSequentially(css, before, print), ruleSets);
+        Assertions.assertEquals(1, ruleSets.size());
+        Assertions.assertEquals("p::before", ruleSets.get(0).getSelector().toString());
+    }
+
+    @Test
+    public void indexIsCachedPerDeviceDescriptionTest() {
+        CssStyleSheet css = CssStyleSheetParser.parse(CSS);
+        MediaDeviceDescription print = new MediaDeviceDescription(MediaType.PRINT);
+
+        CssRuleSetIndex index = css.getCssRuleSetIndex(print);
+        Assertions.assertSame(index, css.getCssRuleSetIndex(print));
+        Assertions.assertSame(index, css.getCssRuleSetIndex(new MediaDeviceDescription(MediaType.PRINT)));
+        Assertions.assertNotSame(print, index.getDeviceDescription());
+        Assertions.assertNotSame(index, css.getCssRuleSetIndex(new MediaDeviceDescription(MediaType.SCREEN)));
+
+        index = css.getCssRuleSetIndex(print);
+        css.appendCssStyleSheet(CssStyleSheetParser.parse("b { color: red }"));
+        Assertions.assertNotSame(index, css.getCssRuleSetIndex(print));
+    }
+
+    @Test
+    public void indexIsRecompiledAfterDeviceDescriptionChangeTest() {
+        CssStyleSheet css = CssStyleSheetParser.parse("p { color: red }\n"
+                + "@media (min-width: 500px) { p { color: blue } }\n");
+        IDocumentNode document = new JsoupHtmlParser().parse("<p>a</p>");
+        List<INode> nodes = new ArrayList<>();
+        collectNodes(document, nodes);
+        MediaDeviceDescription deviceDescription = new MediaDeviceDescription(MediaType.PRINT, 400, 800);
+
+        CssRuleSetIndex index = css.getCssRuleSetIndex(deviceDescription);
+        deviceDescription.setWidth(600);
+        Assertions.assertNotSame(index, css.getCssRuleSetIndex(deviceDescription));
+        Assertions.assertEquals(400, index.getDeviceDescription().getWidth());
+        for (INode node : nodes) {
+            Assertions.assertEquals(getCssRuleSetsSequentially(css, node, deviceDescription),
+                    css.getCssRuleSets(node, deviceDescription));
+        }
+    }
+
+    private static List<CssRuleSet> getCssRuleSetsSequentially(CssStyleSheet css, INode node,
+            MediaDeviceDescription deviceDescription) {
+        List<CssRuleSet> ruleSets = new ArrayList<>();
+        for (CssStatement statement : css.getStatements()) {
+            ruleSets.addAll(statement.getCssRuleSets(node, deviceDescription));
+        }
+        Collections.sort(ruleSets, new CssRuleSetComparator());
+        return ruleSets;
+    }
+
+    private static void collectNodes(INode node, List<INode> nodes) {
+        nodes.add(node);
+        for (INode child : node.childNodes()) {
+            collectNodes(child, nodes);
+        }
+    }
+}